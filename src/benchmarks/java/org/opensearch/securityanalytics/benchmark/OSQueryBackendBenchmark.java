@@ -0,0 +1,61 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OSQueryBackend#convertRule(SigmaRule)} over the prepackaged rule corpus, which is the work done per
+ * rule when a detector is created or updated.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OSQueryBackendBenchmark {
+
+    @Param({RuleCorpus.ALL_CATEGORIES})
+    public String category;
+
+    private List<SigmaRule> rules;
+
+    private OSQueryBackend backend;
+
+    @Setup
+    public void setUp() throws IOException {
+        rules = RuleCorpus.loadRules(category);
+        backend = new OSQueryBackend(null, true, false);
+    }
+
+    @Benchmark
+    public void convertRule(Blackhole bh) {
+        for (SigmaRule rule: rules) {
+            try {
+                bh.consume(backend.convertRule(rule));
+            } catch (Exception e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.securityanalytics.rules.objects.SigmaDetection;
+import org.opensearch.securityanalytics.rules.objects.SigmaDetectionItem;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads the prepackaged Sigma rules shipped under {@code src/main/config/rules} so that benchmarks run against
+ * real rule files instead of hand written samples.
+ */
+public final class RuleCorpus {
+
+    public static final String RULES_DIR_PROPERTY = "sa.benchmark.rules.dir";
+
+    public static final String ALL_CATEGORIES = "all";
+
+    private RuleCorpus() {}
+
+    /**
+     * Returns the raw yaml of every rule file in the given category, or of every category when
+     * {@link #ALL_CATEGORIES} is passed.
+     */
+    public static List<String> loadYaml(String category) {
+        Path root = Paths.get(System.getProperty(RULES_DIR_PROPERTY, "src/main/config/rules"));
+        Path dir = ALL_CATEGORIES.equals(category) ? root : root.resolve(category);
+        if (!Files.isDirectory(dir)) {
+            throw new IllegalStateException(String.format(Locale.ROOT, "Rule corpus directory [%s] does not exist, set -D%s", dir, RULES_DIR_PROPERTY));
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            List<Path> ruleFiles = files
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".yml"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<String> rules = new ArrayList<>(ruleFiles.size());
+            for (Path ruleFile: ruleFiles) {
+                rules.add(Files.readString(ruleFile, StandardCharsets.UTF_8));
+            }
+            return rules;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses every rule of the category, dropping the few files the parser rejects so that a single broken rule does
+     * not fail the whole run.
+     */
+    public static List<SigmaRule> loadRules(String category) {
+        List<SigmaRule> rules = new ArrayList<>();
+        for (String yaml: loadYaml(category)) {
+            try {
+                rules.add(SigmaRule.fromYaml(yaml, true));
+            } catch (Exception e) {
+                // skip rules the pipeline cannot parse, they are covered by the unit tests
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Collects the plain string values of all detection items in the given rules. These are the values the value
+     * modifiers operate on.
+     */
+    public static List<SigmaString> stringValues(List<SigmaRule> rules) {
+        List<SigmaString> values = new ArrayList<>();
+        for (SigmaRule rule: rules) {
+            if (rule.getDetection() == null) {
+                continue;
+            }
+            for (SigmaDetection detection: rule.getDetection().getDetections().values()) {
+                collectStringValues(detection, values);
+            }
+        }
+        return values;
+    }
+
+    private static void collectStringValues(SigmaDetection detection, List<SigmaString> values) {
+        for (Either<SigmaDetectionItem, SigmaDetection> item: detection.getDetectionItems()) {
+            if (item.isLeft()) {
+                for (SigmaType value: item.getLeft().getValue()) {
+                    if (value instanceof SigmaString) {
+                        values.add((SigmaString) value);
+                    }
+                }
+            } else {
+                collectStringValues(item.get(), values);
+            }
+        }
+    }
+}
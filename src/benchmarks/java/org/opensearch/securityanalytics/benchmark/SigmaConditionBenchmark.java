@@ -0,0 +1,64 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SigmaCondition#parsed()}, i.e. the antlr parse and post processing of every condition in the
+ * prepackaged rule corpus.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SigmaConditionBenchmark {
+
+    @Param({RuleCorpus.ALL_CATEGORIES})
+    public String category;
+
+    private List<SigmaCondition> conditions;
+
+    @Setup
+    public void setUp() {
+        conditions = new ArrayList<>();
+        for (SigmaRule rule: RuleCorpus.loadRules(category)) {
+            if (rule.getDetection() != null) {
+                conditions.addAll(rule.getDetection().getParsedCondition());
+            }
+        }
+    }
+
+    @Benchmark
+    public void parsed(Blackhole bh) {
+        for (SigmaCondition condition: conditions) {
+            try {
+                bh.consume(condition.parsed());
+            } catch (SigmaConditionError e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
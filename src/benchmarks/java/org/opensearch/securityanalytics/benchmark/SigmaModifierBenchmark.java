@@ -0,0 +1,77 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.securityanalytics.rules.exceptions.SigmaModifierError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.modifiers.SigmaModifier;
+import org.opensearch.securityanalytics.rules.modifiers.SigmaModifierFacade;
+import org.opensearch.securityanalytics.rules.objects.SigmaDetectionItem;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.utils.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a single value modifier to every plain string value found in the prepackaged rule corpus. The expanding
+ * modifiers ({@code base64offset}, {@code windash}) are the interesting ones since they multiply the values every
+ * later stage has to convert.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SigmaModifierBenchmark {
+
+    @Param({RuleCorpus.ALL_CATEGORIES})
+    public String category;
+
+    @Param({"base64offset", "windash", "base64", "wide", "contains", "startswith", "endswith"})
+    public String modifier;
+
+    private List<SigmaString> values;
+
+    private SigmaModifier sigmaModifier;
+
+    @Setup
+    public void setUp() throws SigmaModifierError, SigmaValueError, SigmaRegularExpressionError {
+        // base64 encodings reject wildcards, so only keep the values every modifier accepts
+        values = RuleCorpus.stringValues(RuleCorpus.loadRules(category)).stream()
+                .filter(value -> !value.containsSpecial())
+                .collect(Collectors.toList());
+
+        SigmaDetectionItem detectionItem = new SigmaDetectionItem(null, Collections.emptyList(), List.of(new SigmaString("benchmark")), null, null, false);
+        sigmaModifier = SigmaModifierFacade.sigmaModifier(SigmaModifierFacade.getModifier(modifier), detectionItem, Collections.emptyList());
+    }
+
+    @Benchmark
+    public void apply(Blackhole bh) {
+        for (SigmaString value: values) {
+            try {
+                bh.consume(sigmaModifier.apply(Either.left(value)));
+            } catch (Exception e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
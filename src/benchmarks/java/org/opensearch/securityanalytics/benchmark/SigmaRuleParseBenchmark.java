@@ -0,0 +1,55 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SigmaRule#fromYaml(String, boolean)} over the prepackaged rule corpus.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SigmaRuleParseBenchmark {
+
+    @Param({RuleCorpus.ALL_CATEGORIES})
+    public String category;
+
+    private List<String> rules;
+
+    @Setup
+    public void setUp() {
+        rules = RuleCorpus.loadYaml(category);
+    }
+
+    @Benchmark
+    public void fromYaml(Blackhole bh) {
+        for (String rule: rules) {
+            try {
+                bh.consume(SigmaRule.fromYaml(rule, true));
+            } catch (Exception e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SigmaString#convert} with the escaping settings of the OpenSearch query backend over every string
+ * value of the prepackaged rule corpus.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SigmaStringBenchmark {
+
+    private static final String ESCAPE_CHAR = "\\";
+    private static final String WILDCARD_MULTI = "*";
+    private static final String WILDCARD_SINGLE = "?";
+    private static final String ADD_ESCAPED = "/:\\+-=><!(){}[]^\"~*?";
+    private static final String ADD_RESERVED = "&& ||";
+
+    @Param({RuleCorpus.ALL_CATEGORIES})
+    public String category;
+
+    private List<SigmaString> values;
+
+    @Setup
+    public void setUp() {
+        values = RuleCorpus.stringValues(RuleCorpus.loadRules(category));
+    }
+
+    @Benchmark
+    public void convert(Blackhole bh) {
+        for (SigmaString value: values) {
+            try {
+                bh.consume(value.convert(ESCAPE_CHAR, WILDCARD_MULTI, WILDCARD_SINGLE, ADD_ESCAPED, ADD_RESERVED, ""));
+            } catch (SigmaValueError e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
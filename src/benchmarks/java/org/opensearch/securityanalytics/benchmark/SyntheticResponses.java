@@ -0,0 +1,115 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the transport responses a stubbed {@link org.opensearch.transport.client.Client} hands back to the code under
+ * benchmark. The responses are cheap to build so that the measured time stays dominated by the plugin code.
+ */
+public final class SyntheticResponses {
+
+    private static final ShardId SHARD_ID = new ShardId("synthetic", "_na_", 0);
+
+    private SyntheticResponses() {}
+
+    public static SearchResponse searchResponse(SearchHit... hits) {
+        return scrollResponse(null, hits.length, hits);
+    }
+
+    /**
+     * A page of a scroll over {@code totalHits} hits.
+     */
+    public static SearchResponse scrollResponse(String scrollId, long totalHits, SearchHit... hits) {
+        return new SearchResponse(
+                new InternalSearchResponse(
+                        new SearchHits(hits, new TotalHits(totalHits, TotalHits.Relation.EQUAL_TO), 1.0f),
+                        null,
+                        null,
+                        null,
+                        false,
+                        null,
+                        1
+                ),
+                scrollId,
+                1,
+                1,
+                0,
+                1L,
+                ShardSearchFailure.EMPTY_ARRAY,
+                SearchResponse.Clusters.EMPTY
+        );
+    }
+
+    public static MultiSearchResponse multiSearchResponse(List<SearchResponse> responses) {
+        MultiSearchResponse.Item[] items = new MultiSearchResponse.Item[responses.size()];
+        for (int i = 0; i < items.length; ++i) {
+            items[i] = new MultiSearchResponse.Item(responses.get(i), null);
+        }
+        return new MultiSearchResponse(items, 1L);
+    }
+
+    /**
+     * A hit carrying the given source and, optionally, fetched doc value fields.
+     */
+    public static SearchHit hit(String id, BytesReference source, Map<String, DocumentField> fields) {
+        SearchHit hit = new SearchHit(0, id, fields == null ? Map.of() : fields, Map.of());
+        hit.sourceRef(source);
+        hit.version(1L);
+        return hit;
+    }
+
+    public static BytesReference source(Map<String, ?> source) {
+        try {
+            return BytesReference.bytes(XContentFactory.jsonBuilder().map(source));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static BytesReference source(ToXContentObject object, ToXContent.Params params) {
+        try {
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            return BytesReference.bytes(object.toXContent(builder, params));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An index response, {@code created} decides between the {@link DocWriteResponse.Result#CREATED} and
+     * {@link DocWriteResponse.Result#UPDATED} status the callers check for.
+     */
+    public static IndexResponse indexResponse(String id, boolean created) {
+        return new IndexResponse(SHARD_ID, id, 1L, 1L, 1L, created);
+    }
+
+    public static BulkResponse bulkResponse() {
+        return new BulkResponse(new BulkItemResponse[0], 1L);
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.iocscan.service;
+
+import org.opensearch.Version;
+import org.opensearch.action.OriginalIndices;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.model.DataSources;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchShardTarget;
+import org.opensearch.securityanalytics.benchmark.SyntheticResponses;
+import org.opensearch.securityanalytics.commons.model.IOCType;
+import org.opensearch.securityanalytics.commons.model.UpdateType;
+import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.services.STIX2IOCConsumer;
+import org.opensearch.securityanalytics.services.STIX2IOCFeedStore;
+import org.opensearch.securityanalytics.services.STIX2IOCFetchService;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.threatIntel.common.SourceConfigType;
+import org.opensearch.securityanalytics.threatIntel.common.TIFLockService;
+import org.opensearch.securityanalytics.threatIntel.common.TIFRefreshScheduler;
+import org.opensearch.securityanalytics.threatIntel.iocscan.dao.IocFindingService;
+import org.opensearch.securityanalytics.threatIntel.iocscan.dao.ThreatIntelAlertService;
+import org.opensearch.securityanalytics.threatIntel.iocscan.dto.IocScanContext;
+import org.opensearch.securityanalytics.threatIntel.model.DefaultIocStoreConfig;
+import org.opensearch.securityanalytics.threatIntel.model.SATIFSourceConfig;
+import org.opensearch.securityanalytics.threatIntel.model.monitor.PerIocTypeScanInput;
+import org.opensearch.securityanalytics.threatIntel.model.monitor.ThreatIntelInput;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.threatIntel.iocscan.service.ThreatIntelMonitorRunner.THREAT_INTEL_MONITOR_TYPE;
+
+/**
+ * Runs {@link SaIoCScanService#scanIoCs} over synthetic log batches against a feed of {@code iocs} IPv4 IOCs that is
+ * loaded through {@link STIX2IOCConsumer} and {@link STIX2IOCFeedStore} into a {@link SyntheticIocClient}. Each
+ * operation scans one batch of {@code docsPerBatch} documents with {@code fieldsPerDoc} address fields, a
+ * {@code hitRatio} share of the addresses being part of the feed. The monitor has no triggers, so an operation covers
+ * IOC extraction, the chunked terms searches, parsing the matches and creating and saving the IOC findings. With
+ * {@code localMatching} the feed is snapshotted by {@link IocSnapshotService} before the measurement and the terms
+ * searches are replaced by snapshot lookups.
+ * <p>
+ * The primary score is scans/ms (throughput) and the p50/p99 scan latency (sample time). The auxiliary counters report
+ * findings, searches and looked up IOC values per millisecond, and the heap high-water mark of the iteration in MB,
+ * taken as the sum of the peak usage of the heap memory pools. Run with {@code -prof gc} for the allocation rate.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class IocScanBenchmark {
+
+    private static final String LOG_INDEX = "logs-synthetic";
+
+    private static final int BATCHES = 8;
+
+    @Param({"10000", "1000000"})
+    public int iocs;
+
+    @Param({"1000", "10000"})
+    public int docsPerBatch;
+
+    @Param({"1", "5"})
+    public int fieldsPerDoc;
+
+    @Param({"0.001", "0.05"})
+    public double hitRatio;
+
+    @Param({"65536"})
+    public int maxTermsCount;
+
+    @Param({"false", "true"})
+    public boolean localMatching;
+
+    private ThreadPool threadPool;
+
+    private SyntheticIocClient client;
+
+    private SaIoCScanService scanService;
+
+    private List<IocScanContext<SearchHit>> contexts;
+
+    private int next;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ScanCounters {
+        public long findings;
+        public long searches;
+        public long lookedUpIocs;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            findings = 0;
+            searches = 0;
+            lookedUpIocs = 0;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapHighWaterMark {
+        private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+
+        public long heapPeakMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            HEAP_POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+            heapPeakMb = 0;
+        }
+
+        void update() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : HEAP_POOLS) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            heapPeakMb = peak >> 20;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        if (iocs > SyntheticIocClient.MAX_IOCS) {
+            throw new IllegalArgumentException("iocs must not exceed " + SyntheticIocClient.MAX_IOCS);
+        }
+        threadPool = new TestThreadPool(getClass().getSimpleName());
+        client = new SyntheticIocClient(threadPool);
+
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.IOC_SCAN_MAX_TERMS_COUNT.getKey(), maxTermsCount)
+                .put(SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_ENABLED.getKey(), localMatching)
+                .put(SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_MAX_IOCS.getKey(), SyntheticIocClient.MAX_IOCS)
+                // the feed is loaded once at setup, without an ingest rate limit
+                .put(SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE.getKey(), 0)
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.BATCH_SIZE,
+                SecurityAnalyticsSettings.IOC_SCAN_MAX_TERMS_COUNT,
+                SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_ENABLED,
+                SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_MAX_IOCS,
+                SecurityAnalyticsSettings.IOC_INDEX_PROFILE,
+                SecurityAnalyticsSettings.TIF_INGEST_MAX_CONCURRENT_FEEDS_PER_NODE,
+                SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE,
+                SecurityAnalyticsSettings.TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_WARN,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_INFO,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_DEBUG,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_TRACE
+        )));
+        when(clusterService.state()).thenReturn(ClusterState.EMPTY_STATE);
+
+        SATIFSourceConfig sourceConfig = loadFeed(clusterService, settings);
+        Map<String, List<String>> iocTypeToIndices = new HashMap<>();
+        ((DefaultIocStoreConfig) sourceConfig.getIocStoreConfig()).getIocToIndexDetails().forEach(details ->
+                iocTypeToIndices.computeIfAbsent(details.getIocType(), k -> new ArrayList<>()).add(details.getActiveIndex()));
+
+        // the snapshot service only keeps snapshots of indices that exist in the cluster state
+        Metadata.Builder metadata = Metadata.builder();
+        iocTypeToIndices.values().stream().flatMap(List::stream).distinct().forEach(index -> metadata.put(IndexMetadata.builder(index)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0), false));
+        when(clusterService.state()).thenReturn(ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build());
+
+        IocSnapshotService snapshotService = new IocSnapshotService(client, clusterService, threadPool);
+        if (localMatching) {
+            awaitSnapshots(snapshotService, iocTypeToIndices);
+        }
+
+        NamedXContentRegistry xContentRegistry = NamedXContentRegistry.EMPTY;
+        scanService = new SaIoCScanService(
+                client,
+                clusterService,
+                xContentRegistry,
+                new IocFindingService(client, clusterService, xContentRegistry),
+                new ThreatIntelAlertService(client, clusterService, xContentRegistry),
+                mock(NotificationService.class),
+                snapshotService,
+                new SecurityAnalyticsStats(),
+                new SecurityAnalyticsSlowLog(clusterService)
+        );
+
+        Monitor monitor = new Monitor(
+                "ioc-scan-benchmark",
+                Monitor.NO_VERSION,
+                "ioc-scan-benchmark",
+                true,
+                new IntervalSchedule(1, ChronoUnit.MINUTES, null),
+                Instant.now(),
+                Instant.now(),
+                THREAT_INTEL_MONITOR_TYPE,
+                null,
+                4,
+                emptyList(),
+                emptyList(),
+                emptyMap(),
+                new DataSources(),
+                false,
+                null,
+                "security_analytics",
+                null,
+                null
+        );
+        List<String> fields = new ArrayList<>(fieldsPerDoc);
+        for (int f = 0; f < fieldsPerDoc; ++f) {
+            fields.add("address_" + f);
+        }
+        ThreatIntelInput threatIntelInput = new ThreatIntelInput(List.of(
+                new PerIocTypeScanInput(IOCType.IPV4_TYPE, Map.of(LOG_INDEX, fields))
+        ));
+
+        Random random = new Random(42);
+        SearchShardTarget shard = new SearchShardTarget("synthetic", new ShardId(LOG_INDEX, "_na_", 0), null, OriginalIndices.NONE);
+        contexts = new ArrayList<>(BATCHES);
+        for (int b = 0; b < BATCHES; ++b) {
+            List<SearchHit> batch = new ArrayList<>(docsPerBatch);
+            for (int d = 0; d < docsPerBatch; ++d) {
+                Map<String, DocumentField> documentFields = new HashMap<>();
+                for (String field : fields) {
+                    String address = random.nextDouble() < hitRatio ?
+                            SyntheticIocClient.feedAddress(random.nextInt(iocs)) :
+                            SyntheticIocClient.benignAddress(random.nextInt(SyntheticIocClient.MAX_IOCS));
+                    documentFields.put(field, new DocumentField(field, List.of(address)));
+                }
+                SearchHit hit = SyntheticResponses.hit("doc-" + b + "-" + d, null, documentFields);
+                hit.shard(shard);
+                batch.add(hit);
+            }
+            contexts.add(new IocScanContext<>(monitor, null, false, batch, threatIntelInput, List.of(LOG_INDEX),
+                    iocTypeToIndices, Map.of(LOG_INDEX, List.of(LOG_INDEX))));
+        }
+    }
+
+    /**
+     * Streams the synthetic feed through the same consumer and feed store a TIF source refresh uses.
+     */
+    private SATIFSourceConfig loadFeed(ClusterService clusterService, Settings settings) {
+        SATIFSourceConfig sourceConfig = new SATIFSourceConfig(
+                "synthetic-feed",
+                null,
+                "synthetic-feed",
+                "STIX2",
+                SourceConfigType.IOC_UPLOAD,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false,
+                new DefaultIocStoreConfig(new ArrayList<>()),
+                List.of(IOCType.IPV4_TYPE),
+                true,
+                null
+        );
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ActionListener<STIX2IOCFetchService.STIX2IOCFetchResponse> listener = ActionListener.wrap(r -> {}, failure::set);
+        TIFRefreshScheduler refreshScheduler = new TIFRefreshScheduler(clusterService, threadPool, new TIFLockService(clusterService, client), settings);
+        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, refreshScheduler, new SecurityAnalyticsStats(), sourceConfig, listener);
+        STIX2IOCConsumer consumer = new STIX2IOCConsumer(
+                clusterService.getClusterSettings().get(SecurityAnalyticsSettings.BATCH_SIZE),
+                feedStore,
+                UpdateType.REPLACE,
+                sourceConfig
+        );
+        Instant created = Instant.now();
+        for (int i = 0; i < iocs; ++i) {
+            consumer.accept(new STIX2IOC("ioc-" + i, "ioc-" + i, IOCType.IPV4_TYPE, SyntheticIocClient.feedAddress(i), "high",
+                    created, created, "synthetic ioc", List.of(), "2.1", sourceConfig.getId(), sourceConfig.getName(), 1L));
+        }
+        consumer.flushIOCs();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Failed to load the synthetic feed", failure.get());
+        }
+        if (client.iocCount() != iocs) {
+            throw new IllegalStateException("Loaded " + client.iocCount() + " iocs, expected " + iocs);
+        }
+        return sourceConfig;
+    }
+
+    private static void awaitSnapshots(IocSnapshotService snapshotService, Map<String, List<String>> iocTypeToIndices)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+        for (String index : iocTypeToIndices.values().stream().flatMap(List::stream).distinct().collect(Collectors.toList())) {
+            while (snapshotService.getSnapshot(index) == null) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Timed out snapshotting " + index);
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object scan(ScanCounters counters, HeapHighWaterMark heap) {
+        long findings = client.findings();
+        long searches = client.searches();
+        long lookedUpIocs = client.lookedUpIocs();
+
+        PlainActionFuture<Object> future = new PlainActionFuture<>();
+        scanService.scanIoCs(contexts.get(next++ % contexts.size()), (result, e) -> {
+            if (e != null) {
+                future.onFailure(e);
+            } else {
+                future.onResponse(result);
+            }
+        });
+        Object result = future.actionGet(TimeValue.timeValueSeconds(60));
+
+        counters.findings += client.findings() - findings;
+        counters.searches += client.searches() - searches;
+        counters.lookedUpIocs += client.lookedUpIocs() - lookedUpIocs;
+        heap.update();
+        return result;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.iocscan.service;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexAction;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.bulk.BulkAction;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.ClearScrollAction;
+import org.opensearch.action.search.ClearScrollResponse;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollAction;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.securityanalytics.benchmark.SyntheticResponses;
+import org.opensearch.securityanalytics.commons.model.IOCType;
+import org.opensearch.securityanalytics.commons.model.STIX2;
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.services.STIX2IOCFeedStore;
+import org.opensearch.securityanalytics.threatIntel.iocscan.dao.IocFindingService;
+import org.opensearch.test.client.NoOpClient;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link NoOpClient} that plays the IOC indices of a threat intel feed. IOCs are written through the regular
+ * {@link STIX2IOCFeedStore} bulk path and kept as a bit set over the {@code 10.0.0.0/8} address space, so a feed of
+ * millions of IOCs costs a couple of megabytes on the client side and the heap figures of a benchmark stay dominated
+ * by the scanner. Searches, looked up IOC values and written IOC findings are counted. Scrolls over the IOC indices,
+ * as issued when snapshotting them for local matching, are answered page by page.
+ */
+public class SyntheticIocClient extends NoOpClient {
+
+    /**
+     * Largest feed the client can hold, one IOC per address of {@code 10.0.0.0/8}.
+     */
+    public static final int MAX_IOCS = 1 << 24;
+
+    private static final int SCROLL_PAGE_SIZE = 10000;
+
+    private static final String SCROLL_ID_PREFIX = "ioc-scroll:";
+
+    private final BitSet ipv4Iocs = new BitSet(MAX_IOCS);
+
+    private final Instant created = Instant.now();
+
+    private volatile String feedId;
+
+    private volatile String feedName;
+
+    private final LongAdder searches = new LongAdder();
+
+    private final LongAdder lookedUpIocs = new LongAdder();
+
+    private final LongAdder findings = new LongAdder();
+
+    public SyntheticIocClient(ThreadPool threadPool) {
+        super(threadPool);
+    }
+
+    /**
+     * The {@code i}-th address of the feed, {@code 10.x.y.z}.
+     */
+    public static String feedAddress(int i) {
+        return String.format(Locale.ROOT, "10.%d.%d.%d", (i >>> 16) & 0xff, (i >>> 8) & 0xff, i & 0xff);
+    }
+
+    /**
+     * The {@code i}-th address outside of the feed, {@code 11.x.y.z}.
+     */
+    public static String benignAddress(int i) {
+        return String.format(Locale.ROOT, "11.%d.%d.%d", (i >>> 16) & 0xff, (i >>> 8) & 0xff, i & 0xff);
+    }
+
+    private static int feedIndex(String address) {
+        String[] octets = address.split("\\.");
+        if (octets.length != 4 || !"10".equals(octets[0])) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(octets[1]) << 16 | Integer.parseInt(octets[2]) << 8 | Integer.parseInt(octets[3]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public int iocCount() {
+        return ipv4Iocs.cardinality();
+    }
+
+    public long searches() {
+        return searches.sum();
+    }
+
+    public long lookedUpIocs() {
+        return lookedUpIocs.sum();
+    }
+
+    public long findings() {
+        return findings.sum();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+            ActionType<Response> action,
+            Request request,
+            ActionListener<Response> listener
+    ) {
+        ActionResponse response;
+        try {
+            if (SearchAction.INSTANCE.equals(action)) {
+                searches.increment();
+                response = search((SearchRequest) request);
+            } else if (BulkAction.INSTANCE.equals(action)) {
+                bulk((BulkRequest) request);
+                response = SyntheticResponses.bulkResponse();
+            } else if (SearchScrollAction.INSTANCE.equals(action)) {
+                String scrollId = ((SearchScrollRequest) request).scrollId();
+                response = scrollPage(Integer.parseInt(scrollId.substring(SCROLL_ID_PREFIX.length())));
+            } else if (ClearScrollAction.INSTANCE.equals(action)) {
+                response = new ClearScrollResponse(true, 1);
+            } else if (CreateIndexAction.INSTANCE.equals(action)) {
+                response = new CreateIndexResponse(true, true, ((CreateIndexRequest) request).index());
+            } else {
+                listener.onFailure(new UnsupportedOperationException("Synthetic client does not support " + action.name()));
+                return;
+            }
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse((Response) response);
+    }
+
+    private void bulk(BulkRequest request) {
+        for (DocWriteRequest<?> docWriteRequest : request.requests()) {
+            String index = docWriteRequest.index();
+            if (IocFindingService.IOC_FINDING_ALIAS_NAME.equals(index)) {
+                findings.increment();
+            } else if (index.startsWith(STIX2IOCFeedStore.IOC_INDEX_NAME_BASE)) {
+                Map<String, Object> source = ((IndexRequest) docWriteRequest).sourceAsMap();
+                int i = feedIndex(String.valueOf(source.get(STIX2.VALUE_FIELD)));
+                if (IOCType.IPV4_TYPE.equalsIgnoreCase(String.valueOf(source.get(STIX2.TYPE_FIELD))) && i >= 0) {
+                    ipv4Iocs.set(i);
+                    feedId = String.valueOf(source.get(STIX2.FEED_ID_FIELD));
+                    feedName = String.valueOf(source.get(STIX2.FEED_NAME_FIELD));
+                }
+            }
+        }
+    }
+
+    private SearchResponse search(SearchRequest request) {
+        if (!request.indices()[0].startsWith(STIX2IOCFeedStore.IOC_INDEX_NAME_BASE)) {
+            return SyntheticResponses.searchResponse();
+        }
+        if (request.scroll() != null) {
+            return scrollPage(0);
+        }
+        List<Object> values = null;
+        boolean ipv4 = false;
+        for (QueryBuilder clause : ((BoolQueryBuilder) request.source().query()).must()) {
+            if (false == clause instanceof TermsQueryBuilder) {
+                // the feed holds no CIDR block iocs
+                return SyntheticResponses.searchResponse();
+            }
+            TermsQueryBuilder terms = (TermsQueryBuilder) clause;
+            if (STIX2.VALUE_FIELD.equals(terms.fieldName())) {
+                values = terms.values();
+            } else if (STIX2.TYPE_FIELD.equals(terms.fieldName())) {
+                ipv4 = terms.values().stream().anyMatch(type -> IOCType.IPV4_TYPE.equalsIgnoreCase(type.toString()));
+            }
+        }
+        if (values == null || !ipv4) {
+            return SyntheticResponses.searchResponse();
+        }
+        lookedUpIocs.add(values.size());
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (Object value : values) {
+            int i = feedIndex(value.toString());
+            if (i >= 0 && ipv4Iocs.get(i)) {
+                hits.add(iocHit(i));
+            }
+        }
+        return SyntheticResponses.searchResponse(hits.toArray(new SearchHit[0]));
+    }
+
+    private SearchResponse scrollPage(int from) {
+        List<SearchHit> hits = new ArrayList<>(SCROLL_PAGE_SIZE);
+        int i = ipv4Iocs.nextSetBit(from);
+        while (i >= 0 && hits.size() < SCROLL_PAGE_SIZE) {
+            hits.add(iocHit(i));
+            i = i + 1 < MAX_IOCS ? ipv4Iocs.nextSetBit(i + 1) : -1;
+        }
+        String scrollId = SCROLL_ID_PREFIX + (i < 0 ? MAX_IOCS : i);
+        return SyntheticResponses.scrollResponse(scrollId, ipv4Iocs.cardinality(), hits.toArray(new SearchHit[0]));
+    }
+
+    private SearchHit iocHit(int i) {
+        STIX2IOC ioc = new STIX2IOC("ioc-" + i, "ioc-" + i, IOCType.IPV4_TYPE, feedAddress(i), "high", created, created,
+                "synthetic ioc", List.of(), "2.1", feedId, feedName, 1L);
+        return SyntheticResponses.hit(ioc.getId(), SyntheticResponses.source(ioc, ToXContent.EMPTY_PARAMS), null);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.action.PublishFindingsRequest;
+import org.opensearch.commons.alerting.action.SubscribeFindingsResponse;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
+import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.findings.FindingsRollupService;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.IndexUtils;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives {@link TransportCorrelateFindingAction}, {@link org.opensearch.securityanalytics.correlation.JoinEngine} and
+ * {@link org.opensearch.securityanalytics.correlation.VectorEmbeddingsEngine} end to end against a
+ * {@link SyntheticCorrelationClient}, one finding per operation.
+ * <p>
+ * The primary score is findings/sec (throughput) and the p50/p99 correlation latency (sample time). The auxiliary
+ * counters report searches, multi-search items and writes per second; dividing them by the throughput gives the round
+ * trips per finding. Run with {@code -prof gc} for the allocation rate.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CorrelationEngineBenchmark {
+
+    @Param({"5", "20"})
+    public int logTypes;
+
+    @Param({"10", "100"})
+    public int rules;
+
+    @Param({"10", "100"})
+    public int hitsPerSearch;
+
+    @Param({"false", "true"})
+    public boolean autoCorrelations;
+
+    private ThreadPool threadPool;
+
+    private SyntheticCorrelationClient client;
+
+    private CorrelationRuleScheduler correlationRuleScheduler;
+
+    private TransportCorrelateFindingAction action;
+
+    private List<PublishFindingsRequest> requests;
+
+    private int next;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long searches;
+        public long multiSearchItems;
+        public long writes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            searches = 0;
+            multiSearchItems = 0;
+            writes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        threadPool = new TestThreadPool(getClass().getSimpleName());
+        client = new SyntheticCorrelationClient(threadPool, logTypes, rules, hitsPerSearch);
+
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS.getKey(), autoCorrelations)
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.INDEX_TIMEOUT,
+                SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW,
+                SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_WARN,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_INFO,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_DEBUG,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_TRACE
+        )));
+
+        DetectorIndices detectorIndices = mock(DetectorIndices.class);
+        when(detectorIndices.getThreadPool()).thenReturn(threadPool);
+        when(detectorIndices.detectorIndexExists()).thenReturn(true);
+
+        CorrelationIndices correlationIndices = mock(CorrelationIndices.class);
+        when(correlationIndices.correlationIndexExists()).thenReturn(true);
+        when(correlationIndices.correlationMetadataIndexExists()).thenReturn(true);
+        when(correlationIndices.correlationAlertIndexExists()).thenReturn(true);
+        // skip the one-off mapping update of the correlation history index
+        IndexUtils.correlationIndexUpdated = true;
+
+        LogTypeService logTypeService = mock(LogTypeService.class);
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            request.indices(LogTypeService.LOG_TYPE_INDEX);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            client.search(request, listener);
+            return null;
+        }).when(logTypeService).searchLogTypes(any(), any());
+
+        NamedXContentRegistry xContentRegistry = new NamedXContentRegistry(List.of(Detector.XCONTENT_REGISTRY, DetectorInput.XCONTENT_REGISTRY));
+
+        CorrelationAlertService correlationAlertService = new CorrelationAlertService(client, xContentRegistry);
+        correlationRuleScheduler = new CorrelationRuleScheduler(client, correlationAlertService, mock(NotificationService.class), threadPool);
+        correlationRuleScheduler.start();
+
+        action = new TransportCorrelateFindingAction(
+                mock(TransportService.class),
+                client,
+                xContentRegistry,
+                detectorIndices,
+                correlationIndices,
+                logTypeService,
+                clusterService,
+                settings,
+                new ActionFilters(Set.of()),
+                correlationAlertService,
+                correlationRuleScheduler,
+                mock(FindingsRollupService.class),
+                new SecurityAnalyticsStats(),
+                new SecurityAnalyticsSlowLog(clusterService)
+        );
+
+        requests = new ArrayList<>();
+        for (String logType: client.getLogTypes()) {
+            for (int i = 0; i < 16; ++i) {
+                Finding finding = new Finding(
+                        logType + "-finding-" + i,
+                        List.of("doc-" + i),
+                        List.of("doc-" + i),
+                        SyntheticCorrelationClient.monitorId(logType),
+                        SyntheticCorrelationClient.monitorId(logType),
+                        "logs-" + logType,
+                        List.of(new DocLevelQuery("query-" + i, "query-" + i, List.of(), "event.code:" + i, List.of("attack.t1059"))),
+                        Instant.now(),
+                        null
+                );
+                requests.add(new PublishFindingsRequest(finding.getMonitorId(), finding));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        correlationRuleScheduler.stop();
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public SubscribeFindingsResponse correlateFinding(RoundTrips roundTrips) {
+        long searches = client.searches();
+        long multiSearchItems = client.multiSearchItems();
+        long writes = client.writes();
+
+        PublishFindingsRequest request = requests.get(next++ % requests.size());
+        PlainActionFuture<SubscribeFindingsResponse> future = new PlainActionFuture<>();
+        action.new AsyncCorrelateFindingAction(null, request, null, future).start();
+        SubscribeFindingsResponse response = future.actionGet(TimeValue.timeValueSeconds(30));
+
+        roundTrips.searches += client.searches() - searches;
+        roundTrips.multiSearchItems += client.multiSearchItems() - multiSearchItems;
+        roundTrips.writes += client.writes() - writes;
+        return response;
+    }
+}
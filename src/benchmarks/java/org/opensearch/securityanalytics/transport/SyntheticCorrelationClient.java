@@ -0,0 +1,244 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.bulk.BulkAction;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexAction;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.MultiSearchAction;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.index.query.MatchQueryBuilder;
+import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.securityanalytics.benchmark.SyntheticResponses;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.test.client.NoOpClient;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link NoOpClient} that answers the searches and writes of the correlation engine from a synthetic data set of
+ * {@code logTypes} log types and {@code rules} correlation rules. Every request is counted so that benchmarks can
+ * report the number of round trips a single finding costs.
+ */
+public class SyntheticCorrelationClient extends NoOpClient {
+
+    private static final ToXContent.Params WITH_TYPE = new ToXContent.MapParams(Map.of("with_type", "true"));
+
+    private final List<String> logTypes;
+
+    private final Map<String, SearchHit> detectorsByMonitorId = new HashMap<>();
+
+    private final Map<String, SearchHit[]> rulesByCategory = new HashMap<>();
+
+    private final SearchHit[] logTypeHits;
+
+    private final SearchHit[] findingHits;
+
+    private final SearchHit[] logDocHits;
+
+    private final SearchHit[] neighborHits;
+
+    private final SearchHit metadataHit;
+
+    private final LongAdder searches = new LongAdder();
+
+    private final LongAdder multiSearches = new LongAdder();
+
+    private final LongAdder multiSearchItems = new LongAdder();
+
+    private final LongAdder writes = new LongAdder();
+
+    /**
+     * @param logTypes number of log types, each with one detector
+     * @param rules number of correlation rules, rule {@code i} joins log type {@code i % logTypes} with the next one
+     * @param hitsPerSearch number of findings, log documents and correlation neighbours returned per search
+     */
+    public SyntheticCorrelationClient(ThreadPool threadPool, int logTypes, int rules, int hitsPerSearch) {
+        super(threadPool);
+        this.logTypes = new ArrayList<>(logTypes);
+        for (int i = 0; i < logTypes; ++i) {
+            this.logTypes.add(logTypeName(i));
+        }
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        logTypeHits = new SearchHit[logTypes];
+        for (int i = 0; i < logTypes; ++i) {
+            String logType = logTypeName(i);
+            Detector detector = new Detector(
+                    "detector-" + logType, 1L, "detector-" + logType, true, new IntervalSchedule(1, ChronoUnit.MINUTES, null),
+                    now, now, logType, null,
+                    List.of(new DetectorInput("synthetic", List.of(logIndex(logType)), List.of(), List.of())),
+                    List.of(), List.of(monitorId(logType)), "", "", "", "", "", "", Map.of(), List.of(), false
+            );
+            detectorsByMonitorId.put(monitorId(logType), SyntheticResponses.hit(detector.getId(), SyntheticResponses.source(detector, WITH_TYPE), null));
+            logTypeHits[i] = SyntheticResponses.hit(logType, SyntheticResponses.source(Map.of(
+                    "name", logType,
+                    "description", "synthetic log type",
+                    "category", "Other",
+                    "source", "Sigma",
+                    "tags", Map.of("correlation_id", i)
+            )), null);
+        }
+
+        Map<String, List<SearchHit>> ruleHits = new HashMap<>();
+        for (int i = 0; i < rules; ++i) {
+            String left = logTypeName(i % logTypes);
+            String right = logTypeName((i + 1) % logTypes);
+            CorrelationRule rule = new CorrelationRule("rule-" + i, 1L, "rule-" + i, List.of(
+                    new CorrelationQuery(logIndex(left), "event.code:" + i, left, null),
+                    new CorrelationQuery(logIndex(right), "event.code:" + i, right, null)
+            ), 300000L, null);
+            SearchHit hit = SyntheticResponses.hit(rule.getId(), SyntheticResponses.source(rule, ToXContent.EMPTY_PARAMS), null);
+            ruleHits.computeIfAbsent(left, k -> new ArrayList<>()).add(hit);
+            if (!left.equals(right)) {
+                ruleHits.computeIfAbsent(right, k -> new ArrayList<>()).add(hit);
+            }
+        }
+        ruleHits.forEach((category, hits) -> rulesByCategory.put(category, hits.toArray(new SearchHit[0])));
+
+        findingHits = new SearchHit[hitsPerSearch];
+        logDocHits = new SearchHit[hitsPerSearch];
+        neighborHits = new SearchHit[hitsPerSearch];
+        BytesReference findingSource = SyntheticResponses.source(Map.of("queries", List.of(Map.of("tags", List.of("attack.t1059")))));
+        BytesReference emptySource = SyntheticResponses.source(Map.of());
+        for (int i = 0; i < hitsPerSearch; ++i) {
+            String docId = "doc-" + i;
+            findingHits[i] = SyntheticResponses.hit("finding-" + i, findingSource,
+                    Map.of("correlated_doc_ids", new DocumentField("correlated_doc_ids", List.of(docId))));
+            logDocHits[i] = SyntheticResponses.hit(docId, emptySource, null);
+            neighborHits[i] = SyntheticResponses.hit("neighbor-" + i,
+                    SyntheticResponses.source(Map.of("counter", 50L, "finding1", "finding-" + i)), null);
+        }
+        metadataHit = SyntheticResponses.hit("metadata", SyntheticResponses.source(Map.of(
+                "root", true,
+                "counter", 50L,
+                "timestamp", now.toEpochMilli(),
+                "scoreTimestamp", now.toEpochMilli() - CorrelationIndices.FIXED_HISTORICAL_INTERVAL
+        )), null);
+    }
+
+    public static String logTypeName(int i) {
+        return String.format(Locale.ROOT, "synthetic_%d", i);
+    }
+
+    public static String monitorId(String logType) {
+        return "monitor-" + logType;
+    }
+
+    private static String logIndex(String logType) {
+        return "logs-" + logType;
+    }
+
+    public List<String> getLogTypes() {
+        return logTypes;
+    }
+
+    public long searches() {
+        return searches.sum();
+    }
+
+    public long multiSearches() {
+        return multiSearches.sum();
+    }
+
+    public long multiSearchItems() {
+        return multiSearchItems.sum();
+    }
+
+    public long writes() {
+        return writes.sum();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+            ActionType<Response> action,
+            Request request,
+            ActionListener<Response> listener
+    ) {
+        ActionResponse response;
+        try {
+            if (SearchAction.INSTANCE.equals(action)) {
+                searches.increment();
+                response = search((SearchRequest) request);
+            } else if (MultiSearchAction.INSTANCE.equals(action)) {
+                MultiSearchRequest multiSearchRequest = (MultiSearchRequest) request;
+                multiSearches.increment();
+                multiSearchItems.add(multiSearchRequest.requests().size());
+                List<SearchResponse> responses = new ArrayList<>(multiSearchRequest.requests().size());
+                for (SearchRequest searchRequest: multiSearchRequest.requests()) {
+                    responses.add(search(searchRequest));
+                }
+                response = SyntheticResponses.multiSearchResponse(responses);
+            } else if (IndexAction.INSTANCE.equals(action)) {
+                writes.increment();
+                IndexRequest indexRequest = (IndexRequest) request;
+                // the metadata docs are overwritten in place, everything else is a new document
+                boolean created = !CorrelationIndices.CORRELATION_METADATA_INDEX.equals(indexRequest.index());
+                response = SyntheticResponses.indexResponse(indexRequest.id() == null ? "generated" : indexRequest.id(), created);
+            } else if (BulkAction.INSTANCE.equals(action)) {
+                writes.add(((BulkRequest) request).numberOfActions());
+                response = SyntheticResponses.bulkResponse();
+            } else {
+                listener.onFailure(new UnsupportedOperationException("Synthetic client does not support " + action.name()));
+                return;
+            }
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse((Response) response);
+    }
+
+    private SearchResponse search(SearchRequest request) {
+        String index = request.indices()[0];
+        if (Detector.DETECTORS_INDEX.equals(index)) {
+            SearchHit detector = detectorsByMonitorId.get(nestedMatchValue(request));
+            return detector == null ? SyntheticResponses.searchResponse() : SyntheticResponses.searchResponse(detector);
+        } else if (CorrelationRule.CORRELATION_RULE_INDEX.equals(index)) {
+            return SyntheticResponses.searchResponse(rulesByCategory.getOrDefault(nestedMatchValue(request), new SearchHit[0]));
+        } else if (LogTypeService.LOG_TYPE_INDEX.equals(index)) {
+            return SyntheticResponses.searchResponse(logTypeHits);
+        } else if (CorrelationIndices.CORRELATION_METADATA_INDEX.equals(index)) {
+            return SyntheticResponses.searchResponse(metadataHit);
+        } else if (CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP.equals(index)) {
+            return SyntheticResponses.searchResponse(neighborHits);
+        } else if (index.startsWith(".opensearch-sap-") && index.endsWith("-findings*")) {
+            return SyntheticResponses.searchResponse(findingHits);
+        }
+        return SyntheticResponses.searchResponse(logDocHits);
+    }
+
+    private static String nestedMatchValue(SearchRequest request) {
+        NestedQueryBuilder nested = (NestedQueryBuilder) request.source().query();
+        return ((MatchQueryBuilder) nested.query()).value().toString();
+    }
+}
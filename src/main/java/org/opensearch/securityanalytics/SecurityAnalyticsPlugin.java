@@ -65,6 +65,7 @@ import org.opensearch.securityanalytics.action.GetAllRuleCategoriesAction;
 import org.opensearch.securityanalytics.action.GetCorrelationAlertsAction;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetFindingsAction;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryAction;
 import org.opensearch.securityanalytics.action.GetIndexMappingsAction;
 import org.opensearch.securityanalytics.action.GetMappingsViewAction;
 import org.opensearch.securityanalytics.action.IndexCorrelationRuleAction;
@@ -77,18 +78,22 @@ import org.opensearch.securityanalytics.action.SearchCorrelationRuleAction;
 import org.opensearch.securityanalytics.action.SearchCustomLogTypeAction;
 import org.opensearch.securityanalytics.action.SearchDetectorAction;
 import org.opensearch.securityanalytics.action.SearchRuleAction;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsAction;
 import org.opensearch.securityanalytics.action.TestS3ConnectionAction;
 import org.opensearch.securityanalytics.action.UpdateIndexMappingsAction;
 import org.opensearch.securityanalytics.action.ValidateRulesAction;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
 import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.correlation.index.codec.CorrelationCodecService;
 import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVectorFieldMapper;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
+import org.opensearch.securityanalytics.findings.FindingsRollupService;
 import org.opensearch.securityanalytics.indexmanagment.DetectorIndexManagementService;
 import org.opensearch.securityanalytics.jobscheduler.SecurityAnalyticsRunner;
 import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.mapper.FlattenedMappings;
 import org.opensearch.securityanalytics.mapper.IndexTemplateManager;
 import org.opensearch.securityanalytics.mapper.MapperService;
 import org.opensearch.securityanalytics.model.CustomLogType;
@@ -108,6 +113,7 @@ import org.opensearch.securityanalytics.resthandler.RestGetAllRuleCategoriesActi
 import org.opensearch.securityanalytics.resthandler.RestGetCorrelationsAlertsAction;
 import org.opensearch.securityanalytics.resthandler.RestGetDetectorAction;
 import org.opensearch.securityanalytics.resthandler.RestGetFindingsAction;
+import org.opensearch.securityanalytics.resthandler.RestGetFindingsSummaryAction;
 import org.opensearch.securityanalytics.resthandler.RestGetIndexMappingsAction;
 import org.opensearch.securityanalytics.resthandler.RestGetMappingsViewAction;
 import org.opensearch.securityanalytics.resthandler.RestIndexCorrelationRuleAction;
@@ -121,11 +127,14 @@ import org.opensearch.securityanalytics.resthandler.RestSearchCorrelationRuleAct
 import org.opensearch.securityanalytics.resthandler.RestSearchCustomLogTypeAction;
 import org.opensearch.securityanalytics.resthandler.RestSearchDetectorAction;
 import org.opensearch.securityanalytics.resthandler.RestSearchRuleAction;
+import org.opensearch.securityanalytics.resthandler.RestSecurityAnalyticsStatsAction;
 import org.opensearch.securityanalytics.resthandler.RestTestS3ConnectionAction;
 import org.opensearch.securityanalytics.resthandler.RestUpdateIndexMappingsAction;
 import org.opensearch.securityanalytics.resthandler.RestValidateRulesAction;
 import org.opensearch.securityanalytics.services.STIX2IOCFetchService;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.threatIntel.action.GetIocFindingsAction;
 import org.opensearch.securityanalytics.threatIntel.action.PutTIFJobAction;
 import org.opensearch.securityanalytics.threatIntel.action.SADeleteTIFSourceConfigAction;
@@ -139,9 +148,11 @@ import org.opensearch.securityanalytics.threatIntel.action.monitor.IndexThreatIn
 import org.opensearch.securityanalytics.threatIntel.action.monitor.SearchThreatIntelMonitorAction;
 import org.opensearch.securityanalytics.threatIntel.action.monitor.UpdateThreatIntelAlertStatusAction;
 import org.opensearch.securityanalytics.threatIntel.common.TIFLockService;
+import org.opensearch.securityanalytics.threatIntel.common.TIFRefreshScheduler;
 import org.opensearch.securityanalytics.threatIntel.feedMetadata.BuiltInTIFMetadataLoader;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dao.IocFindingService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dao.ThreatIntelAlertService;
+import org.opensearch.securityanalytics.threatIntel.iocscan.service.IocSnapshotService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.service.SaIoCScanService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.service.ThreatIntelMonitorRunner;
 import org.opensearch.securityanalytics.threatIntel.jobscheduler.TIFJobRunner;
@@ -162,6 +173,7 @@ import org.opensearch.securityanalytics.threatIntel.resthandler.monitor.RestSear
 import org.opensearch.securityanalytics.threatIntel.resthandler.monitor.RestUpdateThreatIntelAlertsStatusAction;
 import org.opensearch.securityanalytics.threatIntel.service.DefaultTifSourceConfigLoaderService;
 import org.opensearch.securityanalytics.threatIntel.service.DetectorThreatIntelService;
+import org.opensearch.securityanalytics.threatIntel.service.IocIndexTieringService;
 import org.opensearch.securityanalytics.threatIntel.service.SATIFSourceConfigManagementService;
 import org.opensearch.securityanalytics.threatIntel.service.SATIFSourceConfigService;
 import org.opensearch.securityanalytics.threatIntel.service.TIFJobParameterService;
@@ -192,6 +204,7 @@ import org.opensearch.securityanalytics.transport.TransportGetAllRuleCategoriesA
 import org.opensearch.securityanalytics.transport.TransportGetCorrelationAlertsAction;
 import org.opensearch.securityanalytics.transport.TransportGetDetectorAction;
 import org.opensearch.securityanalytics.transport.TransportGetFindingsAction;
+import org.opensearch.securityanalytics.transport.TransportGetFindingsSummaryAction;
 import org.opensearch.securityanalytics.transport.TransportGetIndexMappingsAction;
 import org.opensearch.securityanalytics.transport.TransportGetMappingsViewAction;
 import org.opensearch.securityanalytics.transport.TransportIndexCorrelationRuleAction;
@@ -205,6 +218,7 @@ import org.opensearch.securityanalytics.transport.TransportSearchCorrelationRule
 import org.opensearch.securityanalytics.transport.TransportSearchCustomLogTypeAction;
 import org.opensearch.securityanalytics.transport.TransportSearchDetectorAction;
 import org.opensearch.securityanalytics.transport.TransportSearchRuleAction;
+import org.opensearch.securityanalytics.transport.TransportSecurityAnalyticsStatsAction;
 import org.opensearch.securityanalytics.transport.TransportTestS3ConnectionAction;
 import org.opensearch.securityanalytics.transport.TransportUpdateIndexMappingsAction;
 import org.opensearch.securityanalytics.transport.TransportValidateRulesAction;
@@ -312,6 +326,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                                                IndexNameExpressionResolver indexNameExpressionResolver,
                                                Supplier<RepositoriesService> repositoriesServiceSupplier) {
 
+        SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+        SecurityAnalyticsSlowLog slowLog = new SecurityAnalyticsSlowLog(clusterService);
         builtinLogTypeLoader = new BuiltinLogTypeLoader();
         BuiltInTIFMetadataLoader builtInTIFMetadataLoader = new BuiltInTIFMetadataLoader();
         logTypeService = new LogTypeService(client, clusterService, xContentRegistry, builtinLogTypeLoader);
@@ -321,7 +337,7 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         customLogTypeIndices = new CustomLogTypeIndices(client.admin(), clusterService);
         indexTemplateManager = new IndexTemplateManager(client, clusterService, indexNameExpressionResolver, xContentRegistry);
         mapperService = new MapperService(client, clusterService, indexNameExpressionResolver, indexTemplateManager, logTypeService);
-        ruleIndices = new RuleIndices(logTypeService, client, clusterService, threadPool);
+        ruleIndices = new RuleIndices(logTypeService, client, clusterService, threadPool, stats);
         correlationRuleIndices = new CorrelationRuleIndices(client, clusterService);
         ThreatIntelFeedDataService threatIntelFeedDataService = new ThreatIntelFeedDataService(clusterService, client, indexNameExpressionResolver, xContentRegistry);
         DetectorThreatIntelService detectorThreatIntelService = new DetectorThreatIntelService(threatIntelFeedDataService, client, xContentRegistry);
@@ -329,23 +345,36 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         TIFJobUpdateService tifJobUpdateService = new TIFJobUpdateService(clusterService, tifJobParameterService, threatIntelFeedDataService, builtInTIFMetadataLoader);
         threatIntelLockService = new TIFLockService(clusterService, client);
         saTifSourceConfigService = new SATIFSourceConfigService(client, clusterService, threadPool, xContentRegistry, threatIntelLockService);
-        STIX2IOCFetchService stix2IOCFetchService = new STIX2IOCFetchService(client, clusterService);
-        SATIFSourceConfigManagementService saTifSourceConfigManagementService = new SATIFSourceConfigManagementService(saTifSourceConfigService, threatIntelLockService, stix2IOCFetchService, xContentRegistry, clusterService);
+        TIFRefreshScheduler tifRefreshScheduler = new TIFRefreshScheduler(clusterService, threadPool, threatIntelLockService, environment.settings());
+        STIX2IOCFetchService stix2IOCFetchService = new STIX2IOCFetchService(client, clusterService, tifRefreshScheduler, stats);
+        IocIndexTieringService iocIndexTieringService = new IocIndexTieringService(client, clusterService);
+        SATIFSourceConfigManagementService saTifSourceConfigManagementService = new SATIFSourceConfigManagementService(saTifSourceConfigService, threatIntelLockService, stix2IOCFetchService, xContentRegistry, clusterService, iocIndexTieringService);
         SecurityAnalyticsRunner.getJobRunnerInstance();
-        TIFSourceConfigRunner.getJobRunnerInstance().initialize(clusterService, threatIntelLockService, threadPool, saTifSourceConfigManagementService, saTifSourceConfigService);
+        TIFSourceConfigRunner.getJobRunnerInstance().initialize(clusterService, threatIntelLockService, threadPool, saTifSourceConfigManagementService, saTifSourceConfigService, tifRefreshScheduler);
         CorrelationAlertService correlationAlertService = new CorrelationAlertService(client, xContentRegistry);
+        FindingsRollupService findingsRollupService = new FindingsRollupService(client, clusterService, threadPool, environment.settings());
         NotificationService notificationService = new NotificationService((NodeClient) client, scriptService);
+        CorrelationRuleScheduler correlationRuleScheduler = new CorrelationRuleScheduler(client, correlationAlertService, notificationService, threadPool);
         TIFJobRunner.getJobRunnerInstance().initialize(clusterService, tifJobUpdateService, tifJobParameterService, threatIntelLockService, threadPool, detectorThreatIntelService);
         IocFindingService iocFindingService = new IocFindingService(client, clusterService, xContentRegistry);
         ThreatIntelAlertService threatIntelAlertService = new ThreatIntelAlertService(client, clusterService, xContentRegistry);
-        SaIoCScanService ioCScanService = new SaIoCScanService(client, clusterService, xContentRegistry, iocFindingService, threatIntelAlertService, notificationService);
+        IocSnapshotService iocSnapshotService = new IocSnapshotService(client, clusterService, threadPool);
+        SaIoCScanService ioCScanService = new SaIoCScanService(client, clusterService, xContentRegistry, iocFindingService, threatIntelAlertService, notificationService, iocSnapshotService, stats, slowLog);
         DefaultTifSourceConfigLoaderService defaultTifSourceConfigLoaderService = new DefaultTifSourceConfigLoaderService(builtInTIFMetadataLoader, client, saTifSourceConfigManagementService);
+        stats.registerGauge("correlation_rule_pending_triggers", correlationRuleScheduler::getPendingTriggerCount);
+        stats.registerGauge("findings_rollup_pending", findingsRollupService::getPendingRollupCount);
+        stats.registerGauge("mappings_cache_hits", FlattenedMappings::getCacheHits);
+        stats.registerGauge("mappings_cache_misses", FlattenedMappings::getCacheMisses);
+        stats.registerGauge("tif_refreshes_queued", tifRefreshScheduler::getQueuedRefreshCount);
+        stats.registerGauge("tif_refreshes_running", tifRefreshScheduler::getRunningRefreshCount);
+        stats.registerGauge("tif_ingest_bulks_queued", tifRefreshScheduler::getQueuedBulkCount);
+        stats.registerGauge("tif_ingest_bytes_in_flight", tifRefreshScheduler::getBytesInFlight);
         return List.of(
                 detectorIndices, correlationIndices, correlationRuleIndices, ruleTopicIndices, customLogTypeIndices, ruleIndices, threatIntelAlertService,
                 mapperService, indexTemplateManager, builtinLogTypeLoader, builtInTIFMetadataLoader, threatIntelFeedDataService, detectorThreatIntelService,
-                correlationAlertService, notificationService,
-                tifJobUpdateService, tifJobParameterService, threatIntelLockService, saTifSourceConfigService, saTifSourceConfigManagementService, stix2IOCFetchService,
-                ioCScanService, defaultTifSourceConfigLoaderService);
+                correlationAlertService, notificationService, correlationRuleScheduler, findingsRollupService,
+                tifJobUpdateService, tifJobParameterService, threatIntelLockService, saTifSourceConfigService, saTifSourceConfigManagementService, stix2IOCFetchService, tifRefreshScheduler, iocIndexTieringService,
+                ioCScanService, iocSnapshotService, defaultTifSourceConfigLoaderService, stats, slowLog);
     }
 
     @Override
@@ -371,6 +400,7 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new RestSearchDetectorAction(),
                 new RestDeleteDetectorAction(),
                 new RestGetFindingsAction(),
+                new RestGetFindingsSummaryAction(),
                 new RestGetMappingsViewAction(),
                 new RestGetAlertsAction(),
                 new RestGetThreatIntelAlertsAction(),
@@ -400,7 +430,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new RestGetIocFindingsAction(),
                 new RestTestS3ConnectionAction(),
                 new RestGetCorrelationsAlertsAction(),
-                new RestAcknowledgeCorrelationAlertsAction()
+                new RestAcknowledgeCorrelationAlertsAction(),
+                new RestSecurityAnalyticsStatsAction()
         );
     }
 
@@ -495,10 +526,14 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 SecurityAnalyticsSettings.FINDING_HISTORY_INDEX_MAX_AGE,
                 SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD,
                 SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD,
+                SecurityAnalyticsSettings.RULE_PROPAGATION_MAX_CONCURRENCY,
+                SecurityAnalyticsSettings.FINDINGS_ROLLUP_ENABLED,
+                SecurityAnalyticsSettings.FINDINGS_ROLLUP_RETENTION_PERIOD,
                 SecurityAnalyticsSettings.CORRELATION_HISTORY_MAX_DOCS,
                 SecurityAnalyticsSettings.CORRELATION_HISTORY_INDEX_MAX_AGE,
                 SecurityAnalyticsSettings.CORRELATION_HISTORY_ROLLOVER_PERIOD,
                 SecurityAnalyticsSettings.CORRELATION_HISTORY_RETENTION_PERIOD,
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_VECTOR_STORAGE,
                 SecurityAnalyticsSettings.IOC_FINDING_HISTORY_ENABLED,
                 SecurityAnalyticsSettings.IOC_FINDING_HISTORY_MAX_DOCS,
                 SecurityAnalyticsSettings.IOC_FINDING_HISTORY_INDEX_MAX_AGE,
@@ -506,16 +541,30 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 SecurityAnalyticsSettings.IOC_FINDING_HISTORY_RETENTION_PERIOD,
                 SecurityAnalyticsSettings.IS_CORRELATION_INDEX_SETTING,
                 SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW,
+                SecurityAnalyticsSettings.CORRELATION_STORE,
                 SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS,
                 SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA,
                 SecurityAnalyticsSettings.ENABLE_WORKFLOW_USAGE,
                 SecurityAnalyticsSettings.TIF_UPDATE_INTERVAL,
                 SecurityAnalyticsSettings.BATCH_SIZE,
                 SecurityAnalyticsSettings.THREAT_INTEL_TIMEOUT,
+                SecurityAnalyticsSettings.TIF_INGEST_MAX_CONCURRENT_FEEDS_PER_NODE,
+                SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE,
+                SecurityAnalyticsSettings.TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE,
                 SecurityAnalyticsSettings.IOC_INDEX_RETENTION_PERIOD,
                 SecurityAnalyticsSettings.IOC_MAX_INDICES_PER_INDEX_PATTERN,
+                SecurityAnalyticsSettings.IOC_INDEX_PROFILE,
+                SecurityAnalyticsSettings.IOC_SCAN_HISTORICAL_ENABLED,
+                SecurityAnalyticsSettings.IOC_TIER_MERGE_MAX_DOCS,
                 SecurityAnalyticsSettings.IOC_SCAN_MAX_TERMS_COUNT,
-                SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_DEDICATED_QUERY_INDICES
+                SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_ENABLED,
+                SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_MAX_IOCS,
+                SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_DEDICATED_QUERY_INDICES,
+                SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_SHARED_QUERY_INDICES,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_WARN,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_INFO,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_DEBUG,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_TRACE
         );
     }
 
@@ -532,6 +581,7 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionPlugin.ActionHandler<>(GetDetectorAction.INSTANCE, TransportGetDetectorAction.class),
                 new ActionPlugin.ActionHandler<>(SearchDetectorAction.INSTANCE, TransportSearchDetectorAction.class),
                 new ActionPlugin.ActionHandler<>(GetFindingsAction.INSTANCE, TransportGetFindingsAction.class),
+                new ActionPlugin.ActionHandler<>(GetFindingsSummaryAction.INSTANCE, TransportGetFindingsSummaryAction.class),
                 new ActionPlugin.ActionHandler<>(GetAlertsAction.INSTANCE, TransportGetAlertsAction.class),
                 new ActionPlugin.ActionHandler<>(IndexRuleAction.INSTANCE, TransportIndexRuleAction.class),
                 new ActionPlugin.ActionHandler<>(SearchRuleAction.INSTANCE, TransportSearchRuleAction.class),
@@ -563,7 +613,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionHandler<>(GetIocFindingsAction.INSTANCE, TransportGetIocFindingsAction.class),
                 new ActionHandler<>(PutTIFJobAction.INSTANCE, TransportPutTIFJobAction.class),
                 new ActionPlugin.ActionHandler<>(GetCorrelationAlertsAction.INSTANCE, TransportGetCorrelationAlertsAction.class),
-                new ActionPlugin.ActionHandler<>(AckCorrelationAlertsAction.INSTANCE, TransportAckCorrelationAlertsAction.class)
+                new ActionPlugin.ActionHandler<>(AckCorrelationAlertsAction.INSTANCE, TransportAckCorrelationAlertsAction.class),
+                new ActionPlugin.ActionHandler<>(SecurityAnalyticsStatsAction.INSTANCE, TransportSecurityAnalyticsStatsAction.class)
         );
     }
 
@@ -4,6 +4,7 @@
  */
 package org.opensearch.securityanalytics.action;
 
+import org.opensearch.Version;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.core.common.io.stream.StreamInput;
@@ -14,6 +15,10 @@ import java.io.IOException;
 
 public class CorrelatedFindingRequest extends ActionRequest {
 
+    public static final int DEFAULT_DEPTH = 1;
+
+    public static final int MAX_DEPTH = 5;
+
     private String detectorType;
 
     private String findingId;
@@ -22,12 +27,20 @@ public class CorrelatedFindingRequest extends ActionRequest {
 
     private int noOfNearbyFindings;
 
+    // hops from the finding searched with the graph correlation store
+    private int depth;
+
     public CorrelatedFindingRequest(String findingId, String detectorType, long timeWindow, int noOfNearbyFindings) {
+        this(findingId, detectorType, timeWindow, noOfNearbyFindings, DEFAULT_DEPTH);
+    }
+
+    public CorrelatedFindingRequest(String findingId, String detectorType, long timeWindow, int noOfNearbyFindings, int depth) {
         super();
         this.findingId = findingId;
         this.detectorType = detectorType;
         this.timeWindow = timeWindow;
         this.noOfNearbyFindings = noOfNearbyFindings;
+        this.depth = depth;
     }
 
     public CorrelatedFindingRequest(StreamInput sin) throws IOException {
@@ -35,12 +48,18 @@ public class CorrelatedFindingRequest extends ActionRequest {
                 sin.readString(),
                 sin.readString(),
                 sin.readLong(),
-                sin.readInt()
+                sin.readInt(),
+                sin.getVersion().onOrAfter(Version.V_3_8_0) ? sin.readVInt() : DEFAULT_DEPTH
         );
     }
 
     @Override
     public ActionRequestValidationException validate() {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            ActionRequestValidationException validationException = new ActionRequestValidationException();
+            validationException.addValidationError("depth must be between 1 and " + MAX_DEPTH);
+            return validationException;
+        }
         return null;
     }
 
@@ -50,6 +69,9 @@ public class CorrelatedFindingRequest extends ActionRequest {
         out.writeString(detectorType);
         out.writeLong(timeWindow);
         out.writeInt(noOfNearbyFindings);
+        if (out.getVersion().onOrAfter(Version.V_3_8_0)) {
+            out.writeVInt(depth);
+        }
     }
 
     public String getFindingId() {
@@ -67,4 +89,8 @@ public class CorrelatedFindingRequest extends ActionRequest {
     public int getNoOfNearbyFindings() {
         return noOfNearbyFindings;
     }
+
+    public int getDepth() {
+        return depth;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.findings.FindingsRollupService;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class GetFindingsSummaryRequest extends ActionRequest {
+
+    public static final String DEFAULT_INTERVAL = "1d";
+
+    // time buckets between startTime and endTime, bounded well below search.max_buckets
+    public static final int MAX_TIME_BUCKETS = 10000;
+
+    private String detectorId;
+    private String logType;
+    private Instant startTime;
+    private Instant endTime;
+    private String interval;
+    private boolean rollup;
+
+    public GetFindingsSummaryRequest(String detectorId, String logType, Instant startTime, Instant endTime, String interval) {
+        this(detectorId, logType, startTime, endTime, interval, false);
+    }
+
+    public GetFindingsSummaryRequest(String detectorId, String logType, Instant startTime, Instant endTime, String interval, boolean rollup) {
+        super();
+        this.detectorId = detectorId;
+        this.logType = logType;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.interval = interval;
+        this.rollup = rollup;
+    }
+
+    public GetFindingsSummaryRequest(StreamInput sin) throws IOException {
+        this(
+            sin.readOptionalString(),
+            sin.readOptionalString(),
+            sin.readOptionalInstant(),
+            sin.readOptionalInstant(),
+            sin.readString(),
+            sin.readBoolean()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (detectorId != null && detectorId.length() == 0) {
+            validationException = addValidationError(String.format(Locale.ROOT,
+                            "detector_id is missing"),
+                    validationException);
+        }
+        if (startTime != null && endTime != null && startTime.isAfter(endTime)) {
+            validationException = addValidationError(String.format(Locale.ROOT,
+                            "startTime should be less than endTime"),
+                    validationException);
+        }
+        try {
+            if (interval == null || TimeValue.parseTimeValue(interval, "interval").millis() <= 0) {
+                validationException = addValidationError(String.format(Locale.ROOT,
+                                "interval must be a positive time value"),
+                        validationException);
+            } else if (rollup && TimeValue.parseTimeValue(interval, "interval").millis() % FindingsRollupService.ROLLUP_INTERVAL_MILLIS != 0) {
+                validationException = addValidationError(String.format(Locale.ROOT,
+                                "interval [%s] must be a multiple of 1h when summarizing findings rollups", interval),
+                        validationException);
+            } else if (startTime != null && endTime != null && !startTime.isAfter(endTime) &&
+                    getTimeBucketCount(startTime, endTime, TimeValue.parseTimeValue(interval, "interval").millis()) > MAX_TIME_BUCKETS) {
+                validationException = addValidationError(String.format(Locale.ROOT,
+                                "interval [%s] splits the time range into more than %d time buckets", interval, MAX_TIME_BUCKETS),
+                        validationException);
+            }
+        } catch (IllegalArgumentException e) {
+            validationException = addValidationError(String.format(Locale.ROOT,
+                            "interval [%s] is invalid", interval),
+                    validationException);
+        }
+        return validationException;
+    }
+
+    private static long getTimeBucketCount(Instant startTime, Instant endTime, long intervalMillis) {
+        return (endTime.toEpochMilli() - startTime.toEpochMilli()) / intervalMillis + 1;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeOptionalString(detectorId);
+        out.writeOptionalString(logType);
+        out.writeOptionalInstant(startTime);
+        out.writeOptionalInstant(endTime);
+        out.writeString(interval);
+        out.writeBoolean(rollup);
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public String getLogType() {
+        return logType;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public boolean isRollup() {
+        return rollup;
+    }
+}
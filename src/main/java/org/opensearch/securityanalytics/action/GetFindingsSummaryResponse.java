@@ -0,0 +1,136 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Finding counts of a set of detectors, in total and by detector, rule, severity and time bucket.
+ */
+public class GetFindingsSummaryResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String TOTAL_FINDINGS_FIELD = "total_findings";
+    private static final String DETECTORS_FIELD = "detectors";
+    private static final String RULES_FIELD = "rules";
+    private static final String SEVERITIES_FIELD = "severities";
+    private static final String TIME_BUCKETS_FIELD = "time_buckets";
+    private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final String COUNT_FIELD = "count";
+
+    private final long totalFindings;
+    private final Map<String, Long> findingsByDetector;
+    private final Map<String, Long> findingsByRule;
+    private final Map<String, Long> findingsBySeverity;
+    private final Map<Long, Long> findingsByTimeBucket;
+
+    public GetFindingsSummaryResponse(
+            long totalFindings,
+            Map<String, Long> findingsByDetector,
+            Map<String, Long> findingsByRule,
+            Map<String, Long> findingsBySeverity,
+            Map<Long, Long> findingsByTimeBucket
+    ) {
+        super();
+        this.totalFindings = totalFindings;
+        this.findingsByDetector = findingsByDetector;
+        this.findingsByRule = findingsByRule;
+        this.findingsBySeverity = findingsBySeverity;
+        this.findingsByTimeBucket = findingsByTimeBucket;
+    }
+
+    public GetFindingsSummaryResponse(StreamInput sin) throws IOException {
+        this(
+                sin.readLong(),
+                readCounts(sin),
+                readCounts(sin),
+                readCounts(sin),
+                readTimeBuckets(sin)
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(totalFindings);
+        writeCounts(out, findingsByDetector);
+        writeCounts(out, findingsByRule);
+        writeCounts(out, findingsBySeverity);
+        out.writeVInt(findingsByTimeBucket.size());
+        for (Map.Entry<Long, Long> bucket : findingsByTimeBucket.entrySet()) {
+            out.writeLong(bucket.getKey());
+            out.writeVLong(bucket.getValue());
+        }
+    }
+
+    private static void writeCounts(StreamOutput out, Map<String, Long> counts) throws IOException {
+        out.writeVInt(counts.size());
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            out.writeString(count.getKey());
+            out.writeVLong(count.getValue());
+        }
+    }
+
+    private static Map<String, Long> readCounts(StreamInput sin) throws IOException {
+        int size = sin.readVInt();
+        Map<String, Long> counts = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; ++i) {
+            counts.put(sin.readString(), sin.readVLong());
+        }
+        return counts;
+    }
+
+    private static Map<Long, Long> readTimeBuckets(StreamInput sin) throws IOException {
+        int size = sin.readVInt();
+        Map<Long, Long> buckets = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; ++i) {
+            buckets.put(sin.readLong(), sin.readVLong());
+        }
+        return buckets;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(TOTAL_FINDINGS_FIELD, totalFindings)
+                .field(DETECTORS_FIELD, findingsByDetector)
+                .field(RULES_FIELD, findingsByRule)
+                .field(SEVERITIES_FIELD, findingsBySeverity);
+        builder.startArray(TIME_BUCKETS_FIELD);
+        for (Map.Entry<Long, Long> bucket : findingsByTimeBucket.entrySet()) {
+            builder.startObject()
+                    .field(TIMESTAMP_FIELD, bucket.getKey())
+                    .field(COUNT_FIELD, bucket.getValue())
+                    .endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public long getTotalFindings() {
+        return totalFindings;
+    }
+
+    public Map<String, Long> getFindingsByDetector() {
+        return findingsByDetector;
+    }
+
+    public Map<String, Long> getFindingsByRule() {
+        return findingsByRule;
+    }
+
+    public Map<String, Long> getFindingsBySeverity() {
+        return findingsBySeverity;
+    }
+
+    public Map<Long, Long> getFindingsByTimeBucket() {
+        return findingsByTimeBucket;
+    }
+}
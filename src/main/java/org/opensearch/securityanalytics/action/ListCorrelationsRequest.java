@@ -4,41 +4,86 @@
  */
 package org.opensearch.securityanalytics.action;
 
+import org.opensearch.Version;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
 
 public class ListCorrelationsRequest extends ActionRequest {
 
+    // one page of the default size holds as many correlations as the listing returned before paging
+    public static final int DEFAULT_SIZE = 10000;
+
+    public static final int MAX_SIZE = 10000;
+
+    private static final String TOKEN_SEPARATOR = "\n";
+
     private Long startTimestamp;
 
     private Long endTimestamp;
 
+    private int size;
+
+    private String nextToken;
+
+    private boolean aggregate;
+
     public ListCorrelationsRequest(Long startTimestamp, Long endTimestamp) {
+        this(startTimestamp, endTimestamp, DEFAULT_SIZE, null, false);
+    }
+
+    public ListCorrelationsRequest(Long startTimestamp, Long endTimestamp, int size, String nextToken, boolean aggregate) {
         super();
         this.startTimestamp = startTimestamp;
         this.endTimestamp = endTimestamp;
+        this.size = size;
+        this.nextToken = nextToken;
+        this.aggregate = aggregate;
     }
 
     public ListCorrelationsRequest(StreamInput sin) throws IOException {
         this(
                 sin.readLong(),
-                sin.readLong()
+                sin.readLong(),
+                sin.getVersion().onOrAfter(Version.V_3_8_0) ? sin.readInt() : DEFAULT_SIZE,
+                sin.getVersion().onOrAfter(Version.V_3_8_0) ? sin.readOptionalString() : null,
+                sin.getVersion().onOrAfter(Version.V_3_8_0) && sin.readBoolean()
         );
     }
 
     @Override
     public ActionRequestValidationException validate() {
-        return null;
+        ActionRequestValidationException validationException = null;
+        if (size < 1 || size > MAX_SIZE) {
+            validationException = addValidationError(
+                    String.format(Locale.ROOT, "size must be between 1 and %d", MAX_SIZE), validationException);
+        }
+        if (nextToken != null && decodeNextToken(nextToken) == null) {
+            validationException = addValidationError("next_token is invalid", validationException);
+        }
+        if (nextToken != null && aggregate) {
+            validationException = addValidationError("next_token cannot be used with aggregate", validationException);
+        }
+        return validationException;
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeLong(startTimestamp);
         out.writeLong(endTimestamp);
+        if (out.getVersion().onOrAfter(Version.V_3_8_0)) {
+            out.writeInt(size);
+            out.writeOptionalString(nextToken);
+            out.writeBoolean(aggregate);
+        }
     }
 
     public Long getStartTimestamp() {
@@ -48,4 +93,42 @@ public class ListCorrelationsRequest extends ActionRequest {
     public Long getEndTimestamp() {
         return endTimestamp;
     }
-}
\ No newline at end of file
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean isAggregate() {
+        return aggregate;
+    }
+
+    /**
+     * Builds the token of the page following the given point in time search hit, made of the point in time id and the
+     * sort values of the hit (timestamp, finding1 and finding2).
+     */
+    public static String encodeNextToken(String pitId, long timestamp, String finding1, String finding2) {
+        String token = String.join(TOKEN_SEPARATOR, pitId, Long.toString(timestamp), finding1, finding2);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits a token built with {@link #encodeNextToken} back into the point in time id and the sort values, returns
+     * null if the token is malformed.
+     */
+    public static Object[] decodeNextToken(String nextToken) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(nextToken), StandardCharsets.UTF_8);
+            String[] parts = token.split(TOKEN_SEPARATOR, -1);
+            if (parts.length != 4 || parts[0].isEmpty()) {
+                return null;
+            }
+            return new Object[] { parts[0], Long.parseLong(parts[1]), parts[2], parts[3] };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -4,12 +4,14 @@
  */
 package org.opensearch.securityanalytics.action;
 
+import org.opensearch.Version;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.securityanalytics.model.CorrelatedFinding;
+import org.opensearch.securityanalytics.model.CorrelationEdgeCount;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -19,29 +21,68 @@ public class ListCorrelationsResponse extends ActionResponse implements ToXConte
 
     private List<CorrelatedFinding> correlatedFindings;
 
+    private String nextToken;
+
+    private List<CorrelationEdgeCount> edgeCounts;
+
     protected static final String FINDINGS = "findings";
+    protected static final String NEXT_TOKEN = "next_token";
+    protected static final String EDGE_COUNTS = "edge_counts";
 
     public ListCorrelationsResponse(List<CorrelatedFinding> correlatedFindings) {
+        this(correlatedFindings, null, null);
+    }
+
+    public ListCorrelationsResponse(List<CorrelatedFinding> correlatedFindings, String nextToken, List<CorrelationEdgeCount> edgeCounts) {
         super();
         this.correlatedFindings = correlatedFindings;
+        this.nextToken = nextToken;
+        this.edgeCounts = edgeCounts;
     }
 
     public ListCorrelationsResponse(StreamInput sin) throws IOException {
         this(
-                Collections.unmodifiableList(sin.readList(CorrelatedFinding::new))
+                Collections.unmodifiableList(sin.readList(CorrelatedFinding::new)),
+                sin.getVersion().onOrAfter(Version.V_3_8_0) ? sin.readOptionalString() : null,
+                sin.getVersion().onOrAfter(Version.V_3_8_0) && sin.readBoolean()
+                        ? Collections.unmodifiableList(sin.readList(CorrelationEdgeCount::new)) : null
         );
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeCollection(correlatedFindings);
+        if (out.getVersion().onOrAfter(Version.V_3_8_0)) {
+            out.writeOptionalString(nextToken);
+            out.writeBoolean(edgeCounts != null);
+            if (edgeCounts != null) {
+                out.writeCollection(edgeCounts);
+            }
+        }
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject()
-                .field(FINDINGS, correlatedFindings)
-                .endObject();
-        return builder;
+                .field(FINDINGS, correlatedFindings);
+        if (nextToken != null) {
+            builder.field(NEXT_TOKEN, nextToken);
+        }
+        if (edgeCounts != null) {
+            builder.field(EDGE_COUNTS, edgeCounts);
+        }
+        return builder.endObject();
+    }
+
+    public List<CorrelatedFinding> getCorrelatedFindings() {
+        return correlatedFindings;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public List<CorrelationEdgeCount> getEdgeCounts() {
+        return edgeCounts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.stats.StageStats;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class SecurityAnalyticsNodeStatsResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    public static final String STAGES_FIELD = "stages";
+    public static final String GAUGES_FIELD = "gauges";
+
+    private final Map<String, StageStats> stageStats;
+
+    private final Map<String, Long> gauges;
+
+    public SecurityAnalyticsNodeStatsResponse(DiscoveryNode node, Map<String, StageStats> stageStats, Map<String, Long> gauges) {
+        super(node);
+        this.stageStats = stageStats;
+        this.gauges = gauges;
+    }
+
+    public SecurityAnalyticsNodeStatsResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.stageStats = sin.readMap(StreamInput::readString, StageStats::new);
+        this.gauges = sin.readMap(StreamInput::readString, StreamInput::readLong);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeMap(stageStats, StreamOutput::writeString, (o, stats) -> stats.writeTo(o));
+        out.writeMap(gauges, StreamOutput::writeString, StreamOutput::writeLong);
+    }
+
+    public Map<String, StageStats> getStageStats() {
+        return stageStats;
+    }
+
+    public Map<String, Long> getGauges() {
+        return gauges;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field("name", getNode().getName());
+        builder.startObject(STAGES_FIELD);
+        for (Map.Entry<String, StageStats> entry : stageStats.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        builder.startObject(GAUGES_FIELD);
+        for (Map.Entry<String, Long> entry : gauges.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+import java.io.IOException;
+
+public class SecurityAnalyticsStatsRequest extends BaseNodesRequest<SecurityAnalyticsStatsRequest> {
+
+    public static final String NODE_ID = "node_id";
+
+    public SecurityAnalyticsStatsRequest(String... nodeIds) {
+        super(nodeIds);
+    }
+
+    public SecurityAnalyticsStatsRequest(StreamInput sin) throws IOException {
+        super(sin);
+    }
+}
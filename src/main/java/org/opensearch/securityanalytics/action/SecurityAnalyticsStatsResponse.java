@@ -0,0 +1,86 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.stats.StageStats;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SecurityAnalyticsStatsResponse extends BaseNodesResponse<SecurityAnalyticsNodeStatsResponse> implements ToXContentFragment {
+
+    public SecurityAnalyticsStatsResponse(ClusterName clusterName, List<SecurityAnalyticsNodeStatsResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    public SecurityAnalyticsStatsResponse(StreamInput sin) throws IOException {
+        super(sin);
+    }
+
+    @Override
+    protected List<SecurityAnalyticsNodeStatsResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(SecurityAnalyticsNodeStatsResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<SecurityAnalyticsNodeStatsResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    /**
+     * @return stage stats of all responding nodes merged per stage
+     */
+    public Map<String, StageStats> getClusterStageStats() {
+        Map<String, StageStats> clusterStats = new TreeMap<>();
+        for (SecurityAnalyticsNodeStatsResponse node : getNodes()) {
+            node.getStageStats().forEach((stage, stats) -> clusterStats.merge(stage, stats, StageStats::merge));
+        }
+        return clusterStats;
+    }
+
+    /**
+     * @return gauges of all responding nodes summed per gauge
+     */
+    public Map<String, Long> getClusterGauges() {
+        Map<String, Long> clusterGauges = new TreeMap<>();
+        for (SecurityAnalyticsNodeStatsResponse node : getNodes()) {
+            node.getGauges().forEach((gauge, value) -> clusterGauges.merge(gauge, value, Long::sum));
+        }
+        return clusterGauges;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("cluster");
+        builder.startObject(SecurityAnalyticsNodeStatsResponse.STAGES_FIELD);
+        for (Map.Entry<String, StageStats> entry : getClusterStageStats().entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        builder.startObject(SecurityAnalyticsNodeStatsResponse.GAUGES_FIELD);
+        for (Map.Entry<String, Long> entry : getClusterGauges().entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        builder.endObject();
+
+        builder.startObject("nodes");
+        for (SecurityAnalyticsNodeStatsResponse node : getNodes()) {
+            builder.startObject(node.getNode().getId());
+            node.toXContent(builder, params);
+            builder.endObject();
+        }
+        return builder.endObject();
+    }
+}
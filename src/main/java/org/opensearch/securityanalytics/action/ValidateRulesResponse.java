@@ -5,10 +5,10 @@
 package org.opensearch.securityanalytics.action;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import org.opensearch.Version;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.common.io.stream.StreamInput;
@@ -21,34 +21,35 @@ import org.opensearch.securityanalytics.mapper.MapperUtils;
 public class ValidateRulesResponse extends ActionResponse implements ToXContentObject {
 
     public static final String NONAPPLICABLE_FIELDS = "nonapplicable_fields";
+    public static final String MISSING_FIELDS = "missing_fields";
 
     List<String> nonapplicableFields;
 
+    // missing index fields of each nonapplicable rule, by rule id
+    Map<String, List<String>> missingFields;
+
     public ValidateRulesResponse(List<String> nonapplicableFields) {
+        this(nonapplicableFields, Map.of());
+    }
+
+    public ValidateRulesResponse(List<String> nonapplicableFields, Map<String, List<String>> missingFields) {
         this.nonapplicableFields = nonapplicableFields;
+        this.missingFields = missingFields;
     }
 
     public ValidateRulesResponse(StreamInput in) throws IOException {
         super(in);
         nonapplicableFields = in.readStringList();
-        int size = in.readVInt();
-        if (size > 0) {
-            nonapplicableFields = new ArrayList<>(size);
-            for (int i = 0; i < size; i++) {
-                nonapplicableFields.add(in.readString());
-            }
-        }
+        missingFields = in.getVersion().onOrAfter(Version.V_3_8_0)
+                ? in.readMap(StreamInput::readString, StreamInput::readStringList)
+                : Map.of();
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
-        if (nonapplicableFields != null) {
-            out.writeVInt(nonapplicableFields.size());
-            for (String f : nonapplicableFields) {
-                out.writeString(f);
-            }
-        } else {
-            out.writeVInt(0);
+        out.writeStringCollection(nonapplicableFields != null ? nonapplicableFields : List.of());
+        if (out.getVersion().onOrAfter(Version.V_3_8_0)) {
+            out.writeMap(missingFields != null ? missingFields : Map.of(), StreamOutput::writeString, StreamOutput::writeStringCollection);
         }
     }
 
@@ -58,6 +59,9 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
         if (nonapplicableFields != null && nonapplicableFields.size() > 0) {
             builder.field(NONAPPLICABLE_FIELDS, nonapplicableFields);
         }
+        if (missingFields != null && missingFields.size() > 0) {
+            builder.field(MISSING_FIELDS, missingFields);
+        }
         return builder.endObject();
     }
 
@@ -65,6 +69,10 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
         return nonapplicableFields;
     }
 
+    public Map<String, List<String>> getMissingFields() {
+        return missingFields;
+    }
+
     @Override
     public String toString() {
         return Strings.toString(XContentType.JSON, this);
@@ -72,7 +80,7 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
 
     @Override
     public int hashCode() {
-        return Objects.hash(new Object[]{this.nonapplicableFields});
+        return Objects.hash(new Object[]{this.nonapplicableFields, this.missingFields});
     }
 
     @Override
@@ -85,6 +93,6 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
             return false;
         }
         ValidateRulesResponse other = (ValidateRulesResponse) obj;
-        return this.nonapplicableFields.equals(other.nonapplicableFields);
+        return this.nonapplicableFields.equals(other.nonapplicableFields) && Objects.equals(this.missingFields, other.missingFields);
     }
 }
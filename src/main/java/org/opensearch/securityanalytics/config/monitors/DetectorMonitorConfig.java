@@ -4,8 +4,13 @@
  */
 package org.opensearch.securityanalytics.config.monitors;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.opensearch.common.inject.Inject;
@@ -31,6 +36,37 @@ public class DetectorMonitorConfig {
         return String.format(Locale.getDefault(), ".opensearch-sap-%s-detectors-queries-optimized-%s", logType, UUID.randomUUID());
     }
 
+    /**
+     * Query index shared by the detectors of the log type running the same rules on the same indices. The name is
+     * derived from that content, so such detectors resolve to the same index whatever order they list them in.
+     * The whole set of rules is hashed, queries are not addressed one by one, so detectors sharing only some of their
+     * rules still get query indices of their own.
+     */
+    public static String getRuleIndexShared(String logType, Collection<String> inputIndices, Collection<String> ruleIds, boolean threatIntelEnabled) {
+        StringBuilder content = new StringBuilder(logType);
+        new TreeSet<>(inputIndices).forEach(it -> content.append('\n').append("index:").append(it));
+        new TreeSet<>(ruleIds).forEach(it -> content.append('\n').append("rule:").append(it));
+        content.append('\n').append("threat_intel:").append(threatIntelEnabled);
+        return String.format(Locale.getDefault(), ".opensearch-sap-%s-detectors-queries-shared-%s", logType, sha256Prefix(content.toString()));
+    }
+
+    public static boolean isSharedRuleIndex(String ruleIndex) {
+        return ruleIndex != null && ruleIndex.contains("-detectors-queries-shared-");
+    }
+
+    private static String sha256Prefix(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; ++i) {
+                hex.append(String.format(Locale.ROOT, "%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public static String getAlertsIndex(String logType) {
         return String.format(Locale.getDefault(), ".opensearch-sap-%s-alerts", logType);
     }
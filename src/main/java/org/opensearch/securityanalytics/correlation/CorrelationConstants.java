@@ -7,6 +7,7 @@ package org.opensearch.securityanalytics.correlation;
 public class CorrelationConstants {
     public static final String METHOD_PARAMETER_M = "m";
     public static final String METHOD_PARAMETER_EF_CONSTRUCTION = "ef_construction";
+    public static final String METHOD_PARAMETER_STORAGE = "storage";
     public static final String DIMENSION = "dimension";
     public static final String CORRELATION_CONTEXT = "correlation_ctx";
 }
\ No newline at end of file
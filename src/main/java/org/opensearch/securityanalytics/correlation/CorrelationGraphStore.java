@@ -0,0 +1,273 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Correlation store keeping the correlation graph as an adjacency list, one edge doc per pair of correlated findings
+ * in the correlation history indices. Edge docs have the same fields as the finding-finding docs of the vector store,
+ * without a correlation vector, so listing correlations works on both. Neighbors of a finding are found with terms
+ * queries on the keyword doc values of the edge ends, hop by hop. Every edge of a hop is read, page by page, so results
+ * are exact for any depth.
+ */
+public class CorrelationGraphStore {
+
+    public static final String EDGE_RECORD_TYPE = "finding-finding";
+
+    // a neighbor is scored by how many hops away from the finding it is found, 1 / hop
+    private static final double HOP_SCORE = 1.0;
+
+    // edges read per search of a hop, the hop pages through all its edges
+    static final int EDGES_PAGE_SIZE = 1000;
+
+    private static final String[] EDGE_FIELDS = new String[] { "finding1", "finding2", "logType", "timestamp", "corrRules.keyword" };
+
+    private final Client client;
+
+    public CorrelationGraphStore(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Indexes an edge from the finding to each of its correlated findings, per correlated log type.
+     */
+    public void insertEdges(String detectorType, String findingId, long findingTimestamp, Map<String, List<String>> correlatedFindings,
+                            List<String> correlationRules, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+        BulkRequest bulkRequest = new BulkRequest();
+        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        bulkRequest.timeout(indexTimeout);
+        try {
+            for (Map.Entry<String, List<String>> logTypeFindings : correlatedFindings.entrySet()) {
+                for (String correlatedFinding : logTypeFindings.getValue()) {
+                    XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+                    builder.field("root", false);
+                    builder.field("finding1", findingId);
+                    builder.field("finding2", correlatedFinding);
+                    builder.field("logType", String.format(Locale.ROOT, "%s-%s", detectorType, logTypeFindings.getKey()));
+                    builder.field("timestamp", findingTimestamp);
+                    builder.field("recordType", EDGE_RECORD_TYPE);
+                    builder.field("scoreTimestamp", 0L);
+                    builder.field("corrRules", correlationRules);
+                    builder.endObject();
+
+                    // the same pair correlated again overwrites its edge within the write index
+                    bulkRequest.add(new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
+                            .id(findingId + "_" + correlatedFinding)
+                            .source(builder));
+                }
+            }
+        } catch (IOException ex) {
+            listener.onFailure(ex);
+            return;
+        }
+        if (bulkRequest.numberOfActions() == 0) {
+            listener.onResponse(new BulkResponse(new BulkItemResponse[0], 0L));
+            return;
+        }
+        client.bulk(bulkRequest, listener);
+    }
+
+    /**
+     * Finds the findings up to depth hops away from the finding over edges within the time window of the finding
+     * timestamp, closest hops first and within a hop closest in time first.
+     */
+    public void searchNeighbors(String findingId, long findingTimestamp, long timeWindow, int depth, int maxFindings,
+                                ActionListener<List<FindingWithScore>> listener) {
+        Set<String> visited = new HashSet<>();
+        visited.add(findingId);
+        searchHop(Set.of(findingId), 1, visited, new LinkedHashMap<>(), findingTimestamp, timeWindow, depth, maxFindings, listener);
+    }
+
+    private void searchHop(Set<String> frontier, int hop, Set<String> visited, Map<String, Neighbor> neighbors, long findingTimestamp,
+                           long timeWindow, int depth, int maxFindings, ActionListener<List<FindingWithScore>> listener) {
+        if (frontier.isEmpty() || hop > depth || neighbors.size() >= maxFindings) {
+            listener.onResponse(toFindingsWithScore(neighbors));
+            return;
+        }
+
+        searchEdges(frontier, findingTimestamp, timeWindow, null, new ArrayList<>(), ActionListener.wrap(edges -> {
+            Set<String> nextFrontier = expandHop(edges, frontier, hop, visited, neighbors, findingTimestamp, maxFindings);
+            searchHop(nextFrontier, hop + 1, visited, neighbors, findingTimestamp, timeWindow, depth, maxFindings, listener);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Reads the edges leaving the frontier within the time window, one page after the other. Edges are sorted by
+     * timestamp and ends, so the sort values of the last edge of a page tell where the next page starts.
+     */
+    private void searchEdges(Set<String> frontier, long findingTimestamp, long timeWindow, Object[] searchAfter, List<Edge> edges,
+                             ActionListener<List<Edge>> listener) {
+        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                .should(QueryBuilders.termsQuery("finding1", frontier))
+                .should(QueryBuilders.termsQuery("finding2", frontier))
+                .minimumShouldMatch(1)
+                .mustNot(QueryBuilders.termQuery("finding1", ""))
+                .mustNot(QueryBuilders.termQuery("finding2", ""))
+                .filter(QueryBuilders.rangeQuery("timestamp")
+                        .gte(findingTimestamp - timeWindow)
+                        .lte(findingTimestamp + timeWindow));
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(queryBuilder);
+        searchSourceBuilder.fetchSource(false);
+        for (String field : EDGE_FIELDS) {
+            searchSourceBuilder.docValueField(field);
+        }
+        searchSourceBuilder.sort(SortBuilders.fieldSort("timestamp").order(SortOrder.ASC));
+        searchSourceBuilder.sort(SortBuilders.fieldSort("finding1").order(SortOrder.ASC));
+        searchSourceBuilder.sort(SortBuilders.fieldSort("finding2").order(SortOrder.ASC));
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        searchSourceBuilder.size(EDGES_PAGE_SIZE);
+        searchSourceBuilder.trackTotalHits(false);
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+        client.search(searchRequest, ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            for (SearchHit hit : hits) {
+                edges.add(Edge.of(hit));
+            }
+            if (hits.length < EDGES_PAGE_SIZE) {
+                listener.onResponse(edges);
+            } else {
+                searchEdges(frontier, findingTimestamp, timeWindow, hits[hits.length - 1].getSortValues(), edges, listener);
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Adds the unvisited ends of the edges leaving the frontier to the neighbors, closest in time first while there
+     * is room for them.
+     *
+     * @return the neighbors added, the frontier of the next hop
+     */
+    static Set<String> expandHop(List<Edge> edges, Set<String> frontier, int hop, Set<String> visited, Map<String, Neighbor> neighbors,
+                                 long findingTimestamp, int maxFindings) {
+        Map<String, Neighbor> hopNeighbors = new LinkedHashMap<>();
+        for (Edge edge : edges) {
+            if (frontier.contains(edge.finding1)) {
+                addNeighbor(hopNeighbors, visited, edge.finding2, edge.logType2, hop, edge, findingTimestamp);
+            }
+            if (frontier.contains(edge.finding2)) {
+                addNeighbor(hopNeighbors, visited, edge.finding1, edge.logType1, hop, edge, findingTimestamp);
+            }
+        }
+
+        List<Neighbor> closestFirst = new ArrayList<>(hopNeighbors.values());
+        closestFirst.sort(Comparator.comparingLong((Neighbor neighbor) -> neighbor.timeDistance).thenComparing(neighbor -> neighbor.finding));
+        Set<String> nextFrontier = new LinkedHashSet<>();
+        for (Neighbor neighbor : closestFirst) {
+            if (neighbors.size() >= maxFindings) {
+                break;
+            }
+            neighbors.put(neighbor.finding, neighbor);
+            visited.add(neighbor.finding);
+            nextFrontier.add(neighbor.finding);
+        }
+        return nextFrontier;
+    }
+
+    private static void addNeighbor(Map<String, Neighbor> hopNeighbors, Set<String> visited, String finding, String logType, int hop,
+                                    Edge edge, long findingTimestamp) {
+        if (visited.contains(finding)) {
+            return;
+        }
+        Neighbor neighbor = hopNeighbors.computeIfAbsent(finding, it -> new Neighbor(it, logType, hop));
+        neighbor.rules.addAll(edge.rules);
+        neighbor.timeDistance = Math.min(neighbor.timeDistance, Math.abs(edge.timestamp - findingTimestamp));
+    }
+
+    static List<FindingWithScore> toFindingsWithScore(Map<String, Neighbor> neighbors) {
+        List<FindingWithScore> findingsWithScore = new ArrayList<>(neighbors.size());
+        for (Neighbor neighbor : neighbors.values()) {
+            findingsWithScore.add(new FindingWithScore(neighbor.finding, neighbor.logType, HOP_SCORE / neighbor.hop,
+                    new ArrayList<>(neighbor.rules)));
+        }
+        return findingsWithScore;
+    }
+
+    static class Neighbor {
+        private final String finding;
+        private final String logType;
+        private final int hop;
+        private final Set<String> rules = new LinkedHashSet<>();
+        private long timeDistance = Long.MAX_VALUE;
+
+        private Neighbor(String finding, String logType, int hop) {
+            this.finding = finding;
+            this.logType = logType;
+            this.hop = hop;
+        }
+    }
+
+    static class Edge {
+        final String finding1;
+        final String finding2;
+        final String logType1;
+        final String logType2;
+        final long timestamp;
+        final List<String> rules;
+
+        Edge(String finding1, String finding2, String logType, long timestamp, List<String> rules) {
+            this.finding1 = finding1;
+            this.finding2 = finding2;
+            String[] logTypes = logType.split("-");
+            this.logType1 = logTypes[0];
+            this.logType2 = logTypes.length > 1 ? logTypes[1] : logTypes[0];
+            this.timestamp = timestamp;
+            this.rules = rules;
+        }
+
+        static Edge of(SearchHit hit) {
+            List<String> rules = new ArrayList<>();
+            if (hit.field("corrRules.keyword") != null) {
+                for (Object rule : hit.field("corrRules.keyword").getValues()) {
+                    rules.add(rule.toString());
+                }
+            }
+            return new Edge(
+                    hit.field("finding1").getValue().toString(),
+                    hit.field("finding2").getValue().toString(),
+                    hit.field("logType").getValue().toString(),
+                    ((Number) hit.field("timestamp").getValue()).longValue(),
+                    rules
+            );
+        }
+    }
+}
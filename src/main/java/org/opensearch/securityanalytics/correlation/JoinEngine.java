@@ -32,14 +32,13 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
-import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
-import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CorrelationQuery;
 import org.opensearch.securityanalytics.model.CorrelationRule;
 import org.opensearch.securityanalytics.model.CorrelationRuleTrigger;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
 import org.opensearch.securityanalytics.transport.TransportCorrelateFindingAction;
 import org.opensearch.securityanalytics.util.AutoCorrelationsRepo;
 import org.opensearch.transport.client.Client;
@@ -73,9 +72,7 @@ public class JoinEngine {
 
     private final LogTypeService logTypeService;
 
-    private final CorrelationAlertService correlationAlertService;
-
-    private final NotificationService notificationService;
+    private final CorrelationRuleScheduler correlationRuleScheduler;
 
     private volatile TimeValue indexTimeout;
 
@@ -83,9 +80,11 @@ public class JoinEngine {
 
     private final User user;
 
+    private final SecurityAnalyticsSlowLog.Trace slowLogTrace;
+
     public JoinEngine(Client client, PublishFindingsRequest request, NamedXContentRegistry xContentRegistry,
                       long corrTimeWindow, TimeValue indexTimeout, TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction,
-                      LogTypeService logTypeService, boolean enableAutoCorrelations, CorrelationAlertService correlationAlertService, NotificationService notificationService, User user) {
+                      LogTypeService logTypeService, boolean enableAutoCorrelations, CorrelationRuleScheduler correlationRuleScheduler, User user) {
         this.client = client;
         this.request = request;
         this.xContentRegistry = xContentRegistry;
@@ -94,9 +93,9 @@ public class JoinEngine {
         this.correlateFindingAction = correlateFindingAction;
         this.logTypeService = logTypeService;
         this.enableAutoCorrelations = enableAutoCorrelations;
-        this.correlationAlertService = correlationAlertService;
-        this.notificationService = notificationService;
+        this.correlationRuleScheduler = correlationRuleScheduler;
         this.user = user;
+        this.slowLogTrace = correlateFindingAction.getSlowLogTrace();
     }
 
     public void onSearchDetectorResponse(Detector detector, Finding finding) {
@@ -113,6 +112,7 @@ public class JoinEngine {
 
     @SuppressWarnings("unchecked")
     private void generateAutoCorrelations(Detector detector, Finding finding) throws IOException {
+        slowLogTrace.stage("auto_correlations");
         Map<String, Set<String>> autoCorrelations = AutoCorrelationsRepo.autoCorrelationsAsMap();
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
 
@@ -156,13 +156,14 @@ public class JoinEngine {
 
             if (!mSearchRequest.requests().isEmpty()) {
                 client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                    slowLogTrace.searched(items);
                     MultiSearchResponse.Item[] responses = items.getResponses();
 
                     Map<String, List<String>> autoCorrelationsMap = new HashMap<>();
                     int idx = 0;
                     for (MultiSearchResponse.Item item : responses) {
                         if (item.isFailure()) {
-                            log.info(item.getFailureMessage());
+                            log.debug(item.getFailureMessage());
                             continue;
                         }
                         String logTypeName = logTypeNames.get(idx);
@@ -216,6 +217,7 @@ public class JoinEngine {
     }
 
     private void onAutoCorrelations(Detector detector, Finding finding, Map<String, List<String>> autoCorrelations) {
+        slowLogTrace.stage("correlation_rules");
         String detectorType = detector.getDetectorType().toLowerCase(Locale.ROOT);
         List<String> indices = detector.getInputs().get(0).getIndices();
         List<String> relatedDocIds = finding.getCorrelatedDocIds();
@@ -236,6 +238,7 @@ public class JoinEngine {
         searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
 
         client.search(searchRequest, ActionListener.wrap(response -> {
+            slowLogTrace.searched(response);
             if (response.isTimedOut()) {
                 onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
             }
@@ -269,6 +272,7 @@ public class JoinEngine {
      * this method checks if the finding to be correlated has valid related docs(or not) which match join criteria.
      */
     private void getValidDocuments(String detectorType, List<String> indices, List<CorrelationRule> correlationRules, List<String> relatedDocIds, Map<String, List<String>> autoCorrelations) {
+        slowLogTrace.stage("valid_documents");
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
         List<CorrelationRule> validCorrelationRules = new ArrayList<>();
         List<String> validFields = new ArrayList<>();
@@ -307,13 +311,14 @@ public class JoinEngine {
 
         if (!mSearchRequest.requests().isEmpty()) {
             client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                slowLogTrace.searched(items);
                 MultiSearchResponse.Item[] responses = items.getResponses();
                 List<FilteredCorrelationRule> filteredCorrelationRules = new ArrayList<>();
 
                 int idx = 0;
                 for (MultiSearchResponse.Item response : responses) {
                     if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
+                        log.debug(response.getFailureMessage());
                         continue;
                     }
 
@@ -380,6 +385,7 @@ public class JoinEngine {
      * for them.
      */
     private void searchFindingsByTimestamp(String detectorType, Map<String, List<CorrelationQuery>> categoryToQueriesMap, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+        slowLogTrace.stage("findings_by_timestamp");
         long findingTimestamp = request.getFinding().getTimestamp().toEpochMilli();
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
         List<Pair<String, List<CorrelationQuery>>> categoryToQueriesPairs = new ArrayList<>();
@@ -405,13 +411,14 @@ public class JoinEngine {
 
         if (!mSearchRequest.requests().isEmpty()) {
             client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                slowLogTrace.searched(items);
                 MultiSearchResponse.Item[] responses = items.getResponses();
                 Map<String, DocSearchCriteria> relatedDocsMap = new HashMap<>();
 
                 int idx = 0;
                 for (MultiSearchResponse.Item response : responses) {
                     if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
+                        log.debug(response.getFailureMessage());
                         continue;
                     }
 
@@ -443,6 +450,7 @@ public class JoinEngine {
      * Given the related docs from parent findings, this method filters only those related docs which match parent join criteria.
      */
     private void searchDocsWithFilterKeys(String detectorType, Map<String, DocSearchCriteria> relatedDocsMap, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+        slowLogTrace.stage("docs_with_filter_keys");
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
         List<String> categories = new ArrayList<>();
 
@@ -471,13 +479,14 @@ public class JoinEngine {
 
         if (!mSearchRequest.requests().isEmpty()) {
             client.multiSearch(mSearchRequest, ActionListener.wrap( items -> {
+                slowLogTrace.searched(items);
                 MultiSearchResponse.Item[] responses = items.getResponses();
                 Map<String, List<String>> filteredRelatedDocIds = new HashMap<>();
 
                 int idx = 0;
                 for (MultiSearchResponse.Item response : responses) {
                     if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
+                        log.debug(response.getFailureMessage());
                         continue;
                     }
 
@@ -502,6 +511,7 @@ public class JoinEngine {
      * the finding to be correlated.
      */
     private void getCorrelatedFindings(String detectorType, Map<String, List<String>> filteredRelatedDocIds, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+        slowLogTrace.stage("correlated_findings");
         long findingTimestamp = request.getFinding().getTimestamp().toEpochMilli();
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
         List<String> categories = new ArrayList<>();
@@ -533,13 +543,14 @@ public class JoinEngine {
 
         if (!mSearchRequest.requests().isEmpty()) {
             client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                slowLogTrace.searched(items);
                 MultiSearchResponse.Item[] responses = items.getResponses();
                 Map<String, List<String>> correlatedFindings = new HashMap<>();
 
                 int idx = 0;
                 for (MultiSearchResponse.Item response : responses) {
                     if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
+                        log.debug(response.getFailureMessage());
                         ++idx;
                         continue;
                     }
@@ -558,7 +569,6 @@ public class JoinEngine {
                 }
 
                 if (!correlatedFindings.isEmpty()) {
-                     CorrelationRuleScheduler correlationRuleScheduler = new CorrelationRuleScheduler(client, correlationAlertService, notificationService);
                      correlationRuleScheduler.schedule(correlationRules, correlatedFindings, request.getFinding().getId(), indexTimeout, user);
                 }
 
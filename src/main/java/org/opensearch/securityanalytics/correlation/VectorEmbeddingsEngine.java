@@ -28,6 +28,7 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
 import org.opensearch.securityanalytics.model.CustomLogType;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
 import org.opensearch.securityanalytics.transport.TransportCorrelateFindingAction;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.transport.client.Client;
@@ -49,12 +50,15 @@ public class VectorEmbeddingsEngine {
 
     private static final Logger log = LogManager.getLogger(VectorEmbeddingsEngine.class);
 
+    private final SecurityAnalyticsSlowLog.Trace slowLogTrace;
+
     public VectorEmbeddingsEngine(Client client, TimeValue indexTimeout, long corrTimeWindow,
                                   TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction) {
         this.client = client;
         this.indexTimeout = indexTimeout;
         this.corrTimeWindow = corrTimeWindow;
         this.correlateFindingAction = correlateFindingAction;
+        this.slowLogTrace = correlateFindingAction.getSlowLogTrace();
     }
 
     public void insertCorrelatedFindings(String detectorType, Finding finding, String logType, List<String> correlatedFindings, float timestampFeature, List<String> correlationRules, Map<String, CustomLogType> logTypes) {
@@ -64,6 +68,7 @@ public class VectorEmbeddingsEngine {
 
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
         client.search(searchRequest, ActionListener.wrap(response -> {
+            slowLogTrace.searched(response);
             if (response.isTimedOut()) {
                 onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
             }
@@ -101,6 +106,7 @@ public class VectorEmbeddingsEngine {
             }
 
             client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                slowLogTrace.searched(items);
                 MultiSearchResponse.Item[] responses = items.getResponses();
                 BulkRequest bulkRequest = new BulkRequest();
                 bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
@@ -109,7 +115,7 @@ public class VectorEmbeddingsEngine {
                 long totalNeighbors = 0L;
                 for (MultiSearchResponse.Item item: responses) {
                     if (item.isFailure()) {
-                        log.info(item.getFailureMessage());
+                        log.debug(item.getFailureMessage());
                         continue;
                     }
 
@@ -209,6 +215,7 @@ public class VectorEmbeddingsEngine {
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
 
         client.search(searchRequest, ActionListener.wrap(response -> {
+            slowLogTrace.searched(response);
             if (response.isTimedOut()) {
                 onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
             }
@@ -336,6 +343,7 @@ public class VectorEmbeddingsEngine {
                         request.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
 
                         client.search(request, ActionListener.wrap(searchResponse -> {
+                            slowLogTrace.searched(searchResponse);
                             if (searchResponse.isTimedOut()) {
                                 onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
                             }
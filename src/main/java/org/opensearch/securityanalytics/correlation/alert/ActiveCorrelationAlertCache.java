@@ -0,0 +1,152 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.alert;
+
+import org.opensearch.commons.alerting.model.Alert;
+import org.opensearch.commons.alerting.model.CorrelationAlert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Active correlation alerts known to this node, by id and by correlation rule id and correlated finding set. Alerts
+ * that are no longer active, or whose time window ended, are dropped as they are written or looked up.
+ */
+public class ActiveCorrelationAlertCache {
+
+    private final Map<String, CorrelationAlert> alertsById = new HashMap<>();
+
+    private final Map<String, Map<String, CorrelationAlert>> alertsByRule = new HashMap<>();
+
+    private final Map<AlertKey, String> alertIdsByKey = new HashMap<>();
+
+    /**
+     * Adds or replaces the alert, removes it if it is not active anymore.
+     */
+    public synchronized void put(CorrelationAlert alert) {
+        remove(alert.getId());
+        if (alert.getState() != Alert.State.ACTIVE) {
+            return;
+        }
+        alertsById.put(alert.getId(), alert);
+        alertsByRule.computeIfAbsent(alert.getCorrelationRuleId(), it -> new HashMap<>()).put(alert.getId(), alert);
+        alertIdsByKey.put(new AlertKey(alert.getCorrelationRuleId(), alert.getCorrelatedFindingIds()), alert.getId());
+    }
+
+    public synchronized void remove(String alertId) {
+        CorrelationAlert alert = alertsById.remove(alertId);
+        if (alert == null) {
+            return;
+        }
+        Map<String, CorrelationAlert> ruleAlerts = alertsByRule.get(alert.getCorrelationRuleId());
+        if (ruleAlerts != null) {
+            ruleAlerts.remove(alertId);
+            if (ruleAlerts.isEmpty()) {
+                alertsByRule.remove(alert.getCorrelationRuleId());
+            }
+        }
+        alertIdsByKey.remove(new AlertKey(alert.getCorrelationRuleId(), alert.getCorrelatedFindingIds()), alertId);
+    }
+
+    public synchronized void removeRule(String ruleId) {
+        Map<String, CorrelationAlert> ruleAlerts = alertsByRule.get(ruleId);
+        if (ruleAlerts != null) {
+            for (String alertId : new ArrayList<>(ruleAlerts.keySet())) {
+                remove(alertId);
+            }
+        }
+    }
+
+    /**
+     * Replaces the content of the cache with the given alerts.
+     */
+    public synchronized void reset(Collection<CorrelationAlert> alerts) {
+        alertsById.clear();
+        alertsByRule.clear();
+        alertIdsByKey.clear();
+        for (CorrelationAlert alert : alerts) {
+            put(alert);
+        }
+    }
+
+    /**
+     * Returns the alerts of the given rules whose time window contains the given time.
+     */
+    public synchronized List<CorrelationAlert> getActiveAlerts(Collection<String> ruleIds, long currentTime) {
+        List<CorrelationAlert> activeAlerts = new ArrayList<>();
+        for (String ruleId : ruleIds) {
+            Map<String, CorrelationAlert> ruleAlerts = alertsByRule.get(ruleId);
+            if (ruleAlerts == null) {
+                continue;
+            }
+            List<String> ended = null;
+            for (Iterator<CorrelationAlert> alerts = ruleAlerts.values().iterator(); alerts.hasNext(); ) {
+                CorrelationAlert alert = alerts.next();
+                if (alert.getEndTime().toEpochMilli() < currentTime) {
+                    if (ended == null) {
+                        ended = new ArrayList<>();
+                    }
+                    ended.add(alert.getId());
+                } else if (alert.getStartTime().toEpochMilli() <= currentTime) {
+                    activeAlerts.add(alert);
+                }
+            }
+            if (ended != null) {
+                ended.forEach(this::remove);
+            }
+        }
+        return activeAlerts;
+    }
+
+    /**
+     * Returns whether the rule has an active alert over exactly the given correlated findings.
+     */
+    public synchronized boolean containsAlert(String ruleId, Collection<String> findingIds, long currentTime) {
+        String alertId = alertIdsByKey.get(new AlertKey(ruleId, findingIds));
+        if (alertId == null) {
+            return false;
+        }
+        CorrelationAlert alert = alertsById.get(alertId);
+        return alert.getStartTime().toEpochMilli() <= currentTime && currentTime <= alert.getEndTime().toEpochMilli();
+    }
+
+    public synchronized int size() {
+        return alertsById.size();
+    }
+
+    private static class AlertKey {
+        private final String ruleId;
+        private final Set<String> findingIds;
+
+        private AlertKey(String ruleId, Collection<String> findingIds) {
+            this.ruleId = ruleId;
+            this.findingIds = new HashSet<>(findingIds);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            AlertKey alertKey = (AlertKey) o;
+            return ruleId.equals(alertKey.ruleId) && findingIds.equals(alertKey.findingIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ruleId, findingIds);
+        }
+    }
+}
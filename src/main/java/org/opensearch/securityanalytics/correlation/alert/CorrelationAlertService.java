@@ -6,15 +6,18 @@ package org.opensearch.securityanalytics.correlation.alert;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.index.IndexRequest;
-import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
 import org.opensearch.common.lucene.uid.Versions;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.Table;
@@ -27,11 +30,10 @@ import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.query.TermsQueryBuilder;
-import org.opensearch.script.Script;
-import org.opensearch.script.ScriptType;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.commons.alerting.model.CorrelationAlert;
@@ -43,11 +45,17 @@ import org.opensearch.securityanalytics.action.GetCorrelationAlertsResponse;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.transport.client.Client;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public class CorrelationAlertService {
     private static final Logger log = LogManager.getLogger(CorrelationAlertService.class);
@@ -73,54 +81,179 @@ public class CorrelationAlertService {
     protected static final String NO_ID = "";
     protected static final long NO_VERSION = Versions.NOT_FOUND;
 
+    private static final TimeValue ACTIVE_ALERTS_RELOAD_INTERVAL = TimeValue.timeValueMinutes(1);
+
+    private static final int ACTIVE_ALERTS_PAGE_SIZE = 1000;
+
+    private final ActiveCorrelationAlertCache activeAlertCache = new ActiveCorrelationAlertCache();
+
+    // System.nanoTime() at the start of the last successful load of the active alert cache, -1 if never loaded
+    private long activeAlertsLoadedAt = -1L;
+
+    // listeners waiting for the active alert cache load in flight
+    private final List<ActionListener<Void>> activeAlertsLoadListeners = new ArrayList<>();
+
+    // cache updates of this node's writes since the load in flight started, replayed over the loaded alerts
+    private List<Runnable> writesDuringLoad;
+
     public CorrelationAlertService(Client client, NamedXContentRegistry xContentRegistry) {
         this.client = client;
         this.xContentRegistry = xContentRegistry;
     }
 
     /**
-     * Searches for active Alerts in the correlation alerts index within a specified time range.
+     * Returns the active Alerts of a correlation rule within a specified time range.
      *
      * @param ruleId    The correlation rule ID to filter the alerts
      * @param currentTime The current time of the search range
      */
     public void getActiveAlerts(String ruleId, long currentTime, ActionListener<CorrelationAlertsList> listener) {
-        Instant currentTimeDate = Instant.ofEpochMilli(currentTime);
+        getActiveAlerts(List.of(ruleId), currentTime, listener);
+    }
+
+    /**
+     * Returns the active Alerts of any of the given correlation rules from the node's active alert cache, which is
+     * loaded from the correlation alerts index on first use and reloaded every {@link #ACTIVE_ALERTS_RELOAD_INTERVAL}
+     * to pick up alerts written through other nodes.
+     *
+     * @param ruleIds    The correlation rule IDs to filter the alerts
+     * @param currentTime The current time of the search range
+     */
+    public void getActiveAlerts(Collection<String> ruleIds, long currentTime, ActionListener<CorrelationAlertsList> listener) {
+        loadActiveAlerts(ActionListener.wrap(
+                loaded -> {
+                    List<CorrelationAlert> activeAlerts = activeAlertCache.getActiveAlerts(ruleIds, currentTime);
+                    listener.onResponse(new CorrelationAlertsList(activeAlerts, activeAlerts.size()));
+                },
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Returns whether a correlation rule has an active alert over exactly the given correlated findings, to be
+     * called after {@link #getActiveAlerts} loaded the active alert cache.
+     */
+    public boolean hasActiveAlert(String ruleId, Collection<String> correlatedFindingIds, long currentTime) {
+        return activeAlertCache.containsAlert(ruleId, correlatedFindingIds, currentTime);
+    }
+
+    private void loadActiveAlerts(ActionListener<Void> listener) {
+        synchronized (activeAlertCache) {
+            if (activeAlertsLoadedAt >= 0 && System.nanoTime() - activeAlertsLoadedAt < ACTIVE_ALERTS_RELOAD_INTERVAL.nanos()) {
+                listener.onResponse(null);
+                return;
+            }
+            activeAlertsLoadListeners.add(listener);
+            if (activeAlertsLoadListeners.size() > 1) {
+                return;
+            }
+            writesDuringLoad = new ArrayList<>();
+        }
+
+        searchActiveAlerts(System.nanoTime(), Instant.now(), null, new ArrayList<>());
+    }
+
+    /**
+     * Loads the active alerts page by page, sorted by alert id so that the sort value of the last hit identifies where
+     * the next page starts.
+     */
+    private void searchActiveAlerts(long loadStart, Instant now, Object[] searchAfter, List<CorrelationAlert> activeAlerts) {
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                .must(QueryBuilders.termQuery("correlation_rule_id", ruleId))
-                .must(QueryBuilders.rangeQuery("start_time").lte(currentTimeDate))
-                .must(QueryBuilders.rangeQuery("end_time").gte(currentTimeDate))
+                .must(QueryBuilders.rangeQuery("end_time").gte(now))
                 .must(QueryBuilders.termQuery("state", "ACTIVE"));
 
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
                 .seqNoAndPrimaryTerm(true)
                 .version(true)
-                .size(10000) // set the size to 10,000
+                .size(ACTIVE_ALERTS_PAGE_SIZE)
+                .sort(SortBuilders.fieldSort(ALERT_ID_FIELD).order(SortOrder.ASC))
                 .query(queryBuilder);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
 
         SearchRequest searchRequest = new SearchRequest(CorrelationIndices.CORRELATION_ALERT_INDEX)
                 .source(searchSourceBuilder);
 
         client.search(searchRequest, ActionListener.wrap(
                 searchResponse -> {
-                    if (searchResponse.getHits().getTotalHits().equals(0)) {
-                        listener.onResponse(new CorrelationAlertsList(Collections.emptyList(), 0));
+                    SearchHit[] hits = searchResponse.getHits().getHits();
+                    activeAlerts.addAll(parseCorrelationAlerts(searchResponse));
+                    if (hits.length < ACTIVE_ALERTS_PAGE_SIZE) {
+                        onActiveAlertsLoaded(activeAlerts, loadStart, null);
                     } else {
-                        listener.onResponse(new CorrelationAlertsList(
-                                parseCorrelationAlerts(searchResponse),
-                                searchResponse.getHits() != null && searchResponse.getHits().getTotalHits() != null ?
-                                        (int) searchResponse.getHits().getTotalHits().value() : 0)
-                        );
+                        searchActiveAlerts(loadStart, now, hits[hits.length - 1].getSortValues(), activeAlerts);
                     }
                 },
                 e -> {
-                    log.error("Search request to fetch correlation alerts failed", e);
-                    listener.onFailure(e);
+                    if (e instanceof IndexNotFoundException) {
+                        onActiveAlertsLoaded(List.of(), loadStart, null);
+                    } else {
+                        log.error("Search request to fetch correlation alerts failed", e);
+                        onActiveAlertsLoaded(null, loadStart, e);
+                    }
                 }
         ));
     }
 
-    public void indexCorrelationAlert(CorrelationAlert correlationAlert, TimeValue indexTimeout, ActionListener<IndexResponse> listener) {
+    private void onActiveAlertsLoaded(List<CorrelationAlert> activeAlerts, long loadStart, Exception e) {
+        List<ActionListener<Void>> listeners;
+        synchronized (activeAlertCache) {
+            if (e == null) {
+                activeAlertCache.reset(activeAlerts);
+                // alerts written by this node while loading may not be searchable yet
+                writesDuringLoad.forEach(Runnable::run);
+                activeAlertsLoadedAt = loadStart;
+            }
+            writesDuringLoad = null;
+            listeners = new ArrayList<>(activeAlertsLoadListeners);
+            activeAlertsLoadListeners.clear();
+        }
+        for (ActionListener<Void> listener : listeners) {
+            if (e == null) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    private void onAlertWritten(Runnable cacheUpdate) {
+        synchronized (activeAlertCache) {
+            cacheUpdate.run();
+            if (writesDuringLoad != null) {
+                writesDuringLoad.add(cacheUpdate);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the alert of a correlation rule starting at the given time. Alerts of a rule starting within
+     * the same time window of the rule get the same id, so nodes evaluating the rule concurrently raise a single alert.
+     * Windows are fixed buckets of the epoch, so correlations less than a window apart may still get two alerts when
+     * they fall on both sides of a bucket boundary.
+     */
+    public static String getAlertId(String correlationRuleId, long startTime, long corrTimeWindow) {
+        long window = corrTimeWindow > 0 ? startTime / corrTimeWindow : startTime;
+        return UUID.nameUUIDFromBytes((correlationRuleId + ":" + window).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Returns the id of the alert raised in place of the given one once that alert is no longer active, the same on
+     * every node so that they still raise a single alert.
+     */
+    public static String getNextAlertId(String alertId) {
+        return UUID.nameUUIDFromBytes((alertId + ":next").getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Creates the alert, or if an active alert with the same id was raised meanwhile, possibly through another node,
+     * adds the correlated findings to that alert instead. An alert with the same id that was acknowledged or completed
+     * meanwhile is left as is, and the alert is created under the next alert id instead.
+     *
+     * @param listener notified with whether the alert was created
+     */
+    public void indexCorrelationAlert(CorrelationAlert correlationAlert, TimeValue indexTimeout, ActionListener<Boolean> listener) {
         // Convert CorrelationAlert to a map
         try {
             XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
@@ -142,15 +275,132 @@ public class CorrelationAlertService {
             builder.endObject();
             IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_ALERT_INDEX)
                     .id(correlationAlert.getId())
+                    .opType(DocWriteRequest.OpType.CREATE)
                     .source(builder)
                     .timeout(indexTimeout);
 
-            client.index(indexRequest, listener);
+            client.index(indexRequest, ActionListener.wrap(
+                    indexResponse -> {
+                        onAlertWritten(() -> activeAlertCache.put(correlationAlert));
+                        listener.onResponse(true);
+                    },
+                    e -> {
+                        if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException) {
+                            mergeIntoExistingAlert(correlationAlert, indexTimeout, listener);
+                        } else {
+                            listener.onFailure(e);
+                        }
+                    }
+            ));
         } catch (IOException ex) {
             log.error("Exception while adding alerts in .opensearch-sap-correlation-alerts index", ex);
+            listener.onFailure(ex);
         }
     }
 
+    private void mergeIntoExistingAlert(CorrelationAlert correlationAlert, TimeValue indexTimeout, ActionListener<Boolean> listener) {
+        client.get(new GetRequest(CorrelationIndices.CORRELATION_ALERT_INDEX, correlationAlert.getId()), ActionListener.wrap(
+                getResponse -> {
+                    if (getResponse.isExists() == false) {
+                        // deleted meanwhile
+                        indexCorrelationAlert(correlationAlert, indexTimeout, listener);
+                        return;
+                    }
+                    CorrelationAlert existingAlert = parseCorrelationAlert(getResponse.getSourceAsString(), getResponse.getId(),
+                            getResponse.getVersion());
+                    if (existingAlert.getState() != Alert.State.ACTIVE) {
+                        indexCorrelationAlert(withId(correlationAlert, getNextAlertId(existingAlert.getId())), indexTimeout, listener);
+                        return;
+                    }
+                    Set<String> findingIds = new LinkedHashSet<>(existingAlert.getCorrelatedFindingIds());
+                    findingIds.addAll(correlationAlert.getCorrelatedFindingIds());
+                    CorrelationAlert mergedAlert = new CorrelationAlert(
+                            new ArrayList<>(findingIds),
+                            correlationAlert.getCorrelationRuleId(),
+                            correlationAlert.getCorrelationRuleName(),
+                            correlationAlert.getId(),
+                            correlationAlert.getVersion(),
+                            correlationAlert.getSchemaVersion(),
+                            correlationAlert.getUser(),
+                            correlationAlert.getTriggerName(),
+                            correlationAlert.getState(),
+                            correlationAlert.getStartTime(),
+                            correlationAlert.getEndTime(),
+                            correlationAlert.getAcknowledgedTime(),
+                            correlationAlert.getErrorMessage(),
+                            correlationAlert.getSeverity(),
+                            correlationAlert.getActionExecutionResults()
+                    );
+                    // guarded by the sequence number read, so an acknowledgement meanwhile is seen by reading the alert again
+                    UpdateRequest updateRequest = partialAlertUpdate(mergedAlert, indexTimeout)
+                            .setIfSeqNo(getResponse.getSeqNo())
+                            .setIfPrimaryTerm(getResponse.getPrimaryTerm());
+                    client.update(updateRequest, ActionListener.wrap(
+                            updateResponse -> {
+                                onAlertWritten(() -> activeAlertCache.put(mergedAlert));
+                                listener.onResponse(false);
+                            },
+                            e -> {
+                                if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException) {
+                                    mergeIntoExistingAlert(correlationAlert, indexTimeout, listener);
+                                } else {
+                                    listener.onFailure(e);
+                                }
+                            }
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    private static CorrelationAlert withId(CorrelationAlert correlationAlert, String id) {
+        return new CorrelationAlert(
+                correlationAlert.getCorrelatedFindingIds(),
+                correlationAlert.getCorrelationRuleId(),
+                correlationAlert.getCorrelationRuleName(),
+                id,
+                correlationAlert.getVersion(),
+                correlationAlert.getSchemaVersion(),
+                correlationAlert.getUser(),
+                correlationAlert.getTriggerName(),
+                correlationAlert.getState(),
+                correlationAlert.getStartTime(),
+                correlationAlert.getEndTime(),
+                correlationAlert.getAcknowledgedTime(),
+                correlationAlert.getErrorMessage(),
+                correlationAlert.getSeverity(),
+                correlationAlert.getActionExecutionResults()
+        );
+    }
+
+    /**
+     * Updates the correlated findings, time window, trigger name and severity of an existing alert with a partial doc
+     * update, leaving its state and acknowledgement untouched.
+     */
+    public void updateCorrelationAlert(CorrelationAlert correlationAlert, TimeValue indexTimeout, ActionListener<UpdateResponse> listener) {
+        UpdateRequest updateRequest = partialAlertUpdate(correlationAlert, indexTimeout);
+
+        client.update(updateRequest, ActionListener.wrap(
+                updateResponse -> {
+                    onAlertWritten(() -> activeAlertCache.put(correlationAlert));
+                    listener.onResponse(updateResponse);
+                },
+                listener::onFailure
+        ));
+    }
+
+    private static UpdateRequest partialAlertUpdate(CorrelationAlert correlationAlert, TimeValue indexTimeout) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put(CORRELATED_FINDING_IDS, correlationAlert.getCorrelatedFindingIds());
+        doc.put(TRIGGER_NAME_FIELD, correlationAlert.getTriggerName());
+        doc.put(START_TIME_FIELD, correlationAlert.getStartTime());
+        doc.put(END_TIME_FIELD, correlationAlert.getEndTime());
+        doc.put(SEVERITY_FIELD, correlationAlert.getSeverity());
+        return new UpdateRequest(CorrelationIndices.CORRELATION_ALERT_INDEX, correlationAlert.getId())
+                .doc(doc)
+                .timeout(indexTimeout);
+    }
+
     public void getCorrelationAlerts(String ruleId, Table tableProp, ActionListener<GetCorrelationAlertsResponse> listener) {
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
         if (ruleId != null) {
@@ -216,14 +466,11 @@ public class CorrelationAlertService {
                 // Set the refresh policy on the BulkRequest
                 bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
                 // Iterate through the search hits
+                Instant acknowledgedTime = Instant.now();
                 for (SearchHit hit : searchResponse.getHits().getHits()) {
-                    // Construct a script to update the document with the new state and acknowledgedTime
-                    Script script = new Script(ScriptType.INLINE, "painless",
-                            "ctx._source.state = params.state; ctx._source.acknowledged_time = params.time",
-                            Map.of("state", Alert.State.ACKNOWLEDGED, "time", Instant.now()));
-                    // Create an update request with the script
+                    // Create a partial doc update with the new state and acknowledgedTime
                     UpdateRequest updateRequest = new UpdateRequest(CorrelationIndices.CORRELATION_ALERT_INDEX, hit.getId())
-                            .script(script);
+                            .doc(Map.of(STATE_FIELD, Alert.State.ACKNOWLEDGED, ACKNOWLEDGED_TIME_FIELD, acknowledgedTime));
 
                     // Add the update request to the bulk request
                     bulkRequest.add(updateRequest);
@@ -243,12 +490,16 @@ public class CorrelationAlertService {
                         @Override
                         public void onResponse(BulkResponse bulkResponse) {
                             // Iterate through the bulk response to identify failed updates
+                            List<String> updatedAlertIds = new ArrayList<>();
                             for (BulkItemResponse itemResponse : bulkResponse.getItems()) {
                                 if (itemResponse.isFailed()) {
                                     // If an update failed, add the corresponding alert to the failed alerts list
                                     failedAlerts.add(acknowledgedAlerts.get(itemResponse.getItemId()));
+                                } else {
+                                    updatedAlertIds.add(itemResponse.getId());
                                 }
                             }
+                            onAlertWritten(() -> updatedAlertIds.forEach(activeAlertCache::remove));
                             // Create and pass the CorrelationAckAlertsResponse to the listener
                             listener.onResponse(new AckCorrelationAlertsResponse(acknowledgedAlerts, failedAlerts));
                         }
@@ -274,6 +525,7 @@ public class CorrelationAlertService {
     }
 
     public void updateCorrelationAlertsWithError(String correlationRuleId) {
+        onAlertWritten(() -> activeAlertCache.removeRule(correlationRuleId));
         BulkRequest bulkRequest = new BulkRequest();
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
                 .must(QueryBuilders.termQuery("correlation_rule_id", correlationRuleId));
@@ -287,15 +539,13 @@ public class CorrelationAlertService {
             public void onResponse(SearchResponse searchResponse) {
                 // Iterate through the search hits
                 for (SearchHit hit : searchResponse.getHits().getHits()) {
-                    // Construct a script to update the document with the new state and error_message
-                    Script script = new Script(ScriptType.INLINE, "painless",
-                            "ctx._source.state = params.state; ctx._source.error_message = params.error_message",
-                            Map.of("state", Alert.State.ERROR, "error_message", "The rule associated to this Alert is deleted"));
-                    // Create an update request with the script
+                    // Create a partial doc update with the new state and error_message
                     UpdateRequest updateRequest = new UpdateRequest(CorrelationIndices.CORRELATION_ALERT_INDEX, hit.getId())
-                            .script(script);
+                            .doc(Map.of(STATE_FIELD, Alert.State.ERROR, ERROR_MESSAGE_FIELD, "The rule associated to this Alert is deleted"));
                     // Add the update request to the bulk request
                     bulkRequest.add(updateRequest);
+                }
+                if (!bulkRequest.requests().isEmpty()) {
                     client.bulk(bulkRequest);
                 }
             }
@@ -317,14 +567,17 @@ public class CorrelationAlertService {
     }
 
     private CorrelationAlert getParsedCorrelationAlert(SearchHit hit) throws IOException {
+        return parseCorrelationAlert(hit.getSourceAsString(), hit.getId(), hit.getVersion());
+    }
+
+    private CorrelationAlert parseCorrelationAlert(String source, String id, long version) throws IOException {
         XContentParser xcp = XContentType.JSON.xContent().createParser(
                 xContentRegistry,
                 LoggingDeprecationHandler.INSTANCE,
-                hit.getSourceAsString()
+                source
         );
         xcp.nextToken();
-        CorrelationAlert correlationAlert = CorrelationAlertsList.parse(xcp, hit.getId(), hit.getVersion());
-        return correlationAlert;
+        return CorrelationAlertsList.parse(xcp, id, version);
     }
     
 }
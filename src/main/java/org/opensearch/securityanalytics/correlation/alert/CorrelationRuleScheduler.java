@@ -6,7 +6,8 @@ package org.opensearch.securityanalytics.correlation.alert;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.action.index.IndexResponse;
+import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
+import org.opensearch.common.lifecycle.Lifecycle;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.CorrelationAlert;
@@ -18,29 +19,54 @@ import org.opensearch.securityanalytics.model.CorrelationRuleTrigger;
 import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.correlation.alert.notifications.CorrelationAlertContext;
 import org.opensearch.commons.alerting.model.action.Action;
-import org.opensearch.core.rest.RestStatus;
-import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class CorrelationRuleScheduler {
+/**
+ * Evaluates the triggers of correlation rules off the correlation path. Correlated findings are only added to an
+ * in-memory window per rule, which is evaluated on the next tick of a hashed timer wheel on the generic thread pool and
+ * dropped from the wheel once the rule's time window ends. All rules that received findings during a tick share one
+ * lookup of their active alerts in the node's active alert cache, and a rule is never evaluated twice concurrently, so
+ * findings arriving while it is evaluated are batched into its next evaluation. The timer starts ticking with the first
+ * scheduled rule and is cancelled when the node stops.
+ */
+public class CorrelationRuleScheduler extends AbstractLifecycleComponent {
+
+    private static final TimeValue TICK = TimeValue.timeValueMillis(500);
+
+    private static final int WHEEL_SIZE = 512;
 
     private final Logger log = LogManager.getLogger(CorrelationRuleScheduler.class);
     private final Client client;
     private final CorrelationAlertService correlationAlertService;
     private final NotificationService notificationService;
+    private final ThreadPool threadPool;
 
-    public CorrelationRuleScheduler(Client client, CorrelationAlertService correlationAlertService, NotificationService notificationService) {
+    private final Map<String, RuleWindow> ruleWindows = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<WheelTask> timerWheel;
+    // guarded by this
+    private Scheduler.Cancellable scheduledTick;
+
+    public CorrelationRuleScheduler(Client client, CorrelationAlertService correlationAlertService, NotificationService notificationService, ThreadPool threadPool) {
         this.client = client;
         this.correlationAlertService = correlationAlertService;
         this.notificationService = notificationService;
+        this.threadPool = threadPool;
+        this.timerWheel = new HashedTimerWheel<>(TICK.millis(), WHEEL_SIZE, System.currentTimeMillis());
     }
 
     public void schedule(List<CorrelationRule> correlationRules, Map<String, List<String>> correlatedFindings, String sourceFinding, TimeValue indexTimeout, User user) {
+        long now = System.currentTimeMillis();
         for (CorrelationRule rule : correlationRules) {
             CorrelationRuleTrigger trigger = rule.getCorrelationTrigger();
             if (trigger != null) {
@@ -51,109 +77,307 @@ public class CorrelationRuleScheduler {
                         findingIds.addAll(categoryFindingIds);
                     }
                 }
-                scheduleRule(rule, findingIds, indexTimeout, sourceFinding, user);
+                scheduleRule(rule, findingIds, indexTimeout, sourceFinding, user, now);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of findings correlated by the rule in its current time window on this node.
+     */
+    public long getWindowedFindingCount(String ruleId) {
+        RuleWindow window = ruleWindows.get(ruleId);
+        return window == null || window.isExpired(System.currentTimeMillis()) ? 0L : window.getFindingCount();
+    }
+
+    /**
+     * Returns the number of trigger evaluations and window expiries waiting in the timer wheel on this node.
+     */
+    public int getPendingTriggerCount() {
+        return timerWheel.size();
+    }
+
+    private void scheduleRule(CorrelationRule correlationRule, List<String> findingIds, TimeValue indexTimeout, String sourceFindingId, User user, long now) {
+        RuleWindow[] created = new RuleWindow[1];
+        RuleWindow window = ruleWindows.compute(correlationRule.getId(), (ruleId, existing) -> {
+            if (existing == null || existing.isExpired(now)) {
+                created[0] = new RuleWindow(ruleId, now + correlationRule.getCorrTimeWindow());
+                return created[0];
             }
+            return existing;
+        });
+        if (created[0] != null) {
+            timerWheel.schedule(created[0].windowEnd, new WheelTask(created[0], true));
+        }
+        if (window.add(correlationRule, findingIds, indexTimeout, sourceFindingId, user, now)) {
+            timerWheel.schedule(now, new WheelTask(window, false));
         }
+        startTicking();
     }
 
-    private void scheduleRule(CorrelationRule correlationRule, List<String> findingIds, TimeValue indexTimeout, String sourceFindingId, User user) {
-        long startTime = Instant.now().toEpochMilli();
-        long endTime = startTime + correlationRule.getCorrTimeWindow();
-        RuleTask ruleTask = new RuleTask(correlationRule, findingIds, startTime, endTime, correlationAlertService, notificationService, indexTimeout, sourceFindingId, user);
-        ruleTask.run();
+    private synchronized void startTicking() {
+        if (scheduledTick == null && lifecycleState() == Lifecycle.State.STARTED) {
+            scheduledTick = threadPool.scheduleWithFixedDelay(this::tick, TICK, ThreadPool.Names.GENERIC);
+        }
     }
 
-    private class RuleTask implements Runnable {
+    @Override
+    protected void doStart() {}
+
+    @Override
+    protected synchronized void doStop() {
+        if (scheduledTick != null) {
+            scheduledTick.cancel();
+            scheduledTick = null;
+        }
+    }
+
+    @Override
+    protected void doClose() {}
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            List<PendingEvaluation> evaluations = new ArrayList<>();
+            for (WheelTask task : timerWheel.advance(now)) {
+                if (task.expiry) {
+                    if (task.window.canBeDropped(now)) {
+                        ruleWindows.remove(task.window.ruleId, task.window);
+                    } else {
+                        // findings are still pending or being evaluated, check again on a later tick
+                        timerWheel.schedule(Math.max(now, task.window.windowEnd) + TICK.millis(), task);
+                    }
+                } else {
+                    PendingEvaluation evaluation = task.window.drain();
+                    if (evaluation != null) {
+                        evaluations.add(evaluation);
+                    }
+                }
+            }
+            if (evaluations.isEmpty() == false) {
+                evaluate(evaluations, now);
+            }
+        } catch (Exception e) {
+            log.error("Failed to evaluate correlation rule triggers", e);
+        }
+    }
+
+    private void evaluate(List<PendingEvaluation> evaluations, long currentTime) {
+        Set<String> ruleIds = new LinkedHashSet<>();
+        for (PendingEvaluation evaluation : evaluations) {
+            ruleIds.add(evaluation.correlationRule.getId());
+        }
+        correlationAlertService.getActiveAlerts(ruleIds, currentTime, new ActionListener<>() {
+            @Override
+            public void onResponse(CorrelationAlertsList correlationAlertsList) {
+                Map<String, List<CorrelationAlert>> activeAlerts = new HashMap<>();
+                for (CorrelationAlert correlationAlert : correlationAlertsList.getCorrelationAlertList()) {
+                    activeAlerts.computeIfAbsent(correlationAlert.getCorrelationRuleId(), it -> new ArrayList<>()).add(correlationAlert);
+                }
+                for (PendingEvaluation evaluation : evaluations) {
+                    try {
+                        evaluation.run(activeAlerts.getOrDefault(evaluation.correlationRule.getId(), List.of()), currentTime);
+                    } catch (Exception e) {
+                        log.error("Failed to evaluate trigger of correlation rule " + evaluation.correlationRule.getId(), e);
+                        evaluation.done();
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.error("Failed to search active correlation alert", e);
+                for (PendingEvaluation evaluation : evaluations) {
+                    evaluation.done();
+                }
+            }
+        });
+    }
+
+    private static class WheelTask {
+        private final RuleWindow window;
+        private final boolean expiry;
+
+        private WheelTask(RuleWindow window, boolean expiry) {
+            this.window = window;
+            this.expiry = expiry;
+        }
+    }
+
+    /**
+     * Time window of a correlation rule on this node, counting the findings the rule correlated in it and holding the
+     * ones not evaluated yet.
+     */
+    private class RuleWindow {
+        private final String ruleId;
+        private final long windowEnd;
+        private CorrelationRule correlationRule;
+        private long findingCount;
+        private Set<String> pendingFindingIds = new LinkedHashSet<>();
+        private long firstPendingTime;
+        private long lastPendingTime;
+        private TimeValue indexTimeout;
+        private String sourceFindingId;
+        private User user;
+        private boolean evaluating;
+
+        private RuleWindow(String ruleId, long windowEnd) {
+            this.ruleId = ruleId;
+            this.windowEnd = windowEnd;
+        }
+
+        synchronized long getFindingCount() {
+            return findingCount;
+        }
+
+        boolean isExpired(long now) {
+            return now > windowEnd;
+        }
+
+        synchronized boolean canBeDropped(long now) {
+            return isExpired(now) && pendingFindingIds.isEmpty() && evaluating == false;
+        }
+
+        /**
+         * Adds correlated findings, returns whether the window needs to be queued for evaluation.
+         */
+        synchronized boolean add(CorrelationRule correlationRule, List<String> findingIds, TimeValue indexTimeout, String sourceFindingId, User user, long now) {
+            boolean queue = pendingFindingIds.isEmpty() && evaluating == false;
+            if (pendingFindingIds.isEmpty()) {
+                firstPendingTime = now;
+            }
+            this.correlationRule = correlationRule;
+            this.findingCount += findingIds.size();
+            this.pendingFindingIds.addAll(findingIds);
+            this.lastPendingTime = now;
+            this.indexTimeout = indexTimeout;
+            this.sourceFindingId = sourceFindingId;
+            this.user = user;
+            return queue;
+        }
+
+        synchronized PendingEvaluation drain() {
+            if (evaluating || pendingFindingIds.isEmpty()) {
+                return null;
+            }
+            evaluating = true;
+            PendingEvaluation evaluation = new PendingEvaluation(this, correlationRule, new ArrayList<>(pendingFindingIds),
+                    firstPendingTime, lastPendingTime, indexTimeout, sourceFindingId, user);
+            pendingFindingIds = new LinkedHashSet<>();
+            return evaluation;
+        }
+
+        synchronized void evaluated() {
+            evaluating = false;
+            if (pendingFindingIds.isEmpty() == false) {
+                timerWheel.schedule(System.currentTimeMillis(), new WheelTask(this, false));
+            }
+        }
+    }
+
+    /**
+     * One evaluation of a rule trigger over the findings batched since the previous one.
+     */
+    private class PendingEvaluation {
+        private final RuleWindow window;
         private final CorrelationRule correlationRule;
-        private final long startTime;
-        private final long endTime;
         private final List<String> correlatedFindingIds;
-        private final CorrelationAlertService correlationAlertService;
-        private final NotificationService notificationService;
+        private final long startTime;
+        private final long lastFindingTime;
         private final TimeValue indexTimeout;
         private final String sourceFindingId;
         private final User user;
 
-        public RuleTask(CorrelationRule correlationRule, List<String> correlatedFindingIds, long startTime, long endTime, CorrelationAlertService correlationAlertService, NotificationService notificationService, TimeValue indexTimeout, String sourceFindingId, User user) {
+        private PendingEvaluation(RuleWindow window, CorrelationRule correlationRule, List<String> correlatedFindingIds, long startTime,
+                                  long lastFindingTime, TimeValue indexTimeout, String sourceFindingId, User user) {
+            this.window = window;
             this.correlationRule = correlationRule;
             this.correlatedFindingIds = correlatedFindingIds;
             this.startTime = startTime;
-            this.endTime = endTime;
-            this.correlationAlertService = correlationAlertService;
-            this.notificationService = notificationService;
+            this.lastFindingTime = lastFindingTime;
             this.indexTimeout = indexTimeout;
             this.sourceFindingId = sourceFindingId;
             this.user = user;
         }
 
-        @Override
-        public void run() {
-            long currentTime = Instant.now().toEpochMilli();
-            if (currentTime >= startTime && currentTime <= endTime) {
-                try {
-                    correlationAlertService.getActiveAlerts(correlationRule.getId(), currentTime, new ActionListener<>() {
-                        @Override
-                        public void onResponse(CorrelationAlertsList correlationAlertsList) {
-                            if (correlationAlertsList.getTotalAlerts() == 0) {
-                                addCorrelationAlertIntoIndex();
-                                List<Action> actions = correlationRule.getCorrelationTrigger().getActions();
-                                for (Action action : actions) {
-                                    String configId = action.getDestinationId();
-                                    CorrelationAlertContext ctx = new CorrelationAlertContext(correlatedFindingIds, correlationRule.getName(), correlationRule.getCorrTimeWindow(), sourceFindingId);
-                                    String transformedSubject = notificationService.compileTemplate(ctx, action.getSubjectTemplate());
-                                    String transformedMessage = notificationService.compileTemplate(ctx, action.getMessageTemplate());
-                                    try {
-                                        notificationService.sendNotification(configId, correlationRule.getCorrelationTrigger().getSeverity(), transformedSubject, transformedMessage);
-                                    } catch (Exception e) {
-                                        log.error("Failed while sending a notification with " + configId + "for correlationRule id " + correlationRule.getId(), e);
-                                        new SecurityAnalyticsException("Failed to send notification", RestStatus.INTERNAL_SERVER_ERROR, e);
-                                    }
-
-                                }
-                            } else {
-                                for (CorrelationAlert correlationAlert: correlationAlertsList.getCorrelationAlertList()) {
-                                    updateCorrelationAlert(correlationAlert);
-                                }
-                            }
-                        }
-
-                        @Override
-                        public void onFailure(Exception e) {
-                            log.error("Failed to search active correlation alert", e);
-                            new SecurityAnalyticsException("Failed to search active correlation alert", RestStatus.INTERNAL_SERVER_ERROR, e);
-                        }
-                    });
-                } catch (Exception e) {
-                    log.error("Failed to fetch active alerts in the time window", e);
-                    new SecurityAnalyticsException("Failed to get active alerts in the correlationRuletimewindow", RestStatus.INTERNAL_SERVER_ERROR, e);
+        void run(List<CorrelationAlert> activeAlerts, long currentTime) {
+            if (activeAlerts.isEmpty()) {
+                addCorrelationAlertIntoIndex();
+            } else {
+                List<CorrelationAlert> alertsToUpdate = new ArrayList<>();
+                for (CorrelationAlert correlationAlert: activeAlerts) {
+                    Set<String> findingIds = new LinkedHashSet<>(correlationAlert.getCorrelatedFindingIds());
+                    findingIds.addAll(correlatedFindingIds);
+                    // alerts that already cover all the findings need no update
+                    if (correlationAlertService.hasActiveAlert(correlationRule.getId(), findingIds, currentTime) == false) {
+                        alertsToUpdate.add(correlationAlert);
+                    }
+                }
+                if (alertsToUpdate.isEmpty()) {
+                    done();
+                    return;
+                }
+                AtomicInteger remaining = new AtomicInteger(alertsToUpdate.size());
+                for (CorrelationAlert correlationAlert: alertsToUpdate) {
+                    updateCorrelationAlert(correlationAlert, remaining);
                 }
             }
         }
 
+        void done() {
+            window.evaluated();
+        }
+
+        private void sendNotifications() {
+            List<Action> actions = correlationRule.getCorrelationTrigger().getActions();
+            for (Action action : actions) {
+                String configId = action.getDestinationId();
+                CorrelationAlertContext ctx = new CorrelationAlertContext(correlatedFindingIds, correlationRule.getName(), correlationRule.getCorrTimeWindow(), sourceFindingId);
+                String transformedSubject = notificationService.compileTemplate(ctx, action.getSubjectTemplate());
+                String transformedMessage = notificationService.compileTemplate(ctx, action.getMessageTemplate());
+                notificationService.sendNotification(configId, correlationRule.getCorrelationTrigger().getSeverity(), transformedSubject, transformedMessage, ActionListener.wrap(
+                        response -> {},
+                        e -> log.error("Failed while sending a notification with " + configId + " for correlationRule id " + correlationRule.getId(), e)
+                ));
+            }
+        }
+
         private void addCorrelationAlertIntoIndex() {
             CorrelationAlert correlationAlert = new CorrelationAlert(
                     correlatedFindingIds,
                     correlationRule.getId(),
                     correlationRule.getName(),
-                    UUID.randomUUID().toString(),
+                    CorrelationAlertService.getAlertId(correlationRule.getId(), startTime, correlationRule.getCorrTimeWindow()),
                     1L,
                     1,
                     user,
                     correlationRule.getCorrelationTrigger().getName(),
                     Alert.State.ACTIVE,
                     Instant.ofEpochMilli(startTime),
-                    Instant.ofEpochMilli(endTime),
+                    Instant.ofEpochMilli(startTime + correlationRule.getCorrTimeWindow()),
                     null,
                     null,
                     correlationRule.getCorrelationTrigger().getSeverity(),
                     new ArrayList<>()
             );
-            insertCorrelationAlert(correlationAlert);
+            // an alert raised meanwhile by another node was already notified
+            correlationAlertService.indexCorrelationAlert(correlationAlert, indexTimeout, ActionListener.runAfter(ActionListener.wrap(
+                    created -> {
+                        if (created) {
+                            sendNotifications();
+                        } else {
+                            log.debug("Added findings to correlation alert {} raised meanwhile", correlationAlert.getId());
+                        }
+                    },
+                    e -> log.error("Failed to index correlation alert", e)
+            ), this::done));
         }
 
-        private void updateCorrelationAlert(CorrelationAlert correlationAlert) {
+        private void updateCorrelationAlert(CorrelationAlert correlationAlert, AtomicInteger remaining) {
+            Set<String> findingIds = new LinkedHashSet<>(correlationAlert.getCorrelatedFindingIds());
+            findingIds.addAll(correlatedFindingIds);
             CorrelationAlert newCorrelationAlert = new CorrelationAlert(
-                    correlatedFindingIds,
+                    new ArrayList<>(findingIds),
                     correlationAlert.getCorrelationRuleId(),
                     correlationAlert.getCorrelationRuleName(),
                     correlationAlert.getId(),
@@ -162,29 +386,21 @@ public class CorrelationRuleScheduler {
                     correlationAlert.getUser(),
                     correlationRule.getCorrelationTrigger().getName(),
                     Alert.State.ACTIVE,
-                    Instant.ofEpochMilli(startTime),
-                    Instant.ofEpochMilli(endTime),
+                    Instant.ofEpochMilli(lastFindingTime),
+                    Instant.ofEpochMilli(lastFindingTime + correlationRule.getCorrTimeWindow()),
                     null,
                     null,
                     correlationRule.getCorrelationTrigger().getSeverity(),
                     new ArrayList<>()
             );
-           insertCorrelationAlert(newCorrelationAlert);
-        }
-
-        private void insertCorrelationAlert(CorrelationAlert correlationAlert) {
-            correlationAlertService.indexCorrelationAlert(correlationAlert, indexTimeout, new ActionListener<>() {
-                @Override
-                public void onResponse(IndexResponse indexResponse) {
-                    log.info("Successfully updated the index .opensearch-sap-correlation-alerts: {}", indexResponse);
+            correlationAlertService.updateCorrelationAlert(newCorrelationAlert, indexTimeout, ActionListener.runAfter(ActionListener.wrap(
+                    updateResponse -> log.debug("Successfully updated the index .opensearch-sap-correlation-alerts: {}", updateResponse),
+                    e -> log.error("Failed to update correlation alert", e)
+            ), () -> {
+                if (remaining.decrementAndGet() == 0) {
+                    done();
                 }
-
-                @Override
-                public void onFailure(Exception e) {
-                    log.error("Failed to index correlation alert", e);
-                }
-            });
+            }));
         }
     }
 }
-
@@ -0,0 +1,98 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.alert;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel holding items until their deadline. Deadlines are rounded up to a tick and hashed into one of
+ * {@code wheelSize} slots, so scheduling is constant time and advancing the wheel only visits the slots of the ticks
+ * that elapsed, however many items are scheduled. Deadlines further away than one turn of the wheel wait for the
+ * remaining number of turns in their slot.
+ */
+public class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+
+    private final long startMillis;
+
+    private final List<Entry<T>>[] slots;
+
+    private final int mask;
+
+    // next tick to expire, ticks are counted from startMillis
+    private long currentTick;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = nowMillis;
+        this.slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; ++i) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    /**
+     * Schedules the item to expire on the first {@link #advance} at or after the deadline. Past deadlines expire on
+     * the next advance.
+     */
+    public synchronized void schedule(long deadlineMillis, T item) {
+        long deadlineTick = Math.max(currentTick, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        long remainingRounds = (deadlineTick - currentTick) / slots.length;
+        slots[(int) (deadlineTick & mask)].add(new Entry<>(item, remainingRounds));
+        ++size;
+    }
+
+    /**
+     * Moves the wheel to the given time and returns the items whose deadline passed, in deadline order.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        while (currentTick <= nowTick && size > 0) {
+            Iterator<Entry<T>> entries = slots[(int) (currentTick & mask)].iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.remainingRounds == 0) {
+                    expired.add(entry.item);
+                    entries.remove();
+                    --size;
+                } else {
+                    --entry.remainingRounds;
+                }
+            }
+            ++currentTick;
+        }
+        // nothing is scheduled, so the ticks in between need not be visited
+        currentTick = Math.max(currentTick, nowTick + 1);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private long remainingRounds;
+
+        private Entry(T item, long remainingRounds) {
+            this.item = item;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+}
@@ -78,6 +78,7 @@ public class CorrelationParamsContext implements ToXContentFragment, Writeable {
                 Map<String, Object> valueMap = (Map<String, Object>) value;
                 assert parameters != null;
                 parameters.putAll(valueMap);
+                CorrelationVectorStorage.fromParameters(parameters);
             } else {
                 throw new MapperParsingException(String.format(Locale.getDefault(), "Invalid parameter for : %s", key));
             }
@@ -130,4 +131,8 @@ public class CorrelationParamsContext implements ToXContentFragment, Writeable {
     public Map<String, Object> getParameters() {
         return parameters;
     }
+
+    public CorrelationVectorStorage getStorage() {
+        return CorrelationVectorStorage.fromParameters(parameters);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index;
+
+import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.securityanalytics.correlation.CorrelationConstants;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How correlation vectors are stored, selected by the {@link CorrelationConstants#METHOD_PARAMETER_STORAGE} parameter
+ * of the correlation context.
+ * <ul>
+ *     <li>hnsw: a full hnsw graph, searched approximately. The default.</li>
+ *     <li>flat: vectors only, searched exactly by scanning segments, skipping those whose vector bounds cannot hold
+ *     a closer vector than the ones found so far. Low dimensional vectors index and merge much faster this way.</li>
+ *     <li>quantized: a hnsw graph over scalar quantized vectors, searched approximately.</li>
+ * </ul>
+ */
+public enum CorrelationVectorStorage {
+    HNSW("hnsw"),
+    FLAT("flat"),
+    QUANTIZED("quantized");
+
+    private final String value;
+
+    CorrelationVectorStorage(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static CorrelationVectorStorage fromValue(Object value) {
+        for (CorrelationVectorStorage storage : values()) {
+            if (storage.value.equals(value)) {
+                return storage;
+            }
+        }
+        throw new MapperParsingException(String.format(Locale.getDefault(), "Invalid %s: %s, must be one of [hnsw, flat, quantized]",
+                CorrelationConstants.METHOD_PARAMETER_STORAGE, value));
+    }
+
+    /**
+     * @return storage of the given correlation context parameters, hnsw if they do not set one
+     */
+    public static CorrelationVectorStorage fromParameters(Map<String, Object> parameters) {
+        if (parameters == null || parameters.containsKey(CorrelationConstants.METHOD_PARAMETER_STORAGE) == false) {
+            return HNSW;
+        }
+        return fromValue(parameters.get(CorrelationConstants.METHOD_PARAMETER_STORAGE));
+    }
+}
@@ -5,6 +5,7 @@
 package org.opensearch.securityanalytics.correlation.index.codec;
 
 import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswScalarQuantizedVectorsFormat;
 import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.securityanalytics.correlation.CorrelationConstants;
@@ -51,7 +52,14 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
         int maxConnections = getMaxConnections(params);
         int beamWidth = getBeamWidth(params);
 
-        return formatSupplier.apply(maxConnections, beamWidth);
+        switch (type.getCorrelationParams().getStorage()) {
+            case FLAT:
+                return new CorrelationFlatVectorsFormat();
+            case QUANTIZED:
+                return new Lucene99HnswScalarQuantizedVectorsFormat(maxConnections, beamWidth);
+            default:
+                return formatSupplier.apply(maxConnections, beamWidth);
+        }
     }
 
     private boolean isCorrelationVectorFieldType(final String field) {
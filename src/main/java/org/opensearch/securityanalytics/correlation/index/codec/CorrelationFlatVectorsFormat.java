@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.codec;
+
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.KnnVectorsReader;
+import org.apache.lucene.codecs.KnnVectorsWriter;
+import org.apache.lucene.codecs.hnsw.FlatVectorScorerUtil;
+import org.apache.lucene.codecs.lucene99.Lucene99FlatVectorsFormat;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+
+import java.io.IOException;
+
+/**
+ * Vectors format of correlation vector fields with flat storage. Vectors are written without any graph, so indexing
+ * and merging only copies them, and are searched exactly by
+ * {@link org.opensearch.securityanalytics.correlation.index.query.ExactCorrelationVectorQuery}.
+ */
+public class CorrelationFlatVectorsFormat extends KnnVectorsFormat {
+
+    public static final String NAME = "CorrelationFlatVectorsFormat";
+
+    private final KnnVectorsFormat delegate = new Lucene99FlatVectorsFormat(FlatVectorScorerUtil.getLucene99FlatVectorsScorer());
+
+    public CorrelationFlatVectorsFormat() {
+        super(NAME);
+    }
+
+    @Override
+    public KnnVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
+        return delegate.fieldsWriter(state);
+    }
+
+    @Override
+    public KnnVectorsReader fieldsReader(SegmentReadState state) throws IOException {
+        return delegate.fieldsReader(state);
+    }
+
+    @Override
+    public int getMaxDimensions(String fieldName) {
+        return delegate.getMaxDimensions(fieldName);
+    }
+
+    @Override
+    public String toString() {
+        return NAME + "(delegate=" + delegate + ")";
+    }
+}
@@ -23,6 +23,7 @@ import org.opensearch.index.query.QueryShardException;
 import org.opensearch.search.lookup.SearchLookup;
 import org.opensearch.securityanalytics.correlation.CorrelationConstants;
 import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -181,6 +182,10 @@ public abstract class CorrelationVectorFieldMapper extends ParametrizedFieldMapp
         public CorrelationParamsContext getCorrelationParams() {
             return correlationParams;
         }
+
+        public CorrelationVectorStorage getStorage() {
+            return correlationParams == null ? CorrelationVectorStorage.HNSW : correlationParams.getStorage();
+        }
     }
 
     protected Explicit<Boolean> ignoreMalformed;
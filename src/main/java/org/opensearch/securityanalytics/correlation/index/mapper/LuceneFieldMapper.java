@@ -5,13 +5,16 @@
 package org.opensearch.securityanalytics.correlation.index.mapper;
 
 import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.FloatPoint;
 import org.apache.lucene.document.KnnFloatVectorField;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.PointValues;
 import org.apache.lucene.index.VectorSimilarityFunction;
 import org.opensearch.common.Explicit;
 import org.opensearch.index.mapper.ParseContext;
 import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
 import org.opensearch.securityanalytics.correlation.index.VectorField;
 
 import java.io.IOException;
@@ -23,8 +26,16 @@ public class LuceneFieldMapper extends CorrelationVectorFieldMapper {
 
     private static final int LUCENE_MAX_DIMENSION = DEFAULT_MAX_DIMENSIONS;
 
+    /**
+     * Suffix of the points field indexed next to vectors with flat storage, whose per segment min and max values bound
+     * the vectors of the segment for exact search.
+     */
+    public static final String BOUNDS_FIELD_SUFFIX = "._bounds";
+
     private final FieldType vectorFieldType;
 
+    private final boolean indexBounds;
+
     public LuceneFieldMapper(final CreateLuceneFieldMapperInput input) {
         super(
                 input.getName(),
@@ -52,6 +63,9 @@ public class LuceneFieldMapper extends CorrelationVectorFieldMapper {
         }
 
         this.fieldType = KnnFloatVectorField.createFieldType(dimension, vectorSimilarityFunction);
+        // segments of higher dimensional vectors are scanned without pruning
+        this.indexBounds = input.getMappedFieldType().getStorage() == CorrelationVectorStorage.FLAT
+                && dimension <= PointValues.MAX_INDEX_DIMENSIONS;
 
         if (this.hasDocValues) {
             this.vectorFieldType = buildDocValuesFieldType();
@@ -79,6 +93,9 @@ public class LuceneFieldMapper extends CorrelationVectorFieldMapper {
         KnnFloatVectorField point = new KnnFloatVectorField(name(), array, fieldType);
 
         context.doc().add(point);
+        if (indexBounds) {
+            context.doc().add(new FloatPoint(boundsFieldName(name()), array));
+        }
         if (fieldType.stored()) {
             context.doc().add(new StoredField(name(), point.toString()));
         }
@@ -88,6 +105,10 @@ public class LuceneFieldMapper extends CorrelationVectorFieldMapper {
         context.path().remove();
     }
 
+    public static String boundsFieldName(String fieldName) {
+        return fieldName + BOUNDS_FIELD_SUFFIX;
+    }
+
     static class CreateLuceneFieldMapperInput {
         String name;
 
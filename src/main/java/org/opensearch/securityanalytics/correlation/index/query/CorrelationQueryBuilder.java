@@ -214,7 +214,8 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
                 this.vector,
                 this.k,
                 this.filter,
-                context
+                context,
+                correlationVectorFieldType.getStorage()
         );
         return CorrelationQueryFactory.create(createQueryRequest);
     }
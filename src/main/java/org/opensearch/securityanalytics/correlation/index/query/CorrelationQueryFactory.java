@@ -8,6 +8,8 @@ import org.apache.lucene.search.KnnFloatVectorQuery;
 import org.apache.lucene.search.Query;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
+import org.opensearch.securityanalytics.correlation.index.mapper.LuceneFieldMapper;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -20,18 +22,25 @@ public class CorrelationQueryFactory {
         final int k = createQueryRequest.getK();
         final float[] vector = createQueryRequest.getVector();
 
+        Query filterQuery = null;
         if (createQueryRequest.getFilter().isPresent()) {
             final QueryShardContext context = createQueryRequest.getContext().orElseThrow(
                     () -> new RuntimeException("Shard context cannot be null")
             );
 
             try {
-                final Query filterQuery = createQueryRequest.getFilter().get().toQuery(context);
-                return new KnnFloatVectorQuery(fieldName, vector, k, filterQuery);
+                filterQuery = createQueryRequest.getFilter().get().toQuery(context);
             } catch (IOException ex) {
                 throw new RuntimeException("Cannot create knn query with filter", ex);
             }
         }
+
+        if (createQueryRequest.getStorage() == CorrelationVectorStorage.FLAT) {
+            return new ExactCorrelationVectorQuery(fieldName, LuceneFieldMapper.boundsFieldName(fieldName), vector, k, filterQuery);
+        }
+        if (filterQuery != null) {
+            return new KnnFloatVectorQuery(fieldName, vector, k, filterQuery);
+        }
         return new KnnFloatVectorQuery(fieldName, vector, k);
     }
 
@@ -48,18 +57,31 @@ public class CorrelationQueryFactory {
 
         private QueryShardContext context;
 
+        private CorrelationVectorStorage storage;
+
         public CreateQueryRequest(String indexName,
                                   String fieldName,
                                   float[] vector,
                                   int k,
                                   QueryBuilder filter,
                                   QueryShardContext context) {
+            this(indexName, fieldName, vector, k, filter, context, CorrelationVectorStorage.HNSW);
+        }
+
+        public CreateQueryRequest(String indexName,
+                                  String fieldName,
+                                  float[] vector,
+                                  int k,
+                                  QueryBuilder filter,
+                                  QueryShardContext context,
+                                  CorrelationVectorStorage storage) {
             this.indexName = indexName;
             this.fieldName = fieldName;
             this.vector = vector;
             this.k = k;
             this.filter = filter;
             this.context = context;
+            this.storage = storage;
         }
 
         public String getIndexName() {
@@ -85,5 +107,9 @@ public class CorrelationQueryFactory {
         public Optional<QueryShardContext> getContext() {
             return Optional.ofNullable(context);
         }
+
+        public CorrelationVectorStorage getStorage() {
+            return storage;
+        }
     }
 }
\ No newline at end of file
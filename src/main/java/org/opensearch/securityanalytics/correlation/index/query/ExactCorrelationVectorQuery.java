@@ -0,0 +1,370 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.query;
+
+import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.KnnVectorValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConjunctionUtils;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.Bits;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Exact k nearest neighbor query over correlation vectors with flat storage. Every live, filtered vector is scored,
+ * so results are the true top k. For euclidean vectors segments are visited in order of the best score their vector
+ * bounds allow, and a segment is skipped once that score cannot beat the k-th best score found so far.
+ */
+public class ExactCorrelationVectorQuery extends Query {
+
+    // float scoring may round a little above the bound computed here
+    private static final double BOUND_TOLERANCE = 1e-5;
+
+    private static final Comparator<ScoreDoc> WORST_FIRST = Comparator.<ScoreDoc>comparingDouble(scoreDoc -> scoreDoc.score)
+            .thenComparing(scoreDoc -> scoreDoc.doc, Comparator.reverseOrder());
+
+    private final String field;
+    private final String boundsField;
+    private final float[] target;
+    private final int k;
+    private final Query filter;
+
+    public ExactCorrelationVectorQuery(String field, String boundsField, float[] target, int k, Query filter) {
+        if (k < 1) {
+            throw new IllegalArgumentException(String.format(Locale.getDefault(), "k must be at least 1, got: %d", k));
+        }
+        this.field = Objects.requireNonNull(field, "field");
+        this.boundsField = boundsField;
+        this.target = Objects.requireNonNull(target, "target");
+        this.k = k;
+        this.filter = filter;
+    }
+
+    @Override
+    public Query rewrite(IndexSearcher indexSearcher) throws IOException {
+        IndexReader reader = indexSearcher.getIndexReader();
+        Weight filterWeight = null;
+        if (filter != null) {
+            BooleanQuery booleanQuery = new BooleanQuery.Builder()
+                    .add(filter, BooleanClause.Occur.FILTER)
+                    .add(new FieldExistsQuery(field), BooleanClause.Occur.FILTER)
+                    .build();
+            filterWeight = indexSearcher.createWeight(indexSearcher.rewrite(booleanQuery), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        }
+
+        List<LeafReaderContext> leaves = new ArrayList<>(reader.leaves());
+        double[] bounds = new double[reader.leaves().size()];
+        for (LeafReaderContext leaf : leaves) {
+            bounds[leaf.ord] = scoreUpperBound(leaf);
+        }
+        leaves.sort(Comparator.comparingDouble((LeafReaderContext leaf) -> bounds[leaf.ord]).reversed());
+
+        PriorityQueue<ScoreDoc> topDocs = new PriorityQueue<>(k, WORST_FIRST);
+        for (LeafReaderContext leaf : leaves) {
+            if (topDocs.size() == k && bounds[leaf.ord] * (1 + BOUND_TOLERANCE) < topDocs.peek().score) {
+                // leaves are sorted by bound, none of the remaining ones can hold a competitive vector
+                break;
+            }
+            searchLeaf(leaf, filterWeight, topDocs);
+        }
+
+        if (topDocs.isEmpty()) {
+            return new MatchNoDocsQuery();
+        }
+        ScoreDoc[] scoreDocs = topDocs.toArray(new ScoreDoc[0]);
+        Arrays.sort(scoreDocs, Comparator.comparingInt(scoreDoc -> scoreDoc.doc));
+        int[] docs = new int[scoreDocs.length];
+        float[] scores = new float[scoreDocs.length];
+        for (int i = 0; i < scoreDocs.length; ++i) {
+            docs[i] = scoreDocs[i].doc;
+            scores[i] = scoreDocs[i].score;
+        }
+        return new ScoredDocsQuery(docs, scores, reader.getContext().id());
+    }
+
+    private void searchLeaf(LeafReaderContext leaf, Weight filterWeight, PriorityQueue<ScoreDoc> topDocs) throws IOException {
+        FloatVectorValues values = leaf.reader().getFloatVectorValues(field);
+        if (values == null) {
+            return;
+        }
+        FieldInfo fieldInfo = leaf.reader().getFieldInfos().fieldInfo(field);
+        if (fieldInfo.getVectorDimension() != target.length) {
+            throw new IllegalArgumentException(String.format(Locale.getDefault(),
+                    "vector query dimension: %d differs from field dimension: %d", target.length, fieldInfo.getVectorDimension()));
+        }
+        VectorSimilarityFunction similarityFunction = fieldInfo.getVectorSimilarityFunction();
+
+        KnnVectorValues.DocIndexIterator vectors = values.iterator();
+        DocIdSetIterator iterator = vectors;
+        if (filterWeight != null) {
+            Scorer filterScorer = filterWeight.scorer(leaf);
+            if (filterScorer == null) {
+                return;
+            }
+            iterator = ConjunctionUtils.intersectIterators(List.of(vectors, filterScorer.iterator()));
+        }
+
+        Bits liveDocs = leaf.reader().getLiveDocs();
+        for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+            if (liveDocs != null && liveDocs.get(doc) == false) {
+                continue;
+            }
+            ScoreDoc scoreDoc = new ScoreDoc(leaf.docBase + doc, similarityFunction.compare(target, values.vectorValue(vectors.index())));
+            if (topDocs.size() < k) {
+                topDocs.add(scoreDoc);
+            } else if (WORST_FIRST.compare(scoreDoc, topDocs.peek()) > 0) {
+                // on equal scores the lower doc id wins, whatever order leaves are visited in
+                topDocs.poll();
+                topDocs.add(scoreDoc);
+            }
+        }
+    }
+
+    /**
+     * @return best euclidean score of any vector within the per dimension min and max values of the leaf, or positive
+     * infinity when the leaf cannot be bounded
+     */
+    private double scoreUpperBound(LeafReaderContext leaf) throws IOException {
+        if (boundsField == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        FieldInfo fieldInfo = leaf.reader().getFieldInfos().fieldInfo(field);
+        if (fieldInfo == null || fieldInfo.getVectorSimilarityFunction() != VectorSimilarityFunction.EUCLIDEAN) {
+            return Double.POSITIVE_INFINITY;
+        }
+        PointValues points = leaf.reader().getPointValues(boundsField);
+        if (points == null || points.getNumIndexDimensions() != target.length) {
+            return Double.POSITIVE_INFINITY;
+        }
+        byte[] min = points.getMinPackedValue();
+        byte[] max = points.getMaxPackedValue();
+        double squareDistance = 0.0;
+        for (int dim = 0; dim < target.length; ++dim) {
+            float lower = FloatPoint.decodeDimension(min, dim * Float.BYTES);
+            float upper = FloatPoint.decodeDimension(max, dim * Float.BYTES);
+            double delta = target[dim] < lower ? lower - target[dim] : target[dim] > upper ? target[dim] - upper : 0.0;
+            squareDistance += delta * delta;
+        }
+        return 1.0 / (1.0 + squareDistance);
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        if (visitor.acceptField(field)) {
+            visitor.visitLeaf(this);
+        }
+    }
+
+    @Override
+    public String toString(String field) {
+        return getClass().getSimpleName() + ":" + this.field + "[" + target[0] + ",...][" + k + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (sameClassAs(other) == false) {
+            return false;
+        }
+        ExactCorrelationVectorQuery that = (ExactCorrelationVectorQuery) other;
+        return k == that.k && field.equals(that.field) && Objects.equals(boundsField, that.boundsField)
+                && Arrays.equals(target, that.target) && Objects.equals(filter, that.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, boundsField, Arrays.hashCode(target), k, filter);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public Query getFilter() {
+        return filter;
+    }
+
+    /**
+     * Top k docs found by the rewrite, by doc id across the whole reader, with their scores.
+     */
+    static final class ScoredDocsQuery extends Query {
+
+        private final int[] docs;
+        private final float[] scores;
+        private final Object contextIdentity;
+
+        ScoredDocsQuery(int[] docs, float[] scores, Object contextIdentity) {
+            this.docs = docs;
+            this.scores = scores;
+            this.contextIdentity = contextIdentity;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+            if (searcher.getIndexReader().getContext().id() != contextIdentity) {
+                throw new IllegalStateException("This exact correlation vector query was created by a different reader");
+            }
+            return new Weight(this) {
+                @Override
+                public Explanation explain(LeafReaderContext context, int doc) {
+                    int index = Arrays.binarySearch(docs, context.docBase + doc);
+                    if (index < 0) {
+                        return Explanation.noMatch("not in top " + docs.length);
+                    }
+                    return Explanation.match(scores[index] * boost, "exact correlation vector score, computed as boost * score");
+                }
+
+                @Override
+                public ScorerSupplier scorerSupplier(LeafReaderContext context) {
+                    int from = firstIndexAtLeast(context.docBase);
+                    int to = firstIndexAtLeast(context.docBase + context.reader().maxDoc());
+                    if (from == to) {
+                        return null;
+                    }
+                    return new DefaultScorerSupplier(new ScoredDocsScorer(docs, scores, from, to, context.docBase, boost));
+                }
+
+                @Override
+                public boolean isCacheable(LeafReaderContext context) {
+                    return true;
+                }
+            };
+        }
+
+        private int firstIndexAtLeast(int doc) {
+            int index = Arrays.binarySearch(docs, doc);
+            return index < 0 ? -1 - index : index;
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+        }
+
+        @Override
+        public String toString(String field) {
+            return "ScoredDocsQuery[" + docs.length + " docs]";
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (sameClassAs(other) == false) {
+                return false;
+            }
+            ScoredDocsQuery that = (ScoredDocsQuery) other;
+            return contextIdentity == that.contextIdentity && Arrays.equals(docs, that.docs) && Arrays.equals(scores, that.scores);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classHash(), contextIdentity, Arrays.hashCode(docs), Arrays.hashCode(scores));
+        }
+    }
+
+    private static final class ScoredDocsScorer extends Scorer {
+
+        private final int[] docs;
+        private final float[] scores;
+        private final int from;
+        private final int to;
+        private final int docBase;
+        private final float boost;
+        private final float maxScore;
+        private int index;
+
+        private ScoredDocsScorer(int[] docs, float[] scores, int from, int to, int docBase, float boost) {
+            this.docs = docs;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+            this.docBase = docBase;
+            this.boost = boost;
+            this.index = from - 1;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = from; i < to; ++i) {
+                max = Math.max(max, scores[i]);
+            }
+            this.maxScore = max * boost;
+        }
+
+        @Override
+        public int docID() {
+            if (index < from) {
+                return -1;
+            }
+            return index >= to ? DocIdSetIterator.NO_MORE_DOCS : docs[index] - docBase;
+        }
+
+        @Override
+        public DocIdSetIterator iterator() {
+            return new DocIdSetIterator() {
+                @Override
+                public int docID() {
+                    return ScoredDocsScorer.this.docID();
+                }
+
+                @Override
+                public int nextDoc() {
+                    if (index < to) {
+                        ++index;
+                    }
+                    return docID();
+                }
+
+                @Override
+                public int advance(int target) {
+                    int doc = nextDoc();
+                    while (doc < target) {
+                        doc = nextDoc();
+                    }
+                    return doc;
+                }
+
+                @Override
+                public long cost() {
+                    return to - from;
+                }
+            };
+        }
+
+        @Override
+        public float getMaxScore(int upTo) {
+            return maxScore;
+        }
+
+        @Override
+        public float score() {
+            return scores[index] * boost;
+        }
+    }
+}
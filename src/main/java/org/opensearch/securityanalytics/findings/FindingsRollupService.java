@@ -0,0 +1,579 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
+import org.opensearch.common.lifecycle.Lifecycle;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.filter.Filter;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Sum;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.rules.objects.SigmaLevel;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.maxSystemIndexReplicas;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.minSystemIndexReplicas;
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.CHAINED_FINDINGS_MONITOR_STRING;
+
+/**
+ * Maintains the findings rollup index, hourly finding counts per detector, per rule and per severity. Published
+ * findings are counted in memory and flushed periodically as scripted upserts, so the rollup is built incrementally and
+ * never re-reads the findings indices. The rollup index does not roll over and has its own retention, so long range
+ * finding trends survive the retention of the findings history indices.
+ * <p>
+ * Each flush tags its increments with an operation id recorded in the rollup doc. A flush whose outcome is unknown is
+ * retried with the same ids, and an increment already applied is skipped, so counts are never added twice. An increment
+ * is retried at most {@link #MAX_FLUSH_RETRIES} times and dropped after that, so a persistent failure does not grow the
+ * retries without bound.
+ */
+public class FindingsRollupService extends AbstractLifecycleComponent {
+
+    private static final Logger log = LogManager.getLogger(FindingsRollupService.class);
+
+    public static final String FINDINGS_ROLLUP_INDEX = ".opensearch-sap-findings-rollup";
+
+    public static final String DETECTOR_DIMENSION = "detector";
+    public static final String RULE_DIMENSION = "rule";
+    public static final String SEVERITY_DIMENSION = "severity";
+
+    private static final String DETECTOR_ID_FIELD = "detector_id";
+    private static final String LOG_TYPE_FIELD = "log_type";
+    private static final String DIMENSION_FIELD = "dimension";
+    private static final String RULE_ID_FIELD = "rule_id";
+    private static final String SEVERITY_FIELD = "severity";
+    private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final String COUNT_FIELD = "count";
+    private static final String OP_IDS_FIELD = "op_ids";
+
+    private static final String BY_DETECTOR_AGGREGATION = "by_detector";
+    private static final String BY_TIME_AGGREGATION = "by_time";
+    private static final String BY_RULE_AGGREGATION = "by_rule";
+    private static final String BY_SEVERITY_AGGREGATION = "by_severity";
+    private static final String COUNT_AGGREGATION = "count";
+
+    // number of recent operation ids kept per rollup doc, retries of a flush come well within that many flushes
+    static final int MAX_OP_IDS = 10;
+
+    // number of times the increments of a failed flush are written again before they are dropped, below MAX_OP_IDS so
+    // that a retry is still recognized by its operation id
+    static final int MAX_FLUSH_RETRIES = 5;
+
+    private static final String INCREMENT_SCRIPT =
+            "if (ctx._source." + OP_IDS_FIELD + " == null) { ctx._source." + OP_IDS_FIELD + " = []; } " +
+            "if (ctx._source." + OP_IDS_FIELD + ".contains(params.op_id)) { ctx.op = 'none'; } else { " +
+            "ctx._source.count += params.count; ctx._source." + OP_IDS_FIELD + ".add(params.op_id); " +
+            "if (ctx._source." + OP_IDS_FIELD + ".size() > " + MAX_OP_IDS + ") { ctx._source." + OP_IDS_FIELD + ".remove(0); } }";
+
+    public static final long ROLLUP_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final TimeValue FLUSH_INTERVAL = TimeValue.timeValueSeconds(10);
+
+    private static final int RETRY_ON_CONFLICT = 5;
+
+    private static final int MAX_SUMMARY_RULES = 10000;
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    // pending increments by rollup doc id, guarded by this
+    private Map<String, Rollup> pendingRollups = new HashMap<>();
+
+    // increments of earlier flushes to write again with their operation ids, guarded by this
+    private List<Rollup> retryRollups = new ArrayList<>();
+
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private Scheduler.Cancellable scheduledFlush;
+
+    private volatile boolean enabled;
+
+    private volatile TimeValue retentionPeriod;
+
+    public FindingsRollupService(Client client, ClusterService clusterService, ThreadPool threadPool, Settings settings) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.enabled = SecurityAnalyticsSettings.FINDINGS_ROLLUP_ENABLED.get(settings);
+        this.retentionPeriod = SecurityAnalyticsSettings.FINDINGS_ROLLUP_RETENTION_PERIOD.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FINDINGS_ROLLUP_ENABLED, it -> enabled = it);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FINDINGS_ROLLUP_RETENTION_PERIOD, it -> retentionPeriod = it);
+    }
+
+    /**
+     * Returns the number of rollup documents with increments waiting for the next flush.
+     */
+    public synchronized int getPendingRollupCount() {
+        return pendingRollups.size() + retryRollups.size();
+    }
+
+    @Override
+    protected void doStart() {}
+
+    @Override
+    protected void doStop() {
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel();
+                scheduledFlush = null;
+            }
+        }
+        // best effort, counts not written by now are lost with the node
+        flush();
+    }
+
+    @Override
+    protected void doClose() {}
+
+    /**
+     * Counts a finding published by one of the monitors of the detector. Counts are written on the next flush.
+     */
+    public void record(Detector detector, Finding finding) {
+        if (!enabled) {
+            return;
+        }
+        List<Rollup> rollups = rollupsOf(detector, finding);
+        if (rollups.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Rollup rollup : rollups) {
+                pendingRollups.merge(rollup.getId(), rollup, Rollup::add);
+            }
+            if (scheduledFlush == null && lifecycleState() == Lifecycle.State.STARTED) {
+                scheduledFlush = threadPool.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, ThreadPool.Names.GENERIC);
+            }
+        }
+    }
+
+    /**
+     * Returns the rollup increments of a finding, one per dimension value, all in the hour of the finding. Findings of
+     * the chained findings monitor are not counted as they repeat findings of the other monitors.
+     */
+    static List<Rollup> rollupsOf(Detector detector, Finding finding) {
+        Map<String, String> ruleIdMonitorIdMap = detector.getRuleIdMonitorIdMap() != null ? detector.getRuleIdMonitorIdMap() : Map.of();
+        if (finding.getMonitorId().equals(ruleIdMonitorIdMap.get(CHAINED_FINDINGS_MONITOR_STRING))) {
+            return List.of();
+        }
+        long hour = finding.getTimestamp().toEpochMilli() / ROLLUP_INTERVAL_MILLIS * ROLLUP_INTERVAL_MILLIS;
+        String logType = detector.getDetectorType();
+
+        Set<String> ruleIds = new LinkedHashSet<>();
+        Set<String> severities = new LinkedHashSet<>();
+        List<DocLevelQuery> docLevelQueries = finding.getDocLevelQueries();
+        if (docLevelQueries.isEmpty()) {
+            // findings of bucket level monitors have no queries, the monitor runs a single rule
+            for (Map.Entry<String, String> entry : ruleIdMonitorIdMap.entrySet()) {
+                if (entry.getValue().equals(finding.getMonitorId())) {
+                    ruleIds.add(entry.getKey());
+                }
+            }
+        }
+        for (DocLevelQuery query : docLevelQueries) {
+            ruleIds.add(query.getId());
+            for (String tag : query.getTags()) {
+                if (isSeverity(tag)) {
+                    severities.add(tag);
+                }
+            }
+        }
+
+        List<Rollup> rollups = new ArrayList<>(1 + ruleIds.size() + severities.size());
+        rollups.add(new Rollup(detector.getId(), logType, DETECTOR_DIMENSION, null, hour, 1L));
+        for (String ruleId : ruleIds) {
+            rollups.add(new Rollup(detector.getId(), logType, RULE_DIMENSION, ruleId, hour, 1L));
+        }
+        for (String severity : severities) {
+            rollups.add(new Rollup(detector.getId(), logType, SEVERITY_DIMENSION, severity, hour, 1L));
+        }
+        return rollups;
+    }
+
+    private static boolean isSeverity(String tag) {
+        for (SigmaLevel level : SigmaLevel.values()) {
+            if (level.toString().equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the pending counts to the rollup index. Counts that could not be written, or may not have been, are kept
+     * with their operation ids for the next flush.
+     */
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        List<Rollup> rollups;
+        synchronized (this) {
+            rollups = retryRollups;
+            String opId = UUIDs.base64UUID();
+            for (Rollup rollup : pendingRollups.values()) {
+                rollups.add(rollup.withOpId(opId));
+            }
+            pendingRollups = new HashMap<>();
+            retryRollups = new ArrayList<>();
+        }
+        if (rollups.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+
+        createRollupIndexIfNotExists(ActionListener.wrap(
+                created -> {
+                    BulkRequest bulkRequest = new BulkRequest();
+                    for (Rollup rollup : rollups) {
+                        bulkRequest.add(rollup.toUpdateRequest());
+                    }
+                    client.bulk(bulkRequest, ActionListener.wrap(
+                            bulkResponse -> {
+                                if (bulkResponse.hasFailures()) {
+                                    List<Rollup> failed = new ArrayList<>();
+                                    BulkItemResponse[] items = bulkResponse.getItems();
+                                    for (int i = 0; i < items.length; ++i) {
+                                        if (items[i].isFailed()) {
+                                            failed.add(rollups.get(i));
+                                        }
+                                    }
+                                    log.warn("Failed to write {} findings rollups: {}", failed.size(), bulkResponse.buildFailureMessage());
+                                    requeue(failed);
+                                }
+                                flushing.set(false);
+                            },
+                            e -> {
+                                // the increments may have been applied, their operation ids keep a retry from applying them twice
+                                log.error("Failed to write findings rollups", e);
+                                requeue(rollups);
+                                flushing.set(false);
+                            }
+                    ));
+                },
+                e -> {
+                    log.error(String.format(Locale.getDefault(), "Failed to create findings rollup index %s", FINDINGS_ROLLUP_INDEX), e);
+                    requeue(rollups);
+                    flushing.set(false);
+                }
+        ));
+    }
+
+    private synchronized void requeue(Collection<Rollup> rollups) {
+        long dropped = 0L;
+        for (Rollup rollup : rollups) {
+            if (rollup.getRetries() < MAX_FLUSH_RETRIES) {
+                retryRollups.add(rollup.retried());
+            } else {
+                dropped += rollup.getCount();
+            }
+        }
+        if (dropped > 0L) {
+            log.error("Dropped {} findings rollup increments after {} failed retries", dropped, MAX_FLUSH_RETRIES);
+        }
+    }
+
+    private void createRollupIndexIfNotExists(ActionListener<Void> listener) {
+        if (clusterService.state().metadata().hasIndex(FINDINGS_ROLLUP_INDEX)) {
+            listener.onResponse(null);
+            return;
+        }
+        try {
+            Settings indexSettings = Settings.builder()
+                    .put("index.hidden", true)
+                    .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+                    .put("index.auto_expand_replicas", minSystemIndexReplicas + "-" + maxSystemIndexReplicas)
+                    .build();
+            CreateIndexRequest createIndexRequest = new CreateIndexRequest(FINDINGS_ROLLUP_INDEX)
+                    .mapping(rollupMappings())
+                    .settings(indexSettings);
+            client.admin().indices().create(createIndexRequest, ActionListener.wrap(
+                    response -> listener.onResponse(null),
+                    e -> {
+                        if (ExceptionsHelper.unwrapCause(e) instanceof ResourceAlreadyExistsException) {
+                            listener.onResponse(null);
+                        } else {
+                            listener.onFailure(e);
+                        }
+                    }
+            ));
+        } catch (IOException e) {
+            listener.onFailure(e);
+        }
+    }
+
+    public static String rollupMappings() throws IOException {
+        try (InputStream is = FindingsRollupService.class.getClassLoader().getResourceAsStream("mappings/findings_rollup_mapping.json")) {
+            return new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Deletes the rollups older than {@link SecurityAnalyticsSettings#FINDINGS_ROLLUP_RETENTION_PERIOD}.
+     */
+    public void deleteExpiredRollups() {
+        if (!clusterService.state().metadata().hasIndex(FINDINGS_ROLLUP_INDEX)) {
+            return;
+        }
+        long cutoff = Instant.now().toEpochMilli() - retentionPeriod.millis();
+        new DeleteByQueryRequestBuilder(client, DeleteByQueryAction.INSTANCE)
+                .source(FINDINGS_ROLLUP_INDEX)
+                .filter(QueryBuilders.rangeQuery(TIMESTAMP_FIELD).lt(cutoff).format("epoch_millis"))
+                .execute(ActionListener.wrap(
+                        response -> log.debug("Deleted {} expired findings rollups", response.getDeleted()),
+                        e -> log.error("Failed to delete expired findings rollups", e)
+                ));
+    }
+
+    /**
+     * Summarizes the findings of the given detectors from the rollup index. The interval of the time buckets must be a
+     * multiple of {@link #ROLLUP_INTERVAL_MILLIS}, and the time range is widened to whole hours.
+     */
+    public void getFindingsSummary(
+            List<Detector> detectors,
+            Instant startTime,
+            Instant endTime,
+            String interval,
+            ActionListener<GetFindingsSummaryResponse> listener
+    ) {
+        List<String> detectorIds = detectors.stream().map(Detector::getId).collect(Collectors.toList());
+
+        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(DETECTOR_ID_FIELD, detectorIds));
+        DateHistogramAggregationBuilder byTime = AggregationBuilders.dateHistogram(BY_TIME_AGGREGATION)
+                .field(TIMESTAMP_FIELD)
+                .fixedInterval(new DateHistogramInterval(interval))
+                .minDocCount(1)
+                .subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION).field(COUNT_FIELD));
+        if (startTime != null && endTime != null) {
+            long start = startTime.toEpochMilli() / ROLLUP_INTERVAL_MILLIS * ROLLUP_INTERVAL_MILLIS;
+            queryBuilder.filter(QueryBuilders.rangeQuery(TIMESTAMP_FIELD)
+                    .gte(start)
+                    .lte(endTime.toEpochMilli())
+                    .format("epoch_millis"));
+            // the request validation bounds the number of buckets within the time range
+            byTime.hardBounds(new LongBounds(start, endTime.toEpochMilli()));
+        }
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(queryBuilder)
+                .size(0)
+                .aggregation(AggregationBuilders.filter(DETECTOR_DIMENSION, QueryBuilders.termQuery(DIMENSION_FIELD, DETECTOR_DIMENSION))
+                        .subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION).field(COUNT_FIELD))
+                        .subAggregation(AggregationBuilders.terms(BY_DETECTOR_AGGREGATION)
+                                .field(DETECTOR_ID_FIELD)
+                                .size(detectorIds.size())
+                                .subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION).field(COUNT_FIELD)))
+                        .subAggregation(byTime))
+                .aggregation(AggregationBuilders.filter(RULE_DIMENSION, QueryBuilders.termQuery(DIMENSION_FIELD, RULE_DIMENSION))
+                        .subAggregation(AggregationBuilders.terms(BY_RULE_AGGREGATION)
+                                .field(RULE_ID_FIELD)
+                                .size(MAX_SUMMARY_RULES)
+                                .subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION).field(COUNT_FIELD))))
+                .aggregation(AggregationBuilders.filter(SEVERITY_DIMENSION, QueryBuilders.termQuery(DIMENSION_FIELD, SEVERITY_DIMENSION))
+                        .subAggregation(AggregationBuilders.terms(BY_SEVERITY_AGGREGATION)
+                                .field(SEVERITY_FIELD)
+                                .size(SigmaLevel.values().length)
+                                .subAggregation(AggregationBuilders.sum(COUNT_AGGREGATION).field(COUNT_FIELD))));
+        SearchRequest searchRequest = new SearchRequest(FINDINGS_ROLLUP_INDEX)
+                .source(searchSourceBuilder)
+                .indicesOptions(IndicesOptions.lenientExpandOpen());
+
+        client.search(searchRequest, ActionListener.wrap(
+                searchResponse -> {
+                    Aggregations aggregations = searchResponse.getAggregations();
+                    if (aggregations == null) {
+                        listener.onResponse(new GetFindingsSummaryResponse(0L, Map.of(), Map.of(), Map.of(), Map.of()));
+                        return;
+                    }
+
+                    Filter detectorRollups = aggregations.get(DETECTOR_DIMENSION);
+                    long totalFindings = sumOf(detectorRollups.getAggregations());
+                    Map<String, Long> findingsByDetector = sumByTerm(detectorRollups.getAggregations().get(BY_DETECTOR_AGGREGATION));
+
+                    Map<Long, Long> findingsByTimeBucket = new LinkedHashMap<>();
+                    Histogram byTime = detectorRollups.getAggregations().get(BY_TIME_AGGREGATION);
+                    for (Histogram.Bucket bucket : byTime.getBuckets()) {
+                        Object key = bucket.getKey();
+                        long bucketStart = key instanceof ZonedDateTime ? ((ZonedDateTime) key).toInstant().toEpochMilli() : ((Number) key).longValue();
+                        findingsByTimeBucket.put(bucketStart, sumOf(bucket.getAggregations()));
+                    }
+
+                    Filter ruleRollups = aggregations.get(RULE_DIMENSION);
+                    Map<String, Long> findingsByRule = sumByTerm(ruleRollups.getAggregations().get(BY_RULE_AGGREGATION));
+                    Filter severityRollups = aggregations.get(SEVERITY_DIMENSION);
+                    Map<String, Long> findingsBySeverity = sumByTerm(severityRollups.getAggregations().get(BY_SEVERITY_AGGREGATION));
+
+                    listener.onResponse(new GetFindingsSummaryResponse(totalFindings, findingsByDetector, findingsByRule, findingsBySeverity, findingsByTimeBucket));
+                },
+                e -> {
+                    log.error("Failed to summarize findings rollups for detectors: [" + String.join(",", detectorIds) + "]", e);
+                    listener.onFailure(SecurityAnalyticsException.wrap(e));
+                }
+        ));
+    }
+
+    private static long sumOf(Aggregations aggregations) {
+        Sum sum = aggregations.get(COUNT_AGGREGATION);
+        return (long) sum.getValue();
+    }
+
+    private static Map<String, Long> sumByTerm(Terms terms) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Terms.Bucket bucket : terms.getBuckets()) {
+            counts.put(bucket.getKeyAsString(), sumOf(bucket.getAggregations()));
+        }
+        return counts;
+    }
+
+    /**
+     * Finding count of a detector, or of one of its rules or severities, in one hour.
+     */
+    static class Rollup {
+        private final String detectorId;
+        private final String logType;
+        private final String dimension;
+        private final String value;
+        private final long timestamp;
+        private final long count;
+        // id of the flush writing the increment, null until flushed
+        private final String opId;
+        // number of times the increment was written again after a failed flush
+        private final int retries;
+
+        Rollup(String detectorId, String logType, String dimension, String value, long timestamp, long count) {
+            this(detectorId, logType, dimension, value, timestamp, count, null, 0);
+        }
+
+        private Rollup(String detectorId, String logType, String dimension, String value, long timestamp, long count, String opId,
+                       int retries) {
+            this.detectorId = detectorId;
+            this.logType = logType;
+            this.dimension = dimension;
+            this.value = value;
+            this.timestamp = timestamp;
+            this.count = count;
+            this.opId = opId;
+            this.retries = retries;
+        }
+
+        String getId() {
+            return value == null ?
+                    String.join("|", detectorId, dimension, Long.toString(timestamp)) :
+                    String.join("|", detectorId, dimension, value, Long.toString(timestamp));
+        }
+
+        String getDimension() {
+            return dimension;
+        }
+
+        String getValue() {
+            return value;
+        }
+
+        long getTimestamp() {
+            return timestamp;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        String getOpId() {
+            return opId;
+        }
+
+        int getRetries() {
+            return retries;
+        }
+
+        Rollup add(Rollup other) {
+            return new Rollup(detectorId, logType, dimension, value, timestamp, count + other.count);
+        }
+
+        Rollup withOpId(String opId) {
+            return new Rollup(detectorId, logType, dimension, value, timestamp, count, opId, 0);
+        }
+
+        Rollup retried() {
+            return new Rollup(detectorId, logType, dimension, value, timestamp, count, opId, retries + 1);
+        }
+
+        UpdateRequest toUpdateRequest() {
+            Map<String, Object> source = new HashMap<>();
+            source.put(DETECTOR_ID_FIELD, detectorId);
+            source.put(LOG_TYPE_FIELD, logType);
+            source.put(DIMENSION_FIELD, dimension);
+            if (RULE_DIMENSION.equals(dimension)) {
+                source.put(RULE_ID_FIELD, value);
+            } else if (SEVERITY_DIMENSION.equals(dimension)) {
+                source.put(SEVERITY_FIELD, value);
+            }
+            source.put(TIMESTAMP_FIELD, timestamp);
+            source.put(COUNT_FIELD, count);
+            source.put(OP_IDS_FIELD, List.of(opId));
+            return new UpdateRequest(FINDINGS_ROLLUP_INDEX, getId())
+                    .script(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, INCREMENT_SCRIPT, Map.of(COUNT_FIELD, count, "op_id", opId)))
+                    .upsert(source)
+                    .retryOnConflict(RETRY_ON_CONFLICT);
+        }
+    }
+}
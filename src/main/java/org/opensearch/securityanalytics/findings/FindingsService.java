@@ -8,6 +8,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.commons.alerting.AlertingPluginInterface;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.commons.alerting.model.FindingWithDocs;
@@ -19,21 +21,37 @@ import org.opensearch.index.query.NestedQueryBuilder;
 import org.opensearch.index.query.PrefixQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
+import org.opensearch.search.aggregations.bucket.nested.Nested;
+import org.opensearch.search.aggregations.bucket.nested.ReverseNested;
+import org.opensearch.search.aggregations.bucket.terms.IncludeExclude;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.action.FindingDto;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.rules.objects.SigmaLevel;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.transport.client.Client;
 import org.opensearch.transport.client.node.NodeClient;
 
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -49,6 +67,16 @@ public class FindingsService {
 
     private static final Logger log = LogManager.getLogger(FindingsService.class);
 
+    private static final String BY_MONITOR_AGGREGATION = "by_monitor";
+    private static final String BY_TIME_AGGREGATION = "by_time";
+    private static final String QUERIES_AGGREGATION = "queries";
+    private static final String BY_RULE_AGGREGATION = "by_rule";
+    private static final String BY_SEVERITY_AGGREGATION = "by_severity";
+    private static final String FINDINGS_AGGREGATION = "findings";
+
+    // upper bound of the rules counted in a findings summary, detectors rarely have more than a few thousand rules
+    private static final int MAX_SUMMARY_RULES = 10000;
+
 
     public FindingsService() {}
 
@@ -297,6 +325,120 @@ public class FindingsService {
         );
     }
 
+    /**
+     * Counts the findings of the given detectors, in total and by detector, rule, severity and time bucket, with
+     * aggregations over the findings indices. Matched documents are never fetched.
+     * @param detectors detectors whose findings are counted
+     * @param logType log type of the findings indices to search, "*" for all of them
+     * @param interval fixed interval of the time buckets
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void getFindingsSummary(
+            List<Detector> detectors,
+            String logType,
+            Instant startTime,
+            Instant endTime,
+            String interval,
+            ActionListener<GetFindingsSummaryResponse> listener
+    ) {
+        Map<String, String> monitorToDetectorMapping = new HashMap<>();
+        for (Detector detector : detectors) {
+            String chainedFindingsMonitorId = detector.getRuleIdMonitorIdMap().get(CHAINED_FINDINGS_MONITOR_STRING);
+            for (String monitorId : detector.getMonitorIds()) {
+                if (!monitorId.equals(chainedFindingsMonitorId)) {
+                    monitorToDetectorMapping.put(monitorId, detector.getId());
+                }
+            }
+        }
+        if (monitorToDetectorMapping.isEmpty()) {
+            listener.onResponse(new GetFindingsSummaryResponse(0L, Map.of(), Map.of(), Map.of(), Map.of()));
+            return;
+        }
+
+        BoolQueryBuilder queryBuilder = getBoolQueryBuilder(null, null, null, startTime, endTime)
+                .filter(QueryBuilders.termsQuery("monitor_id", monitorToDetectorMapping.keySet()));
+        List<String> severities = Arrays.stream(SigmaLevel.values())
+                .map(SigmaLevel::toString)
+                .collect(Collectors.toList());
+
+        DateHistogramAggregationBuilder byTime = AggregationBuilders.dateHistogram(BY_TIME_AGGREGATION)
+                .field("timestamp")
+                .fixedInterval(new DateHistogramInterval(interval))
+                .minDocCount(1);
+        if (startTime != null && endTime != null) {
+            // the request validation bounds the number of buckets within the time range
+            byTime.hardBounds(new LongBounds(startTime.toEpochMilli(), endTime.toEpochMilli()));
+        }
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(queryBuilder)
+                .size(0)
+                .trackTotalHits(true)
+                .aggregation(AggregationBuilders.terms(BY_MONITOR_AGGREGATION)
+                        .field("monitor_id")
+                        .size(monitorToDetectorMapping.size()))
+                .aggregation(byTime)
+                .aggregation(AggregationBuilders.nested(QUERIES_AGGREGATION, "queries")
+                        .subAggregation(AggregationBuilders.terms(BY_RULE_AGGREGATION)
+                                .field("queries.id")
+                                .size(MAX_SUMMARY_RULES)
+                                .subAggregation(AggregationBuilders.reverseNested(FINDINGS_AGGREGATION)))
+                        .subAggregation(AggregationBuilders.terms(BY_SEVERITY_AGGREGATION)
+                                .field("queries.tags.keyword")
+                                .includeExclude(new IncludeExclude(severities.toArray(new String[0]), null))
+                                .size(severities.size())
+                                .subAggregation(AggregationBuilders.reverseNested(FINDINGS_AGGREGATION))));
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(logType))
+                .source(searchSourceBuilder)
+                .indicesOptions(IndicesOptions.lenientExpandOpen());
+
+        client.search(searchRequest, ActionListener.wrap(
+                searchResponse -> {
+                    long totalFindings = searchResponse.getHits().getTotalHits() != null ?
+                            searchResponse.getHits().getTotalHits().value() : 0L;
+                    Aggregations aggregations = searchResponse.getAggregations();
+                    if (aggregations == null) {
+                        listener.onResponse(new GetFindingsSummaryResponse(totalFindings, Map.of(), Map.of(), Map.of(), Map.of()));
+                        return;
+                    }
+
+                    Map<String, Long> findingsByDetector = new LinkedHashMap<>();
+                    Terms byMonitor = aggregations.get(BY_MONITOR_AGGREGATION);
+                    for (Terms.Bucket bucket : byMonitor.getBuckets()) {
+                        String detectorId = monitorToDetectorMapping.get(bucket.getKeyAsString());
+                        findingsByDetector.merge(detectorId, bucket.getDocCount(), Long::sum);
+                    }
+
+                    Nested queries = aggregations.get(QUERIES_AGGREGATION);
+                    Map<String, Long> findingsByRule = countFindings(queries.getAggregations().get(BY_RULE_AGGREGATION));
+                    Map<String, Long> findingsBySeverity = countFindings(queries.getAggregations().get(BY_SEVERITY_AGGREGATION));
+
+                    Map<Long, Long> findingsByTimeBucket = new LinkedHashMap<>();
+                    Histogram byTime = aggregations.get(BY_TIME_AGGREGATION);
+                    for (Histogram.Bucket bucket : byTime.getBuckets()) {
+                        Object key = bucket.getKey();
+                        long bucketStart = key instanceof ZonedDateTime ? ((ZonedDateTime) key).toInstant().toEpochMilli() : ((Number) key).longValue();
+                        findingsByTimeBucket.put(bucketStart, bucket.getDocCount());
+                    }
+
+                    listener.onResponse(new GetFindingsSummaryResponse(totalFindings, findingsByDetector, findingsByRule, findingsBySeverity, findingsByTimeBucket));
+                },
+                e -> {
+                    log.error("Failed to summarize findings for detectors: [" +
+                            detectors.stream().map(Detector::getId).collect(Collectors.joining(",")) + "]", e);
+                    listener.onFailure(SecurityAnalyticsException.wrap(e));
+                }
+        ));
+    }
+
+    private static Map<String, Long> countFindings(Terms terms) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Terms.Bucket bucket : terms.getBuckets()) {
+            ReverseNested findings = bucket.getAggregations().get(FINDINGS_AGGREGATION);
+            counts.put(bucket.getKeyAsString(), findings.getDocCount());
+        }
+        return counts;
+    }
+
     public FindingDto mapFindingWithDocsToFindingDto(FindingWithDocs findingWithDocs, Detector detector) {
         List<DocLevelQuery> docLevelQueries = findingWithDocs.getFinding().getDocLevelQueries();
         if (docLevelQueries.isEmpty()) { // this is finding generated by a bucket level monitor
@@ -33,6 +33,8 @@ import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
+import org.opensearch.securityanalytics.findings.FindingsRollupService;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dao.IocFindingService;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
@@ -50,6 +52,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
     private final ThreadPool threadPool;
     private final ClusterService clusterService;
     private final LogTypeService logTypeService;
+    private final FindingsRollupService findingsRollupService;
     private Settings settings;
 
     private volatile Boolean alertHistoryEnabled;
@@ -83,6 +86,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
 
     private volatile TimeValue correlationHistoryRetentionPeriod;
 
+    private volatile String correlationHistoryVectorStorage;
+
     private volatile TimeValue iocFindingHistoryRetentionPeriod;
 
     private volatile boolean isClusterManager = false;
@@ -107,13 +112,15 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
             Client client,
             ThreadPool threadPool,
             ClusterService clusterService,
-            LogTypeService logTypeService
+            LogTypeService logTypeService,
+            FindingsRollupService findingsRollupService
     ) {
         this.settings = settings;
         this.client = client;
         this.threadPool = threadPool;
         this.clusterService = clusterService;
         this.logTypeService = logTypeService;
+        this.findingsRollupService = findingsRollupService;
 
         clusterService.addListener(this);
 
@@ -176,6 +183,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
 
         clusterService.getClusterSettings().addSettingsUpdateConsumer(CORRELATION_HISTORY_RETENTION_PERIOD, this::setCorrelationHistoryRetentionPeriod);
 
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(CORRELATION_HISTORY_VECTOR_STORAGE, it -> correlationHistoryVectorStorage = it);
+
         clusterService.getClusterSettings().addSettingsUpdateConsumer(IOC_FINDING_HISTORY_MAX_DOCS, maxDocs -> {
             setIocFindingHistoryMaxDocs(maxDocs);
             if (iocFindingHistoryIndex != null) {
@@ -252,6 +261,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         alertHistoryRetentionPeriod = ALERT_HISTORY_RETENTION_PERIOD.get(settings);
         findingHistoryRetentionPeriod = FINDING_HISTORY_RETENTION_PERIOD.get(settings);
         correlationHistoryRetentionPeriod = CORRELATION_HISTORY_RETENTION_PERIOD.get(settings);
+        correlationHistoryVectorStorage = CORRELATION_HISTORY_VECTOR_STORAGE.get(settings);
         iocFindingHistoryRetentionPeriod = IOC_FINDING_HISTORY_RETENTION_PERIOD.get(settings);
     }
 
@@ -488,6 +498,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
 
             if (findingHistoryEnabled) rolloverFindingHistoryIndices();
             deleteOldIndices("Finding", getAllFindingsIndicesPatternForAllTypes(logTypes).toArray(new String[0]));
+            // rollups outlive the findings history indices and are expired by their own retention period
+            findingsRollupService.deleteExpiredRollups();
         }, e -> {}));
     }
 
@@ -496,7 +508,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
             correlationHistoryIndex = new HistoryIndexInfo(
                     CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX,
                     CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN,
-                    CorrelationIndices.correlationMappings(),
+                    // only the index created by the rollover takes the mapping, live indices keep their vector storage
+                    CorrelationIndices.correlationMappings(CorrelationVectorStorage.fromValue(correlationHistoryVectorStorage)),
                     correlationHistoryMaxDocs,
                     correlationHistoryMaxAge,
                     clusterService.state().metadata().hasAlias(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
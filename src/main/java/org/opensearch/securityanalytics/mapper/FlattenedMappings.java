@@ -0,0 +1,153 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.mapper;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.compress.CompressedXContent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.opensearch.securityanalytics.mapper.MapperUtils.ALIAS;
+import static org.opensearch.securityanalytics.mapper.MapperUtils.PATH;
+import static org.opensearch.securityanalytics.mapper.MapperUtils.TYPE;
+
+/**
+ * Index mappings flattened into their leaf field paths, in {@link MappingsTraverser} order. Mappings are traversed once
+ * per distinct mapping source and memoized, so that alias resolution, missing field checks and field type lookups done
+ * for several detectors or several indices sharing the same mappings are hash lookups.
+ */
+public class FlattenedMappings {
+
+    private static final int MAX_CACHED_MAPPINGS = 512;
+
+    private static final Cache<CompressedXContent, FlattenedMappings> CACHE = CacheBuilder.<CompressedXContent, FlattenedMappings>builder()
+            .setMaximumWeight(MAX_CACHED_MAPPINGS)
+            .build();
+
+    private final Map<String, Map<String, Object>> fields;
+
+    private final List<String> nonAliasFields;
+
+    private final Set<String> nonAliasFieldSet;
+
+    private final List<Pair<String, String>> aliasPathPairs;
+
+    FlattenedMappings(Map<String, Object> mappingsMap) {
+        Map<String, Map<String, Object>> fields = new LinkedHashMap<>();
+        List<String> nonAliasFields = new ArrayList<>();
+        List<Pair<String, String>> aliasPathPairs = new ArrayList<>();
+
+        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingsMap, Set.of());
+        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
+            @Override
+            public void onLeafVisited(MappingsTraverser.Node node) {
+                Map<String, Object> properties = node.getProperties();
+                fields.put(node.currentPath, Collections.unmodifiableMap(properties));
+                if (ALIAS.equals(properties.get(TYPE)) == false) {
+                    nonAliasFields.add(node.currentPath);
+                } else if (properties.containsKey(PATH)) {
+                    aliasPathPairs.add(Pair.of(node.currentPath, (String) properties.get(PATH)));
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                throw new IllegalArgumentException(error);
+            }
+        });
+        mappingsTraverser.traverse();
+
+        this.fields = Collections.unmodifiableMap(fields);
+        this.nonAliasFields = Collections.unmodifiableList(nonAliasFields);
+        this.nonAliasFieldSet = Collections.unmodifiableSet(new HashSet<>(nonAliasFields));
+        this.aliasPathPairs = Collections.unmodifiableList(aliasPathPairs);
+    }
+
+    /**
+     * Returns the flattened mappings of the given index mappings, traversing them only if the same mapping source was
+     * not flattened before.
+     */
+    public static FlattenedMappings of(MappingMetadata mappingMetadata) {
+        try {
+            return CACHE.computeIfAbsent(mappingMetadata.source(), key -> new FlattenedMappings(mappingMetadata.getSourceAsMap()));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalArgumentException("Failed traversing index mappings", e.getCause());
+        }
+    }
+
+    /**
+     * @return all leaf field paths, aliases included
+     */
+    public List<String> getAllFields() {
+        return new ArrayList<>(fields.keySet());
+    }
+
+    /**
+     * @return leaf field paths which are not of type alias
+     */
+    public List<String> getNonAliasFields() {
+        return nonAliasFields;
+    }
+
+    /**
+     * @return alias field path to aliased path pairs
+     */
+    public List<Pair<String, String>> getAliasPathPairs() {
+        return aliasPathPairs;
+    }
+
+    public boolean containsField(String path) {
+        return fields.containsKey(path);
+    }
+
+    public boolean containsNonAliasField(String path) {
+        return nonAliasFieldSet.contains(path);
+    }
+
+    /**
+     * @return mapping properties of the leaf field, null if there is no such field
+     */
+    public Map<String, Object> getFieldProperties(String path) {
+        return fields.get(path);
+    }
+
+    /**
+     * @return mapping type of the leaf field, null if there is no such field or it has no explicit type
+     */
+    public String getFieldType(String path) {
+        Map<String, Object> properties = fields.get(path);
+        return properties == null ? null : (String) properties.get(TYPE);
+    }
+
+    public static long getCacheHits() {
+        return CACHE.stats().getHits();
+    }
+
+    public static long getCacheMisses() {
+        return CACHE.stats().getMisses();
+    }
+
+    static int cachedMappingsCount() {
+        return CACHE.count();
+    }
+
+    static void clearCache() {
+        CACHE.invalidateAll();
+    }
+}
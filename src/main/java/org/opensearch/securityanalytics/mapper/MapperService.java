@@ -226,17 +226,17 @@ public class MapperService {
                     @Override
                     public void onResponse(List<LogType.Mapping> mappings) {
                         try {
-                            List<String> indexFields = MapperUtils.extractAllFieldsFlat(mappingMetadata);
+                            FlattenedMappings indexFields = FlattenedMappings.of(mappingMetadata);
                             Map<String, Map<String, String>> aliasMappingFields = new HashMap<>();
                             XContentBuilder aliasMappingsObj = XContentFactory.jsonBuilder().startObject();
                             for (LogType.Mapping mapping : mappings) {
-                                if (indexFields.contains(mapping.getRawField())) {
+                                if (indexFields.containsField(mapping.getRawField())) {
                                     aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getRawField()));
-                                } else if (indexFields.contains(mapping.getOcsf11())) {
+                                } else if (indexFields.containsField(mapping.getOcsf11())) {
                                     // it's important to first check for OCSF1.1 before checking for OCSF1.0
                                     // changing this order leads to multiple ECS fields mapping to the same OCSF1.1 field
                                     aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf11()));
-                                } else if (indexFields.contains(mapping.getOcsf())) {
+                                } else if (indexFields.containsField(mapping.getOcsf())) {
                                     aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf()));
                                 }
                             }
@@ -326,11 +326,11 @@ public class MapperService {
             );
         }
         // Filter out all aliases which name already exists as field in index mappings
-        List<String> nonAliasIndexFields = MapperUtils.getAllNonAliasFieldsFromIndex(indexMappingMetadata);
+        FlattenedMappings indexFields = FlattenedMappings.of(indexMappingMetadata);
         List<String> aliasFields = MapperUtils.getAllAliases(aliasMappingsJSON);
         Set<String> aliasesToInclude =
                 aliasFields.stream()
-                        .filter(e -> nonAliasIndexFields.contains(e) == false)
+                        .filter(e -> indexFields.containsNonAliasField(e) == false)
                         .collect(Collectors.toSet());
 
         boolean excludeSomeAliases = aliasesToInclude.size() < aliasFields.size();
@@ -475,7 +475,8 @@ public class MapperService {
                         // Extract MappingMetadata from GET _mapping response
                         MappingMetadata mappingMetadata = getMappingsResponse.mappings().entrySet().iterator().next().getValue();
                         // Get list of all non-alias fields in index
-                        List<String> allFieldsFromIndex = MapperUtils.getAllNonAliasFieldsFromIndex(mappingMetadata);
+                        FlattenedMappings indexFields = FlattenedMappings.of(mappingMetadata);
+                        List<String> allFieldsFromIndex = indexFields.getNonAliasFields();
                         // List of all found applied aliases on index
                         List<String> applyableAliases = new ArrayList<>();
                         // List of paths of found
@@ -488,7 +489,7 @@ public class MapperService {
                             String rawPath = requiredField.getRawField();
                             String ocsfPath = requiredField.getOcsf();
                             String ocsf11Path = requiredField.getOcsf11();
-                            if (allFieldsFromIndex.contains(rawPath)) {
+                            if (indexFields.containsNonAliasField(rawPath)) {
                                 // if the alias was already added into applyable aliases, then skip to avoid duplicates
                                 if (!applyableAliases.contains(alias) && !applyableAliases.contains(rawPath)) {
                                     if (alias != null) {
@@ -499,13 +500,13 @@ public class MapperService {
                                     }
                                     pathsOfApplyableAliases.add(rawPath);
                                 }
-                            } else if (allFieldsFromIndex.contains(ocsf11Path)) {
+                            } else if (indexFields.containsNonAliasField(ocsf11Path)) {
                                 applyableAliases.add(alias);
                                 pathsOfApplyableAliases.add(ocsf11Path);
-                            } else if (allFieldsFromIndex.contains(ocsfPath)) {
+                            } else if (indexFields.containsNonAliasField(ocsfPath)) {
                                 applyableAliases.add(alias);
                                 pathsOfApplyableAliases.add(ocsfPath);
-                            } else if ((alias == null && allFieldsFromIndex.contains(rawPath) == false) || allFieldsFromIndex.contains(alias) == false) {
+                            } else if ((alias == null && indexFields.containsNonAliasField(rawPath) == false) || indexFields.containsNonAliasField(alias) == false) {
                                 if (alias != null) {
                                     // we don't want to send back aliases which have same name as existing field in index
                                     unmappedFieldAliases.add(alias);
@@ -526,9 +527,9 @@ public class MapperService {
                         Map<String, Map<String, String>> aliasMappingFields = new HashMap<>();
                         XContentBuilder aliasMappingsObj = XContentFactory.jsonBuilder().startObject();
                         for (LogType.Mapping mapping : requiredFields) {
-                            if (allFieldsFromIndex.contains(mapping.getOcsf11())) {
+                            if (indexFields.containsNonAliasField(mapping.getOcsf11())) {
                                 aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf11()));
-                            } else if (allFieldsFromIndex.contains(mapping.getOcsf())) {
+                            } else if (indexFields.containsNonAliasField(mapping.getOcsf())) {
                                 aliasMappingFields.put(mapping.getEcs(), Map.of("type", "alias", "path", mapping.getOcsf()));
                             } else if (mapping.getEcs() != null) {
                                 shouldUpdateEcsMappingAndMaybeUpdates(mapping, aliasMappingFields, pathsOfApplyableAliases);
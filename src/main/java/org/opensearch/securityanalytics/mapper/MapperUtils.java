@@ -54,8 +54,7 @@ public class MapperUtils {
     }
 
     public static List<Pair<String, String>> getAllAliasPathPairs(MappingMetadata mappingMetadata) throws IOException {
-        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
-        return getAllAliasPathPairs(mappingsTraverser);
+        return new ArrayList<>(FlattenedMappings.of(mappingMetadata).getAliasPathPairs());
     }
 
     public static List<Pair<String, String>> getAllAliasPathPairs(MappingsTraverser mappingsTraverser) throws IOException {
@@ -126,13 +125,13 @@ public class MapperUtils {
         // Get all paths (field names) to which we're going to apply aliases
         List<String> paths = getAllPathsFromAliasMappings(aliasMappingsJSON);
 
-        // Traverse Index Mappings and extract all fields(paths)
-        List<String> flatFields = getAllNonAliasFieldsFromIndex(mappingMetadata);
+        // Flattened Index Mappings with all fields(paths)
+        FlattenedMappings flatFields = FlattenedMappings.of(mappingMetadata);
         // Return list of paths from Alias Mappings which are missing in Index Mappings
         List<String> missingPaths = new ArrayList<>();
         List<String> presentPaths = new ArrayList<>();
         paths.stream().forEach(e -> {
-            if (flatFields.contains(e)) presentPaths.add(e);
+            if (flatFields.containsNonAliasField(e)) presentPaths.add(e);
             else missingPaths.add(e);
         });
         return Pair.of(missingPaths, presentPaths);
@@ -144,23 +143,7 @@ public class MapperUtils {
      * @return list of fields in mappings.
      */
     public static List<String> extractAllFieldsFlat(MappingMetadata mappingMetadata) {
-        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
-        List<String> flatProperties = new ArrayList<>();
-        // Setup
-        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
-            @Override
-            public void onLeafVisited(MappingsTraverser.Node node) {
-                flatProperties.add(node.currentPath);
-            }
-
-            @Override
-            public void onError(String error) {
-                throw new IllegalArgumentException(error);
-            }
-        });
-        // Do traverse
-        mappingsTraverser.traverse();
-        return flatProperties;
+        return FlattenedMappings.of(mappingMetadata).getAllFields();
     }
 
     public static List<String> extractAllFieldsFlat(Map<String, Object> mappingsMap) {
@@ -184,8 +167,7 @@ public class MapperUtils {
     }
 
     public static List<String> getAllNonAliasFieldsFromIndex(MappingMetadata mappingMetadata) {
-        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
-        return mappingsTraverser.extractFlatNonAliasFields();
+        return new ArrayList<>(FlattenedMappings.of(mappingMetadata).getNonAliasFields());
     }
 
     public static boolean isIndexMappingsEmpty(MappingMetadata mappingMetadata) {
@@ -230,23 +212,20 @@ public class MapperUtils {
 
     public static Map<String, Object> getFieldMappingsFlat(MappingMetadata mappingMetadata, List<String> fieldPaths) {
         Map<String, Object> presentPathsMappings = new HashMap<>();
-        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
-        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
-            @Override
-            public void onLeafVisited(MappingsTraverser.Node node) {
-                if (fieldPaths.contains(node.currentPath)) {
-                    presentPathsMappings.put(node.currentPath, node.getProperties());
-                }
-            }
-
-            @Override
-            public void onError(String error) {
-                throw SecurityAnalyticsException.wrap(
-                        new IllegalArgumentException("Failed traversing index mappings: [" + error + "]")
-                );
+        FlattenedMappings flattenedMappings;
+        try {
+            flattenedMappings = FlattenedMappings.of(mappingMetadata);
+        } catch (IllegalArgumentException e) {
+            throw SecurityAnalyticsException.wrap(
+                    new IllegalArgumentException("Failed traversing index mappings: [" + e.getMessage() + "]")
+            );
+        }
+        for (String fieldPath : fieldPaths) {
+            Map<String, Object> properties = flattenedMappings.getFieldProperties(fieldPath);
+            if (properties != null) {
+                presentPathsMappings.put(fieldPath, properties);
             }
-        });
-        mappingsTraverser.traverse();
+        }
         return presentPathsMappings;
     }
 }
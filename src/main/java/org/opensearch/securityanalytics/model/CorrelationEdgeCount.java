@@ -0,0 +1,71 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.model;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Number of correlations between findings of two log types.
+ */
+public class CorrelationEdgeCount implements Writeable, ToXContentObject {
+
+    private final String logType1;
+
+    private final String logType2;
+
+    private final long count;
+
+    protected static final String LOGTYPE1_FIELD = "logType1";
+    protected static final String LOGTYPE2_FIELD = "logType2";
+    protected static final String COUNT_FIELD = "count";
+
+    public CorrelationEdgeCount(String logType1, String logType2, long count) {
+        this.logType1 = logType1;
+        this.logType2 = logType2;
+        this.count = count;
+    }
+
+    public CorrelationEdgeCount(StreamInput sin) throws IOException {
+        this(
+                sin.readString(),
+                sin.readString(),
+                sin.readLong()
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(logType1);
+        out.writeString(logType2);
+        out.writeLong(count);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(LOGTYPE1_FIELD, logType1)
+                .field(LOGTYPE2_FIELD, logType2)
+                .field(COUNT_FIELD, count);
+        return builder.endObject();
+    }
+
+    public String getLogType1() {
+        return logType1;
+    }
+
+    public String getLogType2() {
+        return logType2;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
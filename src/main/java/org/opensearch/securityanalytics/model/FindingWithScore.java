@@ -103,4 +103,20 @@ public class FindingWithScore implements Writeable, ToXContentObject {
     public static FindingWithScore readFrom(StreamInput sin) throws IOException {
         return new FindingWithScore(sin);
     }
+
+    public String getFinding() {
+        return finding;
+    }
+
+    public String getDetectorType() {
+        return detectorType;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public List<String> getRules() {
+        return rules;
+    }
 }
\ No newline at end of file
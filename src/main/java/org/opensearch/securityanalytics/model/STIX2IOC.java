@@ -16,6 +16,7 @@ import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.core.xcontent.XContentParserUtils;
 import org.opensearch.securityanalytics.commons.model.STIX2;
+import org.opensearch.securityanalytics.threatIntel.util.IpRange;
 import org.opensearch.securityanalytics.util.XContentUtils;
 
 import java.io.IOException;
@@ -32,6 +33,11 @@ public class STIX2IOC extends STIX2 implements Writeable, ToXContentObject {
 
     public static final String VERSION_FIELD = "version";
 
+    /**
+     * Field holding the CIDR block of ip iocs in the ioc indices, only written when the param of the same name is set.
+     */
+    public static final String IP_RANGE_FIELD = "ip_range";
+
     private long version = NO_VERSION;
 
     public STIX2IOC() {
@@ -162,13 +168,18 @@ public class STIX2IOC extends STIX2 implements Writeable, ToXContentObject {
                 .field(SEVERITY_FIELD, super.getSeverity());
         XContentUtils.buildInstantAsField(builder, super.getCreated(), CREATED_FIELD);
         XContentUtils.buildInstantAsField(builder, super.getModified(), MODIFIED_FIELD);
-        return builder.field(DESCRIPTION_FIELD, super.getDescription())
+        builder.field(DESCRIPTION_FIELD, super.getDescription())
                 .field(LABELS_FIELD, super.getLabels())
                 .field(SPEC_VERSION_FIELD, super.getSpecVersion())
                 .field(FEED_ID_FIELD, super.getFeedId())
                 .field(FEED_NAME_FIELD, super.getFeedName())
-                .field(VERSION_FIELD, version)
-                .endObject();
+                .field(VERSION_FIELD, version);
+        if (params.paramAsBoolean(IP_RANGE_FIELD, false)
+                && IpRange.isIpType(super.getType().toString())
+                && IpRange.isCidr(super.getValue())) {
+            builder.field(IP_RANGE_FIELD, super.getValue());
+        }
+        return builder.endObject();
     }
 
     public static STIX2IOC parse(XContentParser xcp, String id, Long version) throws IOException {
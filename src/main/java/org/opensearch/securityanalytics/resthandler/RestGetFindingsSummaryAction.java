@@ -0,0 +1,67 @@
+/*
+Copyright OpenSearch Contributors
+SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryAction;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+
+import static java.util.Collections.singletonList;
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestGetFindingsSummaryAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "get_findings_summary_action_sa";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String detectorId = request.param("detector_id", null);
+        String detectorType = request.param("detectorType", null);
+        String interval = request.param("interval", GetFindingsSummaryRequest.DEFAULT_INTERVAL);
+        boolean rollup = request.paramAsBoolean("rollup", false);
+
+        Instant startTime = null;
+        String startTimeParam = request.param("startTime");
+        if (startTimeParam != null && !startTimeParam.isEmpty()) {
+            startTime = Instant.ofEpochMilli(request.paramAsLong("startTime", 0L));
+        }
+        Instant endTime = null;
+        String endTimeParam = request.param("endTime");
+        if (endTimeParam != null && !endTimeParam.isEmpty()) {
+            endTime = Instant.ofEpochMilli(request.paramAsLong("endTime", 0L));
+        }
+
+        GetFindingsSummaryRequest req = new GetFindingsSummaryRequest(
+                detectorId,
+                detectorType,
+                startTime,
+                endTime,
+                interval,
+                rollup
+        );
+
+        return channel -> client.execute(
+                GetFindingsSummaryAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+
+    @Override
+    public List<Route> routes() {
+        return singletonList(new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary"));
+    }
+}
@@ -49,8 +49,11 @@ public class RestListCorrelationAction extends BaseRestHandler {
         Long defaultTimestamp = System.currentTimeMillis();
         Long startTimestamp = request.paramAsLong("start_timestamp", defaultTimestamp - 300000L);
         Long endTimestamp = request.paramAsLong("end_timestamp", defaultTimestamp);
+        int size = request.paramAsInt("size", ListCorrelationsRequest.DEFAULT_SIZE);
+        String nextToken = request.param("next_token");
+        boolean aggregate = request.paramAsBoolean("aggregate", false);
 
-        ListCorrelationsRequest correlationsRequest = new ListCorrelationsRequest(startTimestamp, endTimestamp);
+        ListCorrelationsRequest correlationsRequest = new ListCorrelationsRequest(startTimestamp, endTimestamp, size, nextToken, aggregate);
         return channel -> {
             client.execute(ListCorrelationsAction.INSTANCE, correlationsRequest, new RestListCorrelationAction.RestListCorrelationResponseListener(channel, request));
         };
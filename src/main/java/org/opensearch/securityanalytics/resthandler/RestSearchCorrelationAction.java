@@ -58,8 +58,9 @@ public class RestSearchCorrelationAction extends BaseRestHandler {
 
         long timeWindow = request.paramAsLong("time_window", 300000L);
         int noOfNearbyFindings = request.paramAsInt("nearby_findings", 10);
+        int depth = request.paramAsInt("depth", CorrelatedFindingRequest.DEFAULT_DEPTH);
 
-        CorrelatedFindingRequest correlatedFindingRequest = new CorrelatedFindingRequest(findingId, detectorType, timeWindow, noOfNearbyFindings);
+        CorrelatedFindingRequest correlatedFindingRequest = new CorrelatedFindingRequest(findingId, detectorType, timeWindow, noOfNearbyFindings, depth);
 
         return channel -> {
             client.execute(CorrelatedFindingAction.INSTANCE, correlatedFindingRequest, new RestCorrelatedFindingResponseListener(channel, request));
@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.core.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsAction;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestSecurityAnalyticsStatsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "security_analytics_stats_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(GET, SecurityAnalyticsPlugin.PLUGINS_BASE_URI + "/stats"),
+                new Route(GET, String.format(Locale.getDefault(), "%s/{%s}/stats", SecurityAnalyticsPlugin.PLUGINS_BASE_URI, SecurityAnalyticsStatsRequest.NODE_ID))
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String[] nodeIds = Strings.splitStringByCommaToArray(request.param(SecurityAnalyticsStatsRequest.NODE_ID));
+        SecurityAnalyticsStatsRequest statsRequest = new SecurityAnalyticsStatsRequest(nodeIds);
+        statsRequest.timeout(request.param("timeout"));
+
+        return channel -> client.execute(
+                SecurityAnalyticsStatsAction.INSTANCE,
+                statsRequest,
+                new RestActions.NodesResponseRestListener<>(channel)
+        );
+    }
+}
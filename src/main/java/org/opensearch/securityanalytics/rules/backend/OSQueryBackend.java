@@ -18,7 +18,10 @@ import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.commons.alerting.aggregation.bucketselectorext.BucketSelectorExtAggregationBuilder;
 import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
 import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.condition.ConditionAND;
@@ -105,6 +108,13 @@ public class OSQueryBackend extends QueryBackend {
     private String bucketTriggerScript;
 
     private static final String groupExpression = "(%s)";
+
+    /**
+     * Number of group by buckets fetched per page of the composite aggregation of an aggregation rule
+     */
+    public static final int AGGREGATION_PAGE_SIZE = 1000;
+
+    private static final String THRESHOLD_PARAM = "_threshold";
     private static final Map<String, String> compareOperators = Map.of(
             SigmaCompareExpression.CompareOperators.GT, "gt",
             SigmaCompareExpression.CompareOperators.GTE, "gte",
@@ -143,7 +153,7 @@ public class OSQueryBackend extends QueryBackend {
         this.aggQuery = "{\"%s\":{\"terms\":{\"field\":\"%s\"},\"aggs\":{\"%s\":{\"%s\":{\"field\":\"%s\"}}}}}";
         this.aggCountQuery = "{\"%s\":{\"terms\":{\"field\":\"%s\"}}}";
         this.bucketTriggerQuery = "{\"buckets_path\":{\"%s\":\"%s\"},\"parent_bucket_path\":\"%s\",\"script\":{\"source\":\"params.%s %s %s\",\"lang\":\"painless\"}}";
-        this.bucketTriggerScript = "params.%s %s %s";
+        this.bucketTriggerScript = "params.%s %s params." + THRESHOLD_PARAM;
     }
 
     @Override
@@ -442,24 +452,23 @@ public class OSQueryBackend extends QueryBackend {
     public AggregationQueries convertAggregation(AggregationItem aggregation) {
         String fmtAggQuery;
         String fmtBucketTriggerQuery;
-        TermsAggregationBuilder aggBuilder = new TermsAggregationBuilder("result_agg");
+        AggregationBuilder aggBuilder;
         BucketSelectorExtAggregationBuilder condition;
         String bucketTriggerSelectorId = UUIDs.base64UUID();
 
         if (aggregation.getAggFunction().equals("count") && aggregation.getAggField().equals("*")) {
-            String fieldName;
             if (aggregation.getGroupByField() == null) {
-                fieldName = "_index";
+                // one bucket per index, there is nothing to page through
                 fmtAggQuery = String.format(Locale.getDefault(), aggCountQuery, "result_agg", "_index");
+                aggBuilder = new TermsAggregationBuilder("result_agg").field("_index");
             } else {
                 String mappedGroupByField = getMappedField(aggregation.getGroupByField());
-                fieldName = mappedGroupByField;
                 fmtAggQuery = String.format(Locale.getDefault(), aggCountQuery, "result_agg", mappedGroupByField);
+                aggBuilder = groupByAggregation(mappedGroupByField);
             }
-            aggBuilder.field(fieldName);
             fmtBucketTriggerQuery = String.format(Locale.getDefault(), bucketTriggerQuery, "_cnt", "_count", "result_agg", "_cnt", aggregation.getCompOperator(), aggregation.getThreshold());
 
-            Script script = new Script(String.format(Locale.getDefault(), bucketTriggerScript, "_cnt", aggregation.getCompOperator(), aggregation.getThreshold()));
+            Script script = thresholdScript("_cnt", aggregation);
             condition = new BucketSelectorExtAggregationBuilder(bucketTriggerSelectorId, Collections.singletonMap("_cnt", "_count"), script, "result_agg", null);
         } else {
             /**
@@ -472,12 +481,10 @@ public class OSQueryBackend extends QueryBackend {
             fmtBucketTriggerQuery = String.format(Locale.getDefault(), bucketTriggerQuery, mappedAggFieldUpdated, mappedAggField, "result_agg", mappedAggFieldUpdated, aggregation.getCompOperator(), aggregation.getThreshold());
 
             // Add subaggregation
-            AggregationBuilder subAgg = AggregationBuilders.getAggregationBuilderByFunction(aggregation.getAggFunction(), mappedAggField);
-            if (subAgg != null) {
-                aggBuilder.field(mappedGroupByField).subAggregation(subAgg);
-            }
+            aggBuilder = groupByAggregation(mappedGroupByField)
+                    .subAggregation(AggregationBuilders.getAggregationBuilderByFunction(aggregation.getAggFunction(), mappedAggField));
 
-            Script script = new Script(String.format(Locale.getDefault(), bucketTriggerScript, mappedAggFieldUpdated, aggregation.getCompOperator(), aggregation.getThreshold()));
+            Script script = thresholdScript(mappedAggFieldUpdated, aggregation);
             condition = new BucketSelectorExtAggregationBuilder(bucketTriggerSelectorId, Collections.singletonMap(mappedAggFieldUpdated, mappedAggFieldUpdated), script, "result_agg", null);
         }
 
@@ -490,6 +497,27 @@ public class OSQueryBackend extends QueryBackend {
         return aggregationQueries;
     }
 
+    /**
+     * Composite aggregation over the group by field, so that every group is evaluated a page at a time instead of
+     * only the top terms.
+     */
+    private CompositeAggregationBuilder groupByAggregation(String groupByField) {
+        return new CompositeAggregationBuilder("result_agg", List.of(new TermsValuesSourceBuilder(groupByField).field(groupByField)))
+                .size(AGGREGATION_PAGE_SIZE);
+    }
+
+    /**
+     * Bucket selector script with the threshold passed as parameter, so rules sharing an operator share the compiled script.
+     */
+    private Script thresholdScript(String bucketVariable, AggregationItem aggregation) {
+        return new Script(
+                ScriptType.INLINE,
+                Script.DEFAULT_SCRIPT_LANG,
+                String.format(Locale.getDefault(), bucketTriggerScript, bucketVariable, aggregation.getCompOperator()),
+                Map.of(THRESHOLD_PARAM, aggregation.getThreshold())
+        );
+    }
+
     private boolean comparePrecedence(ConditionType outer, ConditionType inner) {
         Class<?> outerClass = outer.getClazz();
 
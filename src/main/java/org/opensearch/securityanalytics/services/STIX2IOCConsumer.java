@@ -44,9 +44,19 @@ public class STIX2IOCConsumer implements Consumer<STIX2> {
     @Override
     public void accept(final STIX2 ioc) {
         STIX2IOC stix2IOC = new STIX2IOC(
-                ioc,
+                feedStore.getIocId(ioc.getId(), ioc.getType(), ioc.getValue()),
+                ioc.getName(),
+                ioc.getType(),
+                ioc.getValue(),
+                ioc.getSeverity(),
+                ioc.getCreated(),
+                ioc.getModified(),
+                ioc.getDescription(),
+                ioc.getLabels(),
+                ioc.getSpecVersion(),
                 feedStore.getSaTifSourceConfig().getId(),
-                feedStore.getSaTifSourceConfig().getName()
+                feedStore.getSaTifSourceConfig().getName(),
+                STIX2IOC.NO_VERSION
         );
         iocTypes.add(ioc.getType());
         if (queue.offer(stix2IOC)) {
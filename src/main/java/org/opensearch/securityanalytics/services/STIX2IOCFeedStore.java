@@ -31,7 +31,9 @@ import org.opensearch.securityanalytics.commons.model.UpdateAction;
 import org.opensearch.securityanalytics.commons.store.FeedStore;
 import org.opensearch.securityanalytics.model.STIX2IOC;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.threatIntel.common.StashedThreadContext;
+import org.opensearch.securityanalytics.threatIntel.common.TIFRefreshScheduler;
 import org.opensearch.securityanalytics.threatIntel.model.DefaultIocStoreConfig;
 import org.opensearch.securityanalytics.threatIntel.model.SATIFSourceConfig;
 import org.opensearch.transport.RemoteTransportException;
@@ -63,6 +65,9 @@ public class STIX2IOCFeedStore implements FeedStore {
     public static final String IOC_TIME_PLACEHOLDER = "TIME";
     public static final String IOC_INDEX_PATTERN = IOC_INDEX_NAME_TEMPLATE + "-" + IOC_TIME_PLACEHOLDER;
 
+    // write the CIDR block of ip iocs to the ip_range field so that they match the addresses they contain
+    private static final ToXContent.Params INDEX_PARAMS = new ToXContent.MapParams(Map.of(STIX2IOC.IP_RANGE_FIELD, "true"));
+
     private final Logger log = LogManager.getLogger(STIX2IOCFeedStore.class);
     private final String newActiveIndex;
 
@@ -70,21 +75,30 @@ public class STIX2IOCFeedStore implements FeedStore {
 
     private Client client;
     private ClusterService clusterService;
+    private TIFRefreshScheduler refreshScheduler;
+    private SecurityAnalyticsStats stats;
     private SATIFSourceConfig saTifSourceConfig;
     private ActionListener<STIX2IOCFetchService.STIX2IOCFetchResponse> baseListener;
     private Integer batchSize;
+    private final boolean compact;
 
     public STIX2IOCFeedStore(
             Client client,
             ClusterService clusterService,
+            TIFRefreshScheduler refreshScheduler,
+            SecurityAnalyticsStats stats,
             SATIFSourceConfig saTifSourceConfig,
             ActionListener<STIX2IOCFetchService.STIX2IOCFetchResponse> listener) {
         super();
         this.client = client;
         this.clusterService = clusterService;
+        this.refreshScheduler = refreshScheduler;
+        this.stats = stats;
         this.saTifSourceConfig = saTifSourceConfig;
         this.baseListener = listener;
         batchSize = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.BATCH_SIZE);
+        compact = SecurityAnalyticsSettings.IOC_INDEX_PROFILE_COMPACT.equals(
+                clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_INDEX_PROFILE));
         newActiveIndex = getNewActiveIndex(saTifSourceConfig.getId());
     }
 
@@ -142,7 +156,7 @@ public class STIX2IOCFeedStore implements FeedStore {
             IndexRequest indexRequest = new IndexRequest(activeIndex)
                     .id(StringUtils.isBlank(ioc.getId()) ? UUID.randomUUID().toString() : ioc.getId())
                     .opType(DocWriteRequest.OpType.INDEX)
-                    .source(ioc.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+                    .source(ioc.toXContent(XContentFactory.jsonBuilder(), INDEX_PARAMS));
             bulkRequest.add(indexRequest);
 
             if (bulkRequest.requests().size() == batchSize) {
@@ -175,13 +189,27 @@ public class STIX2IOCFeedStore implements FeedStore {
             baseListener.onFailure(e);
         }), bulkRequestList.size());
 
+        // bulks are dispatched within the threat intel ingest budget, interleaved with the bulks of other feeds
         for (BulkRequest req : bulkRequestList) {
-            try {
-                StashedThreadContext.run(client, () -> client.bulk(req, bulkResponseListener));
-            } catch (OpenSearchException e) {
-                log.error("Failed to save IOCs for config {}", saTifSourceConfig.getId(), e);
-                baseListener.onFailure(e);
-            }
+            refreshScheduler.submitBulk(saTifSourceConfig.getId(), req.numberOfActions(), req.estimatedSizeInBytes(), release -> {
+                try {
+                    long bulkStartNanos = System.nanoTime();
+                    ActionListener<BulkResponse> recordingListener = ActionListener.runBefore(ActionListener.wrap(bulkResponse -> {
+                        stats.record(SecurityAnalyticsStats.Stage.IOC_FEED_INGEST, bulkStartNanos,
+                                req.numberOfActions(), bulkResponse.hasFailures());
+                        bulkResponseListener.onResponse(bulkResponse);
+                    }, e -> {
+                        stats.record(SecurityAnalyticsStats.Stage.IOC_FEED_INGEST, bulkStartNanos,
+                                req.numberOfActions(), true);
+                        bulkResponseListener.onFailure(e);
+                    }), release::run);
+                    StashedThreadContext.run(client, () -> client.bulk(req, recordingListener));
+                } catch (OpenSearchException e) {
+                    release.run();
+                    log.error("Failed to save IOCs for config {}", saTifSourceConfig.getId(), e);
+                    baseListener.onFailure(e);
+                }
+            });
         }
     }
 
@@ -195,17 +223,43 @@ public class STIX2IOCFeedStore implements FeedStore {
                 .replace(IOC_TIME_PLACEHOLDER, Long.toString(Instant.now().toEpochMilli()));
     }
 
+    /**
+     * Returns the id to index a downloaded ioc under. Ids provided by the feed are kept. With the compact profile, iocs
+     * without an id get one derived from their type and value, so each refresh indexes them under the same ids and
+     * duplicates of a feed are indexed once. Otherwise a blank id is returned, and the ioc gets a random one.
+     */
+    public String getIocId(String id, String type, String value) {
+        if (false == StringUtils.isBlank(id) || false == compact) {
+            return id;
+        }
+        return UUID.nameUUIDFromBytes((type + ":" + value).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
     public String iocIndexMapping() {
-        String iocMappingFile = "mappings/stix2_ioc_mapping.json";
+        String iocMappingFile = compact ? "mappings/stix2_ioc_compact_mapping.json" : "mappings/stix2_ioc_mapping.json";
         try (InputStream is = getClass().getClassLoader().getResourceAsStream(iocMappingFile)) {
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             Streams.copy(is, out);
             return out.toString(StandardCharsets.UTF_8);
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to load stix2_ioc_mapping.json file [" + iocMappingFile + "]", e);
+            throw new IllegalStateException("Failed to load ioc mapping file [" + iocMappingFile + "]", e);
         }
     }
 
+    Settings iocIndexSettings() {
+        Settings.Builder indexSettings = Settings.builder()
+                .put("index.hidden", true)
+                .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+                .put("index.auto_expand_replicas", minSystemIndexReplicas + "-" + maxSystemIndexReplicas);
+        if (compact) {
+            // iocs sorted by type and value sit next to similar iocs, which compresses them better and keeps
+            // lookups of the same type close together
+            indexSettings.put("index.codec", "best_compression")
+                    .putList("index.sort.field", STIX2IOC.TYPE_FIELD, STIX2IOC.VALUE_FIELD);
+        }
+        return indexSettings.build();
+    }
+
     public SATIFSourceConfig getSaTifSourceConfig() {
         return saTifSourceConfig;
     }
@@ -239,12 +293,7 @@ public class STIX2IOCFeedStore implements FeedStore {
         if (!clusterService.state().routingTable().hasIndex(newActiveIndex)) {
             var indexRequest = new CreateIndexRequest(feedIndexName)
                     .mapping(iocIndexMapping())
-                    .settings(Settings.builder()
-                            .put("index.hidden", true)
-                            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
-                            .put("index.auto_expand_replicas", minSystemIndexReplicas + "-" + maxSystemIndexReplicas)
-                            .build()
-                    );
+                    .settings(iocIndexSettings());
             client.admin().indices().create(indexRequest, ActionListener.wrap(
                     r -> {
                         log.info("Created system index {}", feedIndexName);
@@ -40,6 +40,8 @@ import org.opensearch.securityanalytics.commons.model.UpdateType;
 import org.opensearch.securityanalytics.model.STIX2IOC;
 import org.opensearch.securityanalytics.model.STIX2IOCDto;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.threatIntel.common.TIFRefreshScheduler;
 import org.opensearch.securityanalytics.threatIntel.model.S3Source;
 import org.opensearch.securityanalytics.threatIntel.model.SATIFSourceConfig;
 import org.opensearch.securityanalytics.threatIntel.model.UrlDownloadSource;
@@ -67,6 +69,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static org.opensearch.securityanalytics.threatIntel.service.ThreatIntelFeedDataService.isValidCidr;
 import static org.opensearch.securityanalytics.threatIntel.service.ThreatIntelFeedDataService.isValidIp;
 
 /**
@@ -82,15 +85,20 @@ public class STIX2IOCFetchService {
 
     private Client client;
     private ClusterService clusterService;
+    private TIFRefreshScheduler refreshScheduler;
+    private SecurityAnalyticsStats stats;
     private STIX2IOCConnectorFactory connectorFactory;
     private S3ClientFactory s3ClientFactory;
 
     private Integer batchSize;
     private String internalAuthEndpoint = "";
 
-    public STIX2IOCFetchService(Client client, ClusterService clusterService) {
+    public STIX2IOCFetchService(Client client, ClusterService clusterService, TIFRefreshScheduler refreshScheduler,
+                                SecurityAnalyticsStats stats) {
         this.client = client;
         this.clusterService = clusterService;
+        this.refreshScheduler = refreshScheduler;
+        this.stats = stats;
         this.internalAuthEndpoint = getEndpoint();
 
         StsAssumeRoleCredentialsProviderFactory factory =
@@ -110,7 +118,7 @@ public class STIX2IOCFetchService {
     public void onlyIndexIocs(SATIFSourceConfig saTifSourceConfig,
                               List<STIX2IOC> stix2IOCList,
                               ActionListener<STIX2IOCFetchResponse> listener) {
-        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, saTifSourceConfig, listener);
+        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, refreshScheduler, stats, saTifSourceConfig, listener);
         Instant startTime = Instant.now();
         Instant endTime;
         Exception exception = null;
@@ -150,7 +158,7 @@ public class STIX2IOCFetchService {
         }
 
         Connector<STIX2> s3Connector = constructS3Connector(s3ConnectorConfig, saTifSourceConfig);
-        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, saTifSourceConfig, listener);
+        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, refreshScheduler, stats, saTifSourceConfig, listener);
         STIX2IOCConsumer consumer = new STIX2IOCConsumer(batchSize, feedStore, UpdateType.REPLACE, saTifSourceConfig);
 
         Instant startTime = Instant.now();
@@ -366,19 +374,21 @@ public class STIX2IOCFetchService {
         List<BulkRequest> bulkRequestList = new ArrayList<>();
 
         UrlDownloadSource source = (UrlDownloadSource) saTifSourceConfig.getSource();
+        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, refreshScheduler, stats, saTifSourceConfig, listener);
         List<STIX2IOC> iocs = new ArrayList<>();
         while (iterator.hasNext()) {
             CSVRecord record = iterator.next();
             String iocType = saTifSourceConfig.getIocTypes().stream().findFirst().orElse(null);
             Integer colNum = source.getCsvIocValueColumnNo();
             String iocValue = record.values()[colNum].split(" ")[0];
-            if (iocType.equalsIgnoreCase(IOCType.IPV4_TYPE) && !isValidIp(iocValue)) {
+            if (iocType.equalsIgnoreCase(IOCType.IPV4_TYPE) && !isValidIp(iocValue) && !isValidCidr(iocValue)) {
                 log.info("Invalid IP address, skipping this ioc record: {}", iocValue);
                 continue;
             }
             Instant now = Instant.now();
+            // csv records carry no ioc id
             STIX2IOC stix2IOC = new STIX2IOC(
-                    UUID.randomUUID().toString(),
+                    feedStore.getIocId(null, iocType, iocValue),
                     UUID.randomUUID().toString(),
                     iocType,
                     iocValue,
@@ -394,7 +404,6 @@ public class STIX2IOCFetchService {
             );
             iocs.add(stix2IOC);
         }
-        STIX2IOCFeedStore feedStore = new STIX2IOCFeedStore(client, clusterService, saTifSourceConfig, listener);
         feedStore.indexIocs(iocs);
     }
 
@@ -6,6 +6,9 @@ package org.opensearch.securityanalytics.settings;
 
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -127,12 +130,57 @@ public class SecurityAnalyticsSettings {
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Maximum number of detectors updated at the same time when a rule change is propagated to the detectors using it.
+     */
+    public static final Setting<Integer> RULE_PROPAGATION_MAX_CONCURRENCY = Setting.intSetting(
+            "plugins.security_analytics.rule_propagation_max_concurrency",
+            8,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Whether finding counts per detector, rule, severity and hour are rolled up as findings are published.
+     */
+    public static final Setting<Boolean> FINDINGS_ROLLUP_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.findings_rollup_enabled",
+            true,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * How long findings rollups are kept, independently of the retention of the findings history indices.
+     */
+    public static final Setting<TimeValue> FINDINGS_ROLLUP_RETENTION_PERIOD = Setting.positiveTimeSetting(
+            "plugins.security_analytics.findings_rollup_retention_period",
+            new TimeValue(365, TimeUnit.DAYS),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     public static final Setting<TimeValue> CORRELATION_HISTORY_RETENTION_PERIOD = Setting.positiveTimeSetting(
             "plugins.security_analytics.correlation_history_retention_period",
             new TimeValue(60, TimeUnit.DAYS),
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Storage of the correlation vectors of correlation history indices created from now on, one of hnsw, flat or
+     * quantized. The storage of a live index cannot change, so a new value applies from the next rollover on.
+     */
+    public static final Setting<String> CORRELATION_HISTORY_VECTOR_STORAGE = Setting.simpleString(
+            "plugins.security_analytics.correlation_history_vector_storage",
+            CorrelationVectorStorage.HNSW.getValue(),
+            value -> {
+                try {
+                    CorrelationVectorStorage.fromValue(value);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException(e.getMessage(), e);
+                }
+            },
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     public static final Setting<TimeValue> IOC_FINDING_HISTORY_RETENTION_PERIOD = Setting.positiveTimeSetting(
             "plugins.security_analytics.ioc_finding_history_retention_period",
             new TimeValue(60, TimeUnit.DAYS),
@@ -171,6 +219,27 @@ public class SecurityAnalyticsSettings {
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    public static final String CORRELATION_STORE_VECTOR = "vector";
+    public static final String CORRELATION_STORE_GRAPH = "graph";
+
+    /**
+     * How correlations are stored and searched. The vector store indexes correlation vectors and finds correlated
+     * findings by nearest neighbor search. The graph store indexes only the edges between correlated findings and finds
+     * them by traversing the edges. Each store only finds the correlations it stored, so the store is fixed at node
+     * start and must be the same on every node. Switching it takes a full cluster restart, and correlations stored
+     * before the switch are no longer searched.
+     */
+    public static final Setting<String> CORRELATION_STORE = Setting.simpleString(
+            "plugins.security_analytics.correlation_store",
+            CORRELATION_STORE_VECTOR,
+            value -> {
+                if (CORRELATION_STORE_VECTOR.equals(value) == false && CORRELATION_STORE_GRAPH.equals(value) == false) {
+                    throw new IllegalArgumentException("Correlation store must be one of [vector, graph], got: " + value);
+                }
+            },
+            Setting.Property.NodeScope
+    );
+
     /**
      * Setting which enables auto correlations
      */
@@ -216,12 +285,46 @@ public class SecurityAnalyticsSettings {
             Setting.Property.Dynamic
     );
 
+    /**
+     * Number of threat intel source refreshes running at once on each node. Source config jobs are spread across the
+     * nodes, so the cluster runs up to this many refreshes per node running them.
+     */
+    public static final Setting<Integer> TIF_INGEST_MAX_CONCURRENT_FEEDS_PER_NODE = Setting.intSetting(
+            "plugins.security_analytics.threatintel.ingest.max_concurrent_feeds_per_node",
+            2,
+            1,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
+    /**
+     * Rate of IOCs indexed by the threat intel source refreshes of each node, 0 for no limit
+     */
+    public static final Setting<Integer> TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE = Setting.intSetting(
+            "plugins.security_analytics.threatintel.ingest.max_docs_per_second_per_node",
+            20000,
+            0,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
+    /**
+     * Size of IOC bulk requests in flight for the threat intel source refreshes of each node
+     */
+    public static final Setting<ByteSizeValue> TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE = Setting.byteSizeSetting(
+            "plugins.security_analytics.threatintel.ingest.max_bytes_in_flight_per_node",
+            new ByteSizeValue(50, ByteSizeUnit.MB),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
     /**
      * Return all settings of threat intel feature
      * @return a list of all settings for threat intel feature
      */
     public static final List<Setting<?>> settings() {
-        return List.of(BATCH_SIZE, THREAT_INTEL_TIMEOUT, TIF_UPDATE_INTERVAL);
+        return List.of(BATCH_SIZE, THREAT_INTEL_TIMEOUT, TIF_UPDATE_INTERVAL, TIF_INGEST_MAX_CONCURRENT_FEEDS_PER_NODE,
+                TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE, TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE);
     }
 
     // Threat Intel IOC Settings
@@ -239,6 +342,45 @@ public class SecurityAnalyticsSettings {
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Whether ioc scans also match iocs of the superseded ioc indices kept by threat intel source refreshes
+     */
+    public static final Setting<Boolean> IOC_SCAN_HISTORICAL_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.ioc.scan_historical_iocs",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Superseded ioc indices of a threat intel source config with fewer docs than this are merged together, 0 to never
+     * merge them
+     */
+    public static final Setting<Integer> IOC_TIER_MERGE_MAX_DOCS = Setting.intSetting(
+            "plugins.security_analytics.ioc.tier_merge_max_docs",
+            100000,
+            0,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final String IOC_INDEX_PROFILE_DEFAULT = "default";
+    public static final String IOC_INDEX_PROFILE_COMPACT = "compact";
+
+    /**
+     * Layout of the ioc indices created by threat intel source refreshes. The compact layout indexes only the fields
+     * iocs are matched or searched on by list iocs, keeps the other descriptive fields in doc values or the best
+     * compression source only and derives the ids of iocs downloaded without one from the ioc type and value.
+     */
+    public static final Setting<String> IOC_INDEX_PROFILE = Setting.simpleString(
+            "plugins.security_analytics.ioc.index_profile",
+            IOC_INDEX_PROFILE_DEFAULT,
+            value -> {
+                if (IOC_INDEX_PROFILE_DEFAULT.equals(value) == false && IOC_INDEX_PROFILE_COMPACT.equals(value) == false) {
+                    throw new IllegalArgumentException("Ioc index profile must be one of [default, compact], got: " + value);
+                }
+            },
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     /**
      * Maximum terms in Terms query search query submitted during ioc scan
      */
@@ -249,10 +391,72 @@ public class SecurityAnalyticsSettings {
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Match iocs against in-memory snapshots of the ioc indices instead of searching them during ioc scan
+     */
+    public static final Setting<Boolean> IOC_SCAN_LOCAL_MATCHING_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.ioc.scan_local_matching_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum number of iocs in an ioc index for it to be snapshotted for local matching
+     */
+    public static final Setting<Integer> IOC_SCAN_LOCAL_MATCHING_MAX_IOCS = Setting.intSetting(
+            "plugins.security_analytics.ioc.scan_local_matching_max_iocs",
+            1000000,
+            0,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     public static final Setting<Boolean> ENABLE_DETECTORS_WITH_DEDICATED_QUERY_INDICES = Setting.boolSetting(
             "plugins.security_analytics.enable_detectors_with_dedicated_query_indices",
             true,
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Whether detectors of the same log type, input indices and rules share one query index named after that content,
+     * instead of each getting a dedicated query index. Takes precedence over dedicated query indices. Only detectors
+     * with exactly the same rules and input indices share an index, individual queries are not shared between indices.
+     */
+    public static final Setting<Boolean> ENABLE_DETECTORS_WITH_SHARED_QUERY_INDICES = Setting.boolSetting(
+            "plugins.security_analytics.enable_detectors_with_shared_query_indices",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Elapsed time above which correlation, ioc scan and detector operations are written to the slow log at the given
+     * level. A negative value disables the level.
+     */
+    public static final Setting<TimeValue> SLOWLOG_THRESHOLD_WARN = Setting.timeSetting(
+            "plugins.security_analytics.slowlog.threshold.warn",
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> SLOWLOG_THRESHOLD_INFO = Setting.timeSetting(
+            "plugins.security_analytics.slowlog.threshold.info",
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> SLOWLOG_THRESHOLD_DEBUG = Setting.timeSetting(
+            "plugins.security_analytics.slowlog.threshold.debug",
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> SLOWLOG_THRESHOLD_TRACE = Setting.timeSetting(
+            "plugins.security_analytics.slowlog.threshold.trace",
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Slow log of correlation, ioc scan and detector operations, modeled on the search slow log. An operation is traced
+ * from start to finish with its stages, sub-searches and fetched hits, and logged at the most severe level whose
+ * threshold its elapsed time exceeds. Operations are not traced at all while every threshold is disabled. Created once
+ * per node in {@link org.opensearch.securityanalytics.SecurityAnalyticsPlugin#createComponents} and injected where
+ * operations start.
+ */
+public class SecurityAnalyticsSlowLog {
+
+    public static final String SLOW_LOG_NAME = "org.opensearch.securityanalytics.slowlog";
+
+    private static final Logger log = LogManager.getLogger(SLOW_LOG_NAME);
+
+    private volatile long warnThresholdNanos = -1L;
+    private volatile long infoThresholdNanos = -1L;
+    private volatile long debugThresholdNanos = -1L;
+    private volatile long traceThresholdNanos = -1L;
+
+    SecurityAnalyticsSlowLog() {
+    }
+
+    public SecurityAnalyticsSlowLog(ClusterService clusterService) {
+        this.warnThresholdNanos = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_WARN).nanos();
+        this.infoThresholdNanos = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_INFO).nanos();
+        this.debugThresholdNanos = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_DEBUG).nanos();
+        this.traceThresholdNanos = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_TRACE).nanos();
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_WARN, it -> warnThresholdNanos = it.nanos());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_INFO, it -> infoThresholdNanos = it.nanos());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_DEBUG, it -> debugThresholdNanos = it.nanos());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_TRACE, it -> traceThresholdNanos = it.nanos());
+    }
+
+    void setThresholds(TimeValue warn, TimeValue info, TimeValue debug, TimeValue trace) {
+        this.warnThresholdNanos = warn.nanos();
+        this.infoThresholdNanos = info.nanos();
+        this.debugThresholdNanos = debug.nanos();
+        this.traceThresholdNanos = trace.nanos();
+    }
+
+    /**
+     * Starts tracing an operation on the given entity, a detector, correlation rule or threat intel monitor id. The
+     * returned trace ignores all calls when the slow log is disabled.
+     */
+    public Trace start(String operation, String entityId) {
+        if (warnThresholdNanos < 0 && infoThresholdNanos < 0 && debugThresholdNanos < 0 && traceThresholdNanos < 0) {
+            return Trace.NOOP;
+        }
+        return new Trace(this, operation, entityId);
+    }
+
+    /**
+     * @return level the operation is logged at, null if it is not slow enough for any enabled threshold
+     */
+    Level levelOf(long tookNanos) {
+        if (warnThresholdNanos >= 0 && tookNanos > warnThresholdNanos) {
+            return Level.WARN;
+        } else if (infoThresholdNanos >= 0 && tookNanos > infoThresholdNanos) {
+            return Level.INFO;
+        } else if (debugThresholdNanos >= 0 && tookNanos > debugThresholdNanos) {
+            return Level.DEBUG;
+        } else if (traceThresholdNanos >= 0 && tookNanos > traceThresholdNanos) {
+            return Level.TRACE;
+        }
+        return null;
+    }
+
+    private void onFinish(Trace trace, long tookNanos) {
+        Level level = levelOf(tookNanos);
+        if (level != null && log.isEnabled(level)) {
+            log.log(level, trace.message(tookNanos));
+        }
+    }
+
+    /**
+     * Stages, sub-searches and hits of one traced operation. Callbacks of an operation may run on different threads,
+     * so updates are synchronized.
+     */
+    public static class Trace {
+
+        static final Trace NOOP = new Trace(null, null, null);
+
+        private final SecurityAnalyticsSlowLog slowLog;
+        private final String operation;
+        private final long startNanos;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final List<String> stageNames = new ArrayList<>();
+        private final List<Long> stageNanos = new ArrayList<>();
+        private String entityId;
+        private String currentStage;
+        private long currentStageStartNanos;
+        private int searches;
+        private long hits;
+
+        private Trace(SecurityAnalyticsSlowLog slowLog, String operation, String entityId) {
+            this.slowLog = slowLog;
+            this.operation = operation;
+            this.entityId = entityId;
+            this.startNanos = System.nanoTime();
+        }
+
+        public boolean isEnabled() {
+            return slowLog != null;
+        }
+
+        /**
+         * Sets the entity the operation turned out to run for, once it is known.
+         */
+        public synchronized void entity(String entityId) {
+            if (isEnabled()) {
+                this.entityId = entityId;
+            }
+        }
+
+        /**
+         * Ends the current stage, if any, and starts the named one.
+         */
+        public synchronized void stage(String name) {
+            if (isEnabled()) {
+                long now = System.nanoTime();
+                endStage(now);
+                currentStage = name;
+                currentStageStartNanos = now;
+            }
+        }
+
+        public synchronized void searched(int searchCount, long hitCount) {
+            if (isEnabled()) {
+                searches += searchCount;
+                hits += hitCount;
+            }
+        }
+
+        public void searched(SearchResponse response) {
+            if (isEnabled()) {
+                searched(1, response.getHits() == null || response.getHits().getHits() == null ? 0 : response.getHits().getHits().length);
+            }
+        }
+
+        public void searched(MultiSearchResponse response) {
+            if (isEnabled()) {
+                long hitCount = 0L;
+                for (MultiSearchResponse.Item item : response.getResponses()) {
+                    if (item.isFailure() == false && item.getResponse().getHits().getHits() != null) {
+                        hitCount += item.getResponse().getHits().getHits().length;
+                    }
+                }
+                searched(response.getResponses().length, hitCount);
+            }
+        }
+
+        /**
+         * Ends the operation and logs it if it was slow. Only the first call has an effect.
+         */
+        public void finish() {
+            if (isEnabled() && finished.compareAndSet(false, true)) {
+                long now = System.nanoTime();
+                synchronized (this) {
+                    endStage(now);
+                }
+                slowLog.onFinish(this, now - startNanos);
+            }
+        }
+
+        private void endStage(long now) {
+            if (currentStage != null) {
+                stageNames.add(currentStage);
+                stageNanos.add(now - currentStageStartNanos);
+                currentStage = null;
+            }
+        }
+
+        synchronized String message(long tookNanos) {
+            StringBuilder stages = new StringBuilder();
+            for (int i = 0; i < stageNames.size(); ++i) {
+                if (i > 0) {
+                    stages.append(", ");
+                }
+                stages.append(stageNames.get(i)).append(':').append(TimeUnit.NANOSECONDS.toMillis(stageNanos.get(i))).append("ms");
+            }
+            return String.format(Locale.getDefault(), "[%s][%s] took[%s], took_millis[%d], stages[%s], searches[%d], hits[%d]",
+                    operation, entityId, TimeValue.timeValueNanos(tookNanos), TimeUnit.NANOSECONDS.toMillis(tookNanos), stages, searches, hits);
+        }
+    }
+}
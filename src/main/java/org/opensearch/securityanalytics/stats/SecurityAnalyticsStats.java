@@ -0,0 +1,122 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Runtime metrics of the expensive stages of the plugin on this node: counters and latency histograms per stage, and
+ * gauges such as queue depths and cache hit counts that are read when the stats are requested. Created once per node
+ * in {@link org.opensearch.securityanalytics.SecurityAnalyticsPlugin#createComponents} and injected where stages run.
+ */
+public class SecurityAnalyticsStats {
+
+    private static final Logger log = LogManager.getLogger(SecurityAnalyticsStats.class);
+
+    /**
+     * Instrumented stages. Items counts what a stage operated on, findings, iocs or rules.
+     */
+    public enum Stage {
+        CORRELATION("correlation"),
+        IOC_SCAN("ioc_scan"),
+        IOC_FEED_INGEST("ioc_feed_ingest"),
+        RULE_COMPILE("rule_compile");
+
+        private final String statName;
+
+        Stage(String statName) {
+            this.statName = statName;
+        }
+
+        public String getStatName() {
+            return statName;
+        }
+    }
+
+    private final Map<Stage, StageRecorder> recorders = new EnumMap<>(Stage.class);
+
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public SecurityAnalyticsStats() {
+        for (Stage stage : Stage.values()) {
+            recorders.put(stage, new StageRecorder());
+        }
+    }
+
+    /**
+     * Records one operation of the stage that started at the given {@link System#nanoTime()}.
+     */
+    public void record(Stage stage, long startNanos, long items, boolean failed) {
+        recorders.get(stage).record(System.nanoTime() - startNanos, items, failed);
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge registered before under the same name.
+     */
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public Map<String, StageStats> getStageStats() {
+        Map<String, StageStats> stageStats = new TreeMap<>();
+        recorders.forEach((stage, recorder) -> stageStats.put(stage.getStatName(), recorder.snapshot()));
+        return stageStats;
+    }
+
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> {
+            try {
+                values.put(name, gauge.getAsLong());
+            } catch (RuntimeException e) {
+                log.debug("Failed to read gauge {}", name, e);
+            }
+        });
+        return values;
+    }
+
+    private static class StageRecorder {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder items = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        private final LongAdder[] histogram = new LongAdder[StageStats.LATENCY_BUCKETS_MILLIS.length + 1];
+
+        private StageRecorder() {
+            for (int i = 0; i < histogram.length; ++i) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void record(long tookNanos, long itemCount, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            items.add(itemCount);
+            totalNanos.add(tookNanos);
+            maxNanos.accumulate(tookNanos);
+            histogram[StageStats.bucketOf(tookNanos)].increment();
+        }
+
+        private StageStats snapshot() {
+            long[] buckets = new long[histogram.length];
+            for (int i = 0; i < histogram.length; ++i) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new StageStats(count.sum(), failures.sum(), items.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+        }
+    }
+}
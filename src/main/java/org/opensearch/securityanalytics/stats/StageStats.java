@@ -0,0 +1,134 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time counters and latency histogram of one stage, on one node or merged over several nodes.
+ */
+public class StageStats implements Writeable, ToXContentObject {
+
+    /**
+     * Upper bounds, inclusive, of the latency histogram buckets. A last bucket counts the slower operations.
+     */
+    public static final long[] LATENCY_BUCKETS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+
+    private final long count;
+    private final long failures;
+    private final long items;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    public StageStats(long count, long failures, long items, long totalNanos, long maxNanos, long[] histogram) {
+        this.count = count;
+        this.failures = failures;
+        this.items = items;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    public StageStats(StreamInput sin) throws IOException {
+        this(sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readVLongArray());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(count);
+        out.writeVLong(failures);
+        out.writeVLong(items);
+        out.writeVLong(totalNanos);
+        out.writeVLong(maxNanos);
+        out.writeVLongArray(histogram);
+    }
+
+    public static StageStats empty() {
+        return new StageStats(0L, 0L, 0L, 0L, 0L, new long[LATENCY_BUCKETS_MILLIS.length + 1]);
+    }
+
+    /**
+     * Index of the histogram bucket of the given latency.
+     */
+    static int bucketOf(long tookNanos) {
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(tookNanos);
+        for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; ++i) {
+            if (tookMillis <= LATENCY_BUCKETS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS_MILLIS.length;
+    }
+
+    public StageStats merge(StageStats other) {
+        long[] mergedHistogram = new long[histogram.length];
+        for (int i = 0; i < histogram.length; ++i) {
+            mergedHistogram[i] = histogram[i] + other.histogram[i];
+        }
+        return new StageStats(
+                count + other.count,
+                failures + other.failures,
+                items + other.items,
+                totalNanos + other.totalNanos,
+                Math.max(maxNanos, other.maxNanos),
+                mergedHistogram
+        );
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field("count", count)
+                .field("failures", failures)
+                .field("items", items)
+                .field("total_time_in_millis", TimeUnit.NANOSECONDS.toMillis(totalNanos))
+                .field("avg_time_in_millis", count == 0 ? 0.0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1))
+                .field("max_time_in_millis", TimeUnit.NANOSECONDS.toMillis(maxNanos));
+        builder.startArray("latency_histogram");
+        for (int i = 0; i < histogram.length; ++i) {
+            builder.startObject();
+            if (i < LATENCY_BUCKETS_MILLIS.length) {
+                builder.field("le_millis", LATENCY_BUCKETS_MILLIS[i]);
+            } else {
+                builder.field("gt_millis", LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1]);
+            }
+            builder.field("count", histogram[i]).endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+}
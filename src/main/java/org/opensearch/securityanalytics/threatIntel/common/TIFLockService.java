@@ -74,9 +74,13 @@ public class TIFLockService {
     /**
      * Wrapper method of LockService#release
      *
-     * @param lockModel the lock model
+     * @param lockModel the lock model, nothing is released if null
      */
     public void releaseLock(final LockModel lockModel, final ActionListener<Boolean> listener) {
+        if (lockModel == null) {
+            listener.onResponse(false);
+            return;
+        }
         lockService.release(
                 lockModel,
                 ActionListener.wrap(listener::onResponse, exception -> {
@@ -93,6 +97,9 @@ public class TIFLockService {
      * @return renewed lock if renew succeed and null otherwise
      */
     public LockModel renewLock(final LockModel lockModel) {
+        if (lockModel == null) {
+            return null;
+        }
         AtomicReference<LockModel> lockReference = new AtomicReference();
         CountDownLatch countDownLatch = new CountDownLatch(1);
         lockService.renewLock(lockModel, new ActionListener<>() {
@@ -132,7 +139,7 @@ public class TIFLockService {
     public Runnable getRenewLockRunnable(final AtomicReference<LockModel> lockModel) {
         return () -> {
             LockModel preLock = lockModel.get();
-            if (Instant.now().isBefore(preLock.getLockTime().plusSeconds(RENEW_AFTER_IN_SECONDS))) {
+            if (preLock == null || Instant.now().isBefore(preLock.getLockTime().plusSeconds(RENEW_AFTER_IN_SECONDS))) {
                 return;
             }
             lockModel.set(renewLock(lockModel.get()));
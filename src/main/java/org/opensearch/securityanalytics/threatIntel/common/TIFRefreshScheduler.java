@@ -0,0 +1,299 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.common;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.jobscheduler.spi.LockModel;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs threat intel source refreshes of this node under the ingest budget of the node. Refreshes wait in arrival order
+ * for one of the concurrent feed slots, holding the lock of their source config, which is renewed until the refresh
+ * completes. The IOC bulks of running refreshes are dispatched round robin across source configs, within the bytes in
+ * flight and the docs per second of the budget, so one large feed neither holds back the others nor saturates the
+ * write path. The budget is not coordinated across nodes: source config jobs are spread across the nodes by the job
+ * scheduler, and each node running refreshes applies the full budget to its own.
+ */
+public class TIFRefreshScheduler {
+    private static final Logger log = LogManager.getLogger(TIFRefreshScheduler.class);
+
+    private static final TimeValue RENEW_LOCK_INTERVAL = TimeValue.timeValueSeconds(TIFLockService.RENEW_AFTER_IN_SECONDS);
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private final TIFLockService lockService;
+
+    private final LongSupplier nanoClock;
+
+    private volatile int maxConcurrentFeeds;
+
+    private volatile int maxDocsPerSecond;
+
+    private volatile long maxBytesInFlight;
+
+    // refresh and bulk queues and budget usage, guarded by this
+    private final Deque<Runnable> queuedRefreshes = new ArrayDeque<>();
+
+    private int runningRefreshes;
+
+    // queued bulks by source config id, the next source config to dispatch first
+    private final Map<String, Deque<Bulk>> queuedBulks = new LinkedHashMap<>();
+
+    private int queuedBulkCount;
+
+    private long bytesInFlight;
+
+    private int bulksInFlight;
+
+    private double availableDocs = Double.MAX_VALUE;
+
+    private long lastRefillNanos;
+
+    private boolean dispatchScheduled;
+
+    public TIFRefreshScheduler(ClusterService clusterService, ThreadPool threadPool, TIFLockService lockService, Settings settings) {
+        this(clusterService, threadPool, lockService, settings, System::nanoTime);
+    }
+
+    TIFRefreshScheduler(ClusterService clusterService, ThreadPool threadPool, TIFLockService lockService, Settings settings,
+                        LongSupplier nanoClock) {
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.lockService = lockService;
+        this.nanoClock = nanoClock;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.maxConcurrentFeeds = SecurityAnalyticsSettings.TIF_INGEST_MAX_CONCURRENT_FEEDS_PER_NODE.get(settings);
+        this.maxDocsPerSecond = SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE.get(settings);
+        this.maxBytesInFlight = SecurityAnalyticsSettings.TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE.get(settings).getBytes();
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.TIF_INGEST_MAX_CONCURRENT_FEEDS_PER_NODE, it -> {
+            maxConcurrentFeeds = it;
+            startQueuedRefreshes();
+        });
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE, it -> {
+            maxDocsPerSecond = it;
+            dispatch();
+        });
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE, it -> {
+            maxBytesInFlight = it.getBytes();
+            dispatch();
+        });
+    }
+
+    /**
+     * Runs the refresh once a concurrent feed slot is free, renewing the lock from when it is queued until the refresh
+     * completes. The lock reference holds the latest renewed lock, which is the one to release once the listener is
+     * notified.
+     *
+     * @param refresh starts the refresh, notifying the given listener once it completes
+     */
+    public void submitRefresh(String sourceConfigId, AtomicReference<LockModel> lockReference, Consumer<ActionListener<Void>> refresh,
+                              ActionListener<Void> listener) {
+        Scheduler.Cancellable renewal = threadPool.scheduleWithFixedDelay(
+                () -> renewLock(sourceConfigId, lockReference), RENEW_LOCK_INTERVAL, ThreadPool.Names.GENERIC);
+        ActionListener<Void> refreshListener = ActionListener.runAfter(ActionListener.runBefore(listener, () -> {
+            if (renewal != null) {
+                renewal.cancel();
+            }
+        }), this::onRefreshDone);
+        Runnable run = () -> {
+            try {
+                refresh.accept(refreshListener);
+            } catch (Exception e) {
+                refreshListener.onFailure(e);
+            }
+        };
+        synchronized (this) {
+            queuedRefreshes.add(run);
+        }
+        startQueuedRefreshes();
+    }
+
+    /**
+     * Renews the lock of the refresh, this is its only renewer. A failed renewal keeps the last lock, the one to release.
+     */
+    private void renewLock(String sourceConfigId, AtomicReference<LockModel> lockReference) {
+        LockModel lock = lockReference.get();
+        if (lock == null) {
+            return;
+        }
+        LockModel renewedLock = lockService.renewLock(lock);
+        if (renewedLock == null) {
+            log.warn("Failed to renew the lock of threat intel source config [{}]", sourceConfigId);
+            return;
+        }
+        lockReference.set(renewedLock);
+    }
+
+    private void onRefreshDone() {
+        synchronized (this) {
+            runningRefreshes--;
+        }
+        startQueuedRefreshes();
+    }
+
+    private void startQueuedRefreshes() {
+        List<Runnable> started = new ArrayList<>();
+        synchronized (this) {
+            while (runningRefreshes < maxConcurrentFeeds && queuedRefreshes.isEmpty() == false) {
+                started.add(queuedRefreshes.poll());
+                runningRefreshes++;
+            }
+        }
+        for (Runnable run : started) {
+            threadPool.generic().execute(run);
+        }
+    }
+
+    /**
+     * Runs the bulk of the source config once the ingest budget allows it. The bulk is given a callback releasing its
+     * share of the budget, to be called once the bulk completes, successfully or not.
+     */
+    public void submitBulk(String sourceConfigId, int docs, long bytes, Consumer<Runnable> bulk) {
+        synchronized (this) {
+            queuedBulks.computeIfAbsent(sourceConfigId, it -> new ArrayDeque<>()).add(new Bulk(docs, bytes, bulk));
+            queuedBulkCount++;
+        }
+        dispatch();
+    }
+
+    void dispatch() {
+        List<Bulk> dispatched = new ArrayList<>();
+        long delayNanos;
+        boolean scheduleDispatch = false;
+        synchronized (this) {
+            delayNanos = pollDispatchable(dispatched);
+            if (delayNanos > 0 && dispatchScheduled == false) {
+                dispatchScheduled = true;
+                scheduleDispatch = true;
+            }
+        }
+        if (scheduleDispatch) {
+            threadPool.schedule(() -> {
+                synchronized (this) {
+                    dispatchScheduled = false;
+                }
+                dispatch();
+            }, TimeValue.timeValueNanos(delayNanos), ThreadPool.Names.GENERIC);
+        }
+        for (Bulk bulk : dispatched) {
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    release(bulk);
+                }
+            };
+            try {
+                bulk.bulk.accept(release);
+            } catch (Exception e) {
+                log.error("Failed to dispatch threat intel IOC bulk", e);
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Takes queued bulks within the budget, one source config after the other. Bulks wait behind the first one over
+     * budget, so large bulks are not starved by smaller ones.
+     *
+     * @return nanos until the docs budget allows the next bulk, 0 when there is none or it waits for bytes in flight
+     */
+    private long pollDispatchable(List<Bulk> dispatched) {
+        long docsPerSecond = maxDocsPerSecond;
+        long bytesLimit = maxBytesInFlight;
+        refillDocs(docsPerSecond);
+        while (queuedBulks.isEmpty() == false) {
+            Iterator<Map.Entry<String, Deque<Bulk>>> sources = queuedBulks.entrySet().iterator();
+            Map.Entry<String, Deque<Bulk>> source = sources.next();
+            Bulk bulk = source.getValue().peek();
+            if (bulksInFlight > 0 && bytesInFlight + bulk.bytes > bytesLimit) {
+                return 0;
+            }
+            if (docsPerSecond > 0) {
+                // bulks larger than a second of budget wait for a full bucket and leave it in debt
+                double neededDocs = Math.min(bulk.docs, docsPerSecond);
+                if (availableDocs < neededDocs) {
+                    return Math.max(1, (long) Math.ceil((neededDocs - availableDocs) * TimeValue.timeValueSeconds(1).nanos() / docsPerSecond));
+                }
+                availableDocs -= bulk.docs;
+            }
+
+            source.getValue().poll();
+            sources.remove();
+            if (source.getValue().isEmpty() == false) {
+                queuedBulks.put(source.getKey(), source.getValue());
+            }
+            queuedBulkCount--;
+            bulksInFlight++;
+            bytesInFlight += bulk.bytes;
+            dispatched.add(bulk);
+        }
+        return 0;
+    }
+
+    private void refillDocs(long docsPerSecond) {
+        long now = nanoClock.getAsLong();
+        double refilled = availableDocs + (double) (now - lastRefillNanos) * docsPerSecond / TimeValue.timeValueSeconds(1).nanos();
+        availableDocs = Math.min(docsPerSecond, refilled);
+        lastRefillNanos = now;
+    }
+
+    private void release(Bulk bulk) {
+        synchronized (this) {
+            bulksInFlight--;
+            bytesInFlight -= bulk.bytes;
+        }
+        dispatch();
+    }
+
+    public synchronized int getQueuedRefreshCount() {
+        return queuedRefreshes.size();
+    }
+
+    public synchronized int getRunningRefreshCount() {
+        return runningRefreshes;
+    }
+
+    public synchronized int getQueuedBulkCount() {
+        return queuedBulkCount;
+    }
+
+    public synchronized long getBytesInFlight() {
+        return bytesInFlight;
+    }
+
+    private static class Bulk {
+        private final int docs;
+        private final long bytes;
+        private final Consumer<Runnable> bulk;
+
+        private Bulk(int docs, long bytes, Consumer<Runnable> bulk) {
+            this.docs = docs;
+            this.bytes = bytes;
+            this.bulk = bulk;
+        }
+    }
+}
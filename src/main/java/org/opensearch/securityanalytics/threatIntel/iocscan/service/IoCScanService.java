@@ -51,9 +51,9 @@ public abstract class IoCScanService<Data extends Object> implements IoCScanServ
                 long scanEndTime = System.currentTimeMillis();
                 long timeTaken = scanEndTime - startTime;
                 if(maliciousIocs != null) {
-                    log.info("Threat intel monitor fanout : {} malicious iocs found in scan", maliciousIocs.size());
+                    log.debug("Threat intel monitor fanout : {} malicious iocs found in scan", maliciousIocs.size());
                 }
-                log.info("Threat intel monitor {}: scan time taken is {} millis", monitor.getId(), timeTaken);
+                log.debug("Threat intel monitor {}: scan time taken is {} millis", monitor.getId(), timeTaken);
                 if (e == null) {
                     createIocFindings(maliciousIocs, iocLookupDtos.iocValueToDocIdMap, iocScanContext,
                             (iocFindings, e1) -> {
@@ -172,7 +172,7 @@ public abstract class IoCScanService<Data extends Object> implements IoCScanServ
                                    IocScanContext iocScanContext,
                                    BiConsumer<List<IocFinding>, Exception> callback) {
         try {
-            log.info("Threat intel monitor fanout:creating findings for [{}] iocs", iocs.size());
+            log.debug("Threat intel monitor fanout:creating findings for [{}] iocs", iocs.size());
             Instant timestamp = Instant.now();
             Monitor monitor = iocScanContext.getMonitor();
             // Map to collect unique IocValue with their respective FeedIds
@@ -222,7 +222,7 @@ public abstract class IoCScanService<Data extends Object> implements IoCScanServ
     abstract void saveIocFindings
             (List<IocFinding> iocs, BiConsumer<List<IocFinding>, Exception> callback, Monitor monitor);
 
-    abstract void saveAlerts(List<ThreatIntelAlert> updatedAlerts, List<ThreatIntelAlert> newAlerts, Monitor monitor, BiConsumer<List<ThreatIntelAlert>, Exception> callback);
+    abstract void saveAlerts(List<ThreatIntelAlert> updatedAlerts, List<ThreatIntelAlert> newAlerts, List<ThreatIntelAlert> movedAlerts, Monitor monitor, BiConsumer<List<ThreatIntelAlert>, Exception> callback);
 
     protected static class IocLookupDtos {
         private final Map<String, Set<String>> iocsPerIocTypeMap;
@@ -0,0 +1,271 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.iocscan.service;
+
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.threatIntel.util.IpRange;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable table of the iocs of one ioc index, sorted by ioc value and kept off-heap. Lookups are binary searches over
+ * the table, so a snapshot can be shared by concurrent scans without locking. Ip iocs holding CIDR blocks are also kept
+ * in a range table sorted by lower bound, so that one lookup of an address finds the exact and the CIDR matches.
+ */
+public class IocSnapshot {
+
+    private static final int ADDRESS_BYTES = 16;
+
+    // lower bound, upper bound, max upper bound of the ranges up to this one and record offset
+    private static final int RANGE_BYTES = 3 * ADDRESS_BYTES + Integer.BYTES;
+
+    private final String index;
+
+    // offsets of the records, in ioc value order
+    private final IntBuffer offsets;
+
+    // records of value, type, id, feed id and feed name, each a length prefixed utf-8 string
+    private final ByteBuffer records;
+
+    private final int size;
+
+    // CIDR block ranges, in lower bound order
+    private final ByteBuffer ranges;
+
+    private final int rangeCount;
+
+    private IocSnapshot(String index, IntBuffer offsets, ByteBuffer records, int size, ByteBuffer ranges, int rangeCount) {
+        this.index = index;
+        this.offsets = offsets;
+        this.records = records;
+        this.size = size;
+        this.ranges = ranges;
+        this.rangeCount = rangeCount;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the iocs of the given type whose value equals the given value, the same iocs a terms query on
+     * the ioc type and value fields of the index would return. For ip iocs the CIDR blocks containing the address
+     * are returned as well, with the address as their value.
+     */
+    public List<STIX2IOC> lookup(String iocType, String value) {
+        List<STIX2IOC> matches = lookupExact(iocType, value);
+        if (rangeCount == 0 || false == IpRange.isIpType(iocType)) {
+            return matches;
+        }
+        byte[] address = IpRange.encode(value);
+        if (address == null) {
+            return matches;
+        }
+        // last range starting at or before the address
+        int low = 0;
+        int high = rangeCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAddress(mid * RANGE_BYTES, address) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // max upper bounds never grow walking backwards, so stop at the first one below the address
+        for (int i = low - 1; i >= 0 && compareAddress(i * RANGE_BYTES + 2 * ADDRESS_BYTES, address) >= 0; --i) {
+            if (compareAddress(i * RANGE_BYTES + ADDRESS_BYTES, address) < 0) {
+                continue;
+            }
+            STIX2IOC match = readIoc(ranges.getInt(i * RANGE_BYTES + 3 * ADDRESS_BYTES), iocType, value);
+            if (match != null) {
+                if (matches.isEmpty()) {
+                    matches = new ArrayList<>(1);
+                }
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+
+    private List<STIX2IOC> lookupExact(String iocType, String value) {
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareValue(offsets.get(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<STIX2IOC> matches = null;
+        for (int i = low; i < size && compareValue(offsets.get(i), key) == 0; ++i) {
+            STIX2IOC match = readIoc(offsets.get(i), iocType, value);
+            if (match == null) {
+                continue;
+            }
+            if (matches == null) {
+                matches = new ArrayList<>(1);
+            }
+            matches.add(match);
+        }
+        return matches == null ? Collections.emptyList() : matches;
+    }
+
+    /**
+     * Reads the record at the given offset as an ioc with the given value, returns null if it is of another type.
+     */
+    private STIX2IOC readIoc(int position, String iocType, String value) {
+        position = skipString(position);
+        String type = readString(position);
+        if (false == iocType.equals(type)) {
+            return null;
+        }
+        position = skipString(position);
+        String id = readString(position);
+        position = skipString(position);
+        String feedId = readString(position);
+        position = skipString(position);
+        String feedName = readString(position);
+        return new STIX2IOC(id, null, type, value, null, null, null, null, Collections.emptyList(), null,
+                feedId, feedName, STIX2IOC.NO_VERSION);
+    }
+
+    private int compareAddress(int position, byte[] address) {
+        for (int i = 0; i < ADDRESS_BYTES; ++i) {
+            int cmp = Byte.compareUnsigned(ranges.get(position + i), address[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private int compareValue(int position, byte[] key) {
+        int length = records.getInt(position);
+        int start = position + Integer.BYTES;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; ++i) {
+            int cmp = Byte.compareUnsigned(records.get(start + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private int skipString(int position) {
+        return position + Integer.BYTES + records.getInt(position);
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[records.getInt(position)];
+        records.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Collects the iocs of an index on-heap and packs them into a sorted off-heap {@link IocSnapshot}.
+     */
+    public static class Builder {
+        private final String index;
+        private final List<byte[]> values = new ArrayList<>();
+        private final List<byte[]> records = new ArrayList<>();
+        private final List<IpRange> ipRanges = new ArrayList<>();
+        private final List<Integer> ipRangeRecords = new ArrayList<>();
+        private int length = 0;
+
+        public Builder(String index) {
+            this.index = index;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public int size() {
+            return records.size();
+        }
+
+        public Builder add(String id, String type, String value, String feedId, String feedName) {
+            byte[][] fields = new byte[][] {
+                    bytes(value), bytes(type), bytes(id), bytes(feedId), bytes(feedName)
+            };
+            int recordLength = 0;
+            for (byte[] field : fields) {
+                recordLength += Integer.BYTES + field.length;
+            }
+            ByteBuffer record = ByteBuffer.allocate(recordLength);
+            for (byte[] field : fields) {
+                record.putInt(field.length).put(field);
+            }
+            if (IpRange.isIpType(type)) {
+                IpRange ipRange = IpRange.parse(value);
+                if (ipRange != null && ipRange.isCidr()) {
+                    ipRanges.add(ipRange);
+                    ipRangeRecords.add(records.size());
+                }
+            }
+            values.add(fields[0]);
+            records.add(record.array());
+            length = Math.addExact(length, recordLength);
+            return this;
+        }
+
+        private static byte[] bytes(String value) {
+            return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public IocSnapshot build() {
+            int size = records.size();
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; ++i) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(values.get(a), values.get(b)));
+
+            ByteBuffer packedRecords = ByteBuffer.allocateDirect(length);
+            IntBuffer packedOffsets = ByteBuffer.allocateDirect(size * Integer.BYTES).asIntBuffer();
+            int[] recordOffsets = new int[size];
+            for (int i : order) {
+                recordOffsets[i] = packedRecords.position();
+                packedOffsets.put(packedRecords.position());
+                packedRecords.put(records.get(i));
+            }
+
+            int rangeCount = ipRanges.size();
+            Integer[] rangeOrder = new Integer[rangeCount];
+            for (int i = 0; i < rangeCount; ++i) {
+                rangeOrder[i] = i;
+            }
+            Arrays.sort(rangeOrder, (a, b) -> Arrays.compareUnsigned(ipRanges.get(a).getLower(), ipRanges.get(b).getLower()));
+            ByteBuffer packedRanges = ByteBuffer.allocateDirect(rangeCount * RANGE_BYTES);
+            byte[] maxUpper = null;
+            for (int i : rangeOrder) {
+                IpRange ipRange = ipRanges.get(i);
+                if (maxUpper == null || Arrays.compareUnsigned(ipRange.getUpper(), maxUpper) > 0) {
+                    maxUpper = ipRange.getUpper();
+                }
+                packedRanges.put(ipRange.getLower())
+                        .put(ipRange.getUpper())
+                        .put(maxUpper)
+                        .putInt(recordOffsets[ipRangeRecords.get(i)]);
+            }
+            return new IocSnapshot(index, packedOffsets, packedRecords, size, packedRanges, rangeCount);
+        }
+    }
+}
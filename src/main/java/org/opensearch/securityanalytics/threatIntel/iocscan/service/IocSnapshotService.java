@@ -0,0 +1,185 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.iocscan.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.Index;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.commons.model.STIX2;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.common.StashedThreadContext;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link IocSnapshot}s the threat intel monitor matches iocs against when
+ * {@link SecurityAnalyticsSettings#IOC_SCAN_LOCAL_MATCHING_ENABLED} is set. A snapshot is built in the background the
+ * first time a scan asks for an ioc index and is dropped with the index. Every feed refresh writes a new ioc index, so
+ * a snapshot never needs to be updated in place.
+ */
+public class IocSnapshotService implements ClusterStateListener {
+    private static final Logger log = LogManager.getLogger(IocSnapshotService.class);
+
+    private static final int PAGE_SIZE = 10000;
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private static final String[] SNAPSHOT_FIELDS = new String[] {
+            STIX2.VALUE_FIELD, STIX2.TYPE_FIELD, STIX2.FEED_ID_FIELD, STIX2.FEED_NAME_FIELD
+    };
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final ThreadPool threadPool;
+
+    private final Map<String, IocSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // indices whose snapshot is being built, or which are too large to be snapshotted
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public IocSnapshotService(Client client, ClusterService clusterService, ThreadPool threadPool) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+
+        clusterService.addListener(this);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_ENABLED, enabled -> {
+            if (false == enabled) {
+                snapshots.clear();
+                pending.clear();
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_ENABLED);
+    }
+
+    /**
+     * Returns the snapshot of the given ioc index, or null if there is none yet. A missing snapshot is built in the
+     * background, the caller is expected to search the index in the meantime.
+     */
+    public IocSnapshot getSnapshot(String index) {
+        IocSnapshot snapshot = snapshots.get(index);
+        if (snapshot == null && false == Regex.isSimpleMatchPattern(index) && isEnabled() && pending.add(index)) {
+            buildSnapshot(index);
+        }
+        return snapshot;
+    }
+
+    private void buildSnapshot(String index) {
+        try {
+            int maxIocs = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_SCAN_LOCAL_MATCHING_MAX_IOCS);
+            SearchRequest searchRequest = new SearchRequest(index)
+                    .scroll(SCROLL_KEEP_ALIVE)
+                    .source(new SearchSourceBuilder()
+                            .query(QueryBuilders.matchAllQuery())
+                            .fetchSource(SNAPSHOT_FIELDS, null)
+                            .trackTotalHits(true)
+                            .sort("_doc")
+                            .size(PAGE_SIZE));
+            IocSnapshot.Builder builder = new IocSnapshot.Builder(index);
+            StashedThreadContext.run(client, () -> client.search(searchRequest, onSnapshotPage(index, builder, maxIocs)));
+        } catch (Exception e) {
+            log.error(() -> new ParameterizedMessage("Failed to snapshot threat intel ioc index {} for local matching", index), e);
+            pending.remove(index);
+        }
+    }
+
+    private ActionListener<SearchResponse> onSnapshotPage(String index, IocSnapshot.Builder builder, int maxIocs) {
+        return ActionListener.wrap(
+                searchResponse -> {
+                    TotalHits totalHits = searchResponse.getHits().getTotalHits();
+                    if (totalHits != null && totalHits.value() > maxIocs) {
+                        log.info("Threat intel ioc index {} holds {} iocs, more than the {} allowed for local matching. Scans keep searching it.",
+                                index, totalHits.value(), maxIocs);
+                        clearScroll(searchResponse.getScrollId());
+                        return;
+                    }
+                    SearchHit[] hits = searchResponse.getHits().getHits();
+                    for (SearchHit hit : hits) {
+                        Map<String, Object> source = hit.getSourceAsMap();
+                        String value = Objects.toString(source.get(STIX2.VALUE_FIELD), null);
+                        String type = Objects.toString(source.get(STIX2.TYPE_FIELD), null);
+                        String feedId = Objects.toString(source.get(STIX2.FEED_ID_FIELD), null);
+                        // same iocs the search path fails to parse
+                        if (value == null || value.isEmpty() || type == null || feedId == null || feedId.isEmpty()) {
+                            continue;
+                        }
+                        builder.add(hit.getId(), type, value, feedId, Objects.toString(source.get(STIX2.FEED_NAME_FIELD), null));
+                    }
+                    if (hits.length == 0) {
+                        clearScroll(searchResponse.getScrollId());
+                        threadPool.generic().execute(() -> publishSnapshot(builder));
+                    } else {
+                        SearchScrollRequest scrollRequest = new SearchScrollRequest(searchResponse.getScrollId()).scroll(SCROLL_KEEP_ALIVE);
+                        StashedThreadContext.run(client, () -> client.searchScroll(scrollRequest, onSnapshotPage(index, builder, maxIocs)));
+                    }
+                },
+                e -> {
+                    log.error(() -> new ParameterizedMessage("Failed to snapshot threat intel ioc index {} for local matching", index), e);
+                    pending.remove(index);
+                }
+        );
+    }
+
+    private void publishSnapshot(IocSnapshot.Builder builder) {
+        String index = builder.getIndex();
+        try {
+            long startTime = System.currentTimeMillis();
+            IocSnapshot snapshot = builder.build();
+            // the index may have been deleted while the snapshot was built
+            if (pending.contains(index) && clusterService.state().metadata().hasIndex(index)) {
+                snapshots.put(index, snapshot);
+                log.info("Snapshotted {} iocs of threat intel ioc index {} for local matching in {} millis",
+                        snapshot.size(), index, System.currentTimeMillis() - startTime);
+            }
+        } catch (Exception e) {
+            log.error(() -> new ParameterizedMessage("Failed to snapshot threat intel ioc index {} for local matching", index), e);
+        } finally {
+            pending.remove(index);
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        StashedThreadContext.run(client, () -> client.clearScroll(clearScrollRequest, ActionListener.wrap(
+                r -> {},
+                e -> log.debug("Failed to clear scroll of threat intel ioc snapshot", e)
+        )));
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        for (Index index : event.indicesDeleted()) {
+            snapshots.remove(index.getName());
+            pending.remove(index.getName());
+        }
+    }
+}
@@ -3,13 +3,16 @@ package org.opensearch.securityanalytics.threatIntel.iocscan.service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.search.TotalHits;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.ShardSearchFailure;
 import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.network.InetAddresses;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.Monitor;
 import org.opensearch.commons.alerting.model.Trigger;
 import org.opensearch.commons.alerting.model.action.Action;
@@ -29,11 +32,15 @@ import org.opensearch.securityanalytics.model.STIX2IOC;
 import org.opensearch.securityanalytics.model.threatintel.IocFinding;
 import org.opensearch.securityanalytics.model.threatintel.ThreatIntelAlert;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dao.IocFindingService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dao.ThreatIntelAlertService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dto.IocScanContext;
 import org.opensearch.securityanalytics.threatIntel.model.monitor.ThreatIntelTrigger;
 import org.opensearch.securityanalytics.threatIntel.model.monitor.TransportThreatIntelMonitorFanOutAction.SearchHitsOrException;
+import org.opensearch.securityanalytics.threatIntel.util.IpAddressSet;
+import org.opensearch.securityanalytics.threatIntel.util.IpRange;
 import org.opensearch.securityanalytics.threatIntel.util.ThreatIntelMonitorUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.transport.client.Client;
@@ -42,6 +49,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -56,21 +65,35 @@ import static org.opensearch.securityanalytics.threatIntel.util.ThreatIntelMonit
 public class SaIoCScanService extends IoCScanService<SearchHit> {
 
     private static final Logger log = LogManager.getLogger(SaIoCScanService.class);
+
+    // max number of CIDR block iocs fetched per search, the default max result window of the ioc indices
+    static final int MAX_IP_RANGE_IOCS_PER_SEARCH = 10000;
+
+    // max number of alerts fetched by id per search, the default max result window of the alerts index
+    private static final int MAX_ALERT_IDS_PER_SEARCH = 10000;
+
     private final Client client;
     private final ClusterService clusterService;
     private final NamedXContentRegistry xContentRegistry;
     private final IocFindingService iocFindingService;
     private final ThreatIntelAlertService threatIntelAlertService;
     private final NotificationService notificationService;
+    private final IocSnapshotService iocSnapshotService;
+    private final SecurityAnalyticsStats stats;
+    private final SecurityAnalyticsSlowLog slowLog;
 
     public SaIoCScanService(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry, IocFindingService iocFindingService,
-                            ThreatIntelAlertService threatIntelAlertService, NotificationService notificationService) {
+                            ThreatIntelAlertService threatIntelAlertService, NotificationService notificationService,
+                            IocSnapshotService iocSnapshotService, SecurityAnalyticsStats stats, SecurityAnalyticsSlowLog slowLog) {
         this.client = client;
         this.clusterService = clusterService;
         this.xContentRegistry = xContentRegistry;
         this.iocFindingService = iocFindingService;
         this.threatIntelAlertService = threatIntelAlertService;
         this.notificationService = notificationService;
+        this.iocSnapshotService = iocSnapshotService;
+        this.stats = stats;
+        this.slowLog = slowLog;
     }
 
     @Override
@@ -138,17 +161,19 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                                              List<ThreatIntelAlert> existingAlerts,
                                              ArrayList<IocFinding> triggerMatchedFindings,
                                              ThreatIntelTrigger threatIntelTrigger, ActionListener<List<ThreatIntelAlert>> listener) {
-        Map<String, ThreatIntelAlert> iocToUpdatedAlertsMap = ThreatIntelMonitorUtils.prepareAlertsToUpdate(triggerMatchedFindings, existingAlerts);
+        Map<String, ThreatIntelAlert> iocToUpdatedAlertsMap = ThreatIntelMonitorUtils.prepareAlertsToUpdate(monitor, trigger, triggerMatchedFindings, existingAlerts);
         List<ThreatIntelAlert> newAlerts = ThreatIntelMonitorUtils.prepareNewAlerts(monitor, trigger, triggerMatchedFindings, iocToUpdatedAlertsMap);
+        List<ThreatIntelAlert> movedAlerts = ThreatIntelMonitorUtils.prepareCompletedAlertsToMove(existingAlerts, newAlerts);
         ThreatIntelAlertContext ctx = new ThreatIntelAlertContext(threatIntelTrigger,
                 trigger,
                 iocFindings,
                 monitor,
                 newAlerts,
-                existingAlerts);
+                existingAlerts.stream().filter(alert -> alert.getState() != Alert.State.COMPLETED).collect(Collectors.toList()));
         if (false == trigger.getActions().isEmpty()) {
             saveAlerts(new ArrayList<>(iocToUpdatedAlertsMap.values()),
                     newAlerts,
+                    movedAlerts,
                     monitor,
                     (threatIntelAlerts, e) -> {
                         if (e != null) {
@@ -182,6 +207,7 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
         } else {
             saveAlerts(new ArrayList<>(iocToUpdatedAlertsMap.values()),
                     newAlerts,
+                    movedAlerts,
                     monitor,
                     (threatIntelAlerts, e) -> {
                         if (e != null) {
@@ -194,6 +220,10 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
         }
     }
 
+    /**
+     * Fetches the alerts of the trigger for the iocs of the findings by their ids, in batches of at most
+     * {@link #MAX_ALERT_IDS_PER_SEARCH} ids.
+     */
     private void fetchExistingAlertsForTrigger(Monitor monitor,
                                                ArrayList<IocFinding> findings,
                                                Trigger trigger,
@@ -202,24 +232,11 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
             listener.onResponse(emptyList());
             return;
         }
-        SearchSourceBuilder ssb = ThreatIntelMonitorUtils.getSearchSourceBuilderForExistingAlertsQuery(findings, trigger);
-        threatIntelAlertService.search(ssb, ActionListener.wrap(
-                searchResponse -> {
+        List<String> alertIds = ThreatIntelMonitorUtils.getAlertIds(monitor, trigger, findings);
+        GroupedActionListener<List<ThreatIntelAlert>> batchListener = new GroupedActionListener<>(ActionListener.wrap(
+                batches -> {
                     List<ThreatIntelAlert> alerts = new ArrayList<>();
-                    if (searchResponse.getHits() == null || searchResponse.getHits().getHits() == null) {
-                        listener.onResponse(alerts);
-                        return;
-                    }
-                    for (SearchHit hit : searchResponse.getHits().getHits()) {
-                        XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                xContentRegistry,
-                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                        );
-                        if(xcp.currentToken() == null)
-                            xcp.nextToken();
-                        ThreatIntelAlert alert = ThreatIntelAlert.parse(xcp, hit.getVersion());
-                        alerts.add(alert);
-                    }
+                    batches.forEach(alerts::addAll);
                     listener.onResponse(alerts);
                 },
                 e -> {
@@ -229,7 +246,32 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                     );
                     listener.onFailure(e);
                 }
-        ));
+        ), (alertIds.size() + MAX_ALERT_IDS_PER_SEARCH - 1) / MAX_ALERT_IDS_PER_SEARCH);
+        for (int start = 0; start < alertIds.size(); start += MAX_ALERT_IDS_PER_SEARCH) {
+            List<String> batch = alertIds.subList(start, Math.min(start + MAX_ALERT_IDS_PER_SEARCH, alertIds.size()));
+            SearchSourceBuilder ssb = ThreatIntelMonitorUtils.getSearchSourceBuilderForExistingAlertsQuery(batch);
+            threatIntelAlertService.search(ssb, ActionListener.wrap(
+                    searchResponse -> {
+                        List<ThreatIntelAlert> alerts = new ArrayList<>();
+                        if (searchResponse.getHits() == null || searchResponse.getHits().getHits() == null) {
+                            batchListener.onResponse(alerts);
+                            return;
+                        }
+                        for (SearchHit hit : searchResponse.getHits().getHits()) {
+                            XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                    xContentRegistry,
+                                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                            );
+                            if(xcp.currentToken() == null)
+                                xcp.nextToken();
+                            ThreatIntelAlert alert = ThreatIntelAlert.parse(xcp, hit.getVersion());
+                            alerts.add(alert);
+                        }
+                        batchListener.onResponse(alerts);
+                    },
+                    batchListener::onFailure
+            ));
+        }
     }
 
     private GroupedActionListener<List<ThreatIntelAlert>> getGroupedListenerForAllTriggersResponse(Monitor monitor, BiConsumer<List<ThreatIntelAlert>, Exception> triggerResultConsumer) {
@@ -254,40 +296,44 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
             Monitor monitor,
             BiConsumer<List<STIX2IOC>, Exception> callback,
             Map<String, List<String>> iocTypeToIndices) {
-        iocsPerType.forEach((s, strings) -> log.info("Threat intel monitor fanout : {} iocs to scan for ioc type {}", strings.size(), s));
+        iocsPerType.forEach((s, strings) -> log.debug("Threat intel monitor fanout : {} iocs to scan for ioc type {}", strings.size(), s));
         long startTime = System.currentTimeMillis();
         int numIocs = iocsPerType.values().stream().mapToInt(Set::size).sum();
-        GroupedActionListener<SearchHitsOrException> groupedListenerForAllIocTypes = getGroupedListenerForIocScanFromAllIocTypes(iocsPerType, monitor, callback, startTime, numIocs);
+        SecurityAnalyticsSlowLog.Trace slowLogTrace = slowLog.start("ioc_scan", monitor.getId());
+        slowLogTrace.stage("ioc_match");
+        List<STIX2IOC> locallyMatchedIocs = Collections.synchronizedList(new ArrayList<>());
+        GroupedActionListener<SearchHitsOrException> groupedListenerForAllIocTypes = getGroupedListenerForIocScanFromAllIocTypes(iocsPerType, monitor, callback, startTime, numIocs, locallyMatchedIocs, slowLogTrace);
         for (String iocType : iocsPerType.keySet()) {
             List<String> indices = iocTypeToIndices.get(iocType);
-            iocsPerType.forEach((s, strings) -> log.info("Threat intel monitor fanout : {} iocs to scan for ioc type {}", strings.size(), s));
             Set<String> iocs = iocsPerType.get(iocType);
             if (iocTypeToIndices.containsKey(iocType)) {
                 if (indices.isEmpty()) {
-                    log.info(
+                    log.debug(
                             "Threat intel monitor fanout {} : No ioc indices of type {} found so no scan performed.",
                             monitor.getId(),
                             iocType
                     );
                     groupedListenerForAllIocTypes.onResponse(new SearchHitsOrException(emptyList(), null));
                 } else if (iocs.isEmpty()) {
-                    log.info(
+                    log.debug(
                             "Threat intel monitor fanout {} : No iocs of type {} found in user data so no scan performed.",
                             monitor.getId(),
                             iocType
                     );
                     groupedListenerForAllIocTypes.onResponse(new SearchHitsOrException(emptyList(), null));
+                } else if (matchAgainstIocSnapshots(indices, iocs, monitor, iocType, locallyMatchedIocs)) {
+                    groupedListenerForAllIocTypes.onResponse(new SearchHitsOrException(emptyList(), null));
                 } else {
-                    performScanForMaliciousIocsPerIocType(indices, iocs, monitor, iocType, groupedListenerForAllIocTypes);
+                    performScanForMaliciousIocsPerIocType(indices, iocs, monitor, iocType, groupedListenerForAllIocTypes, slowLogTrace);
                 }
             } else {
-                iocsPerType.forEach((s, strings) -> log.info("Threat intel monitor fanout : No ioc indices found for type {}. Not performing search.", iocType));
+                iocsPerType.forEach((s, strings) -> log.debug("Threat intel monitor fanout : No ioc indices found for type {}. Not performing search.", iocType));
                 groupedListenerForAllIocTypes.onResponse(new SearchHitsOrException(emptyList(), null));
             }
         }
     }
 
-    private GroupedActionListener<SearchHitsOrException> getGroupedListenerForIocScanFromAllIocTypes(Map<String, Set<String>> iocsPerType, Monitor monitor, BiConsumer<List<STIX2IOC>, Exception> callback, long startTime, int numIocs) {
+    private GroupedActionListener<SearchHitsOrException> getGroupedListenerForIocScanFromAllIocTypes(Map<String, Set<String>> iocsPerType, Monitor monitor, BiConsumer<List<STIX2IOC>, Exception> callback, long startTime, int numIocs, List<STIX2IOC> locallyMatchedIocs, SecurityAnalyticsSlowLog.Trace slowLogTrace) {
         return new GroupedActionListener<>(
                 ActionListener.wrap(
                         lists -> {
@@ -295,12 +341,13 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                             long timetaken = endTime - startTime;
                             log.debug("IOC_SCAN: Threat intel monitor {} completed Ioc match phase in {} millis for {} iocs",
                                     monitor.getId(), timetaken, numIocs);
+                            slowLogTrace.stage("parse_iocs");
                             List<SearchHit> hits = new ArrayList<>();
                             lists.forEach(hitsOrException ->
                                     hits.addAll(hitsOrException.getHits() == null ?
                                             emptyList() :
                                             hitsOrException.getHits()));
-                            List<STIX2IOC> iocs = new ArrayList<>();
+                            List<STIX2IOC> iocs = new ArrayList<>(locallyMatchedIocs);
                             hits.forEach(hit -> {
                                 try {
                                     XContentParser xcp = XContentType.JSON.xContent().createParser(
@@ -318,10 +365,13 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                                     );
                                 }
                             });
-                            callback.accept(iocs, null);
+                            List<STIX2IOC> maliciousIocs = expandIpRangeIocs(iocs, iocsPerType);
+                            slowLogTrace.finish();
+                            callback.accept(maliciousIocs, null);
                         },
                         e -> {
                             log.error("Threat intel monitor {} :Unexpected error while scanning data for malicious Iocs", e);
+                            slowLogTrace.finish();
                             callback.accept(emptyList(), e);
                         }
                 ),
@@ -329,25 +379,102 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
         );
     }
 
+    /**
+     * Replaces matched iocs holding a CIDR block with one ioc per scanned address in the block, so that findings are
+     * created for the addresses found in the scanned data. Iocs of blocks containing no scanned address are dropped.
+     * A block found by the searches of several address batches is expanded once.
+     */
+    private static List<STIX2IOC> expandIpRangeIocs(List<STIX2IOC> iocs, Map<String, Set<String>> iocsPerType) {
+        Map<String, IpAddressSet> addressesPerType = new HashMap<>();
+        Set<String> expandedBlocks = new HashSet<>();
+        List<STIX2IOC> expandedIocs = new ArrayList<>(iocs.size());
+        for (STIX2IOC ioc : iocs) {
+            IpRange ipRange = IpRange.isIpType(ioc.getType()) ? IpRange.parse(ioc.getValue()) : null;
+            if (ipRange == null || false == ipRange.isCidr()) {
+                expandedIocs.add(ioc);
+                continue;
+            }
+            if (false == expandedBlocks.add(ioc.getFeedId() + ":" + ioc.getId() + ":" + ioc.getValue())) {
+                continue;
+            }
+            IpAddressSet addresses = addressesPerType.computeIfAbsent(ioc.getType(),
+                    type -> new IpAddressSet(iocsPerType.getOrDefault(type, Collections.emptySet())));
+            for (String address : addresses.containedIn(ipRange)) {
+                expandedIocs.add(new STIX2IOC(ioc.getId(), ioc.getName(), ioc.getType(), address, ioc.getSeverity(),
+                        ioc.getCreated(), ioc.getModified(), ioc.getDescription(), ioc.getLabels(), ioc.getSpecVersion(),
+                        ioc.getFeedId(), ioc.getFeedName(), ioc.getVersion()));
+            }
+        }
+        return expandedIocs;
+    }
+
+    /**
+     * Matches the iocs of one ioc type against the {@link IocSnapshot}s of the given ioc indices without searching them.
+     * Returns false without matching anything when local matching is disabled or a snapshot is not built yet, the
+     * caller falls back to searching the indices then.
+     */
+    private boolean matchAgainstIocSnapshots(
+            List<String> indices,
+            Set<String> iocs,
+            Monitor monitor,
+            String iocType,
+            List<STIX2IOC> matches) {
+        if (iocSnapshotService == null || false == iocSnapshotService.isEnabled()) {
+            return false;
+        }
+        List<IocSnapshot> snapshots = new ArrayList<>(indices.size());
+        for (String index : indices) {
+            // ask for every index so that all missing snapshots start building
+            IocSnapshot snapshot = iocSnapshotService.getSnapshot(index);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        if (snapshots.size() < indices.size()) {
+            log.debug("Threat intel monitor {} : ioc snapshots of type {} not available yet, searching ioc indices", monitor.getId(), iocType);
+            return false;
+        }
+        int numMatches = 0;
+        for (String ioc : iocs) {
+            for (IocSnapshot snapshot : snapshots) {
+                List<STIX2IOC> iocMatches = snapshot.lookup(iocType, ioc);
+                matches.addAll(iocMatches);
+                numMatches += iocMatches.size();
+            }
+        }
+        log.debug("Threat intel monitor {} : matched {} of {} iocs of type {} against ioc snapshots",
+                monitor.getId(), numMatches, iocs.size(), iocType);
+        return true;
+    }
+
     private void performScanForMaliciousIocsPerIocType(
             List<String> indices,
             Set<String> iocs,
             Monitor monitor,
             String iocType,
-            GroupedActionListener<SearchHitsOrException> listener) {
+            GroupedActionListener<SearchHitsOrException> listener,
+            SecurityAnalyticsSlowLog.Trace slowLogTrace) {
         // TODO change ioc indices max terms count to 100k and experiment
         // TODO add fuzzy postings on ioc value field to enable bloomfilter on iocs as an index data structure and benchmark performance
         int maxTerms = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_SCAN_MAX_TERMS_COUNT);
-        GroupedActionListener<SearchHitsOrException> perIocTypeListener = getGroupedListenerForIocScanPerIocType(iocs, monitor, iocType, listener, maxTerms);
+        // the ip range field only takes ip addresses, other values of the ioc type are matched by value only
+        List<String> ipAddresses = IpRange.isIpType(iocType) ?
+                iocs.stream().filter(InetAddresses::isInetAddress).collect(Collectors.toList()) : emptyList();
+        GroupedActionListener<SearchHitsOrException> perIocTypeListener = getGroupedListenerForIocScanPerIocType(monitor, iocType, listener,
+                getGroupSizeForIocs(iocs.size(), maxTerms) + getGroupSizeForIocs(ipAddresses.size(), maxTerms));
         List<String> iocList = new ArrayList<>(iocs);
         int totalIocs = iocList.size();
-        log.info("Threat intel monitor fanout : performScanForMaliciousIocsPerIocType for {} iocs of type {}", totalIocs, iocType);
+        log.debug("Threat intel monitor fanout : performScanForMaliciousIocsPerIocType for {} iocs of type {}", totalIocs, iocType);
         for (int start = 0; start < totalIocs; start += maxTerms) {
             int end = Math.min(start + maxTerms, totalIocs);
             List<String> iocsSublist = iocList.subList(start, end);
             SearchRequest searchRequest = getSearchRequestForIocType(indices, iocType, iocsSublist);
+            long chunkStartNanos = System.nanoTime();
             client.search(searchRequest, ActionListener.wrap(
                     searchResponse -> {
+                        stats.record(SecurityAnalyticsStats.Stage.IOC_SCAN, chunkStartNanos, iocsSublist.size(),
+                                searchResponse.isTimedOut() || searchResponse.getFailedShards() > 0);
+                        slowLogTrace.searched(searchResponse);
                         if (searchResponse.isTimedOut()) {
                             log.error("Threat intel monitor {} scan with {} user data indicators TIMED OUT for ioc Type {}",
                                     monitor.getId(),
@@ -366,13 +493,15 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                             }
                         }
 
-                        log.info("Threat intel monitor fanout : performScanForMaliciousIocsPerIocType for {} iocs of type {}.SearchResponse {}", totalIocs, iocType, searchResponse);
+                        log.debug("Threat intel monitor fanout : performScanForMaliciousIocsPerIocType for {} iocs of type {} took {} millis",
+                                totalIocs, iocType, searchResponse.getTook().millis());
                         perIocTypeListener.onResponse(new SearchHitsOrException(
                                 searchResponse.getHits() == null || searchResponse.getHits().getHits() == null ?
                                         emptyList() : Arrays.asList(searchResponse.getHits().getHits()), null));
 
                     },
                     e -> {
+                        stats.record(SecurityAnalyticsStats.Stage.IOC_SCAN, chunkStartNanos, iocsSublist.size(), true);
                         log.error(() -> new ParameterizedMessage("Threat intel monitor {} scan with {} user data indicators failed for ioc Type {}",
                                 monitor.getId(),
                                 iocsSublist.size(),
@@ -382,6 +511,52 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                     }
             ));
         }
+        for (int start = 0; start < ipAddresses.size(); start += maxTerms) {
+            List<String> addressesSublist = ipAddresses.subList(start, Math.min(start + maxTerms, ipAddresses.size()));
+            // CIDR block iocs are matched against the scanned addresses when collecting the hits of all ioc types
+            searchIpRangeIocs(indices, iocType, addressesSublist, slowLogTrace, ActionListener.wrap(
+                    hits -> perIocTypeListener.onResponse(new SearchHitsOrException(hits, null)),
+                    e -> {
+                        log.error(() -> new ParameterizedMessage("Threat intel monitor {} CIDR block ioc search with {} user data indicators failed for ioc Type {}",
+                                monitor.getId(),
+                                addressesSublist.size(),
+                                iocType), e
+                        );
+                        perIocTypeListener.onResponse(new SearchHitsOrException(emptyList(), e));
+                    }
+            ));
+        }
+    }
+
+    /**
+     * Fetches the CIDR block iocs containing any of the addresses. When more blocks match than one search returns, the
+     * addresses are split in halves searched separately, so no matching block is dropped.
+     */
+    void searchIpRangeIocs(List<String> indices, String iocType, List<String> addresses, SecurityAnalyticsSlowLog.Trace slowLogTrace,
+                           ActionListener<List<SearchHit>> listener) {
+        client.search(getIpRangeSearchRequestForIocType(indices, iocType, addresses), ActionListener.wrap(
+                searchResponse -> {
+                    slowLogTrace.searched(searchResponse);
+                    SearchHit[] hits = searchResponse.getHits().getHits() == null ? new SearchHit[0] : searchResponse.getHits().getHits();
+                    TotalHits totalHits = searchResponse.getHits().getTotalHits();
+                    boolean truncated = totalHits != null && (totalHits.value() > hits.length
+                            || totalHits.relation() == TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+                    if (false == truncated || addresses.size() == 1) {
+                        listener.onResponse(Arrays.asList(hits));
+                        return;
+                    }
+                    int half = addresses.size() / 2;
+                    GroupedActionListener<List<SearchHit>> halvesListener = new GroupedActionListener<>(ActionListener.wrap(
+                            halves -> {
+                                List<SearchHit> allHits = new ArrayList<>();
+                                halves.forEach(allHits::addAll);
+                                listener.onResponse(allHits);
+                            }, listener::onFailure
+                    ), 2);
+                    searchIpRangeIocs(indices, iocType, addresses.subList(0, half), slowLogTrace, halvesListener);
+                    searchIpRangeIocs(indices, iocType, addresses.subList(half, addresses.size()), slowLogTrace, halvesListener);
+                }, listener::onFailure
+        ));
     }
 
     private static SearchRequest getSearchRequestForIocType(List<String> indices, String iocType, List<String> iocsSublist) {
@@ -392,15 +567,26 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
         // add ioc type filter
         boolQueryBuilder.must(new TermsQueryBuilder(STIX2.TYPE_FIELD, iocType));
         searchRequest.source().query(boolQueryBuilder);
-        log.info("Threat intel monitor fanout : searchRequest for ioc type {} is {}", iocType, searchRequest);
+        log.trace("Threat intel monitor fanout : searchRequest for ioc type {} is {}", iocType, searchRequest);
+        return searchRequest;
+    }
+
+    private static SearchRequest getIpRangeSearchRequestForIocType(List<String> indices, String iocType, List<String> addresses) {
+        SearchRequest searchRequest = new SearchRequest(indices.toArray(new String[0]));
+        BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
+        // only iocs holding a CIDR block have the ip range field, a term on it matches the ranges containing the address
+        boolQueryBuilder.must(new TermsQueryBuilder(STIX2IOC.IP_RANGE_FIELD, addresses));
+        boolQueryBuilder.must(new TermsQueryBuilder(STIX2.TYPE_FIELD, iocType));
+        searchRequest.source().query(boolQueryBuilder).size(MAX_IP_RANGE_IOCS_PER_SEARCH);
         return searchRequest;
     }
 
     /**
      * grouped listener for a given ioc type to listen and collate malicious iocs in search hits from batched search calls.
-     * batching done for every 65536 or MAX_TERMS setting number of iocs in a list.
+     * batching done for every 65536 or MAX_TERMS setting number of iocs in a list, and as many searches for the CIDR
+     * block iocs containing the ip addresses of ip ioc types.
      */
-    private GroupedActionListener<SearchHitsOrException> getGroupedListenerForIocScanPerIocType(Set<String> iocs, Monitor monitor, String iocType, GroupedActionListener<SearchHitsOrException> groupedListenerForAllIocTypes, int maxTerms) {
+    private GroupedActionListener<SearchHitsOrException> getGroupedListenerForIocScanPerIocType(Monitor monitor, String iocType, GroupedActionListener<SearchHitsOrException> groupedListenerForAllIocTypes, int groupSize) {
         return new GroupedActionListener<>(
                 ActionListener.wrap(
                         (Collection<SearchHitsOrException> searchHitsOrExceptions) -> {
@@ -432,7 +618,7 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
                             groupedListenerForAllIocTypes.onResponse(new SearchHitsOrException(emptyList(), e));
                         }
                 ),
-                getGroupSizeForIocs(iocs, maxTerms)
+                groupSize
         );
     }
 
@@ -448,8 +634,8 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
         return e;
     }
 
-    private static int getGroupSizeForIocs(Set<String> iocs, int maxTerms) {
-        return iocs.size() / maxTerms + (iocs.size() % maxTerms == 0 ? 0 : 1);
+    private static int getGroupSizeForIocs(int iocCount, int maxTerms) {
+        return iocCount / maxTerms + (iocCount % maxTerms == 0 ? 0 : 1);
     }
 
     @Override
@@ -492,14 +678,25 @@ public class SaIoCScanService extends IoCScanService<SearchHit> {
         ));
     }
 
+    /**
+     * Saves the alerts of a trigger. New alerts taking the id of a COMPLETED alert overwrite it, the completed alert is
+     * kept under the new id it was moved to.
+     */
     @Override
-    void saveAlerts(List<ThreatIntelAlert> updatedAlerts, List<ThreatIntelAlert> newAlerts, Monitor monitor, BiConsumer<List<ThreatIntelAlert>, Exception> callback) {
+    void saveAlerts(List<ThreatIntelAlert> updatedAlerts, List<ThreatIntelAlert> newAlerts, List<ThreatIntelAlert> movedAlerts, Monitor monitor, BiConsumer<List<ThreatIntelAlert>, Exception> callback) {
         if ((newAlerts == null || newAlerts.isEmpty()) && (updatedAlerts == null || updatedAlerts.isEmpty())) {
             callback.accept(emptyList(), null);
             return;
         }
         log.debug("Threat intel monitor {}: Indexing {} new threat intel alerts and updating {} existing alerts", monitor.getId(), newAlerts.size(), updatedAlerts.size());
-        threatIntelAlertService.bulkIndexEntities(newAlerts, updatedAlerts, ActionListener.wrap(
+        Set<String> replacedAlertIds = new HashSet<>();
+        movedAlerts.forEach(alert -> replacedAlertIds.add(ThreatIntelMonitorUtils.getAlertId(alert.getMonitorId(), alert.getTriggerId(), alert.getIocType(), alert.getIocValue())));
+        List<ThreatIntelAlert> alertsToCreate = new ArrayList<>(movedAlerts);
+        List<ThreatIntelAlert> alertsToIndex = new ArrayList<>(updatedAlerts);
+        for (ThreatIntelAlert newAlert : newAlerts) {
+            (replacedAlertIds.contains(newAlert.getId()) ? alertsToIndex : alertsToCreate).add(newAlert);
+        }
+        threatIntelAlertService.bulkIndexEntities(alertsToCreate, alertsToIndex, ActionListener.wrap(
                 v -> {
                     ArrayList<ThreatIntelAlert> threatIntelAlerts = new ArrayList<>(newAlerts);
                     threatIntelAlerts.addAll(updatedAlerts);
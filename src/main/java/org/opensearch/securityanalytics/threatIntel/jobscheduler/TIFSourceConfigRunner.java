@@ -11,10 +11,12 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.extensions.AcknowledgedResponse;
 import org.opensearch.jobscheduler.spi.JobExecutionContext;
+import org.opensearch.jobscheduler.spi.LockModel;
 import org.opensearch.jobscheduler.spi.ScheduledJobParameter;
 import org.opensearch.jobscheduler.spi.ScheduledJobRunner;
 import org.opensearch.jobscheduler.spi.utils.LockService;
 import org.opensearch.securityanalytics.threatIntel.common.TIFLockService;
+import org.opensearch.securityanalytics.threatIntel.common.TIFRefreshScheduler;
 import org.opensearch.securityanalytics.threatIntel.service.SATIFSourceConfigService;
 import org.opensearch.securityanalytics.threatIntel.model.SATIFSourceConfig;
 import org.opensearch.securityanalytics.threatIntel.service.SATIFSourceConfigManagementService;
@@ -47,6 +49,7 @@ public class TIFSourceConfigRunner implements ScheduledJobRunner {
     private ThreadPool threadPool;
     private SATIFSourceConfigManagementService saTifSourceConfigManagementService;
     private SATIFSourceConfigService saTifSourceConfigService;
+    private TIFRefreshScheduler refreshScheduler;
 
     private TIFSourceConfigRunner() {
         // Singleton class, use getJobRunner method instead of constructor
@@ -57,7 +60,8 @@ public class TIFSourceConfigRunner implements ScheduledJobRunner {
             final TIFLockService threatIntelLockService,
             final ThreadPool threadPool,
             final SATIFSourceConfigManagementService saTifSourceConfigManagementService,
-            final SATIFSourceConfigService saTifSourceConfigService
+            final SATIFSourceConfigService saTifSourceConfigService,
+            final TIFRefreshScheduler refreshScheduler
     ) {
         this.clusterService = clusterService;
         this.lockService = threatIntelLockService;
@@ -65,6 +69,7 @@ public class TIFSourceConfigRunner implements ScheduledJobRunner {
         this.initialized = true;
         this.saTifSourceConfigManagementService = saTifSourceConfigManagementService;
         this.saTifSourceConfigService = saTifSourceConfigService;
+        this.refreshScheduler = refreshScheduler;
     }
 
     @Override
@@ -105,28 +110,18 @@ public class TIFSourceConfigRunner implements ScheduledJobRunner {
                 saTifSourceConfig.getId(),
                 TIFLockService.LOCK_DURATION_IN_SECONDS,
                 ActionListener.wrap(lock -> {
-                    updateSourceConfigAndIOCs(saTifSourceConfig, lockService.getRenewLockRunnable(new AtomicReference<>(lock)),
+                    // the refresh may wait for a slot of the ingest budget, the refresh scheduler renews its lock meanwhile
+                    AtomicReference<LockModel> lockReference = new AtomicReference<>(lock);
+                    refreshScheduler.submitRefresh(
+                            saTifSourceConfig.getId(),
+                            lockReference,
+                            refreshListener -> updateSourceConfigAndIOCs(saTifSourceConfig,
+                                    ActionListener.wrap(r -> refreshListener.onResponse(null), refreshListener::onFailure)),
                             ActionListener.wrap(
-                                    r -> {
-                                        lockService.releaseLock(lock, ActionListener.wrap(
-                                                response -> {
-                                                    log.debug("Released threat intel source config lock with id [{}]", lock.getLockId());
-                                                },
-                                                ex -> {
-                                                    log.error(String.format("Unexpected failure while trying to release lock [%s] for tif source config [%s].", lock.getLockId(), saTifSourceConfig.getId()), ex);
-                                                }
-                                        ));
-                                    },
+                                    r -> releaseLock(lockReference.get(), saTifSourceConfig),
                                     e -> {
                                         log.error("Failed to update threat intel source config " + saTifSourceConfig.getName(), e);
-                                        lockService.releaseLock(lock, ActionListener.wrap(
-                                                response -> {
-                                                    log.debug("Released threat intel source config lock with id [{}]", lock.getLockId());
-                                                },
-                                                ex -> {
-                                                    log.error(String.format("Unexpected failure while trying to release lock [%s] for tif source config [%s].", lock.getLockId(), saTifSourceConfig.getId()), ex);
-                                                }
-                                        ));
+                                        releaseLock(lockReference.get(), saTifSourceConfig);
                                     }
                             ));
                 }, e -> {
@@ -135,7 +130,22 @@ public class TIFSourceConfigRunner implements ScheduledJobRunner {
         );
     }
 
-    protected void updateSourceConfigAndIOCs(final SATIFSourceConfig SaTifSourceConfig, final Runnable renewLock, ActionListener<AcknowledgedResponse> listener) {
+    private void releaseLock(final LockModel lock, final SATIFSourceConfig saTifSourceConfig) {
+        if (lock == null) {
+            log.warn("No lock to release for tif source config [{}]", saTifSourceConfig.getId());
+            return;
+        }
+        lockService.releaseLock(lock, ActionListener.wrap(
+                response -> {
+                    log.debug("Released threat intel source config lock with id [{}]", lock.getLockId());
+                },
+                ex -> {
+                    log.error(String.format("Unexpected failure while trying to release lock [%s] for tif source config [%s].", lock.getLockId(), saTifSourceConfig.getId()), ex);
+                }
+        ));
+    }
+
+    protected void updateSourceConfigAndIOCs(final SATIFSourceConfig SaTifSourceConfig, ActionListener<AcknowledgedResponse> listener) {
         saTifSourceConfigManagementService.refreshTIFSourceConfig(SaTifSourceConfig.getId(), null, ActionListener.wrap(
                 r -> {
                     log.info("Successfully updated source config and IOCs for threat intel source config [{}]", SaTifSourceConfig.getId());
@@ -0,0 +1,225 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.admin.indices.stats.IndexStats;
+import org.opensearch.action.admin.indices.stats.IndicesStatsRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.reindex.ReindexAction;
+import org.opensearch.index.reindex.ReindexRequest;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.transport.client.Client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tiers the ioc indices of a threat intel source config once a refresh supersedes them. Only the active indices are hot
+ * and scanned by default. Superseded indices are write blocked and force merged to a single segment, and are scanned
+ * only when historical iocs are enabled. Superseded indices smaller than {@link SecurityAnalyticsSettings#IOC_TIER_MERGE_MAX_DOCS}
+ * are merged into the oldest of them, so the number of historical indices of a feed refreshed often stays flat. The
+ * merged index keeps the creation date of its oldest generation, so it ages out of the ioc index retention period with it.
+ * Tiering completes before a refresh does, so a scheduled refresh tiers under the lock of its source config. Source
+ * config deletions do not take that lock, so each step tolerates indices deleted meanwhile.
+ */
+public class IocIndexTieringService {
+    private static final Logger log = LogManager.getLogger(IocIndexTieringService.class);
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    public IocIndexTieringService(Client client, ClusterService clusterService) {
+        this.client = client;
+        this.clusterService = clusterService;
+    }
+
+    /**
+     * Merges the small superseded indices and tiers the superseded indices not tiered yet. The listener is notified
+     * once every index is tiered, so that a refresh holding the source config lock only releases it after tiering.
+     */
+    public void tierSupersededIndices(String sourceConfigId, ClusterState clusterState, Set<String> supersededIndices,
+                                      ActionListener<Void> listener) {
+        if (supersededIndices.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+        long mergeMaxDocs = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_TIER_MERGE_MAX_DOCS);
+        if (mergeMaxDocs == 0) {
+            blockAndForceMerge(sourceConfigId, getUntieredIndices(clusterState, supersededIndices), listener);
+            return;
+        }
+
+        IndicesStatsRequest statsRequest = new IndicesStatsRequest().indices(supersededIndices.toArray(new String[0])).clear().docs(true);
+        statsRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        client.admin().indices().stats(statsRequest, ActionListener.wrap(statsResponse -> {
+            Map<String, Long> creationDates = new HashMap<>();
+            Map<String, Long> docCounts = new HashMap<>();
+            for (String index : supersededIndices) {
+                IndexMetadata indexMetadata = clusterState.metadata().index(index);
+                IndexStats indexStats = statsResponse.getIndex(index);
+                if (indexMetadata != null && indexStats != null && indexStats.getPrimaries().getDocs() != null) {
+                    creationDates.put(index, indexMetadata.getCreationDate());
+                    docCounts.put(index, indexStats.getPrimaries().getDocs().getCount());
+                }
+            }
+
+            List<String> generations = selectGenerationsToMerge(creationDates, docCounts, mergeMaxDocs);
+            if (generations.size() < 2) {
+                blockAndForceMerge(sourceConfigId, getUntieredIndices(clusterState, supersededIndices), listener);
+                return;
+            }
+            String target = generations.get(0);
+            List<String> sources = generations.subList(1, generations.size());
+            mergeGenerations(sourceConfigId, sources, target, ActionListener.wrap(r -> {
+                Set<String> remainingIndices = new HashSet<>(supersededIndices);
+                sources.forEach(remainingIndices::remove);
+                remainingIndices.remove(target);
+                List<String> indicesToTier = getUntieredIndices(clusterState, remainingIndices);
+                indicesToTier.add(target);
+                blockAndForceMerge(sourceConfigId, indicesToTier, listener);
+            }, e -> {
+                log.error("Failed to merge ioc indices {} of threat intel source config [{}]", generations, sourceConfigId, e);
+                blockAndForceMerge(sourceConfigId, getUntieredIndices(clusterState, supersededIndices), listener);
+            }));
+        }, listener::onFailure));
+    }
+
+    /**
+     * Picks the superseded indices below the max docs, oldest first, while their docs together stay below the max
+     * docs, so a merged index is never merged again once it is large.
+     *
+     * @return the indices to merge, oldest first, the first one being the merge target
+     */
+    static List<String> selectGenerationsToMerge(Map<String, Long> creationDates, Map<String, Long> docCounts, long mergeMaxDocs) {
+        List<String> smallIndices = new ArrayList<>();
+        for (Map.Entry<String, Long> docCount : docCounts.entrySet()) {
+            if (docCount.getValue() < mergeMaxDocs && creationDates.containsKey(docCount.getKey())) {
+                smallIndices.add(docCount.getKey());
+            }
+        }
+        smallIndices.sort(Comparator.comparing((String index) -> creationDates.get(index)).thenComparing(index -> index));
+
+        List<String> generations = new ArrayList<>();
+        long mergedDocs = 0;
+        for (String index : smallIndices) {
+            if (mergedDocs + docCounts.get(index) > mergeMaxDocs) {
+                break;
+            }
+            mergedDocs += docCounts.get(index);
+            generations.add(index);
+        }
+        return generations;
+    }
+
+    private void mergeGenerations(String sourceConfigId, List<String> sources, String target, ActionListener<Void> listener) {
+        // the target may be tiered already, it takes writes again until it is tiered after the merge. Unblocking fails
+        // when the target was deleted meanwhile, so the reindex never creates it again.
+        UpdateSettingsRequest unblockRequest = new UpdateSettingsRequest(target)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_BLOCKS_WRITE, false));
+        client.admin().indices().updateSettings(unblockRequest, ActionListener.wrap(unblockResponse -> {
+            reindexGenerations(sources, 0, target, ActionListener.wrap(r -> {
+                DeleteIndexRequest deleteRequest = new DeleteIndexRequest(sources.toArray(new String[0]))
+                        .indicesOptions(IndicesOptions.lenientExpandOpen());
+                client.admin().indices().delete(deleteRequest, ActionListener.wrap(deleteResponse -> {
+                    log.info("Merged ioc indices {} into {} for threat intel source config [{}]", sources, target, sourceConfigId);
+                    listener.onResponse(null);
+                }, listener::onFailure));
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    /**
+     * Reindexes the source generations into the target one at a time, oldest first, so the iocs of the newest
+     * generation overwrite those of the older ones.
+     */
+    private void reindexGenerations(List<String> sources, int next, String target, ActionListener<Void> listener) {
+        if (next == sources.size()) {
+            listener.onResponse(null);
+            return;
+        }
+        String source = sources.get(next);
+        ReindexRequest reindexRequest = new ReindexRequest()
+                .setSourceIndices(source)
+                .setDestIndex(target)
+                .setDestOpType("index")
+                .setRefresh(true);
+        client.execute(ReindexAction.INSTANCE, reindexRequest, ActionListener.wrap(reindexResponse -> {
+            if (reindexResponse.getBulkFailures().isEmpty() == false || reindexResponse.getSearchFailures().isEmpty() == false) {
+                listener.onFailure(new IllegalStateException("Failed to reindex ioc index " + source + " into " + target));
+                return;
+            }
+            reindexGenerations(sources, next + 1, target, listener);
+        }, listener::onFailure));
+    }
+
+    private static List<String> getUntieredIndices(ClusterState clusterState, Collection<String> indices) {
+        List<String> untieredIndices = new ArrayList<>();
+        for (String index : indices) {
+            IndexMetadata indexMetadata = clusterState.metadata().index(index);
+            if (indexMetadata != null && isTiered(indexMetadata) == false) {
+                untieredIndices.add(index);
+            }
+        }
+        return untieredIndices;
+    }
+
+    /**
+     * Write blocks and force merges the indices, skipping those deleted meanwhile, such as by a concurrent deletion
+     * of the source config.
+     */
+    private void blockAndForceMerge(String sourceConfigId, List<String> indices, ActionListener<Void> listener) {
+        if (indices.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+        String[] indexNames = indices.toArray(new String[0]);
+        UpdateSettingsRequest blockRequest = new UpdateSettingsRequest(indexNames)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_BLOCKS_WRITE, true))
+                .indicesOptions(IndicesOptions.lenientExpandOpen());
+        client.admin().indices().updateSettings(blockRequest, ActionListener.wrap(blockResponse -> {
+            ForceMergeRequest forceMergeRequest = new ForceMergeRequest(indexNames).maxNumSegments(1);
+            forceMergeRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+            client.admin().indices().forceMerge(forceMergeRequest, ActionListener.wrap(forceMergeResponse -> {
+                log.debug("Tiered ioc indices {} of threat intel source config [{}]", indices, sourceConfigId);
+                listener.onResponse(null);
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    /**
+     * @return the tiered ioc indices matching the index pattern, those scanned as historical iocs
+     */
+    public static List<String> getHistoricalIndices(ClusterState clusterState, String indexPattern) {
+        List<String> historicalIndices = new ArrayList<>();
+        for (IndexMetadata indexMetadata : clusterState.metadata().indices().values()) {
+            if (Regex.simpleMatch(indexPattern, indexMetadata.getIndex().getName()) && isTiered(indexMetadata)) {
+                historicalIndices.add(indexMetadata.getIndex().getName());
+            }
+        }
+        return historicalIndices;
+    }
+
+    private static boolean isTiered(IndexMetadata indexMetadata) {
+        return IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.get(indexMetadata.getSettings());
+    }
+}
@@ -70,6 +70,7 @@ public class SATIFSourceConfigManagementService {
     private final STIX2IOCFetchService stix2IOCFetchService;
     private final NamedXContentRegistry xContentRegistry;
     private final ClusterService clusterService;
+    private final IocIndexTieringService iocIndexTieringService;
 
     /**
      * Default constructor
@@ -84,12 +85,14 @@ public class SATIFSourceConfigManagementService {
             final TIFLockService lockService,
             final STIX2IOCFetchService stix2IOCFetchService,
             final NamedXContentRegistry xContentRegistry,
-            final ClusterService clusterService
+            final ClusterService clusterService,
+            final IocIndexTieringService iocIndexTieringService
     ) {
         this.saTifSourceConfigService = saTifSourceConfigService;
         this.stix2IOCFetchService = stix2IOCFetchService;
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
+        this.iocIndexTieringService = iocIndexTieringService;
     }
 
     public void createOrUpdateTifSourceConfig(
@@ -558,7 +561,8 @@ public class SATIFSourceConfigManagementService {
     }
 
     /**
-     * Deletes the old ioc indices based on retention age and number of indices per index pattern
+     * Deletes the old ioc indices based on retention age and number of indices per index pattern, and tiers the
+     * remaining superseded ones
      *
      * @param saTifSourceConfig
      * @param listener
@@ -595,8 +599,19 @@ public class SATIFSourceConfigManagementService {
                     // delete the indices
                     saTifSourceConfigService.deleteAllIocIndices(iocIndicesToDelete, true, null);
 
-                    // return store config
-                    listener.onResponse(iocStoreConfig);
+                    // tier the indices superseded by the active ones
+                    Set<String> supersededIndices = new HashSet<>(concreteIndices);
+                    supersededIndices.removeAll(activeIndices);
+                    supersededIndices.removeAll(iocIndicesToDelete);
+                    iocIndexTieringService.tierSupersededIndices(saTifSourceConfig.getId(), clusterStateResponse.getState(), supersededIndices,
+                            ActionListener.wrap(
+                                    r -> listener.onResponse(iocStoreConfig),
+                                    e -> {
+                                        // superseded indices left untiered are tiered by the next refresh
+                                        log.error("Failed to tier the ioc indices of threat intel source config [{}]", saTifSourceConfig.getId(), e);
+                                        listener.onResponse(iocStoreConfig);
+                                    }
+                            ));
                 }, e -> {
                     log.error("Failed to get the cluster metadata");
                     listener.onFailure(e);
@@ -615,12 +630,19 @@ public class SATIFSourceConfigManagementService {
             ClusterState clusterState,
             Set<String> activeIndices
     ) {
-        List<String> indicesToDelete = new ArrayList<>();
         Long maxRetentionPeriod = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_INDEX_RETENTION_PERIOD).millis();
+        return getIocIndicesToDeleteByAge(clusterState, activeIndices, maxRetentionPeriod, Instant.now().toEpochMilli());
+    }
 
+    /**
+     * Indices created longer than the retention period ago, merged ioc indices keep the creation date of their oldest
+     * generation.
+     */
+    static List<String> getIocIndicesToDeleteByAge(ClusterState clusterState, Set<String> activeIndices, long maxRetentionPeriod, long now) {
+        List<String> indicesToDelete = new ArrayList<>();
         for (IndexMetadata indexMetadata : clusterState.metadata().indices().values()) {
             Long creationTime = indexMetadata.getCreationDate();
-            if ((Instant.now().toEpochMilli() - creationTime) > maxRetentionPeriod) {
+            if ((now - creationTime) > maxRetentionPeriod) {
                 String indexToDelete = indexMetadata.getIndex().getName();
                 // ensure index is not the current active index
                 if (activeIndices.contains(indexToDelete) == false) {
@@ -24,6 +24,7 @@ import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
@@ -46,6 +47,7 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.fetch.subphase.FetchSourceContext;
 import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.threatIntel.action.monitor.SearchThreatIntelMonitorAction;
 import org.opensearch.securityanalytics.threatIntel.action.monitor.request.SearchThreatIntelMonitorRequest;
 import org.opensearch.securityanalytics.threatIntel.common.TIFLockService;
@@ -565,7 +567,7 @@ public class SATIFSourceConfigService {
     }
 
     /**
-     * Returns a map of ioc type to a list of active indices
+     * Returns a map of ioc type to a list of active indices, and of historical indices when scanning historical iocs
      *
      * @param listener
      */
@@ -582,8 +584,10 @@ public class SATIFSourceConfigService {
         queryBuilder.must(stateQueryBuilder);
 
         searchRequest.source().query(queryBuilder);
+        boolean scanHistoricalIocs = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.IOC_SCAN_HISTORICAL_ENABLED);
         client.search(searchRequest, ActionListener.wrap(
                 searchResponse -> {
+                    ClusterState clusterState = scanHistoricalIocs ? clusterService.state() : null;
                     Map<String, List<String>> cumulativeIocTypeToIndices = new HashMap<>();
                     for (SearchHit hit : searchResponse.getHits().getHits()) {
                         XContentParser xcp = XContentType.JSON.xContent().createParser(
@@ -598,6 +602,11 @@ public class SATIFSourceConfigService {
                                 String iocType = iocToindexDetails.getIocType();
                                 List<String> strings = cumulativeIocTypeToIndices.computeIfAbsent(iocType.toString(), k -> new ArrayList<>());
                                 strings.add(activeIndex);
+                                if (scanHistoricalIocs) {
+                                    IocIndexTieringService.getHistoricalIndices(clusterState, iocToindexDetails.getIndexPattern()).stream()
+                                            .filter(index -> index.equals(activeIndex) == false)
+                                            .forEach(strings::add);
+                                }
                             }
                         }
                     }
@@ -38,6 +38,7 @@ import org.opensearch.securityanalytics.threatIntel.action.PutTIFJobRequest;
 import org.opensearch.securityanalytics.threatIntel.action.ThreatIntelIndicesResponse;
 import org.opensearch.securityanalytics.threatIntel.common.StashedThreadContext;
 import org.opensearch.securityanalytics.threatIntel.model.TIFMetadata;
+import org.opensearch.securityanalytics.threatIntel.util.IpRange;
 import org.opensearch.securityanalytics.threatIntel.util.ThreatIntelFeedDataUtils;
 import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
@@ -237,6 +238,15 @@ public class ThreatIntelFeedDataService {
         return matcher.matches();
     }
 
+    /**
+     * Returns whether the value is a CIDR block such as {@code 10.0.0.0/8}.
+     */
+    public static boolean isValidCidr(String cidr) {
+        if (StringUtils.isBlank(cidr))
+            return false;
+        return IpRange.isCidr(cidr);
+    }
+
     public void saveTifds(BulkRequest bulkRequest, TimeValue timeout, ActionListener<BulkResponse> listener) {
         try {
             StashedThreadContext.run(client, () -> client.bulk(bulkRequest, listener));
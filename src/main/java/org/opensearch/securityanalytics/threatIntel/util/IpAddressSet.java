@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ip addresses sorted by their encoding, so that the addresses an {@link IpRange} contains are found with a binary
+ * search instead of testing every address against every range. Values that are not ip addresses are ignored.
+ */
+public class IpAddressSet {
+
+    private final byte[][] addresses;
+
+    private final String[] values;
+
+    public IpAddressSet(Collection<String> values) {
+        List<byte[]> encoded = new ArrayList<>(values.size());
+        List<String> addressValues = new ArrayList<>(values.size());
+        for (String value : values) {
+            byte[] address = IpRange.encode(value);
+            if (address != null) {
+                encoded.add(address);
+                addressValues.add(value);
+            }
+        }
+        Integer[] order = new Integer[encoded.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(encoded.get(a), encoded.get(b)));
+        this.addresses = new byte[order.length][];
+        this.values = new String[order.length];
+        for (int i = 0; i < order.length; ++i) {
+            this.addresses[i] = encoded.get(order[i]);
+            this.values[i] = addressValues.get(order[i]);
+        }
+    }
+
+    public int size() {
+        return addresses.length;
+    }
+
+    /**
+     * Returns the addresses in the given range, as the values they were added with.
+     */
+    public List<String> containedIn(IpRange range) {
+        int low = 0;
+        int high = addresses.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(addresses[mid], range.getLower()) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<String> contained = null;
+        for (int i = low; i < addresses.length && Arrays.compareUnsigned(addresses[i], range.getUpper()) <= 0; ++i) {
+            if (contained == null) {
+                contained = new ArrayList<>();
+            }
+            contained.add(values[i]);
+        }
+        return contained == null ? Collections.emptyList() : contained;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.util;
+
+import org.apache.lucene.document.InetAddressPoint;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.network.InetAddresses;
+import org.opensearch.securityanalytics.commons.model.IOCType;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Arrays;
+
+/**
+ * Inclusive range of ip addresses covered by an ip ioc, either a single address or a CIDR block. Bounds are encoded
+ * with {@link InetAddressPoint#encode}, so IPv4 and IPv6 addresses compare as unsigned 16 byte arrays in one order.
+ */
+public class IpRange {
+
+    /**
+     * STIX type of IPv6 address iocs.
+     */
+    public static final String IPV6_TYPE = "ipv6-addr";
+
+    private final byte[] lower;
+
+    private final byte[] upper;
+
+    private final boolean cidr;
+
+    private IpRange(byte[] lower, byte[] upper, boolean cidr) {
+        this.lower = lower;
+        this.upper = upper;
+        this.cidr = cidr;
+    }
+
+    /**
+     * Returns whether iocs of the given type hold ip addresses or CIDR blocks.
+     */
+    public static boolean isIpType(String iocType) {
+        return IOCType.IPV4_TYPE.equalsIgnoreCase(iocType) || IPV6_TYPE.equalsIgnoreCase(iocType);
+    }
+
+    /**
+     * Parses an ip address or a CIDR block such as {@code 10.0.0.0/8}, returns null if the value is neither.
+     */
+    public static IpRange parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value.indexOf('/') < 0) {
+                byte[] address = encode(value);
+                return address == null ? null : new IpRange(address, address, false);
+            }
+            Tuple<InetAddress, Integer> block = InetAddresses.parseCidr(value);
+            int addressBits = block.v1().getAddress().length * Byte.SIZE;
+            if (block.v2() < 0 || block.v2() > addressBits) {
+                return null;
+            }
+            byte[] lower = InetAddressPoint.encode(block.v1());
+            byte[] upper = lower.clone();
+            // ipv4 addresses are encoded as ipv4-mapped ipv6 addresses
+            int prefixLength = block.v2() + (block.v1() instanceof Inet4Address ? 96 : 0);
+            for (int bit = prefixLength; bit < InetAddressPoint.BYTES * Byte.SIZE; ++bit) {
+                int mask = 0x80 >>> (bit & 7);
+                lower[bit >>> 3] &= (byte) ~mask;
+                upper[bit >>> 3] |= (byte) mask;
+            }
+            return new IpRange(lower, upper, true);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes an ip address, returns null if the value is not an ip address.
+     */
+    public static byte[] encode(String address) {
+        if (address == null || false == InetAddresses.isInetAddress(address)) {
+            return null;
+        }
+        return InetAddressPoint.encode(InetAddresses.forString(address));
+    }
+
+    /**
+     * Returns whether the value is a CIDR block.
+     */
+    public static boolean isCidr(String value) {
+        IpRange range = parse(value);
+        return range != null && range.isCidr();
+    }
+
+    public boolean isCidr() {
+        return cidr;
+    }
+
+    public byte[] getLower() {
+        return lower;
+    }
+
+    public byte[] getUpper() {
+        return upper;
+    }
+
+    /**
+     * Returns whether the encoded address lies in this range.
+     */
+    public boolean contains(byte[] address) {
+        return Arrays.compareUnsigned(lower, address) <= 0 && Arrays.compareUnsigned(address, upper) <= 0;
+    }
+}
@@ -8,7 +8,6 @@ import org.opensearch.commons.alerting.model.remote.monitors.RemoteMonitorTrigge
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.model.threatintel.IocFinding;
@@ -20,13 +19,17 @@ import org.opensearch.securityanalytics.threatIntel.sacommons.monitor.ThreatInte
 import org.opensearch.securityanalytics.threatIntel.sacommons.monitor.ThreatIntelTriggerDto;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -84,62 +87,83 @@ public class ThreatIntelMonitorUtils {
     }
 
     /**
-     * Fetch ACTIVE or ACKNOWLEDGED state alerts for the triggre. Criteria is they should match the ioc value+type from findings
+     * Returns the id of the alert of a trigger for an ioc. Ids are derived from the monitor, trigger, ioc type and ioc
+     * value, so the existing alert for a finding is fetched by id instead of being searched by its ioc.
      */
-    public static SearchSourceBuilder getSearchSourceBuilderForExistingAlertsQuery(ArrayList<IocFinding> findings, Trigger trigger) {
-        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
-        queryBuilder.must(QueryBuilders.matchQuery(ThreatIntelAlert.TRIGGER_NAME_FIELD, trigger.getName()));
-        BoolQueryBuilder iocQueryBuilder = QueryBuilders.boolQuery();
+    public static String getAlertId(String monitorId, String triggerId, String iocType, String iocValue) {
+        StringBuilder key = new StringBuilder();
+        for (String part : List.of(monitorId, triggerId, iocType, iocValue)) {
+            key.append(part.length()).append(':').append(part);
+        }
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Returns the ids of the alerts of the trigger for the iocs of the findings.
+     */
+    public static List<String> getAlertIds(Monitor monitor, Trigger trigger, List<IocFinding> findings) {
+        Set<String> alertIds = new LinkedHashSet<>();
         for (IocFinding finding : findings) {
-            BoolQueryBuilder innerQb = QueryBuilders.boolQuery();
-            innerQb.must(QueryBuilders.matchQuery(ThreatIntelAlert.IOC_TYPE_FIELD, finding.getIocType()));
-            innerQb.must(QueryBuilders.matchQuery(ThreatIntelAlert.IOC_VALUE_FIELD, finding.getIocValue()));
-            iocQueryBuilder.should(innerQb);
+            alertIds.add(getAlertId(monitor.getId(), trigger.getId(), finding.getIocType(), finding.getIocValue()));
         }
-        queryBuilder.must(iocQueryBuilder);
-        BoolQueryBuilder stateQueryBuilder = QueryBuilders.boolQuery();
-        stateQueryBuilder.should(QueryBuilders.matchQuery(ThreatIntelAlert.STATE_FIELD, Alert.State.ACTIVE.toString()));
-        stateQueryBuilder.should(QueryBuilders.matchQuery(ThreatIntelAlert.STATE_FIELD, Alert.State.ACKNOWLEDGED.toString()));
-        queryBuilder.must(stateQueryBuilder);
+        return new ArrayList<>(alertIds);
+    }
 
+    /**
+     * Fetch alerts by id in any state. Completed alerts are needed as well, as a new alert for the same ioc replaces them.
+     */
+    public static SearchSourceBuilder getSearchSourceBuilderForExistingAlertsQuery(List<String> alertIds) {
         SearchSourceBuilder ssb = new SearchSourceBuilder();
-        ssb.query(queryBuilder);
-        ssb.size(9999);
+        ssb.query(QueryBuilders.idsQuery().addIds(alertIds.toArray(new String[0])));
+        ssb.size(alertIds.size());
         return ssb;
     }
 
-
-    public static Map<String, ThreatIntelAlert> prepareAlertsToUpdate(ArrayList<IocFinding> triggerMatchedFindings,
+    /**
+     * Adds the ids of the findings to the ACTIVE or ACKNOWLEDGED alerts for their iocs.
+     *
+     * @return updated alerts by alert id
+     */
+    public static Map<String, ThreatIntelAlert> prepareAlertsToUpdate(Monitor monitor,
+                                                                      Trigger trigger,
+                                                                      List<IocFinding> triggerMatchedFindings,
                                                                       List<ThreatIntelAlert> existingAlerts) {
-        Map<String, ThreatIntelAlert> updatedAlerts = new HashMap<>();
+        Map<String, ThreatIntelAlert> openAlerts = new HashMap<>();
         for (ThreatIntelAlert existingAlert : existingAlerts) {
-            String iocType = existingAlert.getIocType();
-            String iocValue = existingAlert.getIocValue();
-            if (iocType == null || iocValue == null)
-                continue;
-            for (IocFinding finding : triggerMatchedFindings) {
-                if (iocType.equals(finding.getIocType()) && iocValue.equals(finding.getIocValue())) {
-                    List<String> findingIds = new ArrayList<>(existingAlert.getFindingIds());
-                    findingIds.add(finding.getId());
-                    updatedAlerts.put(existingAlert.getIocValue() + existingAlert.getIocType(), new ThreatIntelAlert(existingAlert, findingIds));
-                }
+            if (existingAlert.getState() != Alert.State.COMPLETED) {
+                openAlerts.put(existingAlert.getId(), existingAlert);
             }
         }
+        Map<String, List<String>> alertIdToFindingIds = new LinkedHashMap<>();
+        for (IocFinding finding : triggerMatchedFindings) {
+            String alertId = getAlertId(monitor.getId(), trigger.getId(), finding.getIocType(), finding.getIocValue());
+            ThreatIntelAlert existingAlert = openAlerts.get(alertId);
+            if (existingAlert != null) {
+                alertIdToFindingIds.computeIfAbsent(alertId, id -> new ArrayList<>(existingAlert.getFindingIds())).add(finding.getId());
+            }
+        }
+        Map<String, ThreatIntelAlert> updatedAlerts = new LinkedHashMap<>();
+        alertIdToFindingIds.forEach((alertId, findingIds) -> updatedAlerts.put(alertId, new ThreatIntelAlert(openAlerts.get(alertId), findingIds)));
         return updatedAlerts;
-
     }
 
     public static List<ThreatIntelAlert> prepareNewAlerts(Monitor monitor,
                                                           Trigger trigger,
-                                                          ArrayList<IocFinding> findings,
+                                                          List<IocFinding> findings,
                                                           Map<String, ThreatIntelAlert> updatedAlerts) {
-        List<ThreatIntelAlert> alerts = new ArrayList<>();
+        Map<String, List<IocFinding>> alertIdToFindings = new LinkedHashMap<>();
         for (IocFinding finding : findings) {
-            if (updatedAlerts.containsKey(finding.getIocValue() + finding.getIocType()))
-                continue;
-            Instant now = Instant.now();
+            String alertId = getAlertId(monitor.getId(), trigger.getId(), finding.getIocType(), finding.getIocValue());
+            if (false == updatedAlerts.containsKey(alertId)) {
+                alertIdToFindings.computeIfAbsent(alertId, id -> new ArrayList<>()).add(finding);
+            }
+        }
+        List<ThreatIntelAlert> alerts = new ArrayList<>(alertIdToFindings.size());
+        Instant now = Instant.now();
+        alertIdToFindings.forEach((alertId, alertFindings) -> {
+            IocFinding finding = alertFindings.get(0);
             alerts.add(new ThreatIntelAlert(
-                    UUID.randomUUID().toString(),
+                    alertId,
                     ThreatIntelAlert.NO_VERSION,
                     ThreatIntelAlert.NO_SCHEMA_VERSION,
                     monitor.getUser(),
@@ -157,12 +181,47 @@ public class ThreatIntelMonitorUtils {
                     finding.getIocValue(),
                     finding.getIocType(),
                     Collections.emptyList(),
-                    List.of(finding.getId())
+                    alertFindings.stream().map(IocFinding::getId).collect(Collectors.toList())
             ));
-        }
+        });
         return alerts;
     }
 
+    /**
+     * Returns the COMPLETED alerts that new alerts take the ids of, re-keyed to random ids so that they are kept.
+     */
+    public static List<ThreatIntelAlert> prepareCompletedAlertsToMove(List<ThreatIntelAlert> existingAlerts,
+                                                                      List<ThreatIntelAlert> newAlerts) {
+        Set<String> newAlertIds = newAlerts.stream().map(ThreatIntelAlert::getId).collect(Collectors.toSet());
+        List<ThreatIntelAlert> movedAlerts = new ArrayList<>();
+        for (ThreatIntelAlert alert : existingAlerts) {
+            if (alert.getState() == Alert.State.COMPLETED && newAlertIds.contains(alert.getId())) {
+                movedAlerts.add(new ThreatIntelAlert(
+                        UUID.randomUUID().toString(),
+                        alert.getVersion(),
+                        alert.getSchemaVersion(),
+                        alert.getUser(),
+                        alert.getTriggerId(),
+                        alert.getTriggerName(),
+                        alert.getMonitorId(),
+                        alert.getMonitorName(),
+                        alert.getState(),
+                        alert.getStartTime(),
+                        alert.getEndTime(),
+                        alert.getLastUpdatedTime(),
+                        alert.getAcknowledgedTime(),
+                        alert.getErrorMessage(),
+                        alert.getSeverity(),
+                        alert.getIocValue(),
+                        alert.getIocType(),
+                        alert.getActionExecutionResults(),
+                        alert.getFindingIds()
+                ));
+            }
+        }
+        return movedAlerts;
+    }
+
     public static ArrayList<IocFinding> getTriggerMatchedFindings(List<IocFinding> iocFindings, ThreatIntelTrigger threatIntelTrigger) {
         ArrayList<IocFinding> triggerMatchedFindings = new ArrayList();
         for (IocFinding iocFinding : iocFindings) {
@@ -0,0 +1,493 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.AlertingPluginInterface;
+import org.opensearch.commons.alerting.action.IndexMonitorRequest;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.IndexDetectorAction;
+import org.opensearch.securityanalytics.action.IndexDetectorRequest;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.util.MonitorService;
+import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Propagates a rule change to the detectors using the rule. The detectors are paged through with a scroll, and the
+ * doc level query of the rule is compiled once and written straight to the doc level monitor of each detector, which
+ * rewrites the queries of the monitor in its query index. At most {@code maxConcurrency} detectors are updated at a
+ * time, and the listener is notified once with the outcome of every detector.
+ * <p>
+ * Detectors whose monitors cannot be patched in place, such as those running the rule in a bucket level monitor or
+ * missing fields of the rule in the fields their queries are optimized for, are updated through a full
+ * {@link IndexDetectorAction}. Every update is idempotent and monitors already holding the new query are left as is,
+ * so a propagation that was interrupted or partially failed is resumed by running the rule change again.
+ */
+class DetectorRulePropagator {
+
+    private static final Logger log = LogManager.getLogger(DetectorRulePropagator.class);
+
+    // detectors fetched, and their monitors looked up, per page of the detector scroll
+    static final int PAGE_SIZE = 100;
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final NamedWriteableRegistry namedWriteableRegistry;
+
+    private final MonitorService monitorService;
+
+    private final WriteRequest.RefreshPolicy refreshPolicy;
+
+    private final int maxConcurrency;
+
+    DetectorRulePropagator(Client client, NamedXContentRegistry xContentRegistry, NamedWriteableRegistry namedWriteableRegistry,
+                           WriteRequest.RefreshPolicy refreshPolicy, int maxConcurrency) {
+        this.client = client;
+        this.xContentRegistry = xContentRegistry;
+        this.namedWriteableRegistry = namedWriteableRegistry;
+        this.monitorService = new MonitorService(client);
+        this.refreshPolicy = refreshPolicy;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Query matching the detectors using the given custom rule.
+     */
+    static QueryBuilder detectorsUsingRule(String ruleId) {
+        return QueryBuilders.nestedQuery("detector.inputs.detector_input.custom_rules",
+                QueryBuilders.boolQuery().must(
+                        QueryBuilders.matchQuery("detector.inputs.detector_input.custom_rules.id", ruleId)
+                ), ScoreMode.Avg);
+    }
+
+    /**
+     * Replaces the query of the updated rule in the doc level monitors of the detectors using it.
+     */
+    void propagateUpdate(Rule rule, ActionListener<Result> listener) {
+        Map<String, Object> query = rule.isAggregationRule() ? null : toMap(TransportIndexDetectorAction.toDocLevelQuery(rule.getId(), rule, List.of()));
+        Set<String> ruleFieldNames = rule.getQueryFieldNames().stream().map(it -> it.getValue()).collect(Collectors.toSet());
+        propagate(rule.getId(), new RuleChange() {
+            @Override
+            public List<Map<String, Object>> patchQueries(Detector detector, List<Map<String, Object>> queries) {
+                if (query == null) {
+                    return null;
+                }
+                List<Map<String, Object>> patched = new ArrayList<>(queries.size());
+                boolean replaced = false;
+                for (Map<String, Object> existing : queries) {
+                    if (false == rule.getId().equals(existing.get("id"))) {
+                        patched.add(existing);
+                        continue;
+                    }
+                    // queries of a detector share the fields of all its rules, which the new query must not go beyond
+                    List<?> queryFieldNames = existing.get("query_field_names") instanceof List ?
+                            (List<?>) existing.get("query_field_names") : List.of();
+                    if (false == queryFieldNames.isEmpty() && false == queryFieldNames.containsAll(ruleFieldNames)) {
+                        return null;
+                    }
+                    Map<String, Object> newQuery = new HashMap<>(query);
+                    newQuery.put("query_field_names", queryFieldNames);
+                    patched.add(newQuery);
+                    replaced = true;
+                }
+                return replaced ? patched : null;
+            }
+
+            @Override
+            public Detector patchDetector(Detector detector) {
+                return null;
+            }
+        }, listener);
+    }
+
+    /**
+     * Removes the deleted rule from the detectors using it, and its query from their doc level monitors.
+     */
+    void propagateDeletion(String ruleId, ActionListener<Result> listener) {
+        propagate(ruleId, new RuleChange() {
+            @Override
+            public List<Map<String, Object>> patchQueries(Detector detector, List<Map<String, Object>> queries) {
+                // shared query indices are named after the rules of their detectors, the detector moves to another one
+                if (DetectorMonitorConfig.isSharedRuleIndex(detector.getRuleIndex())) {
+                    return null;
+                }
+                Set<String> remainingRuleIds = new HashSet<>();
+                for (DetectorInput input : detector.getInputs()) {
+                    input.getCustomRules().forEach(it -> remainingRuleIds.add(it.getId()));
+                    input.getPrePackagedRules().forEach(it -> remainingRuleIds.add(it.getId()));
+                }
+                remainingRuleIds.remove(ruleId);
+                List<Map<String, Object>> patched = queries.stream()
+                        .filter(it -> false == ruleId.equals(it.get("id")))
+                        .collect(Collectors.toList());
+                // a monitor left without rule queries is dropped or rebuilt by a full detector update
+                if (patched.size() == queries.size() || patched.stream().noneMatch(it -> remainingRuleIds.contains(it.get("id")))) {
+                    return null;
+                }
+                return patched;
+            }
+
+            @Override
+            public Detector patchDetector(Detector detector) {
+                return removeRule(detector, ruleId);
+            }
+        }, listener);
+    }
+
+    static Detector removeRule(Detector detector, String ruleId) {
+        for (DetectorInput input : detector.getInputs()) {
+            List<DetectorRule> rules = input.getCustomRules().stream()
+                    .filter(it -> false == ruleId.equals(it.getId()))
+                    .collect(Collectors.toList());
+            input.setCustomRules(rules);
+        }
+        return detector;
+    }
+
+    private void propagate(String ruleId, RuleChange change, ActionListener<Result> listener) {
+        SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
+                .scroll(SCROLL_KEEP_ALIVE)
+                .source(new SearchSourceBuilder()
+                        .seqNoAndPrimaryTerm(true)
+                        .version(true)
+                        .query(detectorsUsingRule(ruleId))
+                        .sort("_doc")
+                        .size(PAGE_SIZE))
+                .preference(Preference.PRIMARY_FIRST.type());
+        Result result = new Result(Collections.synchronizedList(new ArrayList<>()), Collections.synchronizedMap(new LinkedHashMap<>()));
+        client.search(searchRequest, onDetectorsPage(change, result, listener));
+    }
+
+    private ActionListener<SearchResponse> onDetectorsPage(RuleChange change, Result result, ActionListener<Result> listener) {
+        return ActionListener.wrap(
+                searchResponse -> {
+                    SearchHit[] hits = searchResponse.getHits().getHits();
+                    if (hits.length == 0) {
+                        clearScroll(searchResponse.getScrollId());
+                        listener.onResponse(new Result(new ArrayList<>(result.getUpdatedDetectorIds()), new LinkedHashMap<>(result.getFailures())));
+                        return;
+                    }
+                    List<DetectorDoc> detectors = new ArrayList<>();
+                    for (SearchHit hit : hits) {
+                        try {
+                            XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                    xContentRegistry, LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString());
+                            detectors.add(new DetectorDoc(Detector.docParse(xcp, hit.getId(), hit.getVersion()), hit.getSeqNo(), hit.getPrimaryTerm()));
+                        } catch (Exception e) {
+                            result.getFailures().put(hit.getId(), e);
+                        }
+                    }
+                    updatePage(detectors, change, result, ActionListener.wrap(
+                            r -> {
+                                SearchScrollRequest scrollRequest = new SearchScrollRequest(searchResponse.getScrollId()).scroll(SCROLL_KEEP_ALIVE);
+                                client.searchScroll(scrollRequest, onDetectorsPage(change, result, listener));
+                            },
+                            e -> {
+                                clearScroll(searchResponse.getScrollId());
+                                listener.onFailure(e);
+                            }
+                    ));
+                },
+                listener::onFailure
+        );
+    }
+
+    private void updatePage(List<DetectorDoc> detectors, RuleChange change, Result result, ActionListener<Void> listener) {
+        if (detectors.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+        List<String> monitorIds = detectors.stream()
+                .map(it -> it.detector.getDocLevelMonitorId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        monitorService.getMonitorDocs(monitorIds, ActionListener.wrap(
+                monitorDocs -> {
+                    Queue<DetectorDoc> pending = new ConcurrentLinkedQueue<>(detectors);
+                    AtomicInteger remaining = new AtomicInteger(detectors.size());
+                    Runnable onDetectorDone = () -> {
+                        if (remaining.decrementAndGet() == 0) {
+                            listener.onResponse(null);
+                        }
+                    };
+                    for (int i = 0; i < Math.min(maxConcurrency, detectors.size()); ++i) {
+                        updateNext(pending, monitorDocs, change, result, onDetectorDone);
+                    }
+                },
+                listener::onFailure
+        ));
+    }
+
+    private void updateNext(Queue<DetectorDoc> pending, Map<String, SearchHit> monitorDocs, RuleChange change, Result result,
+                            Runnable onDetectorDone) {
+        DetectorDoc detectorDoc = pending.poll();
+        if (detectorDoc == null) {
+            return;
+        }
+        Detector detector = detectorDoc.detector;
+        ActionListener<Void> detectorListener = ActionListener.wrap(
+                r -> {
+                    result.getUpdatedDetectorIds().add(detector.getId());
+                    onDetectorDone.run();
+                    updateNext(pending, monitorDocs, change, result, onDetectorDone);
+                },
+                e -> {
+                    log.error(String.format(Locale.ROOT, "Failed to update detector %s with rule change", detector.getId()), e);
+                    result.getFailures().put(detector.getId(), e);
+                    onDetectorDone.run();
+                    updateNext(pending, monitorDocs, change, result, onDetectorDone);
+                }
+        );
+        try {
+            SearchHit monitorDoc = detector.getDocLevelMonitorId() == null ? null : monitorDocs.get(detector.getDocLevelMonitorId());
+            Map<String, Object> monitor = getMonitor(monitorDoc);
+            List<Map<String, Object>> queries = getDocLevelQueries(monitor);
+            List<Map<String, Object>> patchedQueries = queries == null ? null : change.patchQueries(detector, queries);
+            if (patchedQueries == null) {
+                Detector patched = change.patchDetector(detector);
+                updateDetector(patched != null ? patched : detector, detectorListener);
+            } else if (patchedQueries.equals(queries)) {
+                // already updated by an earlier run of the same rule change
+                indexDetectorDoc(detectorDoc, change, detectorListener);
+            } else {
+                setDocLevelQueries(monitor, patchedQueries);
+                updateMonitor(monitorDoc, monitor, ActionListener.wrap(r -> indexDetectorDoc(detectorDoc, change, detectorListener), detectorListener::onFailure));
+            }
+        } catch (Exception e) {
+            detectorListener.onFailure(e);
+        }
+    }
+
+    /**
+     * Full update of the detector, which rebuilds all its monitors.
+     */
+    private void updateDetector(Detector detector, ActionListener<Void> listener) {
+        IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), refreshPolicy, RestRequest.Method.PUT, detector);
+        client.execute(IndexDetectorAction.INSTANCE, indexRequest, ActionListener.wrap(
+                response -> {
+                    if (response.getStatus() == RestStatus.OK) {
+                        listener.onResponse(null);
+                    } else {
+                        listener.onFailure(new OpenSearchStatusException(
+                                String.format(Locale.ROOT, "Detector with id %s was not updated", detector.getId()), response.getStatus()));
+                    }
+                },
+                listener::onFailure
+        ));
+    }
+
+    private void updateMonitor(SearchHit monitorDoc, Map<String, Object> monitorSource, ActionListener<Void> listener) throws IOException {
+        BytesReference source = BytesReference.bytes(XContentFactory.jsonBuilder().map(monitorSource));
+        Monitor monitor;
+        try (XContentParser xcp = XContentHelper.createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, source, XContentType.JSON)) {
+            xcp.nextToken();
+            monitor = Monitor.parse(xcp, monitorDoc.getId(), monitorDoc.getVersion());
+        }
+        IndexMonitorRequest indexMonitorRequest = new IndexMonitorRequest(monitorDoc.getId(), monitorDoc.getSeqNo(), monitorDoc.getPrimaryTerm(),
+                refreshPolicy, RestRequest.Method.PUT, monitor, null);
+        AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, indexMonitorRequest, namedWriteableRegistry, ActionListener.wrap(
+                response -> listener.onResponse(null),
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Writes the detector back when the rule change alters it, guarded by the sequence number it was read with.
+     */
+    private void indexDetectorDoc(DetectorDoc detectorDoc, RuleChange change, ActionListener<Void> listener) throws IOException {
+        Detector detector = change.patchDetector(detectorDoc.detector);
+        if (detector == null) {
+            listener.onResponse(null);
+            return;
+        }
+        detector.setLastUpdateTime(Instant.now());
+        IndexRequest indexRequest = new IndexRequest(Detector.DETECTORS_INDEX)
+                .id(detector.getId())
+                .setIfSeqNo(detectorDoc.seqNo)
+                .setIfPrimaryTerm(detectorDoc.primaryTerm)
+                .setRefreshPolicy(refreshPolicy)
+                .source(detector.toXContentWithUser(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true"))));
+        client.index(indexRequest, ActionListener.wrap(response -> listener.onResponse(null), listener::onFailure));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getMonitor(SearchHit monitorDoc) {
+        if (monitorDoc == null || false == monitorDoc.getSourceAsMap().get("monitor") instanceof Map) {
+            return null;
+        }
+        return (Map<String, Object>) monitorDoc.getSourceAsMap().get("monitor");
+    }
+
+    /**
+     * @return the queries of the doc level input of the monitor, or null if it has none
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> getDocLevelQueries(Map<String, Object> monitor) {
+        Map<String, Object> docLevelInput = getDocLevelInput(monitor);
+        if (docLevelInput == null || false == docLevelInput.get("queries") instanceof List) {
+            return null;
+        }
+        return (List<Map<String, Object>>) docLevelInput.get("queries");
+    }
+
+    private static void setDocLevelQueries(Map<String, Object> monitor, List<Map<String, Object>> queries) {
+        getDocLevelInput(monitor).put("queries", queries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getDocLevelInput(Map<String, Object> monitor) {
+        if (monitor == null || false == monitor.get("inputs") instanceof List || ((List<?>) monitor.get("inputs")).size() != 1) {
+            return null;
+        }
+        Object input = ((List<?>) monitor.get("inputs")).get(0);
+        if (false == input instanceof Map || false == ((Map<String, Object>) input).get("doc_level_input") instanceof Map) {
+            return null;
+        }
+        return (Map<String, Object>) ((Map<String, Object>) input).get("doc_level_input");
+    }
+
+    private static Map<String, Object> toMap(DocLevelQuery query) {
+        try {
+            BytesReference source = BytesReference.bytes(query.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+            return XContentHelper.convertToMap(source, false, XContentType.JSON).v2();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compile doc level query " + query.getId(), e);
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        client.clearScroll(clearScrollRequest, ActionListener.wrap(
+                r -> {},
+                e -> log.debug("Failed to clear scroll of rule propagation", e)
+        ));
+    }
+
+    /**
+     * How a rule change applies to a detector.
+     */
+    private interface RuleChange {
+        /**
+         * @return the doc level queries of the monitor of the detector after the change, or null if the monitor cannot
+         * be patched in place and the detector has to be fully updated
+         */
+        List<Map<String, Object>> patchQueries(Detector detector, List<Map<String, Object>> queries);
+
+        /**
+         * @return the detector after the change, or null if the change leaves the detector as is
+         */
+        Detector patchDetector(Detector detector);
+    }
+
+    private static class DetectorDoc {
+        private final Detector detector;
+        private final long seqNo;
+        private final long primaryTerm;
+
+        DetectorDoc(Detector detector, long seqNo, long primaryTerm) {
+            this.detector = detector;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+        }
+    }
+
+    /**
+     * Outcome of a propagation, the ids of the updated detectors and the failures by detector id.
+     */
+    static class Result {
+        private final List<String> updatedDetectorIds;
+        private final Map<String, Exception> failures;
+
+        Result(List<String> updatedDetectorIds, Map<String, Exception> failures) {
+            this.updatedDetectorIds = updatedDetectorIds;
+            this.failures = failures;
+        }
+
+        List<String> getUpdatedDetectorIds() {
+            return updatedDetectorIds;
+        }
+
+        Map<String, Exception> getFailures() {
+            return failures;
+        }
+
+        boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+
+        /**
+         * Single exception summarizing the failed detectors, with the first failure as cause.
+         */
+        OpenSearchStatusException toException(String message) {
+            String failed = failures.entrySet().stream()
+                    .map(it -> it.getKey() + ": " + it.getValue().getMessage())
+                    .collect(Collectors.joining(", "));
+            return new OpenSearchStatusException(
+                    String.format(Locale.getDefault(), "%s, %d of %d detectors could not be updated [%s]",
+                            message, failures.size(), failures.size() + updatedDetectorIds.size(), failed),
+                    RestStatus.INTERNAL_SERVER_ERROR,
+                    failures.values().iterator().next()
+            );
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.ResourceNotFoundException;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.ActionRequest;
@@ -43,13 +45,17 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.correlation.JoinEngine;
+import org.opensearch.securityanalytics.correlation.CorrelationGraphStore;
 import org.opensearch.securityanalytics.correlation.VectorEmbeddingsEngine;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
-import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
+import org.opensearch.securityanalytics.findings.FindingsRollupService;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.IndexUtils;
@@ -97,9 +103,19 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
 
     private volatile boolean enableAutoCorrelation;
 
+    private final String correlationStore;
+
+    private final CorrelationGraphStore correlationGraphStore;
+
     private final CorrelationAlertService correlationAlertService;
 
-    private final NotificationService notificationService;
+    private final CorrelationRuleScheduler correlationRuleScheduler;
+
+    private final FindingsRollupService findingsRollupService;
+
+    private final SecurityAnalyticsStats stats;
+
+    private final SecurityAnalyticsSlowLog slowLog;
 
     @Inject
     public TransportCorrelateFindingAction(TransportService transportService,
@@ -110,7 +126,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                            LogTypeService logTypeService,
                                            ClusterService clusterService,
                                            Settings settings,
-                                           ActionFilters actionFilters, CorrelationAlertService correlationAlertService, NotificationService notificationService) {
+                                           ActionFilters actionFilters, CorrelationAlertService correlationAlertService, CorrelationRuleScheduler correlationRuleScheduler,
+                                           FindingsRollupService findingsRollupService, SecurityAnalyticsStats stats, SecurityAnalyticsSlowLog slowLog) {
         super(AlertingActions.SUBSCRIBE_FINDINGS_ACTION_NAME, transportService, actionFilters, PublishFindingsRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
@@ -120,12 +137,17 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         this.clusterService = clusterService;
         this.settings = settings;
         this.correlationAlertService = correlationAlertService;
-        this.notificationService = notificationService;
+        this.correlationRuleScheduler = correlationRuleScheduler;
+        this.findingsRollupService = findingsRollupService;
+        this.stats = stats;
+        this.slowLog = slowLog;
         this.threadPool = this.detectorIndices.getThreadPool();
 
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
         this.corrTimeWindow = SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW.get(this.settings).getMillis();
         this.enableAutoCorrelation = SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS.get(this.settings);
+        this.correlationStore = SecurityAnalyticsSettings.CORRELATION_STORE.get(this.settings);
+        this.correlationGraphStore = new CorrelationGraphStore(client);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.INDEX_TIMEOUT, it -> indexTimeout = it);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW, it -> corrTimeWindow = it.getMillis());
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS, it -> enableAutoCorrelation = it);
@@ -208,17 +230,22 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
         private final Task task;
+        private final long startNanos;
+        private final SecurityAnalyticsSlowLog.Trace slowLogTrace;
 
         AsyncCorrelateFindingAction(Task task, PublishFindingsRequest request, User user, ActionListener<SubscribeFindingsResponse> listener) {
             this.task = task;
+            this.startNanos = System.nanoTime();
+            this.slowLogTrace = slowLog.start("correlation", request.getMonitorId());
             this.request = request;
             this.listener = listener;
             this.response =new AtomicReference<>();
-            this.joinEngine = new JoinEngine(client, request, xContentRegistry, corrTimeWindow, indexTimeout, this, logTypeService, enableAutoCorrelation, correlationAlertService, notificationService, user);
+            this.joinEngine = new JoinEngine(client, request, xContentRegistry, corrTimeWindow, indexTimeout, this, logTypeService, enableAutoCorrelation, correlationRuleScheduler, user);
             this.vectorEmbeddingsEngine = new VectorEmbeddingsEngine(client, indexTimeout, corrTimeWindow, this);
         }
 
         void start() {
+            slowLogTrace.stage("search_detector");
             TransportCorrelateFindingAction.this.threadPool.getThreadContext().stashContext();
             String monitorId = request.getMonitorId();
             Finding finding = request.getFinding();
@@ -245,6 +272,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                 searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
 
                 client.search(searchRequest, ActionListener.wrap(response -> {
+                    slowLogTrace.searched(response);
                     if (response.isTimedOut()) {
                         onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
                     }
@@ -259,6 +287,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                     LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
                             );
                             Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
+                            slowLogTrace.entity(detector.getId());
+                            findingsRollupService.record(detector, finding);
                             joinEngine.onSearchDetectorResponse(detector, finding);
                         } catch (Exception e) {
                             log.error("Exception for request {}", searchRequest.toString(), e);
@@ -276,9 +306,14 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         public void initCorrelationIndex(String detectorType, Map<String, List<String>> correlatedFindings, List<String> correlationRules) {
             try {
                 if (!IndexUtils.correlationIndexUpdated) {
+                    // the schema update keeps the vector storage the write index was created with
+                    ClusterState clusterState = clusterService.state();
+                    String writeIndexName = IndexUtils.getWriteIndex(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX, clusterState);
+                    IndexMetadata writeIndex = writeIndexName == null ? null : clusterState.metadata().index(writeIndexName);
                     IndexUtils.updateIndexMapping(
                             CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX,
-                            CorrelationIndices.correlationMappings(), clusterService.state(), client.admin().indices(),
+                            CorrelationIndices.correlationMappings(CorrelationIndices.correlationVectorStorage(writeIndex)),
+                            clusterState, client.admin().indices(),
                             ActionListener.wrap(response -> {
                                 if (response.isAcknowledged()) {
                                     IndexUtils.correlationIndexUpdated();
@@ -298,6 +333,11 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         }
 
         public void getTimestampFeature(String detectorType, Map<String, List<String>> correlatedFindings, Finding orphanFinding, List<String> correlationRules) {
+            if (SecurityAnalyticsSettings.CORRELATION_STORE_GRAPH.equals(correlationStore)) {
+                insertCorrelationEdges(detectorType, correlatedFindings, correlationRules);
+                return;
+            }
+            slowLogTrace.stage("timestamp_feature");
             try {
                 if (!correlationIndices.correlationMetadataIndexExists()) {
                         correlationIndices.initCorrelationMetadataIndex(ActionListener.wrap(response -> {
@@ -431,6 +471,27 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             }
         }
 
+        /**
+         * Stores the correlations of the finding as edges of the correlation graph. Orphan findings have no edges, the
+         * graph store needs neither their vectors nor the correlation metadata.
+         */
+        private void insertCorrelationEdges(String detectorType, Map<String, List<String>> correlatedFindings, List<String> correlationRules) {
+            slowLogTrace.stage("correlation_edges");
+            if (correlatedFindings == null || correlatedFindings.isEmpty()) {
+                onOperation();
+                return;
+            }
+            Finding finding = request.getFinding();
+            correlationGraphStore.insertEdges(detectorType, finding.getId(), finding.getTimestamp().toEpochMilli(), correlatedFindings,
+                    correlationRules, indexTimeout, ActionListener.wrap(bulkResponse -> {
+                        if (bulkResponse.hasFailures()) {
+                            onFailures(new OpenSearchStatusException("Correlation of finding failed", RestStatus.INTERNAL_SERVER_ERROR));
+                            return;
+                        }
+                        onOperation();
+                    }, this::onFailures));
+        }
+
         private SearchRequest getSearchLogTypeIndexRequest() {
             BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
                     .must(QueryBuilders.existsQuery("source"));
@@ -459,6 +520,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         }
 
         private void insertFindings(float timestampFeature, SearchRequest searchRequest, Map<String, List<String>> correlatedFindings, String detectorType, List<String> correlationRules, Finding orphanFinding) {
+            slowLogTrace.stage("vector_embeddings");
             client.search(searchRequest, ActionListener.wrap(response -> {
                 if (response.isTimedOut()) {
                     onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
@@ -502,6 +564,10 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             return searchRequest;
         }
 
+        public SecurityAnalyticsSlowLog.Trace getSlowLogTrace() {
+            return slowLogTrace;
+        }
+
         public void onOperation() {
             this.response.set(RestStatus.OK);
             if (counter.compareAndSet(false, true)) {
@@ -518,6 +584,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         }
 
         private void finishHim(Exception t) {
+            stats.record(SecurityAnalyticsStats.Stage.CORRELATION, startNanos, 1L, t != null);
+            slowLogTrace.finish();
             threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> {
                 if (t != null) {
                     if (t instanceof OpenSearchStatusException) {
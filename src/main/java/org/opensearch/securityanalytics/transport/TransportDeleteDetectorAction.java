@@ -44,6 +44,7 @@ import org.opensearch.securityanalytics.util.ExceptionChecker;
 import org.opensearch.securityanalytics.util.MonitorService;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.securityanalytics.util.SharedRuleIndices;
 import org.opensearch.securityanalytics.util.ThrowableCheckingPredicates;
 import org.opensearch.securityanalytics.util.WorkflowService;
 import org.opensearch.tasks.Task;
@@ -79,6 +80,8 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
 
     private final MonitorService monitorService;
 
+    private final SharedRuleIndices sharedRuleIndices;
+
     private final ThreadPool threadPool;
 
     private final Settings settings;
@@ -106,6 +109,7 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
         this.detectorIndices = detectorIndices;
         this.monitorService = new MonitorService(client);
         this.workflowService = new WorkflowService(client, monitorService);
+        this.sharedRuleIndices = new SharedRuleIndices(client);
         this.clusterService = clusterService;
         this.settings = settings;
 
@@ -200,7 +204,7 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
 
                 // A detector with 0 rules will have 0 monitors to delete. Skipping monitor deletion steps.
                 if (monitorIds.isEmpty()) {
-                    deleteDetectorFromConfig(detector.getId(), request.getRefreshPolicy());
+                    deleteDetectorFromConfig(detector, request.getRefreshPolicy());
                     return;
                 }
 
@@ -218,14 +222,14 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
                         }).count() > 0) {
                             onFailures(new OpenSearchStatusException("Monitor associated with detected could not be deleted", errorStatusSupplier.get()));
                         }
-                        deleteDetectorFromConfig(detector.getId(), request.getRefreshPolicy());
+                        deleteDetectorFromConfig(detector, request.getRefreshPolicy());
                     }
 
                     @Override
                     public void onFailure(Exception e) {
                         if (exceptionChecker.doesGroupedActionListenerExceptionMatch(e, ACCEPTABLE_ENTITY_MISSING_THROWABLE_MATCHERS)) {
                             logAcceptableEntityMissingException(e, detector.getId());
-                            deleteDetectorFromConfig(detector.getId(), request.getRefreshPolicy());
+                            deleteDetectorFromConfig(detector, request.getRefreshPolicy());
                         } else {
                             log.error(String.format(Locale.ROOT, "Failed to delete detector %s", detector.getId()), e);
                             if (counter.compareAndSet(false, true)) {
@@ -271,8 +275,8 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
             }
         }
 
-        private void deleteDetectorFromConfig(String detectorId, WriteRequest.RefreshPolicy refreshPolicy) {
-            deleteDetector(detectorId, refreshPolicy,
+        private void deleteDetectorFromConfig(Detector detector, WriteRequest.RefreshPolicy refreshPolicy) {
+            deleteDetector(detector.getId(), refreshPolicy,
                     new ActionListener<>() {
                         @Override
                         public void onResponse(DeleteResponse response) {
@@ -280,13 +284,13 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
                             indexTemplateManager.deleteAllUnusedTemplates(new ActionListener<Void>() {
                                 @Override
                                 public void onResponse(Void unused) {
-                                    onOperation(response);
+                                    deleteUnreferencedRuleIndex(detector, response);
                                 }
 
                                 @Override
                                 public void onFailure(Exception e) {
                                     log.error("Error deleting unused templates: " + e.getMessage());
-                                    onOperation(response);
+                                    deleteUnreferencedRuleIndex(detector, response);
                                 }
                             });
 
@@ -299,6 +303,16 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
                     });
         }
 
+        private void deleteUnreferencedRuleIndex(Detector detector, DeleteResponse response) {
+            sharedRuleIndices.deleteIfUnreferenced(detector.getId(), detector.getDetectorType(), detector.getRuleIndex(), ActionListener.wrap(
+                    deleted -> onOperation(response),
+                    e -> {
+                        log.error(String.format(Locale.ROOT, "Failed to delete the query index %s of detector %s", detector.getRuleIndex(), detector.getId()), e);
+                        onOperation(response);
+                    }
+            ));
+        }
+
         private void onOperation(DeleteResponse response) {
             this.response.set(response);
             if (counter.compareAndSet(false, true)) {
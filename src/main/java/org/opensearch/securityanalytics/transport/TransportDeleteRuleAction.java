@@ -6,7 +6,6 @@ package org.opensearch.securityanalytics.transport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
@@ -17,30 +16,26 @@ import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
-import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.reindex.DeleteByQueryAction;
 import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
-import org.opensearch.rest.RestRequest;
 import org.opensearch.core.rest.RestStatus;
-import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.action.DeleteRuleAction;
 import org.opensearch.securityanalytics.action.DeleteRuleRequest;
 import org.opensearch.securityanalytics.action.DeleteRuleResponse;
-import org.opensearch.securityanalytics.action.IndexDetectorAction;
-import org.opensearch.securityanalytics.action.IndexDetectorRequest;
-import org.opensearch.securityanalytics.action.IndexDetectorResponse;
 import org.opensearch.securityanalytics.model.Detector;
-import org.opensearch.securityanalytics.model.DetectorRule;
 import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -49,11 +44,8 @@ import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.opensearch.securityanalytics.model.Detector.NO_VERSION;
@@ -68,15 +60,24 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
 
     private final NamedXContentRegistry xContentRegistry;
 
+    private final NamedWriteableRegistry namedWriteableRegistry;
+
     private final ThreadPool threadPool;
 
+    private volatile int rulePropagationMaxConcurrency;
+
     @Inject
-    public TransportDeleteRuleAction(TransportService transportService, Client client, DetectorIndices detectorIndices, ActionFilters actionFilters, NamedXContentRegistry xContentRegistry) {
+    public TransportDeleteRuleAction(TransportService transportService, Client client, DetectorIndices detectorIndices, ActionFilters actionFilters,
+                                     NamedXContentRegistry xContentRegistry, NamedWriteableRegistry namedWriteableRegistry, ClusterService clusterService) {
         super(DeleteRuleAction.NAME, transportService, actionFilters, DeleteRuleRequest::new);
         this.client = client;
         this.detectorIndices = detectorIndices;
         this.xContentRegistry = xContentRegistry;
+        this.namedWriteableRegistry = namedWriteableRegistry;
         this.threadPool = client.threadPool();
+
+        this.rulePropagationMaxConcurrency = SecurityAnalyticsSettings.RULE_PROPAGATION_MAX_CONCURRENCY.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.RULE_PROPAGATION_MAX_CONCURRENCY, it -> rulePropagationMaxConcurrency = it);
     }
 
     @Override
@@ -91,7 +92,6 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
         private final ActionListener<DeleteRuleResponse> listener;
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
-        private final AtomicInteger checker = new AtomicInteger();
         private final Task task;
 
         AsyncDeleteRuleAction(Task task, DeleteRuleRequest request, ActionListener<DeleteRuleResponse> listener) {
@@ -134,18 +134,12 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
 
         private void onGetResponse(Rule rule) {
             if (detectorIndices.detectorIndexExists()) {
-                QueryBuilder queryBuilder =
-                        QueryBuilders.nestedQuery("detector.inputs.detector_input.custom_rules",
-                                QueryBuilders.boolQuery().must(
-                                        QueryBuilders.matchQuery("detector.inputs.detector_input.custom_rules.id", rule.getId())
-                                ), ScoreMode.Avg);
-
+                // only counts the detectors using the rule, they are paged through when the deletion is propagated
                 SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
                         .source(new SearchSourceBuilder()
-                                .seqNoAndPrimaryTerm(true)
-                                .version(true)
-                                .query(queryBuilder)
-                                .size(10000))
+                                .query(DetectorRulePropagator.detectorsUsingRule(rule.getId()))
+                                .trackTotalHits(true)
+                                .size(0))
                         .preference(Preference.PRIMARY_FIRST.type());
 
                 client.search(searchRequest, new ActionListener<>() {
@@ -162,25 +156,7 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
                                 return;
                             }
 
-                            List<Detector> detectors = new ArrayList<>();
-                            try {
-                                for (SearchHit hit : response.getHits()) {
-                                    XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                            xContentRegistry,
-                                            LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                                    );
-
-                                    Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
-                                    if (!detector.getInputs().isEmpty()) {
-                                        detector.getInputs().get(0).setCustomRules(removeRuleFromDetectors(detector, rule.getId()));
-                                    }
-                                    detectors.add(detector);
-                                }
-                            } catch (IOException ex) {
-                                onFailures(ex);
-                            }
-
-                            updateDetectors(detectors);
+                            updateDetectors(rule.getId());
                         } else {
                             deleteRule(rule.getId());
                         }
@@ -196,31 +172,21 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
             }
         }
 
-        private void updateDetectors(List<Detector> detectors) {
-            for (Detector detector: detectors) {
-                IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), request.getRefreshPolicy(), RestRequest.Method.PUT, detector);
-                client.execute(IndexDetectorAction.INSTANCE, indexRequest,
-                    new ActionListener<>() {
-                        @Override
-                        public void onResponse(IndexDetectorResponse response) {
-                            if (response.getStatus() != RestStatus.OK) {
-                                onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be deleted", request.getRuleId()), RestStatus.INTERNAL_SERVER_ERROR));
-                            }
-                            onComplete(request.getRuleId(), detectors.size());
-                        }
-
-                        @Override
-                        public void onFailure(Exception e) {
-                            onFailures(e);
+        private void updateDetectors(String ruleId) {
+            // the rule is only deleted once no detector uses it anymore, detectors already updated no longer match when
+            // the deletion is retried
+            DetectorRulePropagator propagator = new DetectorRulePropagator(client, xContentRegistry, namedWriteableRegistry,
+                    request.getRefreshPolicy(), rulePropagationMaxConcurrency);
+            propagator.propagateDeletion(ruleId, ActionListener.wrap(
+                    result -> {
+                        if (result.hasFailures()) {
+                            onFailures(result.toException(String.format(Locale.getDefault(), "Rule with id %s cannot be deleted", request.getRuleId())));
+                        } else {
+                            deleteRule(request.getRuleId());
                         }
-                    });
-            }
-        }
-
-        private void onComplete(String ruleId, int target) {
-            if (checker.incrementAndGet() == target) {
-                deleteRule(ruleId);
-            }
+                    },
+                    this::onFailures
+            ));
         }
 
         private void deleteRule(String ruleId) {
@@ -246,20 +212,6 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
                 });
         }
 
-        private List<DetectorRule> removeRuleFromDetectors(Detector detector, String ruleId) {
-            List<DetectorRule> newRules = new ArrayList<>();
-            if (!detector.getInputs().isEmpty()) {
-                List<DetectorRule> rules = detector.getInputs().get(0).getCustomRules();
-
-                for (DetectorRule rule: rules) {
-                    if (!rule.getId().equals(ruleId)) {
-                        newRules.add(rule);
-                    }
-                }
-            }
-            return newRules;
-        }
-
         private void onOperation(BulkByScrollResponse response, String ruleId) {
             this.response.set(response);
             if (counter.compareAndSet(false, true)) {
@@ -0,0 +1,177 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryAction;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryRequest;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
+import org.opensearch.securityanalytics.action.SearchDetectorRequest;
+import org.opensearch.securityanalytics.findings.FindingsRollupService;
+import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+import static org.opensearch.securityanalytics.util.DetectorUtils.DETECTOR_TYPE_PATH;
+import static org.opensearch.securityanalytics.util.DetectorUtils.MAX_DETECTORS_SEARCH_SIZE;
+import static org.opensearch.securityanalytics.util.DetectorUtils.NO_DETECTORS_FOUND;
+import static org.opensearch.securityanalytics.util.DetectorUtils.NO_DETECTORS_FOUND_FOR_PROVIDED_TYPE;
+
+public class TransportGetFindingsSummaryAction extends HandledTransportAction<GetFindingsSummaryRequest, GetFindingsSummaryResponse> implements SecureTransportAction {
+    private final TransportSearchDetectorAction transportSearchDetectorAction;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final FindingsService findingsService;
+
+    private final FindingsRollupService findingsRollupService;
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    @Inject
+    public TransportGetFindingsSummaryAction(
+            TransportService transportService,
+            ActionFilters actionFilters,
+            ClusterService clusterService,
+            DetectorIndices detectorIndices,
+            Settings settings,
+            TransportSearchDetectorAction transportSearchDetectorAction,
+            NamedXContentRegistry xContentRegistry,
+            Client client,
+            FindingsRollupService findingsRollupService
+    ) {
+        super(GetFindingsSummaryAction.NAME, transportService, actionFilters, GetFindingsSummaryRequest::new);
+        this.xContentRegistry = xContentRegistry;
+        this.transportSearchDetectorAction = transportSearchDetectorAction;
+        this.clusterService = clusterService;
+        this.threadPool = detectorIndices.getThreadPool();
+        this.settings = settings;
+        this.findingsService = new FindingsService(client);
+        this.findingsRollupService = findingsRollupService;
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+    }
+
+    @Override
+    protected void doExecute(Task task, GetFindingsSummaryRequest request, ActionListener<GetFindingsSummaryResponse> actionListener) {
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        transportSearchDetectorAction.execute(new SearchDetectorRequest(getSearchDetectorsRequest(request)), new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                try {
+                    List<Detector> detectors = DetectorUtils.getDetectors(searchResponse, xContentRegistry);
+                    if (detectors.isEmpty()) {
+                        actionListener.onFailure(
+                                SecurityAnalyticsException.wrap(
+                                        new OpenSearchStatusException(
+                                                request.getLogType() == null ? NO_DETECTORS_FOUND : NO_DETECTORS_FOUND_FOR_PROVIDED_TYPE, RestStatus.NOT_FOUND
+                                        )
+                                )
+                        );
+                        return;
+                    }
+                    if (request.isRollup()) {
+                        findingsRollupService.getFindingsSummary(
+                                detectors,
+                                request.getStartTime(),
+                                request.getEndTime(),
+                                request.getInterval(),
+                                actionListener
+                        );
+                        return;
+                    }
+                    String logType = request.getDetectorId() != null ? detectors.get(0).getDetectorType() :
+                            request.getLogType() == null ? "*" : request.getLogType();
+                    findingsService.getFindingsSummary(
+                            detectors,
+                            logType,
+                            request.getStartTime(),
+                            request.getEndTime(),
+                            request.getInterval(),
+                            actionListener
+                    );
+                } catch (IOException e) {
+                    actionListener.onFailure(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(e);
+            }
+        });
+    }
+
+    private static SearchRequest getSearchDetectorsRequest(GetFindingsSummaryRequest request) {
+        QueryBuilder queryBuilder;
+        if (request.getDetectorId() != null) {
+            queryBuilder = QueryBuilders.termQuery("_id", request.getDetectorId());
+        } else if (request.getLogType() != null) {
+            queryBuilder = QueryBuilders.nestedQuery(
+                    "detector",
+                    QueryBuilders.boolQuery().must(
+                            QueryBuilders.matchQuery(
+                                    DETECTOR_TYPE_PATH,
+                                    request.getLogType()
+                            )
+                    ),
+                    ScoreMode.None
+            );
+        } else {
+            queryBuilder = QueryBuilders.matchAllQuery();
+        }
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(queryBuilder);
+        searchSourceBuilder.size(MAX_DETECTORS_SEARCH_SIZE); // Set the size to 10000
+        searchSourceBuilder.fetchSource(true);
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(Detector.DETECTORS_INDEX);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return searchRequest;
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
@@ -95,6 +95,7 @@ import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.Aggregation
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
 import org.opensearch.securityanalytics.threatIntel.service.DetectorThreatIntelService;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.ExceptionChecker;
@@ -103,6 +104,7 @@ import org.opensearch.securityanalytics.util.MonitorService;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.securityanalytics.util.SharedRuleIndices;
 import org.opensearch.securityanalytics.util.ThrowableCheckingPredicates;
 import org.opensearch.securityanalytics.util.WorkflowService;
 import org.opensearch.tasks.Task;
@@ -158,6 +160,8 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
     private volatile Boolean enableDetectorWithDedicatedQueryIndices;
 
+    private volatile Boolean enableDetectorWithSharedQueryIndices;
+
     private final Settings settings;
 
     private final NamedWriteableRegistry namedWriteableRegistry;
@@ -165,12 +169,17 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     private final WorkflowService workflowService;
 
     private final MonitorService monitorService;
+
+    private final SharedRuleIndices sharedRuleIndices;
+
     private final IndexNameExpressionResolver indexNameExpressionResolver;
     private final DetectorThreatIntelService detectorThreatIntelService;
 
     private final ExceptionChecker exceptionChecker;
 
     private final TimeValue indexTimeout;
+
+    private final SecurityAnalyticsSlowLog slowLog;
     @Inject
     public TransportIndexDetectorAction(TransportService transportService,
                                         Client client,
@@ -186,7 +195,8 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                         LogTypeService logTypeService,
                                         IndexNameExpressionResolver indexNameExpressionResolver,
                                         DetectorThreatIntelService detectorThreatIntelService,
-                                        ExceptionChecker exceptionChecker) {
+                                        ExceptionChecker exceptionChecker,
+                                        SecurityAnalyticsSlowLog slowLog) {
         super(IndexDetectorAction.NAME, transportService, actionFilters, IndexDetectorRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
@@ -200,17 +210,21 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         this.logTypeService = logTypeService;
         this.indexNameExpressionResolver = indexNameExpressionResolver;
         this.detectorThreatIntelService = detectorThreatIntelService;
+        this.slowLog = slowLog;
         this.threadPool = this.detectorIndices.getThreadPool();
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
         this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
         this.enabledWorkflowUsage = SecurityAnalyticsSettings.ENABLE_WORKFLOW_USAGE.get(this.settings);
         this.enableDetectorWithDedicatedQueryIndices = SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_DEDICATED_QUERY_INDICES.get(this.settings);
+        this.enableDetectorWithSharedQueryIndices = SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_SHARED_QUERY_INDICES.get(this.settings);
         this.monitorService = new MonitorService(client);
         this.workflowService = new WorkflowService(client, monitorService);
+        this.sharedRuleIndices = new SharedRuleIndices(client);
 
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.ENABLE_WORKFLOW_USAGE, this::setEnabledWorkflowUsage);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_DEDICATED_QUERY_INDICES, this::setEnabledDetectorsWithDedicatedQueryIndices);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.ENABLE_DETECTORS_WITH_SHARED_QUERY_INDICES, this::setEnabledDetectorsWithSharedQueryIndices);
         this.exceptionChecker = exceptionChecker;
     }
 
@@ -438,6 +452,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     private void updateMonitorFromQueries(String index,
                                           List<Pair<String, Rule>> rulesById,
                                           Detector detector,
+                                          Detector currentDetector,
                                           ActionListener<List<IndexMonitorResponse>> listener,
                                           WriteRequest.RefreshPolicy refreshPolicy,
                                           List<String> queryFieldNames) {
@@ -485,6 +500,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                                         monitorsToBeAdded,
                                                         rulesById,
                                                         detector,
+                                                        currentDetector,
                                                         refreshPolicy,
                                                         docLevelQueries,
                                                         queryFieldNames,
@@ -564,6 +580,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                             monitorsToBeAdded,
                             rulesById,
                             detector,
+                            currentDetector,
                             refreshPolicy,
                             docLevelQueries,
                             queryFieldNames,
@@ -587,6 +604,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                                List<IndexMonitorRequest> monitorsToBeAdded,
                                                List<Pair<String, Rule>> rulesById,
                                                Detector detector,
+                                               Detector currentDetector,
                                                RefreshPolicy refreshPolicy,
                                                List<DocLevelQuery> docLevelQueries,
                                                List<String> queryFieldNames,
@@ -607,17 +625,18 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         monitorIdsToBeDeleted.removeAll(monitorsToBeUpdated.stream().map(IndexMonitorRequest::getMonitorId).collect(
                 Collectors.toList()));
 
-        updateAlertingMonitors(rulesById, detector, monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, refreshPolicy, listener);
+        updateAlertingMonitors(rulesById, detector, currentDetector, monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, refreshPolicy, listener);
     }
 
     /**
      *  Update list of monitors for the given detector
      *  Executed in a steps:
      *  1. Add new monitors;
-     *  2. Update existing monitors;
-     *  3. Updates the workflow
+     *  2. Update existing monitors whose definition changed, the others are left untouched;
+     *  3. Updates the workflow, unless neither its monitors nor its settings changed
      *  4. Delete the monitors omitted from request
      *  5. Respond with updated list of monitors
+     * @param currentDetector Stored version of the detector, null if unknown
      * @param monitorsToBeAdded Newly added monitors by the user
      * @param monitorsToBeUpdated Existing monitors that will be updated
      * @param monitorsToBeDeleted Monitors omitted by the user
@@ -627,6 +646,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     private void updateAlertingMonitors(
         List<Pair<String, Rule>> rulesById,
         Detector detector,
+        Detector currentDetector,
         List<IndexMonitorRequest> monitorsToBeAdded,
         List<IndexMonitorRequest> monitorsToBeUpdated,
         List<String> monitorsToBeDeleted,
@@ -643,14 +663,35 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             if (addNewMonitorsResponse != null && !addNewMonitorsResponse.isEmpty()) {
                 updatedMonitors.addAll(addNewMonitorsResponse);
             }
+            StepListener<Map<String, IndexMonitorResponse>> unchangedMonitorsStep = new StepListener<>();
+            if (currentDetector != null && isSameUser(currentDetector.getUser(), detector.getUser())) {
+                monitorService.getUnchangedMonitors(monitorsToBeUpdated, unchangedMonitorsStep);
+            } else {
+                unchangedMonitorsStep.onResponse(Map.of());
+            }
             StepListener<List<IndexMonitorResponse>> updateMonitorsStep = new StepListener<>();
-            executeMonitorActionRequest(monitorsToBeUpdated, updateMonitorsStep);
-            // 2. Update existing alerting monitors (based on the common rules)
+            // 2. Update existing alerting monitors (based on the common rules) whose definition changed
+            unchangedMonitorsStep.whenComplete(unchangedMonitors -> {
+                List<IndexMonitorRequest> changedMonitors = monitorsToBeUpdated.stream()
+                        .filter(it -> !unchangedMonitors.containsKey(it.getMonitorId()))
+                        .collect(Collectors.toList());
+                log.debug("Updating {} of {} monitors of detector {}", changedMonitors.size(), monitorsToBeUpdated.size(), detector.getId());
+                executeMonitorActionRequest(changedMonitors, ActionListener.wrap(changedMonitorResponses -> {
+                    List<IndexMonitorResponse> responses = new ArrayList<>(changedMonitorResponses);
+                    responses.addAll(unchangedMonitors.values());
+                    updateMonitorsStep.onResponse(responses);
+                }, updateMonitorsStep::onFailure));
+            }, listener::onFailure);
             updateMonitorsStep.whenComplete(updateMonitorResponse -> {
                     if (updateMonitorResponse != null && !updateMonitorResponse.isEmpty()) {
                         updatedMonitors.addAll(updateMonitorResponse);
                     }
-                    if (detector.isWorkflowSupported() && enabledWorkflowUsage) {
+                    boolean monitorsUnchanged = monitorsToBeAdded.isEmpty() && monitorsToBeDeleted.isEmpty() && !monitorsToBeUpdated.isEmpty()
+                            && unchangedMonitorsStep.result().size() == monitorsToBeUpdated.size();
+                    if (detector.isWorkflowSupported() && enabledWorkflowUsage && monitorsUnchanged && isSameWorkflow(currentDetector, detector)) {
+                        log.debug("Monitors and workflow of detector {} are unchanged", detector.getId());
+                        listener.onResponse(updatedMonitors);
+                    } else if (detector.isWorkflowSupported() && enabledWorkflowUsage) {
                         updateWorkflowStep(
                             rulesById,
                             detector,
@@ -671,6 +712,26 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }, listener::onFailure);
     }
 
+    /**
+     * Whether the workflow of the stored detector already has the settings it gets from the detector.
+     */
+    private static boolean isSameWorkflow(Detector currentDetector, Detector detector) {
+        return currentDetector != null
+                && !detector.getWorkflowIds().isEmpty()
+                && Objects.equals(currentDetector.getName(), detector.getName())
+                && Objects.equals(currentDetector.getEnabled(), detector.getEnabled())
+                && Objects.equals(currentDetector.getSchedule(), detector.getSchedule());
+    }
+
+    private static boolean isSameUser(User currentUser, User user) {
+        if (currentUser == null || user == null) {
+            return currentUser == user;
+        }
+        return Objects.equals(currentUser.getName(), user.getName())
+                && Objects.equals(currentUser.getBackendRoles(), user.getBackendRoles())
+                && Objects.equals(currentUser.getRoles(), user.getRoles());
+    }
+
     private void deleteMonitorStep(
         List<String> monitorsToBeDeleted,
         RefreshPolicy refreshPolicy,
@@ -751,25 +812,28 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
     }
 
+    /**
+     * Doc level query of a rule, as held by the doc level monitor of a detector.
+     */
+    static DocLevelQuery toDocLevelQuery(String id, Rule rule, List<String> queryFieldNames) {
+        String name = rule.getTitle();
+        String actualQuery = rule.getQueries().get(0).getValue();
+
+        List<String> tags = new ArrayList<>();
+        tags.add(rule.getLevel());
+        tags.add(rule.getCategory());
+        tags.addAll(rule.getTags().stream().map(Value::getValue).collect(Collectors.toList()));
+
+        return new DocLevelQuery(id, name, Collections.emptyList(), actualQuery, tags, queryFieldNames);
+    }
+
     private IndexMonitorRequest createDocLevelMonitorRequest(List<Pair<String, Rule>> queries, List<DocLevelQuery> threatIntelQueries, Detector detector, RefreshPolicy refreshPolicy, String monitorId, Method restMethod, List<String> queryFieldNames) {
         List<DocLevelMonitorInput> docLevelMonitorInputs = new ArrayList<>();
 
         List<DocLevelQuery> docLevelQueries = new ArrayList<>();
 
         for (Pair<String, Rule> query: queries) {
-            String id = query.getLeft();
-
-            Rule rule = query.getRight();
-            String name = rule.getTitle();
-            String actualQuery = rule.getQueries().get(0).getValue();
-
-            List<String> tags = new ArrayList<>();
-            tags.add(rule.getLevel());
-            tags.add(rule.getCategory());
-            tags.addAll(rule.getTags().stream().map(Value::getValue).collect(Collectors.toList()));
-
-            DocLevelQuery docLevelQuery = new DocLevelQuery(id, name, Collections.emptyList(), actualQuery, tags, queryFieldNames);
-            docLevelQueries.add(docLevelQuery);
+            docLevelQueries.add(toDocLevelQuery(query.getLeft(), query.getRight(), queryFieldNames));
         }
         docLevelQueries.addAll(threatIntelQueries);
         DocLevelMonitorInput docLevelMonitorInput = new DocLevelMonitorInput(detector.getName(), detector.getInputs().get(0).getIndices(), docLevelQueries, true);
@@ -797,7 +861,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                         detector.getAlertsHistoryIndex(),
                         detector.getAlertsHistoryIndexPattern(),
                         DetectorMonitorConfig.getRuleIndexMappingsByType(),
-                        true), enableDetectorWithDedicatedQueryIndices, null, PLUGIN_OWNER_FIELD, null, null);
+                        true), deleteQueryIndexInEveryRun(detector), null, PLUGIN_OWNER_FIELD, null, null);
 
         return new IndexMonitorRequest(monitorId, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, refreshPolicy, restMethod, monitor, null);
     }
@@ -896,14 +960,15 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
         Monitor monitor = new Monitor(monitorId, Monitor.NO_VERSION, monitorName, false, detector.getSchedule(), detector.getLastUpdateTime(), null,
                 Monitor.MonitorType.DOC_LEVEL_MONITOR.getValue(), detector.getUser(), 1, docLevelMonitorInputs, triggers, Map.of(),
-                new DataSources(enableDetectorWithDedicatedQueryIndices? detector.getRuleIndex() + "_chained_findings": detector.getRuleIndex(),
+                new DataSources(deleteQueryIndexInEveryRun(detector) || DetectorMonitorConfig.isSharedRuleIndex(detector.getRuleIndex())
+                        ? detector.getRuleIndex() + "_chained_findings" : detector.getRuleIndex(),
                         detector.getFindingsIndex(),
                         detector.getFindingsIndexPattern(),
                         detector.getAlertsIndex(),
                         detector.getAlertsHistoryIndex(),
                         detector.getAlertsHistoryIndexPattern(),
                         DetectorMonitorConfig.getRuleIndexMappingsByType(),
-                        true), enableDetectorWithDedicatedQueryIndices, true, PLUGIN_OWNER_FIELD, null, null);
+                        true), deleteQueryIndexInEveryRun(detector), true, PLUGIN_OWNER_FIELD, null, null);
 
         return new IndexMonitorRequest(monitorId, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, refreshPolicy, restMethod, monitor, null);
     }
@@ -1160,17 +1225,24 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         private final AtomicBoolean counter = new AtomicBoolean();
         private final Task task;
         private final User user;
+        // stored version of the detector being updated
+        private Detector currentDetector;
+        private final SecurityAnalyticsSlowLog.Trace slowLogTrace;
 
         AsyncIndexDetectorsAction(User user, Task task, IndexDetectorRequest request, ActionListener<IndexDetectorResponse> listener) {
             this.task = task;
             this.request = request;
             this.listener = listener;
             this.user = user;
+            this.slowLogTrace = slowLog.start(
+                    request.getMethod() == RestRequest.Method.POST ? "create_detector" : "update_detector",
+                    request.getMethod() == RestRequest.Method.POST ? request.getDetector().getName() : request.getDetectorId());
 
             this.response = new AtomicReference<>();
         }
 
         void start() {
+            slowLogTrace.stage("prepare_indices");
             log.debug("stash context");
             TransportIndexDetectorAction.this.threadPool.getThreadContext().stashContext();
             log.debug("log type check : {}", request.getDetector().getDetectorType());
@@ -1255,6 +1327,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         void createDetector() {
+            slowLogTrace.stage("monitors");
             Detector detector = request.getDetector();
             String ruleTopic = detector.getDetectorType();
 
@@ -1264,7 +1337,9 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             request.getDetector().setFindingsIndex(DetectorMonitorConfig.getFindingsIndex(ruleTopic));
             request.getDetector().setFindingsIndexPattern(DetectorMonitorConfig.getFindingsIndexPattern(ruleTopic));
 
-            if (enableDetectorWithDedicatedQueryIndices) {
+            if (enableDetectorWithSharedQueryIndices) {
+                request.getDetector().setRuleIndex(getSharedRuleIndex(detector));
+            } else if (enableDetectorWithDedicatedQueryIndices) {
                 // disabling the setting after enabling it will mean delete & re-create the detector
                 request.getDetector().setRuleIndex(DetectorMonitorConfig.getRuleIndexOptimized(ruleTopic));
             } else {
@@ -1319,6 +1394,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         void updateDetector() {
+            slowLogTrace.stage("monitors");
             String id = request.getDetectorId();
 
             User originalContextUser = this.user;
@@ -1368,6 +1444,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         void onGetResponse(Detector currentDetector, User user) {
+            this.currentDetector = currentDetector;
             if (request.getDetector().getEnabled() && currentDetector.getEnabled()) {
                 request.getDetector().setEnabledTime(currentDetector.getEnabledTime());
             }
@@ -1386,7 +1463,10 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             request.getDetector().setAlertsHistoryIndexPattern(DetectorMonitorConfig.getAlertsHistoryIndexPattern(ruleTopic));
             request.getDetector().setFindingsIndex(DetectorMonitorConfig.getFindingsIndex(ruleTopic));
             request.getDetector().setFindingsIndexPattern(DetectorMonitorConfig.getFindingsIndexPattern(ruleTopic));
-            if (currentDetector.getRuleIndex().contains("optimized")) {
+            if (enableDetectorWithSharedQueryIndices || DetectorMonitorConfig.isSharedRuleIndex(currentDetector.getRuleIndex())) {
+                // the shared query index follows the rules and indices of the detector
+                request.getDetector().setRuleIndex(getSharedRuleIndex(detector));
+            } else if (currentDetector.getRuleIndex().contains("optimized")) {
                 request.getDetector().setRuleIndex(currentDetector.getRuleIndex());
             } else {
                 if (enableDetectorWithDedicatedQueryIndices) {
@@ -1570,6 +1650,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             client.search(searchRequest, new ActionListener<>() {
                 @Override
                 public void onResponse(SearchResponse response) {
+                    slowLogTrace.searched(response);
                     if (response.isTimedOut()) {
                         onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
                     }
@@ -1657,7 +1738,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             if (request.getMethod() == Method.POST) {
                 createMonitorFromQueries(queries, detector, listener, request.getRefreshPolicy(), new ArrayList<>(ruleFieldNames));
             } else if (request.getMethod() == Method.PUT) {
-                updateMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy(), new ArrayList<>(ruleFieldNames));
+                updateMonitorFromQueries(logIndex, queries, detector, currentDetector, listener, request.getRefreshPolicy(), new ArrayList<>(ruleFieldNames));
             }
         }
 
@@ -1678,6 +1759,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             client.search(searchRequest, new ActionListener<>() {
                 @Override
                 public void onResponse(SearchResponse response) {
+                    slowLogTrace.searched(response);
                     if (response.isTimedOut()) {
                         onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
                     }
@@ -1711,6 +1793,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         public void indexDetector() throws Exception {
+            slowLogTrace.stage("index_detector");
             IndexRequest indexRequest;
             if (request.getMethod() == RestRequest.Method.POST) {
                 indexRequest = new IndexRequest(Detector.DETECTORS_INDEX)
@@ -1732,7 +1815,20 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                     log.debug("detector indexed success.");
                     Detector responseDetector = request.getDetector();
                     responseDetector.setId(response.getId());
-                    onOperation(response, responseDetector);
+                    if (currentDetector == null || Objects.equals(currentDetector.getRuleIndex(), responseDetector.getRuleIndex())) {
+                        onOperation(response, responseDetector);
+                        return;
+                    }
+                    // the detector moved to another query index, the one it left is dropped once no detector uses it
+                    sharedRuleIndices.deleteIfUnreferenced(responseDetector.getId(), currentDetector.getDetectorType(),
+                            currentDetector.getRuleIndex(), ActionListener.wrap(
+                                    deleted -> onOperation(response, responseDetector),
+                                    e -> {
+                                        log.error(String.format(Locale.ROOT, "Failed to delete the query index %s of detector %s",
+                                                currentDetector.getRuleIndex(), responseDetector.getId()), e);
+                                        onOperation(response, responseDetector);
+                                    }
+                            ));
                 }
 
                 @Override
@@ -1779,6 +1875,10 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         private void finishHim(Detector detector, Exception t) {
+            if (detector != null) {
+                slowLogTrace.entity(detector.getId());
+            }
+            slowLogTrace.finish();
             threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> {
                 if (t != null) {
                     log.error("exception:", t);
@@ -1835,4 +1935,28 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     private void setEnabledDetectorsWithDedicatedQueryIndices(boolean enabledDetectorsWithDedicatedQueryIndices) {
         this.enableDetectorWithDedicatedQueryIndices = enabledDetectorsWithDedicatedQueryIndices;
     }
+
+    private void setEnabledDetectorsWithSharedQueryIndices(boolean enabledDetectorsWithSharedQueryIndices) {
+        this.enableDetectorWithSharedQueryIndices = enabledDetectorsWithSharedQueryIndices;
+    }
+
+    /**
+     * Dedicated query indices are dropped by alerting after each monitor run, shared ones are kept for the other
+     * detectors using them.
+     */
+    private boolean deleteQueryIndexInEveryRun(Detector detector) {
+        return enableDetectorWithDedicatedQueryIndices && !DetectorMonitorConfig.isSharedRuleIndex(detector.getRuleIndex());
+    }
+
+    private static String getSharedRuleIndex(Detector detector) {
+        if (detector.getInputs().isEmpty()) {
+            return DetectorMonitorConfig.getRuleIndex(detector.getDetectorType());
+        }
+        DetectorInput input = detector.getInputs().get(0);
+        List<String> ruleIds = new ArrayList<>();
+        input.getPrePackagedRules().forEach(it -> ruleIds.add(it.getId()));
+        input.getCustomRules().forEach(it -> ruleIds.add(it.getId()));
+        return DetectorMonitorConfig.getRuleIndexShared(detector.getDetectorType(), input.getIndices(), ruleIds,
+                Boolean.TRUE.equals(detector.getThreatIntelEnabled()));
+    }
 }
@@ -7,7 +7,6 @@ package org.opensearch.securityanalytics.transport;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
@@ -17,28 +16,21 @@ import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
-import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
-import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContent;
-import org.opensearch.core.xcontent.XContentParser;
-import org.opensearch.index.query.QueryBuilder;
-import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.core.rest.RestStatus;
-import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
-import org.opensearch.securityanalytics.action.IndexDetectorAction;
-import org.opensearch.securityanalytics.action.IndexDetectorRequest;
-import org.opensearch.securityanalytics.action.IndexDetectorResponse;
 import org.opensearch.securityanalytics.action.IndexRuleAction;
 import org.opensearch.securityanalytics.action.IndexRuleRequest;
 import org.opensearch.securityanalytics.action.IndexRuleResponse;
@@ -67,7 +59,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.opensearch.securityanalytics.model.Detector.NO_ID;
@@ -93,13 +84,18 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
 
     private final Settings settings;
 
+    private final NamedWriteableRegistry namedWriteableRegistry;
+
     private volatile TimeValue indexTimeout;
 
+    private volatile int rulePropagationMaxConcurrency;
+
     @Inject
     public TransportIndexRuleAction(TransportService transportService, Client client, ActionFilters actionFilters,
                                     ClusterService clusterService, DetectorIndices detectorIndices,
                                     RuleIndices ruleIndices, NamedXContentRegistry xContentRegistry,
-                                    LogTypeService logTypeService, Settings settings) {
+                                    LogTypeService logTypeService, Settings settings,
+                                    NamedWriteableRegistry namedWriteableRegistry) {
         super(IndexRuleAction.NAME, transportService, actionFilters, IndexRuleRequest::new);
         this.client = client;
         this.detectorIndices = detectorIndices;
@@ -109,8 +105,11 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
         this.xContentRegistry = xContentRegistry;
         this.logTypeService = logTypeService;
         this.settings = settings;
+        this.namedWriteableRegistry = namedWriteableRegistry;
 
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
+        this.rulePropagationMaxConcurrency = SecurityAnalyticsSettings.RULE_PROPAGATION_MAX_CONCURRENCY.get(this.settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.RULE_PROPAGATION_MAX_CONCURRENCY, it -> rulePropagationMaxConcurrency = it);
     }
 
     @Override
@@ -125,7 +124,6 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
         private final ActionListener<IndexRuleResponse> listener;
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
-        private final AtomicInteger checker = new AtomicInteger();
         private final Task task;
 
         AsyncIndexRulesAction(Task task, IndexRuleRequest request, ActionListener<IndexRuleResponse> listener) {
@@ -241,34 +239,15 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                                 return;
                             }
 
-                            if (response.getHits().getTotalHits().value() > 0) {
-                                if (!request.isForced()) {
-                                    onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s is actively used by detectors. Update can be forced by setting forced flag to true", request.getRuleId()), RestStatus.BAD_REQUEST));
-                                    return;
-                                }
-
-                                List<Detector> detectors = new ArrayList<>();
-                                try {
-                                    for (SearchHit hit : response.getHits()) {
-                                        XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                                xContentRegistry,
-                                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                                        );
-
-                                        Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
-                                        detectors.add(detector);
-                                    }
-
-                                    updateRule(rule, ruleFieldMappings, detectors);
-                                } catch (IOException ex) {
-                                    onFailures(ex);
-                                }
-                            } else {
-                                try {
-                                    updateRule(rule, ruleFieldMappings, List.of());
-                                } catch (IOException ex) {
-                                    onFailures(ex);
-                                }
+                            boolean usedByDetectors = response.getHits().getTotalHits().value() > 0;
+                            if (usedByDetectors && !request.isForced()) {
+                                onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s is actively used by detectors. Update can be forced by setting forced flag to true", request.getRuleId()), RestStatus.BAD_REQUEST));
+                                return;
+                            }
+                            try {
+                                updateRule(rule, ruleFieldMappings, usedByDetectors);
+                            } catch (IOException ex) {
+                                onFailures(ex);
                             }
                         }
 
@@ -278,7 +257,7 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                         }
                     });
                 } else {
-                    updateRule(rule, ruleFieldMappings, List.of());
+                    updateRule(rule, ruleFieldMappings, false);
                 }
             } else {
                 IndexRequest indexRequest = new IndexRequest(Rule.CUSTOM_RULES_INDEX)
@@ -305,48 +284,40 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             }
         }
 
+        /**
+         * Counts the detectors using the rule, they are paged through when the rule change is propagated.
+         */
         private void searchDetectors(String ruleId, ActionListener<SearchResponse> listener) {
-            QueryBuilder queryBuilder =
-                    QueryBuilders.nestedQuery("detector.inputs.detector_input.custom_rules",
-                            QueryBuilders.boolQuery().must(
-                                    QueryBuilders.matchQuery("detector.inputs.detector_input.custom_rules.id", ruleId)
-                            ), ScoreMode.Avg);
-
             SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
                     .source(new SearchSourceBuilder()
-                            .seqNoAndPrimaryTerm(true)
-                            .version(true)
-                            .query(queryBuilder)
-                            .size(10000))
+                            .query(DetectorRulePropagator.detectorsUsingRule(ruleId))
+                            .trackTotalHits(true)
+                            .size(0))
                     .preference(Preference.PRIMARY_FIRST.type());
 
             client.search(searchRequest, listener);
         }
 
-        private void updateDetectors(IndexResponse indexResponse, Rule rule, List<Detector> detectors) {
-            for (Detector detector: detectors) {
-                IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), request.getRefreshPolicy(), RestRequest.Method.PUT, detector);
-                client.execute(IndexDetectorAction.INSTANCE, indexRequest,
-                        new ActionListener<>() {
-                            @Override
-                            public void onResponse(IndexDetectorResponse response) {
-                                if (response.getStatus() != RestStatus.OK) {
-                                    onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be updated", request.getRuleId()), RestStatus.INTERNAL_SERVER_ERROR));
-                                }
-                                onComplete(indexResponse, rule, detectors.size());
-                            }
-
-                            @Override
-                            public void onFailure(Exception e) {
-                                onFailures(e);
-                            }
-                        });
-            }
+        private void updateDetectors(IndexResponse indexResponse, Rule rule) {
+            DetectorRulePropagator propagator = new DetectorRulePropagator(client, xContentRegistry, namedWriteableRegistry,
+                    request.getRefreshPolicy(), rulePropagationMaxConcurrency);
+            propagator.propagateUpdate(rule, ActionListener.wrap(
+                    result -> {
+                        if (result.hasFailures()) {
+                            onFailures(result.toException(String.format(Locale.getDefault(), "Rule with id %s was updated", request.getRuleId())));
+                        } else {
+                            onOperation(indexResponse, rule);
+                        }
+                    },
+                    this::onFailures
+            ));
         }
 
-        private void updateRule(Rule rule, Map<String, String> ruleFieldMappings, List<Detector> detectors) throws IOException {
+        private void updateRule(Rule rule, Map<String, String> ruleFieldMappings, boolean usedByDetectors) throws IOException {
+            // detectors fully updated read the rule queries back from the rule index, so the rule has to be searchable before
+            WriteRequest.RefreshPolicy refreshPolicy = usedByDetectors ? WriteRequest.RefreshPolicy.IMMEDIATE : request.getRefreshPolicy();
             IndexRequest indexRequest = new IndexRequest(Rule.CUSTOM_RULES_INDEX)
-                    .setRefreshPolicy(request.getRefreshPolicy())
+                    .setRefreshPolicy(refreshPolicy)
                     .source(rule.toXContent(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true"))))
                     .id(request.getRuleId())
                     .timeout(indexTimeout);
@@ -357,8 +328,8 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                     rule.setId(response.getId());
 
                     updateFieldMappings(rule, ruleFieldMappings, ActionListener.wrap(() -> {
-                        if (detectors.size() > 0) {
-                            updateDetectors(response, rule, detectors);
+                        if (usedByDetectors) {
+                            updateDetectors(response, rule);
                         } else {
                             onOperation(response, rule);
                         }
@@ -387,12 +358,6 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             );
         }
 
-        private void onComplete(IndexResponse response, Rule rule, int target) {
-            if (checker.incrementAndGet() == target) {
-                onOperation(response, rule);
-            }
-        }
-
         private void onOperation(IndexResponse response, Rule rule) {
             this.response.set(response);
             if (counter.compareAndSet(false, true)) {
@@ -10,6 +10,8 @@ import org.opensearch.OpenSearchStatusException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
@@ -17,16 +19,24 @@ import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.action.ListCorrelationsAction;
 import org.opensearch.securityanalytics.action.ListCorrelationsRequest;
 import org.opensearch.securityanalytics.action.ListCorrelationsResponse;
 import org.opensearch.securityanalytics.model.CorrelatedFinding;
+import org.opensearch.securityanalytics.model.CorrelationEdgeCount;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -35,8 +45,7 @@ import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,6 +55,15 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
 
     private static final Logger log = LogManager.getLogger(TransportListCorrelationAction.class);
 
+    // renewed by every page, a point in time of a listing not followed to its last page expires soon after
+    private static final TimeValue PIT_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private static final String[] CORRELATION_SOURCE_FIELDS = new String[] { "finding1", "finding2", "logType", "corrRules" };
+
+    private static final String LOG_TYPE_PAIRS_AGGREGATION = "log_type_pairs";
+
+    private static final int EDGE_COUNTS_PAGE_SIZE = 1000;
+
     private final ClusterService clusterService;
 
     private final Settings settings;
@@ -93,50 +111,151 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
             this.response =new AtomicReference<>();
         }
 
-        @SuppressWarnings("unchecked")
         void start() {
-            Long startTimestamp = request.getStartTimestamp();
-            Long endTimestamp = request.getEndTimestamp();
+            if (request.isAggregate()) {
+                searchEdgeCounts(null, new ArrayList<>());
+            } else if (request.getNextToken() != null) {
+                Object[] token = ListCorrelationsRequest.decodeNextToken(request.getNextToken());
+                searchCorrelations((String) token[0], new Object[] { token[1], token[2], token[3] });
+            } else if (clusterService.state().metadata().hasAlias(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX) == false) {
+                onOperation(new ListCorrelationsResponse(List.of()));
+            } else {
+                CreatePitRequest createPitRequest = new CreatePitRequest(PIT_KEEP_ALIVE, false, CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+                client.createPit(createPitRequest, ActionListener.wrap(
+                        pitResponse -> searchCorrelations(pitResponse.getId(), null),
+                        this::onFailures
+                ));
+            }
+        }
 
-            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+        private BoolQueryBuilder correlationsQuery() {
+            return QueryBuilders.boolQuery()
                     .mustNot(QueryBuilders.matchQuery(
                             "finding1", ""
                     )).mustNot(QueryBuilders.matchQuery(
                             "finding2", ""
                     )).filter(QueryBuilders.rangeQuery("timestamp")
-                            .gte(startTimestamp)
-                            .lte(endTimestamp));
+                            .gte(request.getStartTimestamp())
+                            .lte(request.getEndTimestamp()));
+        }
+
+        /**
+         * Fetches one page of correlations from the point in time, sorted by timestamp and finding ids so that the sort
+         * values of the last hit identify where the next page starts.
+         */
+        @SuppressWarnings("unchecked")
+        private void searchCorrelations(String pitId, Object[] searchAfter) {
+            int size = request.getSize();
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(true);
-            searchSourceBuilder.size(10000);
+            searchSourceBuilder.query(correlationsQuery());
+            searchSourceBuilder.fetchSource(CORRELATION_SOURCE_FIELDS, null);
+            searchSourceBuilder.size(size);
+            searchSourceBuilder.sort(SortBuilders.fieldSort("timestamp").order(SortOrder.ASC));
+            searchSourceBuilder.sort(SortBuilders.fieldSort("finding1").order(SortOrder.ASC));
+            searchSourceBuilder.sort(SortBuilders.fieldSort("finding2").order(SortOrder.ASC));
+            searchSourceBuilder.pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(PIT_KEEP_ALIVE));
+            if (searchAfter != null) {
+                searchSourceBuilder.searchAfter(searchAfter);
+            }
             SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
             searchRequest.source(searchSourceBuilder);
-            searchRequest.preference(Preference.PRIMARY_FIRST.type());
 
             client.search(searchRequest, new ActionListener<>() {
                 @Override
                 public void onResponse(SearchResponse response) {
                     if (response.isTimedOut()) {
+                        deletePit(pitId);
                         onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                        return;
                     }
 
-                    Map<String, CorrelatedFinding> correlatedFindings = new HashMap<>();
-                    Iterator<SearchHit> hits = response.getHits().iterator();
-                    while (hits.hasNext()) {
-                        SearchHit hit = hits.next();
+                    Map<String, CorrelatedFinding> correlatedFindings = new LinkedHashMap<>();
+                    SearchHit[] hits = response.getHits().getHits();
+                    for (SearchHit hit: hits) {
                         Map<String, Object> source = hit.getSourceAsMap();
+                        String[] logTypes = source.get("logType").toString().split("-");
 
                         CorrelatedFinding correlatedFinding = new CorrelatedFinding(
                                 source.get("finding1").toString(),
-                                source.get("logType").toString().split("-")[0],
+                                logTypes[0],
                                 source.get("finding2").toString(),
-                                source.get("logType").toString().split("-")[1],
+                                logTypes[1],
                                 (List<String>) source.get("corrRules"));
                         correlatedFindings.put(source.get("finding1").toString() + ":" + source.get("finding2").toString(), correlatedFinding);
                     }
-                    onOperation(new ListCorrelationsResponse(new ArrayList<>(correlatedFindings.values())));
+
+                    String nextPitId = response.pointInTimeId() != null ? response.pointInTimeId() : pitId;
+                    String nextToken = null;
+                    if (hits.length < size) {
+                        deletePit(nextPitId);
+                    } else {
+                        Object[] sortValues = hits[hits.length - 1].getSortValues();
+                        nextToken = ListCorrelationsRequest.encodeNextToken(nextPitId, ((Number) sortValues[0]).longValue(),
+                                sortValues[1].toString(), sortValues[2].toString());
+                    }
+                    onOperation(new ListCorrelationsResponse(new ArrayList<>(correlatedFindings.values()), nextToken, null));
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    deletePit(pitId);
+                    onFailures(e);
+                }
+            });
+        }
+
+        private void deletePit(String pitId) {
+            client.deletePits(new DeletePitRequest(pitId), ActionListener.wrap(
+                    response -> {},
+                    e -> log.warn("Failed to delete point in time of correlations listing", e)
+            ));
+        }
+
+        /**
+         * Counts correlations per log type pair with a composite aggregation over the {@code logType} field of the
+         * correlation docs, paging through the buckets instead of loading the docs themselves.
+         */
+        private void searchEdgeCounts(Map<String, Object> afterKey, List<CorrelationEdgeCount> edgeCounts) {
+            CompositeAggregationBuilder aggregationBuilder = new CompositeAggregationBuilder(
+                    LOG_TYPE_PAIRS_AGGREGATION,
+                    List.of(new TermsValuesSourceBuilder("logType").field("logType"))
+            ).size(EDGE_COUNTS_PAGE_SIZE);
+            if (afterKey != null) {
+                aggregationBuilder.aggregateAfter(afterKey);
+            }
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+            searchSourceBuilder.query(correlationsQuery());
+            searchSourceBuilder.size(0);
+            searchSourceBuilder.trackTotalHits(false);
+            searchSourceBuilder.aggregation(aggregationBuilder);
+            SearchRequest searchRequest = new SearchRequest();
+            searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+            searchRequest.source(searchSourceBuilder);
+            searchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            client.search(searchRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(SearchResponse response) {
+                    if (response.isTimedOut()) {
+                        onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                        return;
+                    }
+
+                    CompositeAggregation aggregation = response.getAggregations() == null ? null :
+                            response.getAggregations().get(LOG_TYPE_PAIRS_AGGREGATION);
+                    if (aggregation == null) {
+                        onOperation(new ListCorrelationsResponse(List.of(), null, edgeCounts));
+                        return;
+                    }
+                    for (CompositeAggregation.Bucket bucket: aggregation.getBuckets()) {
+                        String[] logTypes = bucket.getKey().get("logType").toString().split("-");
+                        edgeCounts.add(new CorrelationEdgeCount(logTypes[0], logTypes[1], bucket.getDocCount()));
+                    }
+                    if (aggregation.getBuckets().size() < EDGE_COUNTS_PAGE_SIZE || aggregation.afterKey() == null) {
+                        onOperation(new ListCorrelationsResponse(List.of(), null, edgeCounts));
+                    } else {
+                        searchEdgeCounts(aggregation.afterKey(), edgeCounts);
+                    }
                 }
 
                 @Override
@@ -8,13 +8,13 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.ResourceNotFoundException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.search.MultiSearchRequest;
 import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.cluster.service.ClusterService;
@@ -22,7 +22,6 @@ import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.index.query.BoolQueryBuilder;
-import org.opensearch.index.query.MatchQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
@@ -30,9 +29,11 @@ import org.opensearch.securityanalytics.action.CorrelatedFindingAction;
 import org.opensearch.securityanalytics.action.CorrelatedFindingRequest;
 import org.opensearch.securityanalytics.action.CorrelatedFindingResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.CorrelationGraphStore;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.FindingWithScore;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -48,6 +49,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class TransportSearchCorrelationAction extends HandledTransportAction<CorrelatedFindingRequest, CorrelatedFindingResponse> implements SecureTransportAction {
 
@@ -63,19 +65,29 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
 
     private final ThreadPool threadPool;
 
+    private final CorrelationIndices correlationIndices;
+
+    private final CorrelationGraphStore correlationGraphStore;
+
+    private final String correlationStore;
+
     @Inject
     public TransportSearchCorrelationAction(TransportService transportService,
                                             Client client,
                                             NamedXContentRegistry xContentRegistry,
                                             ClusterService clusterService,
                                             Settings settings,
-                                            ActionFilters actionFilters) {
+                                            ActionFilters actionFilters,
+                                            CorrelationIndices correlationIndices) {
         super(CorrelatedFindingAction.NAME, transportService, actionFilters, CorrelatedFindingRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
         this.settings = settings;
+        this.correlationIndices = correlationIndices;
         this.threadPool = this.client.threadPool();
+        this.correlationGraphStore = new CorrelationGraphStore(client);
+        this.correlationStore = SecurityAnalyticsSettings.CORRELATION_STORE.get(this.settings);
     }
 
     @Override
@@ -100,175 +112,196 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
             this.response =new AtomicReference<>();
         }
 
-        @SuppressWarnings("unchecked")
         void start() {
+            if (SecurityAnalyticsSettings.CORRELATION_STORE_GRAPH.equals(correlationStore)) {
+                searchFindingTimestamp(findingTimestamp -> correlationGraphStore.searchNeighbors(
+                        request.getFindingId(),
+                        findingTimestamp,
+                        request.getTimeWindow(),
+                        request.getDepth(),
+                        request.getNoOfNearbyFindings(),
+                        ActionListener.wrap(findings -> onOperation(new CorrelatedFindingResponse(findings)), this::onFailures)
+                ));
+            } else {
+                searchFinding();
+            }
+        }
+
+        /**
+         * Looks up the timestamp of the finding, all the graph store needs to search its neighbors.
+         */
+        private void searchFindingTimestamp(Consumer<Long> onTimestamp) {
+            String findingId = request.getFindingId();
+            SearchSourceBuilder findingSearchSourceBuilder = new SearchSourceBuilder();
+            findingSearchSourceBuilder.query(QueryBuilders.matchQuery("_id", findingId));
+            findingSearchSourceBuilder.fetchSource(false);
+            findingSearchSourceBuilder.fetchField("timestamp");
+            findingSearchSourceBuilder.size(1);
+            SearchRequest findingSearchRequest = new SearchRequest();
+            findingSearchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(request.getDetectorType()));
+            findingSearchRequest.source(findingSearchSourceBuilder);
+            findingSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            client.search(findingSearchRequest, ActionListener.wrap(response -> {
+                SearchHit[] findingHits = response.getHits().getHits();
+                if (findingHits.length == 0) {
+                    onFailures(new ResourceNotFoundException("Finding {} not found", findingId));
+                    return;
+                }
+                onTimestamp.accept(findingHits[0].getFields().get("timestamp").<Long>getValue());
+            }, this::onFailures));
+        }
+
+        /**
+         * Looks up the timestamp of the finding, its counter and the score timestamp in a single multi search, all
+         * are needed to build the correlation vector of the finding.
+         */
+        private void searchFinding() {
             String findingId = request.getFindingId();
             String detectorType = request.getDetectorType();
+
+            SearchSourceBuilder findingSearchSourceBuilder = new SearchSourceBuilder();
+            findingSearchSourceBuilder.query(QueryBuilders.matchQuery("_id", findingId));
+            findingSearchSourceBuilder.fetchSource(false);
+            findingSearchSourceBuilder.fetchField("timestamp");
+            findingSearchSourceBuilder.size(1);
+            SearchRequest findingSearchRequest = new SearchRequest();
+            findingSearchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType));
+            findingSearchRequest.source(findingSearchSourceBuilder);
+            findingSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            BoolQueryBuilder counterQueryBuilder = QueryBuilders.boolQuery()
+                    .must(QueryBuilders.matchQuery(
+                            "finding1", findingId
+                    )).must(QueryBuilders.matchQuery(
+                            "finding2", ""
+                    ));
+            SearchSourceBuilder counterSearchSourceBuilder = new SearchSourceBuilder();
+            counterSearchSourceBuilder.query(counterQueryBuilder);
+            counterSearchSourceBuilder.fetchSource(false);
+            counterSearchSourceBuilder.fetchField("counter");
+            counterSearchSourceBuilder.size(1);
+            SearchRequest counterSearchRequest = new SearchRequest();
+            counterSearchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+            counterSearchRequest.source(counterSearchSourceBuilder);
+            counterSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+            mSearchRequest.add(findingSearchRequest);
+            mSearchRequest.add(counterSearchRequest);
+            mSearchRequest.add(CorrelationIndices.scoreTimestampSearchRequest());
+            client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                MultiSearchResponse.Item[] responses = items.getResponses();
+                for (MultiSearchResponse.Item response : responses) {
+                    if (response.isFailure()) {
+                        onFailures(response.getFailure());
+                        return;
+                    }
+                }
+                SearchHit[] findingHits = responses[0].getResponse().getHits().getHits();
+                if (findingHits.length == 0) {
+                    onFailures(new ResourceNotFoundException("Finding {} not found", findingId));
+                    return;
+                }
+                long findingTimestamp = findingHits[0].getFields().get("timestamp").<Long>getValue();
+                long scoreTimestamp = CorrelationIndices.scoreTimestamp(responses[2].getResponse());
+                searchCorrelatedFindings(findingTimestamp, scoreTimestamp, responses[1].getResponse().getHits().getHits());
+            }, this::onFailures));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void searchCorrelatedFindings(long findingTimestamp, long scoreTimestamp, SearchHit[] hits) {
+            String findingId = request.getFindingId();
             long timeWindow = request.getTimeWindow();
             int noOfNearbyFindings = request.getNoOfNearbyFindings();
+            if (hits.length == 0) {
+                onOperation(new CorrelatedFindingResponse(List.of()));
+                return;
+            }
 
-            MatchQueryBuilder queryBuilder = QueryBuilders.matchQuery(
-                    "_id", findingId
-            );
-            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(false);
-            searchSourceBuilder.fetchField("timestamp");
-            searchSourceBuilder.size(1);
-            SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType));
-            searchRequest.source(searchSourceBuilder);
-            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-            client.search(searchRequest, new ActionListener<>() {
+            MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+            for (SearchHit hit: hits) {
+                long counter = hit.getFields().get("counter").<Long>getValue();
+                float[] query = new float[3];
+                for (int i = 0; i < 2; ++i) {
+                    query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
+                }
+                query[2] = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
+
+                CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, noOfNearbyFindings, QueryBuilders.boolQuery()
+                        .mustNot(QueryBuilders.matchQuery(
+                                "finding1", ""
+                        )).mustNot(QueryBuilders.matchQuery(
+                                "finding2", ""
+                        )).filter(QueryBuilders.rangeQuery("timestamp")
+                                .gte(findingTimestamp - timeWindow)
+                                .lte(findingTimestamp + timeWindow)));
+
+                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+                searchSourceBuilder.query(correlationQueryBuilder);
+                searchSourceBuilder.fetchSource(true);
+                searchSourceBuilder.size(noOfNearbyFindings);
+                SearchRequest searchRequest = new SearchRequest();
+                searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+                searchRequest.source(searchSourceBuilder);
+                searchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+                mSearchRequest.add(searchRequest);
+            }
+
+            client.multiSearch(mSearchRequest, new ActionListener<>() {
                 @Override
-                public void onResponse(SearchResponse response) {
-                    SearchHit hit = response.getHits().getAt(0);
-                    long findingTimestamp = hit.getFields().get("timestamp").<Long>getValue();
-
-                    BoolQueryBuilder scoreQueryBuilder = QueryBuilders.boolQuery()
-                            .mustNot(QueryBuilders.termQuery("scoreTimestamp", 0L));
-                    SearchSourceBuilder scoreSearchSourceBuilder = new SearchSourceBuilder();
-                    scoreSearchSourceBuilder.query(scoreQueryBuilder);
-                    scoreSearchSourceBuilder.fetchSource(true);
-                    scoreSearchSourceBuilder.size(1);
-                    SearchRequest scoreSearchRequest = new SearchRequest();
-                    scoreSearchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
-                    scoreSearchRequest.source(scoreSearchSourceBuilder);
-                    scoreSearchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                    client.search(scoreSearchRequest, new ActionListener<>() {
-                        @Override
-                        public void onResponse(SearchResponse response) {
-                            Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
-                            long scoreTimestamp = (long) hitSource.get("scoreTimestamp");
-
-                            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                                    .must(QueryBuilders.matchQuery(
-                                            "finding1", findingId
-                                    )).must(QueryBuilders.matchQuery(
-                                            "finding2", ""
-                                    ));
-
-                            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                            searchSourceBuilder.query(queryBuilder);
-                            searchSourceBuilder.fetchSource(false);
-                            searchSourceBuilder.fetchField("counter");
-                            searchSourceBuilder.size(1);
-                            SearchRequest searchRequest = new SearchRequest();
-                            searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-                            searchRequest.source(searchSourceBuilder);
-                            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                            client.search(searchRequest, new ActionListener<>() {
-                                @Override
-                                public void onResponse(SearchResponse response) {
-                                    MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-                                    SearchHit[] hits = response.getHits().getHits();
-
-                                    for (SearchHit hit: hits) {
-                                        long counter = hit.getFields().get("counter").<Long>getValue();
-                                        float[] query = new float[3];
-                                        for (int i = 0; i < 2; ++i) {
-                                            query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
-                                        }
-                                        query[2] = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
-
-                                        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, noOfNearbyFindings, QueryBuilders.boolQuery()
-                                                .mustNot(QueryBuilders.matchQuery(
-                                                        "finding1", ""
-                                                )).mustNot(QueryBuilders.matchQuery(
-                                                        "finding2", ""
-                                                )).filter(QueryBuilders.rangeQuery("timestamp")
-                                                        .gte(findingTimestamp - timeWindow)
-                                                        .lte(findingTimestamp + timeWindow)));
-
-                                        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                                        searchSourceBuilder.query(correlationQueryBuilder);
-                                        searchSourceBuilder.fetchSource(true);
-                                        searchSourceBuilder.size(noOfNearbyFindings);
-                                        SearchRequest searchRequest = new SearchRequest();
-                                        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-                                        searchRequest.source(searchSourceBuilder);
-                                        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                                        mSearchRequest.add(searchRequest);
-                                    }
-
-                                    client.multiSearch(mSearchRequest, new ActionListener<>() {
-                                        @Override
-                                        public void onResponse(MultiSearchResponse items) {
-                                            MultiSearchResponse.Item[] responses = items.getResponses();
-                                            Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings = new HashMap<>();
-
-                                            for (MultiSearchResponse.Item response : responses) {
-                                                if (response.isFailure()) {
-                                                    log.info(response.getFailureMessage());
-                                                    continue;
-                                                }
-
-                                                SearchHit[] hits = response.getResponse().getHits().getHits();
-                                                for (SearchHit hit: hits) {
-                                                    Map<String, Object> source = hit.getSourceAsMap();
-                                                    if (!source.get("finding1").toString().equals(findingId)) {
-                                                        Pair<String, String> findingKey1 = Pair.of(source.get("finding1").toString(), source.get("logType").toString().split("-")[0]);
-
-                                                        if (correlatedFindings.containsKey(findingKey1)) {
-                                                            double score = Math.max(correlatedFindings.get(findingKey1).getLeft(), hit.getScore());
-                                                            Set<String> rules = correlatedFindings.get(findingKey1).getRight();
-                                                            rules.addAll((List<String>) source.get("corrRules"));
-
-                                                            correlatedFindings.put(findingKey1, Pair.of(score, rules));
-                                                        } else {
-                                                            Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
-                                                            correlatedFindings.put(findingKey1, Pair.of((double) hit.getScore(), rules));
-                                                        }
-                                                    }
-                                                    if (!source.get("finding2").toString().equals(findingId)) {
-                                                        Pair<String, String> findingKey2 = Pair.of(source.get("finding2").toString(), source.get("logType").toString().split("-")[1]);
-
-                                                        if (correlatedFindings.containsKey(findingKey2)) {
-                                                            double score =  Math.max(correlatedFindings.get(findingKey2).getLeft(), hit.getScore());
-                                                            Set<String> rules = correlatedFindings.get(findingKey2).getRight();
-                                                            rules.addAll((List<String>) source.get("corrRules"));
-
-                                                            correlatedFindings.put(findingKey2, Pair.of(score, rules));
-                                                        } else {
-                                                            Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
-                                                            correlatedFindings.put(findingKey2, Pair.of((double) hit.getScore(), rules));
-                                                        }
-                                                    }
-                                                }
-                                            }
-
-                                            List<FindingWithScore> findingWithScores = new ArrayList<>();
-                                            for (Map.Entry<Pair<String, String>, Pair<Double, Set<String>>> correlatedFinding: correlatedFindings.entrySet()) {
-                                                findingWithScores.add(new FindingWithScore(correlatedFinding.getKey().getKey(), correlatedFinding.getKey().getValue(),
-                                                        correlatedFinding.getValue().getLeft(), new ArrayList<>(correlatedFinding.getValue().getRight())));
-                                            }
-
-                                            onOperation(new CorrelatedFindingResponse(findingWithScores));
-                                        }
-
-                                        @Override
-                                        public void onFailure(Exception e) {
-                                            onFailures(e);
-                                        }
-                                    });
-                                }
+                public void onResponse(MultiSearchResponse items) {
+                    MultiSearchResponse.Item[] responses = items.getResponses();
+                    Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings = new HashMap<>();
+
+                    for (MultiSearchResponse.Item response : responses) {
+                        if (response.isFailure()) {
+                            log.info(response.getFailureMessage());
+                            continue;
+                        }
 
-                                @Override
-                                public void onFailure(Exception e) {
-                                    onFailures(e);
+                        SearchHit[] hits = response.getResponse().getHits().getHits();
+                        for (SearchHit hit: hits) {
+                            Map<String, Object> source = hit.getSourceAsMap();
+                            if (!source.get("finding1").toString().equals(findingId)) {
+                                Pair<String, String> findingKey1 = Pair.of(source.get("finding1").toString(), source.get("logType").toString().split("-")[0]);
+
+                                if (correlatedFindings.containsKey(findingKey1)) {
+                                    double score = Math.max(correlatedFindings.get(findingKey1).getLeft(), hit.getScore());
+                                    Set<String> rules = correlatedFindings.get(findingKey1).getRight();
+                                    rules.addAll((List<String>) source.get("corrRules"));
+
+                                    correlatedFindings.put(findingKey1, Pair.of(score, rules));
+                                } else {
+                                    Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
+                                    correlatedFindings.put(findingKey1, Pair.of((double) hit.getScore(), rules));
+                                }
+                            }
+                            if (!source.get("finding2").toString().equals(findingId)) {
+                                Pair<String, String> findingKey2 = Pair.of(source.get("finding2").toString(), source.get("logType").toString().split("-")[1]);
+
+                                if (correlatedFindings.containsKey(findingKey2)) {
+                                    double score =  Math.max(correlatedFindings.get(findingKey2).getLeft(), hit.getScore());
+                                    Set<String> rules = correlatedFindings.get(findingKey2).getRight();
+                                    rules.addAll((List<String>) source.get("corrRules"));
+
+                                    correlatedFindings.put(findingKey2, Pair.of(score, rules));
+                                } else {
+                                    Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
+                                    correlatedFindings.put(findingKey2, Pair.of((double) hit.getScore(), rules));
                                 }
-                            });
+                            }
                         }
+                    }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            onFailures(e);
-                        }
-                    });
+                    List<FindingWithScore> findingWithScores = new ArrayList<>();
+                    for (Map.Entry<Pair<String, String>, Pair<Double, Set<String>>> correlatedFinding: correlatedFindings.entrySet()) {
+                        findingWithScores.add(new FindingWithScore(correlatedFinding.getKey().getKey(), correlatedFinding.getKey().getValue(),
+                                correlatedFinding.getValue().getLeft(), new ArrayList<>(correlatedFinding.getValue().getRight())));
+                    }
+
+                    onOperation(new CorrelatedFindingResponse(findingWithScores));
                 }
 
                 @Override
@@ -276,7 +309,6 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
                     onFailures(e);
                 }
             });
-
         }
 
         private void onOperation(CorrelatedFindingResponse response) {
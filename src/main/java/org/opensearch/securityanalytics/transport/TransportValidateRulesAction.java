@@ -4,7 +4,9 @@
  */
 package org.opensearch.securityanalytics.transport;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.StepListener;
@@ -21,6 +23,7 @@ import org.opensearch.securityanalytics.action.ValidateRulesResponse;
 import org.opensearch.securityanalytics.util.RuleValidator;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
@@ -35,11 +38,12 @@ public class TransportValidateRulesAction extends HandledTransportAction<Validat
             ActionFilters actionFilters,
             ClusterService clusterService,
             Client client,
-            NamedXContentRegistry namedXContentRegistry
+            NamedXContentRegistry namedXContentRegistry,
+            ThreadPool threadPool
     ) {
         super(ValidateRulesAction.NAME, transportService, actionFilters, ValidateRulesRequest::new);
         this.clusterService = clusterService;
-        this.ruleValidator = new RuleValidator(client, namedXContentRegistry);
+        this.ruleValidator = new RuleValidator(client, namedXContentRegistry, threadPool);
     }
 
     @Override
@@ -55,9 +59,9 @@ public class TransportValidateRulesAction extends HandledTransportAction<Validat
             );
             return;
         }
-        StepListener<List<String>> validateRulesResponseListener = new StepListener();
-        validateRulesResponseListener.whenComplete(validateRulesResponse -> {
-            actionListener.onResponse(new ValidateRulesResponse(validateRulesResponse));
+        StepListener<Map<String, List<String>>> validateRulesResponseListener = new StepListener();
+        validateRulesResponseListener.whenComplete(missingFields -> {
+            actionListener.onResponse(new ValidateRulesResponse(new ArrayList<>(missingFields.keySet()), missingFields));
         }, actionListener::onFailure);
         ruleValidator.validateCustomRules(request.getRules(), request.getIndexName(), validateRulesResponseListener);
     }
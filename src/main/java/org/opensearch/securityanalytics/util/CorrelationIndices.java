@@ -6,6 +6,7 @@ package org.opensearch.securityanalytics.util;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.admin.indices.alias.Alias;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.core.action.ActionListener;
@@ -14,17 +15,33 @@ import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.correlation.CorrelationConstants;
+import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.transport.client.Client;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.maxSystemIndexReplicas;
@@ -57,6 +74,44 @@ public class CorrelationIndices {
         return new String(Objects.requireNonNull(CorrelationIndices.class.getClassLoader().getResourceAsStream("mappings/correlation.json")).readAllBytes(), Charset.defaultCharset());
     }
 
+    /**
+     * Returns the correlation mapping with correlation vectors stored as given. The storage of a correlation vector
+     * field cannot be updated, so hnsw keeps the bundled mapping as is to match indices created before storage existed.
+     */
+    @SuppressWarnings("unchecked")
+    public static String correlationMappings(CorrelationVectorStorage storage) throws IOException {
+        String mappings = correlationMappings();
+        if (storage == CorrelationVectorStorage.HNSW) {
+            return mappings;
+        }
+        Map<String, Object> mappingsMap = XContentHelper.convertToMap(new BytesArray(mappings), true, XContentType.JSON).v2();
+        Map<String, Object> parameters = (Map<String, Object>) correlationParams(mappingsMap).get(CorrelationParamsContext.PARAMETERS);
+        parameters.put(CorrelationConstants.METHOD_PARAMETER_STORAGE, storage.getValue());
+        return BytesReference.bytes(XContentFactory.jsonBuilder().map(mappingsMap)).utf8ToString();
+    }
+
+    /**
+     * Returns how the correlation vectors of the given correlation index are stored, hnsw if its mapping does not say.
+     */
+    @SuppressWarnings("unchecked")
+    public static CorrelationVectorStorage correlationVectorStorage(IndexMetadata index) {
+        if (index == null || index.mapping() == null) {
+            return CorrelationVectorStorage.HNSW;
+        }
+        Map<String, Object> correlationParams = correlationParams(index.mapping().sourceAsMap());
+        if (correlationParams == null) {
+            return CorrelationVectorStorage.HNSW;
+        }
+        return CorrelationVectorStorage.fromParameters((Map<String, Object>) correlationParams.get(CorrelationParamsContext.PARAMETERS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> correlationParams(Map<String, Object> mappings) {
+        Map<String, Object> properties = (Map<String, Object>) mappings.get("properties");
+        Map<String, Object> correlationVector = properties == null ? null : (Map<String, Object>) properties.get("corr_vector");
+        return correlationVector == null ? null : (Map<String, Object>) correlationVector.get(CorrelationConstants.CORRELATION_CONTEXT);
+    }
+
     public void initCorrelationIndex(ActionListener<CreateIndexResponse> actionListener) throws IOException {
         if (!correlationIndexExists()) {
             Settings indexSettings = Settings.builder()
@@ -65,8 +120,9 @@ public class CorrelationIndices {
                     .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
                     .put("index.auto_expand_replicas", minSystemIndexReplicas + "-" + maxSystemIndexReplicas)
                     .build();
+            String storage = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.CORRELATION_HISTORY_VECTOR_STORAGE);
             CreateIndexRequest indexRequest = new CreateIndexRequest(CORRELATION_HISTORY_INDEX_PATTERN)
-                    .mapping(correlationMappings())
+                    .mapping(correlationMappings(CorrelationVectorStorage.fromValue(storage)))
                     .settings(indexSettings);
             indexRequest.alias(new Alias(CORRELATION_HISTORY_WRITE_INDEX));
             client.admin().indices().create(indexRequest, actionListener);
@@ -138,7 +194,6 @@ public class CorrelationIndices {
             bulkRequest.add(scoreIndexRequest);
             bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
 
-
             client.bulk(bulkRequest, listener);
         } catch (IOException ex) {
             log.error(ex);
@@ -160,4 +215,34 @@ public class CorrelationIndices {
                 .settings(correlationAlertSettings);
         client.admin().indices().create(indexRequest, actionListener);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the search for the score timestamp of the correlation metadata index, the base of the timestamp feature
+     * of correlation vectors. The score timestamp doc is moved forward in place by any node, so callers send this
+     * search along with their other lookups instead of keeping the score timestamp around.
+     */
+    public static SearchRequest scoreTimestampSearchRequest() {
+        BoolQueryBuilder scoreQueryBuilder = QueryBuilders.boolQuery()
+                .mustNot(QueryBuilders.termQuery("scoreTimestamp", 0L));
+        SearchSourceBuilder scoreSearchSourceBuilder = new SearchSourceBuilder();
+        scoreSearchSourceBuilder.query(scoreQueryBuilder);
+        scoreSearchSourceBuilder.fetchSource(true);
+        scoreSearchSourceBuilder.size(1);
+        SearchRequest scoreSearchRequest = new SearchRequest();
+        scoreSearchRequest.indices(CORRELATION_METADATA_INDEX);
+        scoreSearchRequest.source(scoreSearchSourceBuilder);
+        scoreSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return scoreSearchRequest;
+    }
+
+    /**
+     * Reads the score timestamp from the response to {@link #scoreTimestampSearchRequest()}.
+     */
+    public static long scoreTimestamp(SearchResponse response) {
+        SearchHit[] hits = response.getHits().getHits();
+        if (hits.length == 0) {
+            throw new ResourceNotFoundException("Failed to find score timestamp in correlation metadata index");
+        }
+        return ((Number) hits[0].getSourceAsMap().get("scoreTimestamp")).longValue();
+    }
+}
@@ -8,19 +8,37 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.util.SetOnce;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.commons.alerting.AlertingPluginInterface;
 import org.opensearch.commons.alerting.action.DeleteMonitorRequest;
 import org.opensearch.commons.alerting.action.DeleteMonitorResponse;
+import org.opensearch.commons.alerting.action.IndexMonitorRequest;
+import org.opensearch.commons.alerting.action.IndexMonitorResponse;
+import org.opensearch.commons.alerting.model.Monitor;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.transport.client.Client;
 import org.opensearch.transport.client.node.NodeClient;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +47,11 @@ import java.util.stream.Collectors;
 public class MonitorService {
     private static final Logger log = LogManager.getLogger(MonitorService.class);
 
+    private static final String ALERTING_CONFIG_INDEX = ".opendistro-alerting-config";
+
+    // fields that are rewritten on every update and do not change what the monitor does
+    private static final Set<String> VOLATILE_MONITOR_FIELDS = Set.of("last_update_time", "enabled_time", "user");
+
     private Client client;
 
     public MonitorService() {
@@ -81,4 +104,99 @@ public class MonitorService {
         DeleteMonitorRequest request = new DeleteMonitorRequest(monitorId, refreshPolicy);
         AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, listener);
     }
+
+    /**
+     * Looks up the stored definition of the monitors targeted by the given update requests and returns, by monitor id,
+     * a response for each monitor whose stored definition already matches the requested one. These monitors do not
+     * need to be updated. If the stored monitors cannot be read, no monitor is considered unchanged.
+     * @param monitorRequests monitor update requests
+     * @param listener listener that accepts the responses of the unchanged monitors by monitor id
+     */
+    public void getUnchangedMonitors(List<IndexMonitorRequest> monitorRequests, ActionListener<Map<String, IndexMonitorResponse>> listener) {
+        Map<String, IndexMonitorRequest> requestsById = new HashMap<>();
+        for (IndexMonitorRequest monitorRequest : monitorRequests) {
+            if (monitorRequest.getMonitorId() != null && !Monitor.NO_ID.equals(monitorRequest.getMonitorId())) {
+                requestsById.put(monitorRequest.getMonitorId(), monitorRequest);
+            }
+        }
+        if (requestsById.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+        SearchRequest searchRequest = new SearchRequest(ALERTING_CONFIG_INDEX)
+                .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.idsQuery().addIds(requestsById.keySet().toArray(new String[0])))
+                        .seqNoAndPrimaryTerm(true)
+                        .version(true)
+                        .size(requestsById.size()));
+        client.search(searchRequest, ActionListener.wrap(
+                response -> {
+                    Map<String, IndexMonitorResponse> unchangedMonitors = new HashMap<>();
+                    for (SearchHit hit : response.getHits()) {
+                        IndexMonitorRequest monitorRequest = requestsById.get(hit.getId());
+                        if (monitorRequest == null || !(hit.getSourceAsMap().get("monitor") instanceof Map)) {
+                            continue;
+                        }
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> storedMonitor = (Map<String, Object>) hit.getSourceAsMap().get("monitor");
+                        if (isSameMonitor(storedMonitor, toMap(monitorRequest.getMonitor()))) {
+                            unchangedMonitors.put(hit.getId(), new IndexMonitorResponse(hit.getId(), hit.getVersion(), hit.getSeqNo(),
+                                    hit.getPrimaryTerm(), monitorRequest.getMonitor()));
+                        }
+                    }
+                    log.debug("{} of {} monitors are unchanged", unchangedMonitors.size(), requestsById.size());
+                    listener.onResponse(unchangedMonitors);
+                },
+                e -> {
+                    log.warn("Failed to read the stored monitors, updating all of them", e);
+                    listener.onResponse(Map.of());
+                }
+        ));
+    }
+
+    /**
+     * Fetches the stored documents of the given monitors, with their sequence numbers and primary terms, by monitor id.
+     * Monitors that do not exist are left out.
+     * @param monitorIds ids of the monitors to fetch
+     * @param listener listener that accepts the monitor documents by monitor id
+     */
+    public void getMonitorDocs(Collection<String> monitorIds, ActionListener<Map<String, SearchHit>> listener) {
+        if (monitorIds.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+        SearchRequest searchRequest = new SearchRequest(ALERTING_CONFIG_INDEX)
+                .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.idsQuery().addIds(monitorIds.toArray(new String[0])))
+                        .seqNoAndPrimaryTerm(true)
+                        .version(true)
+                        .size(monitorIds.size()))
+                .preference(Preference.PRIMARY_FIRST.type());
+        client.search(searchRequest, ActionListener.wrap(
+                response -> {
+                    Map<String, SearchHit> monitorDocs = new HashMap<>();
+                    for (SearchHit hit : response.getHits()) {
+                        monitorDocs.put(hit.getId(), hit);
+                    }
+                    listener.onResponse(monitorDocs);
+                },
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Compares a stored monitor definition with a new one, ignoring the fields that are rewritten on every update.
+     */
+    static boolean isSameMonitor(Map<String, Object> storedMonitor, Map<String, Object> newMonitor) {
+        Map<String, Object> stored = new HashMap<>(storedMonitor);
+        Map<String, Object> updated = new HashMap<>(newMonitor);
+        stored.keySet().removeAll(VOLATILE_MONITOR_FIELDS);
+        updated.keySet().removeAll(VOLATILE_MONITOR_FIELDS);
+        return Objects.equals(stored, updated);
+    }
+
+    private static Map<String, Object> toMap(Monitor monitor) throws IOException {
+        BytesReference source = BytesReference.bytes(monitor.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+        return XContentHelper.convertToMap(source, false, XContentType.JSON).v2();
+    }
 }
@@ -45,6 +45,7 @@ import org.opensearch.securityanalytics.rules.backend.QueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 
@@ -76,11 +77,15 @@ public class RuleIndices {
 
     private final LogTypeService logTypeService;
 
-    public RuleIndices(LogTypeService logTypeService, Client client, ClusterService clusterService, ThreadPool threadPool) {
+    private final SecurityAnalyticsStats stats;
+
+    public RuleIndices(LogTypeService logTypeService, Client client, ClusterService clusterService, ThreadPool threadPool,
+                       SecurityAnalyticsStats stats) {
         this.client = client;
         this.clusterService = clusterService;
         this.threadPool = threadPool;
         this.logTypeService = logTypeService;
+        this.stats = stats;
     }
 
     public static String ruleMappings() throws IOException {
@@ -302,19 +307,26 @@ public class RuleIndices {
     private List<Rule> getQueries(QueryBackend backend, String category, List<String> rules) throws SigmaError, CompositeSigmaErrors {
         List<Rule> queries = new ArrayList<>();
         for (String ruleStr: rules) {
-            SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
-            // TODO: Check if there are cx errors from the rule created and throw errors
-            backend.resetQueryFields();
-            List<Object> ruleQueries = backend.convertRule(rule);
-            Set<String> queryFieldNames = backend.getQueryFields().keySet();
-
-            Rule ruleModel = new Rule(
-                    rule.getId().toString(), NO_VERSION, rule, category,
-                    ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
-                    new ArrayList<>(queryFieldNames),
-                    ruleStr
-            );
-            queries.add(ruleModel);
+            long startNanos = System.nanoTime();
+            boolean compiled = false;
+            try {
+                SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
+                // TODO: Check if there are cx errors from the rule created and throw errors
+                backend.resetQueryFields();
+                List<Object> ruleQueries = backend.convertRule(rule);
+                Set<String> queryFieldNames = backend.getQueryFields().keySet();
+
+                Rule ruleModel = new Rule(
+                        rule.getId().toString(), NO_VERSION, rule, category,
+                        ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
+                        new ArrayList<>(queryFieldNames),
+                        ruleStr
+                );
+                queries.add(ruleModel);
+                compiled = true;
+            } finally {
+                stats.record(SecurityAnalyticsStats.Stage.RULE_COMPILE, startNanos, 1L, compiled == false);
+            }
         }
         return queries;
     }
@@ -6,9 +6,17 @@ package org.opensearch.securityanalytics.util;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.StepListener;
@@ -30,35 +38,59 @@ import org.opensearch.securityanalytics.action.SearchRuleAction;
 import org.opensearch.securityanalytics.action.SearchRuleRequest;
 import org.opensearch.securityanalytics.mapper.MapperUtils;
 import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 
 public class RuleValidator
 {
     private final static int MAX_RULES_TO_VALIDATE = 1000;
 
+    // rules validated by one task, below this rules are validated on the calling thread
+    private final static int MIN_RULES_PER_TASK = 500;
+
     private final static String RULE_ID = "_id";
 
     private final Client client;
     private final NamedXContentRegistry namedXContentRegistry;
+    private final ThreadPool threadPool;
+    private final int maxParallelism;
 
-    public RuleValidator(Client client, NamedXContentRegistry namedXContentRegistry) {
+    public RuleValidator(Client client, NamedXContentRegistry namedXContentRegistry, ThreadPool threadPool) {
         this.client = client;
         this.namedXContentRegistry = namedXContentRegistry;
+        this.threadPool = threadPool;
+        this.maxParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
     }
 
-    public void validateCustomRules(List<String> ruleIds, String indexName, ActionListener<List<String>> listener) {
+    /**
+     * Validates custom rules against the fields of the index, including the aliases of the rules log type applicable to
+     * it. Rule ids are fetched in pages of {@link #MAX_RULES_TO_VALIDATE}.
+     *
+     * @param listener receives the missing fields of each rule having any, keyed by rule id in rule order
+     */
+    public void validateCustomRules(List<String> ruleIds, String indexName, ActionListener<Map<String, List<String>>> listener) {
+        List<String> distinctRuleIds = new ArrayList<>(new LinkedHashSet<>(ruleIds));
+        fetchRules(distinctRuleIds, 0, new ArrayList<>(), ActionListener.wrap(
+                rules -> validateRules(rules, indexName, listener),
+                listener::onFailure
+        ));
+    }
 
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.fetchSource(FetchSourceContext.FETCH_SOURCE);
+    private void fetchRules(List<String> ruleIds, int from, List<Rule> rules, ActionListener<List<Rule>> listener) {
+        if (from >= ruleIds.size()) {
+            listener.onResponse(rules);
+            return;
+        }
+        List<String> page = ruleIds.subList(from, Math.min(from + MAX_RULES_TO_VALIDATE, ruleIds.size()));
 
-        QueryBuilder queryBuilder = QueryBuilders.termsQuery( RULE_ID, ruleIds.toArray(new String[]{}));
+        QueryBuilder queryBuilder = QueryBuilders.termsQuery( RULE_ID, page.toArray(new String[]{}));
         SearchRequest searchRequest = new SearchRequest(Rule.CUSTOM_RULES_INDEX)
                 .source(new SearchSourceBuilder()
                         .seqNoAndPrimaryTerm(false)
                         .version(false)
                         .query(queryBuilder)
                         .fetchSource(FetchSourceContext.FETCH_SOURCE)
-                        .size(MAX_RULES_TO_VALIDATE)
+                        .size(page.size())
                 )
                 .indices(Rule.CUSTOM_RULES_INDEX)
                 .preference(Preference.PRIMARY_FIRST.type());
@@ -66,42 +98,100 @@ public class RuleValidator
         StepListener<SearchResponse> searchRuleResponseListener = new StepListener();
         searchRuleResponseListener.whenComplete(searchRuleResponse -> {
 
-            List<Rule> rules = getRules(searchRuleResponse, namedXContentRegistry);
-            validateRules(rules, indexName, listener);
+            rules.addAll(getRules(searchRuleResponse, namedXContentRegistry));
+            fetchRules(ruleIds, from + page.size(), rules, listener);
 
         }, listener::onFailure);
         client.execute(SearchRuleAction.INSTANCE, new SearchRuleRequest(false, searchRequest), searchRuleResponseListener);
     }
 
-    private void validateRules(List<Rule> rules, String indexName, ActionListener<List<String>> listener) {
-        // Get index mappings
-        String ruleTopic = rules.get(0).getCategory();
-        StepListener<GetMappingsViewResponse> getMappingsViewResponseListener = new StepListener();
-        getMappingsViewResponseListener.whenComplete(getMappingsViewResponse -> {
-
-            List<String> nonapplicableRuleIds = new ArrayList<>();
-            for(Rule r : rules) {
+    private void validateRules(List<Rule> rules, String indexName, ActionListener<Map<String, List<String>>> listener) {
+        if (rules.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+        // Get index mappings once per log type, applicable aliases depend on it
+        Map<String, List<Rule>> rulesByCategory = rules.stream().collect(Collectors.groupingBy(Rule::getCategory, LinkedHashMap::new, Collectors.toList()));
+        GroupedActionListener<Map<String, List<String>>> allCategoriesListener = new GroupedActionListener<>(
+                ActionListener.wrap(missingFieldsPerCategory -> {
+                    Map<String, List<String>> missingFields = new LinkedHashMap<>();
+                    missingFieldsPerCategory.forEach(missingFields::putAll);
+                    listener.onResponse(inRuleOrder(rules, missingFields));
+                }, listener::onFailure),
+                rulesByCategory.size()
+        );
+        for (Map.Entry<String, List<Rule>> categoryRules : rulesByCategory.entrySet()) {
+            StepListener<GetMappingsViewResponse> getMappingsViewResponseListener = new StepListener();
+            getMappingsViewResponseListener.whenComplete(getMappingsViewResponse -> {
                 // We will check against all index fields and applicable template aliases too
-                List<String> allIndexFields = MapperUtils.extractAllFieldsFlat(getMappingsViewResponse.getAliasMappings());
+                Set<String> allIndexFields = new HashSet<>(MapperUtils.extractAllFieldsFlat(getMappingsViewResponse.getAliasMappings()));
                 allIndexFields.addAll(getMappingsViewResponse.getUnmappedIndexFields());
-                // check if all rule fields are present in index fields
-                List<String> missingRuleFields = r.getQueryFieldNames()
-                        .stream()
-                        .map(e -> e.getValue())
-                        .filter(e -> allIndexFields.contains(e) == false)
-                        .collect(Collectors.toList());
-
-                if (missingRuleFields.size() > 0) {
-                    nonapplicableRuleIds.add(r.getId());
-                }
-            }
-            listener.onResponse(nonapplicableRuleIds);
-        }, listener::onFailure);
-        client.execute(
-                GetMappingsViewAction.INSTANCE,
-                new GetMappingsViewRequest(indexName, ruleTopic),
-                getMappingsViewResponseListener
+                validateRules(categoryRules.getValue(), allIndexFields, allCategoriesListener);
+            }, allCategoriesListener::onFailure);
+            client.execute(
+                    GetMappingsViewAction.INSTANCE,
+                    new GetMappingsViewRequest(indexName, categoryRules.getKey()),
+                    getMappingsViewResponseListener
+            );
+        }
+    }
+
+    /**
+     * Checks the rules against the index fields, splitting large rule sets over a bounded number of generic pool tasks.
+     */
+    private void validateRules(List<Rule> rules, Set<String> indexFields, ActionListener<Map<String, List<String>>> listener) {
+        int tasks = Math.min(maxParallelism, (rules.size() + MIN_RULES_PER_TASK - 1) / MIN_RULES_PER_TASK);
+        if (tasks <= 1) {
+            listener.onResponse(getMissingFields(rules, indexFields));
+            return;
+        }
+        GroupedActionListener<Map<String, List<String>>> tasksListener = new GroupedActionListener<>(
+                ActionListener.wrap(missingFieldsPerTask -> {
+                    Map<String, List<String>> missingFields = new LinkedHashMap<>();
+                    missingFieldsPerTask.forEach(missingFields::putAll);
+                    listener.onResponse(missingFields);
+                }, listener::onFailure),
+                tasks
         );
+        for (int task = 0; task < tasks; ++task) {
+            List<Rule> taskRules = rules.subList(task * rules.size() / tasks, (task + 1) * rules.size() / tasks);
+            threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(tasksListener, () -> getMissingFields(taskRules, indexFields)));
+        }
+    }
+
+    static Map<String, List<String>> getMissingFields(List<Rule> rules, Set<String> indexFields) {
+        Map<String, List<String>> missingFields = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            List<String> missingRuleFields = getMissingFields(rule.getQueryFieldNames().stream().map(e -> e.getValue()).collect(Collectors.toList()), indexFields);
+            if (missingRuleFields.isEmpty() == false) {
+                missingFields.put(rule.getId(), missingRuleFields);
+            }
+        }
+        return missingFields;
+    }
+
+    /**
+     * @return rule fields which are not index fields, in rule field order and without duplicates
+     */
+    static List<String> getMissingFields(Collection<String> ruleFields, Set<String> indexFields) {
+        Set<String> missingFields = new LinkedHashSet<>();
+        for (String ruleField : ruleFields) {
+            if (indexFields.contains(ruleField) == false) {
+                missingFields.add(ruleField);
+            }
+        }
+        return new ArrayList<>(missingFields);
+    }
+
+    private static Map<String, List<String>> inRuleOrder(List<Rule> rules, Map<String, List<String>> missingFields) {
+        Map<String, List<String>> ordered = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            List<String> missingRuleFields = missingFields.get(rule.getId());
+            if (missingRuleFields != null) {
+                ordered.put(rule.getId(), missingRuleFields);
+            }
+        }
+        return ordered;
     }
 
     public static List<Rule> getRules(SearchResponse response, NamedXContentRegistry xContentRegistry) throws IOException {
@@ -0,0 +1,142 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.transport.client.Client;
+
+import java.util.Map;
+
+/**
+ * Reference counting of the query indices shared by detectors. A shared query index is referenced by the detectors
+ * holding it as rule index, and is deleted once the last of them is deleted or moves to another query index.
+ * <p>
+ * A detector created or updated concurrently writes its monitors, which hold the query index as data source, before its
+ * detector doc, and neither may be searchable yet. So an index found unreferenced is only deleted once the detectors
+ * and the alerting config indices are refreshed and neither a detector nor a monitor references it.
+ */
+public class SharedRuleIndices {
+    private static final Logger log = LogManager.getLogger(SharedRuleIndices.class);
+
+    // detectors of one log type fetched to count the references to a shared query index
+    private static final int MAX_DETECTORS_PER_LOG_TYPE = 10000;
+
+    private static final String ALERTING_CONFIG_INDEX = ".opendistro-alerting-config";
+
+    private final Client client;
+
+    public SharedRuleIndices(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Deletes the shared query index, with the query index of its chained findings monitor, unless a detector other
+     * than the given one, or a monitor, still references it. Indices which are not shared are never deleted.
+     *
+     * @param listener notified with whether the index was deleted
+     */
+    public void deleteIfUnreferenced(String detectorId, String detectorType, String ruleIndex, ActionListener<Boolean> listener) {
+        if (false == DetectorMonitorConfig.isSharedRuleIndex(ruleIndex)) {
+            listener.onResponse(false);
+            return;
+        }
+        isReferencedByDetector(detectorId, detectorType, ruleIndex, ActionListener.wrap(referenced -> {
+            if (referenced) {
+                listener.onResponse(false);
+                return;
+            }
+            RefreshRequest refreshRequest = new RefreshRequest(Detector.DETECTORS_INDEX, ALERTING_CONFIG_INDEX)
+                    .indicesOptions(IndicesOptions.lenientExpandOpen());
+            client.admin().indices().refresh(refreshRequest, ActionListener.wrap(refreshResponse ->
+                    isReferencedByDetector(detectorId, detectorType, ruleIndex, ActionListener.wrap(referencedByDetector -> {
+                        if (referencedByDetector) {
+                            listener.onResponse(false);
+                            return;
+                        }
+                        isReferencedByMonitor(ruleIndex, ActionListener.wrap(referencedByMonitor -> {
+                            if (referencedByMonitor) {
+                                listener.onResponse(false);
+                                return;
+                            }
+                            deleteRuleIndex(ruleIndex, listener);
+                        }, listener::onFailure));
+                    }, listener::onFailure)),
+                    listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    private void isReferencedByDetector(String detectorId, String detectorType, String ruleIndex, ActionListener<Boolean> listener) {
+        SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
+                .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.boolQuery()
+                                .must(QueryBuilders.nestedQuery("detector",
+                                        QueryBuilders.matchQuery("detector.detector_type", detectorType), ScoreMode.None))
+                                .mustNot(QueryBuilders.idsQuery().addIds(detectorId)))
+                        .fetchSource(new String[] { "detector.rule_topic_index" }, null)
+                        .size(MAX_DETECTORS_PER_LOG_TYPE));
+        client.search(searchRequest, ActionListener.wrap(searchResponse -> {
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                if (ruleIndex.equals(getRuleIndex(hit))) {
+                    log.debug("Shared query index {} is still referenced by detector {}", ruleIndex, hit.getId());
+                    listener.onResponse(true);
+                    return;
+                }
+            }
+            listener.onResponse(false);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Whether a monitor, such as one of a detector being created, runs its queries from the query index or the query
+     * index of its chained findings monitor.
+     */
+    private void isReferencedByMonitor(String ruleIndex, ActionListener<Boolean> listener) {
+        SearchRequest searchRequest = new SearchRequest(ALERTING_CONFIG_INDEX)
+                .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.termsQuery("monitor.data_sources.query_index", ruleIndex, ruleIndex + "_chained_findings"))
+                        .fetchSource(false)
+                        .size(1));
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        client.search(searchRequest, ActionListener.wrap(searchResponse -> {
+            SearchHit[] hits = searchResponse.getHits().getHits();
+            if (hits.length > 0) {
+                log.debug("Shared query index {} is still referenced by monitor {}", ruleIndex, hits[0].getId());
+            }
+            listener.onResponse(hits.length > 0);
+        }, listener::onFailure));
+    }
+
+    private void deleteRuleIndex(String ruleIndex, ActionListener<Boolean> listener) {
+        // the query index is an alias of rolled over indices, for the doc level and the chained findings monitors
+        DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(ruleIndex + "*")
+                .indicesOptions(IndicesOptions.lenientExpandOpen());
+        client.admin().indices().delete(deleteIndexRequest, ActionListener.wrap(deleteResponse -> {
+            log.info("Deleted shared query index {} no longer referenced by any detector", ruleIndex);
+            listener.onResponse(true);
+        }, listener::onFailure));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getRuleIndex(SearchHit hit) {
+        Map<String, Object> source = hit.getSourceAsMap();
+        if (source == null || false == source.get("detector") instanceof Map) {
+            return null;
+        }
+        Object ruleIndex = ((Map<String, Object>) source.get("detector")).get("rule_topic_index");
+        return ruleIndex == null ? null : ruleIndex.toString();
+    }
+}
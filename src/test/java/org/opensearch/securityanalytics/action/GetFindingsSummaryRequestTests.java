@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+public class GetFindingsSummaryRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        Instant startTime = Instant.ofEpochMilli(1000L);
+        Instant endTime = Instant.ofEpochMilli(2000L);
+        GetFindingsSummaryRequest request = new GetFindingsSummaryRequest("detector-id", "windows", startTime, endTime, "1h", true);
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        GetFindingsSummaryRequest newRequest = new GetFindingsSummaryRequest(sin);
+
+        assertEquals("detector-id", newRequest.getDetectorId());
+        assertEquals("windows", newRequest.getLogType());
+        assertEquals(startTime, newRequest.getStartTime());
+        assertEquals(endTime, newRequest.getEndTime());
+        assertEquals("1h", newRequest.getInterval());
+        assertTrue(newRequest.isRollup());
+    }
+
+    public void testValidate() {
+        assertNull(new GetFindingsSummaryRequest(null, null, null, null, GetFindingsSummaryRequest.DEFAULT_INTERVAL).validate());
+        assertNotNull(new GetFindingsSummaryRequest("", null, null, null, GetFindingsSummaryRequest.DEFAULT_INTERVAL).validate());
+        assertNotNull(new GetFindingsSummaryRequest(null, null, Instant.ofEpochMilli(2000L), Instant.ofEpochMilli(1000L), "1d").validate());
+        assertNotNull(new GetFindingsSummaryRequest(null, null, null, null, "daily").validate());
+        assertNotNull(new GetFindingsSummaryRequest(null, null, null, null, "0s").validate());
+        assertNull(new GetFindingsSummaryRequest(null, null, null, null, "7d", true).validate());
+        assertNotNull(new GetFindingsSummaryRequest(null, null, null, null, "30m", true).validate());
+    }
+
+    public void testValidateTimeBucketCount() {
+        Instant startTime = Instant.ofEpochMilli(0L);
+        Instant endTime = startTime.plus(Duration.ofDays(30));
+        assertNull(new GetFindingsSummaryRequest(null, null, startTime, endTime, "1h").validate());
+        assertNull(new GetFindingsSummaryRequest(null, null, startTime, endTime, "5m").validate());
+        // 30 days of 1m buckets exceed the max time buckets
+        assertNotNull(new GetFindingsSummaryRequest(null, null, startTime, endTime, "1m").validate());
+        assertNotNull(new GetFindingsSummaryRequest(null, null, startTime, startTime.plus(Duration.ofDays(500)), "1h", true).validate());
+    }
+
+    public void testResponseStreamInOut() throws IOException {
+        GetFindingsSummaryResponse response = new GetFindingsSummaryResponse(
+                10L,
+                Map.of("detector-1", 6L, "detector-2", 4L),
+                Map.of("rule-1", 10L),
+                Map.of("high", 7L, "low", 3L),
+                Map.of(0L, 4L, 86400000L, 6L)
+        );
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        GetFindingsSummaryResponse newResponse = new GetFindingsSummaryResponse(sin);
+
+        assertEquals(10L, newResponse.getTotalFindings());
+        assertEquals(response.getFindingsByDetector(), newResponse.getFindingsByDetector());
+        assertEquals(response.getFindingsByRule(), newResponse.getFindingsByRule());
+        assertEquals(response.getFindingsBySeverity(), newResponse.getFindingsBySeverity());
+        assertEquals(response.getFindingsByTimeBucket(), newResponse.getFindingsByTimeBucket());
+    }
+}
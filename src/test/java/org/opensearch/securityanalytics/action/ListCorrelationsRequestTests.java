@@ -0,0 +1,117 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.Version;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.model.CorrelatedFinding;
+import org.opensearch.securityanalytics.model.CorrelationEdgeCount;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.VersionUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ListCorrelationsRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        String nextToken = ListCorrelationsRequest.encodeNextToken("pit-id", 1000L, "finding-1", "finding-2");
+        ListCorrelationsRequest request = new ListCorrelationsRequest(1L, 2L, 50, nextToken, false);
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        ListCorrelationsRequest newRequest = new ListCorrelationsRequest(sin);
+
+        assertEquals(1L, (long) newRequest.getStartTimestamp());
+        assertEquals(2L, (long) newRequest.getEndTimestamp());
+        assertEquals(50, newRequest.getSize());
+        assertEquals(nextToken, newRequest.getNextToken());
+        assertFalse(newRequest.isAggregate());
+    }
+
+    public void testDefaultSizeKeepsUnpagedLimit() {
+        // clients not aware of paging get as many correlations in the first page as before
+        assertEquals(10000, new ListCorrelationsRequest(1L, 2L).getSize());
+    }
+
+    public void testValidate() {
+        assertNull(new ListCorrelationsRequest(1L, 2L).validate());
+        assertNull(new ListCorrelationsRequest(1L, 2L, ListCorrelationsRequest.MAX_SIZE, null, true).validate());
+        assertNotNull(new ListCorrelationsRequest(1L, 2L, 0, null, false).validate());
+        assertNotNull(new ListCorrelationsRequest(1L, 2L, ListCorrelationsRequest.MAX_SIZE + 1, null, false).validate());
+        assertNotNull(new ListCorrelationsRequest(1L, 2L, 10, "not a token", false).validate());
+
+        String nextToken = ListCorrelationsRequest.encodeNextToken("pit-id", 1000L, "finding-1", "finding-2");
+        assertNull(new ListCorrelationsRequest(1L, 2L, 10, nextToken, false).validate());
+        assertNotNull(new ListCorrelationsRequest(1L, 2L, 10, nextToken, true).validate());
+    }
+
+    public void testNextToken() {
+        String nextToken = ListCorrelationsRequest.encodeNextToken("pit/id==", 1000L, "finding-1", "finding-2");
+        Object[] decoded = ListCorrelationsRequest.decodeNextToken(nextToken);
+        assertArrayEquals(new Object[] { "pit/id==", 1000L, "finding-1", "finding-2" }, decoded);
+        assertNull(ListCorrelationsRequest.decodeNextToken("@@@"));
+    }
+
+    public void testResponseStreamInOut() throws IOException {
+        ListCorrelationsResponse response = new ListCorrelationsResponse(
+                List.of(new CorrelatedFinding("finding-1", "windows", "finding-2", "network", List.of("rule-1"))),
+                "token",
+                List.of(new CorrelationEdgeCount("windows", "network", 3L))
+        );
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        ListCorrelationsResponse newResponse = new ListCorrelationsResponse(sin);
+
+        assertEquals(1, newResponse.getCorrelatedFindings().size());
+        assertEquals("token", newResponse.getNextToken());
+        assertEquals(1, newResponse.getEdgeCounts().size());
+        assertEquals("windows", newResponse.getEdgeCounts().get(0).getLogType1());
+        assertEquals("network", newResponse.getEdgeCounts().get(0).getLogType2());
+        assertEquals(3L, newResponse.getEdgeCounts().get(0).getCount());
+
+        out = new BytesStreamOutput();
+        new ListCorrelationsResponse(List.of()).writeTo(out);
+        newResponse = new ListCorrelationsResponse(StreamInput.wrap(out.bytes().toBytesRef().bytes));
+        assertNull(newResponse.getNextToken());
+        assertNull(newResponse.getEdgeCounts());
+    }
+
+    public void testStreamToNodesBeforePaging() throws IOException {
+        Version version = VersionUtils.getPreviousVersion(Version.V_3_8_0);
+        String nextToken = ListCorrelationsRequest.encodeNextToken("pit-id", 1000L, "finding-1", "finding-2");
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        new ListCorrelationsRequest(1L, 2L, 50, nextToken, false).writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        sin.setVersion(version);
+        ListCorrelationsRequest newRequest = new ListCorrelationsRequest(sin);
+
+        assertEquals(2L, (long) newRequest.getEndTimestamp());
+        assertEquals(ListCorrelationsRequest.DEFAULT_SIZE, newRequest.getSize());
+        assertNull(newRequest.getNextToken());
+        assertFalse(newRequest.isAggregate());
+
+        out = new BytesStreamOutput();
+        out.setVersion(version);
+        new ListCorrelationsResponse(
+                List.of(new CorrelatedFinding("finding-1", "windows", "finding-2", "network", List.of("rule-1"))),
+                "token",
+                List.of(new CorrelationEdgeCount("windows", "network", 3L))
+        ).writeTo(out);
+        sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        sin.setVersion(version);
+        ListCorrelationsResponse newResponse = new ListCorrelationsResponse(sin);
+
+        assertEquals(1, newResponse.getCorrelatedFindings().size());
+        assertNull(newResponse.getNextToken());
+        assertNull(newResponse.getEdgeCounts());
+    }
+}
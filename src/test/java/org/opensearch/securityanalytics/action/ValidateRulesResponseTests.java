@@ -7,7 +7,9 @@ package org.opensearch.securityanalytics.action;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.junit.Assert;
+import org.opensearch.Version;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.core.common.io.stream.StreamInput;
@@ -17,6 +19,7 @@ import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.VersionUtils;
 
 
 import static org.opensearch.securityanalytics.action.ValidateRulesRequest.RULES_FIELD;
@@ -63,4 +66,31 @@ public class ValidateRulesResponseTests extends OpenSearchTestCase {
         assertEquals("rule_id_2", newResponse.getNonapplicableFields().get(1));
     }
 
+    public void testValidateRulesResponse_streamsMissingFields() throws IOException {
+        ValidateRulesResponse response = new ValidateRulesResponse(List.of("rule_id_1"), Map.of("rule_id_1", List.of("field_a", "field_b")));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        ValidateRulesResponse newResponse = new ValidateRulesResponse(sin);
+        assertEquals(List.of("rule_id_1"), newResponse.getNonapplicableFields());
+        assertEquals(Map.of("rule_id_1", List.of("field_a", "field_b")), newResponse.getMissingFields());
+        assertEquals(response, newResponse);
+    }
+
+    public void testValidateRulesResponse_streamsToNodesWithoutMissingFields() throws IOException {
+        Version version = VersionUtils.getPreviousVersion(Version.V_3_8_0);
+        ValidateRulesResponse response = new ValidateRulesResponse(List.of("rule_id_1"), Map.of("rule_id_1", List.of("field_a")));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(version);
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        sin.setVersion(version);
+        ValidateRulesResponse newResponse = new ValidateRulesResponse(sin);
+        assertEquals(List.of("rule_id_1"), newResponse.getNonapplicableFields());
+        assertEquals(Map.of(), newResponse.getMissingFields());
+    }
 }
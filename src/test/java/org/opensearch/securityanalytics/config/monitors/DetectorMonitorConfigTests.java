@@ -0,0 +1,29 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.config.monitors;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+public class DetectorMonitorConfigTests extends OpenSearchTestCase {
+
+    public void testSharedRuleIndexDependsOnContentOnly() {
+        String ruleIndex = DetectorMonitorConfig.getRuleIndexShared("windows", List.of("logs-1", "logs-2"), List.of("rule-1", "rule-2"), false);
+
+        assertEquals(ruleIndex, DetectorMonitorConfig.getRuleIndexShared("windows", List.of("logs-2", "logs-1"), List.of("rule-2", "rule-1"), false));
+        assertTrue(ruleIndex.startsWith(".opensearch-sap-windows-detectors-queries-shared-"));
+        assertTrue(DetectorMonitorConfig.isSharedRuleIndex(ruleIndex));
+
+        assertNotEquals(ruleIndex, DetectorMonitorConfig.getRuleIndexShared("windows", List.of("logs-1", "logs-2"), List.of("rule-1"), false));
+        assertNotEquals(ruleIndex, DetectorMonitorConfig.getRuleIndexShared("windows", List.of("logs-1"), List.of("rule-1", "rule-2"), false));
+        assertNotEquals(ruleIndex, DetectorMonitorConfig.getRuleIndexShared("windows", List.of("logs-1", "logs-2"), List.of("rule-1", "rule-2"), true));
+    }
+
+    public void testDedicatedRuleIndexIsNotShared() {
+        assertFalse(DetectorMonitorConfig.isSharedRuleIndex(DetectorMonitorConfig.getRuleIndexOptimized("windows")));
+        assertFalse(DetectorMonitorConfig.isSharedRuleIndex(DetectorMonitorConfig.getRuleIndex("windows")));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CorrelationGraphStoreTests extends OpenSearchTestCase {
+
+    public void testExpandHopFollowsEdgesInBothDirections() {
+        List<CorrelationGraphStore.Edge> edges = List.of(
+                new CorrelationGraphStore.Edge("a", "b", "network-windows", 1000L, List.of("rule1")),
+                new CorrelationGraphStore.Edge("c", "a", "ad_ldap-network", 1500L, List.of("rule2")),
+                new CorrelationGraphStore.Edge("b", "d", "windows-s3", 1200L, List.of("rule3"))
+        );
+        Set<String> visited = new HashSet<>(Set.of("a"));
+        Map<String, CorrelationGraphStore.Neighbor> neighbors = new LinkedHashMap<>();
+
+        Set<String> frontier = CorrelationGraphStore.expandHop(edges, Set.of("a"), 1, visited, neighbors, 1000L, 10);
+
+        assertEquals(List.of("b", "c"), List.copyOf(frontier));
+        List<FindingWithScore> findings = CorrelationGraphStore.toFindingsWithScore(neighbors);
+        assertEquals("windows", findings.get(0).getDetectorType());
+        assertEquals(List.of("rule1"), findings.get(0).getRules());
+        assertEquals("ad_ldap", findings.get(1).getDetectorType());
+        assertEquals(1.0, findings.get(1).getScore(), 0.0);
+
+        frontier = CorrelationGraphStore.expandHop(edges, frontier, 2, visited, neighbors, 1000L, 10);
+
+        assertEquals(Set.of("d"), frontier);
+        FindingWithScore secondHop = CorrelationGraphStore.toFindingsWithScore(neighbors).get(2);
+        assertEquals("d", secondHop.getFinding());
+        assertEquals("s3", secondHop.getDetectorType());
+        assertEquals(0.5, secondHop.getScore(), 0.0);
+    }
+
+    public void testExpandHopKeepsClosestInTimeUpToMaxFindings() {
+        List<CorrelationGraphStore.Edge> edges = List.of(
+                new CorrelationGraphStore.Edge("a", "far", "network-windows", 5000L, List.of("rule1")),
+                new CorrelationGraphStore.Edge("a", "near", "network-windows", 1100L, List.of("rule1")),
+                new CorrelationGraphStore.Edge("a", "near", "network-windows", 1200L, List.of("rule2"))
+        );
+        Set<String> visited = new HashSet<>(Set.of("a"));
+        Map<String, CorrelationGraphStore.Neighbor> neighbors = new LinkedHashMap<>();
+
+        Set<String> frontier = CorrelationGraphStore.expandHop(edges, Set.of("a"), 1, visited, neighbors, 1000L, 1);
+
+        assertEquals(Set.of("near"), frontier);
+        List<FindingWithScore> findings = CorrelationGraphStore.toFindingsWithScore(neighbors);
+        assertEquals(1, findings.size());
+        assertEquals(Set.of("rule1", "rule2"), findings.get(0).getRules().stream().collect(Collectors.toSet()));
+    }
+
+    public void testSearchNeighborsReadsEveryPageOfAHop() {
+        // the first page is full of edges far in time, the closest neighbor is only on the second page
+        SearchHit[] firstPage = new SearchHit[CorrelationGraphStore.EDGES_PAGE_SIZE];
+        for (int i = 0; i < firstPage.length; ++i) {
+            firstPage[i] = edgeHit(i, "a", "far" + i, 5000L + i);
+        }
+        SearchHit[] secondPage = new SearchHit[] { edgeHit(0, "near", "a", 1100L) };
+
+        Client client = mock(Client.class);
+        List<SearchRequest> requests = new ArrayList<>();
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            requests.add(request);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(searchResponse(requests.size() == 1 ? firstPage : secondPage));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        AtomicReference<List<FindingWithScore>> result = new AtomicReference<>();
+        new CorrelationGraphStore(client).searchNeighbors("a", 1000L, 10000L, 1, 1,
+                ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).source().searchAfter());
+        assertArrayEquals(firstPage[firstPage.length - 1].getSortValues(), requests.get(1).source().searchAfter());
+        assertEquals(1, result.get().size());
+        assertEquals("near", result.get().get(0).getFinding());
+    }
+
+    private static SearchHit edgeHit(int docId, String finding1, String finding2, long timestamp) {
+        Map<String, DocumentField> fields = Map.of(
+                "finding1", new DocumentField("finding1", List.of(finding1)),
+                "finding2", new DocumentField("finding2", List.of(finding2)),
+                "logType", new DocumentField("logType", List.of("network-windows")),
+                "timestamp", new DocumentField("timestamp", List.of(timestamp)),
+                "corrRules.keyword", new DocumentField("corrRules.keyword", List.of("rule1"))
+        );
+        SearchHit hit = new SearchHit(docId, finding1 + "-" + finding2, fields, Map.of());
+        hit.sortValues(new Object[] { timestamp, finding1, finding2 },
+                new DocValueFormat[] { DocValueFormat.RAW, DocValueFormat.RAW, DocValueFormat.RAW });
+        return hit;
+    }
+
+    private static SearchResponse searchResponse(SearchHit[] hits) {
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 0f));
+        return response;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.alerts;
+
+import org.opensearch.commons.alerting.model.Alert;
+import org.opensearch.commons.alerting.model.CorrelationAlert;
+import org.opensearch.securityanalytics.correlation.alert.ActiveCorrelationAlertCache;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ActiveCorrelationAlertCacheTests extends OpenSearchTestCase {
+
+    public void testActiveAlertsByRule() {
+        ActiveCorrelationAlertCache cache = new ActiveCorrelationAlertCache();
+        cache.put(alert("alert-1", "rule-1", List.of("finding-1", "finding-2"), Alert.State.ACTIVE, 1000L, 2000L));
+        cache.put(alert("alert-2", "rule-2", List.of("finding-3"), Alert.State.ACTIVE, 1000L, 2000L));
+        cache.put(alert("alert-3", "rule-1", List.of("finding-4"), Alert.State.ACKNOWLEDGED, 1000L, 2000L));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getActiveAlerts(List.of("rule-1"), 1500L).size());
+        assertEquals(2, cache.getActiveAlerts(List.of("rule-1", "rule-2"), 1500L).size());
+        assertEquals(0, cache.getActiveAlerts(List.of("rule-1"), 500L).size());
+
+        // ended alerts are dropped on lookup
+        assertEquals(0, cache.getActiveAlerts(List.of("rule-1", "rule-2"), 2500L).size());
+        assertEquals(0, cache.size());
+    }
+
+    public void testContainsAlertByFindingSet() {
+        ActiveCorrelationAlertCache cache = new ActiveCorrelationAlertCache();
+        cache.put(alert("alert-1", "rule-1", List.of("finding-1", "finding-2"), Alert.State.ACTIVE, 1000L, 2000L));
+
+        assertTrue(cache.containsAlert("rule-1", List.of("finding-2", "finding-1"), 1500L));
+        assertFalse(cache.containsAlert("rule-1", List.of("finding-1"), 1500L));
+        assertFalse(cache.containsAlert("rule-2", List.of("finding-1", "finding-2"), 1500L));
+        assertFalse(cache.containsAlert("rule-1", List.of("finding-1", "finding-2"), 2500L));
+
+        // updating the alert moves it to its new finding set
+        cache.put(alert("alert-1", "rule-1", List.of("finding-1", "finding-2", "finding-3"), Alert.State.ACTIVE, 1000L, 2000L));
+        assertFalse(cache.containsAlert("rule-1", List.of("finding-1", "finding-2"), 1500L));
+        assertTrue(cache.containsAlert("rule-1", List.of("finding-1", "finding-2", "finding-3"), 1500L));
+        assertEquals(1, cache.size());
+    }
+
+    public void testRemove() {
+        ActiveCorrelationAlertCache cache = new ActiveCorrelationAlertCache();
+        cache.put(alert("alert-1", "rule-1", List.of("finding-1"), Alert.State.ACTIVE, 1000L, 2000L));
+        cache.put(alert("alert-2", "rule-1", List.of("finding-2"), Alert.State.ACTIVE, 1000L, 2000L));
+        cache.put(alert("alert-3", "rule-2", List.of("finding-3"), Alert.State.ACTIVE, 1000L, 2000L));
+
+        cache.remove("alert-1");
+        assertEquals(1, cache.getActiveAlerts(List.of("rule-1"), 1500L).size());
+        cache.removeRule("rule-1");
+        assertEquals(0, cache.getActiveAlerts(List.of("rule-1"), 1500L).size());
+        assertEquals(1, cache.size());
+
+        // acknowledging an alert removes it
+        cache.put(alert("alert-3", "rule-2", List.of("finding-3"), Alert.State.ACKNOWLEDGED, 1000L, 2000L));
+        assertEquals(0, cache.size());
+
+        cache.reset(List.of(alert("alert-4", "rule-3", List.of("finding-4"), Alert.State.ACTIVE, 1000L, 2000L)));
+        assertEquals(1, cache.size());
+        assertTrue(cache.containsAlert("rule-3", List.of("finding-4"), 1500L));
+    }
+
+    private static CorrelationAlert alert(String id, String ruleId, List<String> findingIds, Alert.State state, long startTime, long endTime) {
+        return new CorrelationAlert(
+                findingIds,
+                ruleId,
+                "rule",
+                id,
+                1L,
+                1,
+                null,
+                "trigger",
+                state,
+                Instant.ofEpochMilli(startTime),
+                Instant.ofEpochMilli(endTime),
+                null,
+                null,
+                "1",
+                new ArrayList<>()
+        );
+    }
+}
@@ -4,12 +4,30 @@
  */
 package org.opensearch.securityanalytics.correlation.alerts;
 
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.CorrelationAlert;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertsList;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.transport.client.Client;
 
@@ -17,10 +35,15 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 
 public class CorrelationAlertServiceTests  extends OpenSearchTestCase {
 
@@ -77,4 +100,168 @@ public class CorrelationAlertServiceTests  extends OpenSearchTestCase {
             }
         });
     }
+
+    public void testActiveAlertsAreLoadedPageByPage() {
+        Client client = mock(Client.class);
+        long now = System.currentTimeMillis();
+        List<SearchRequest> searchRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            SearchRequest searchRequest = invocation.getArgument(0);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            searchRequests.add(searchRequest);
+            int size = searchRequests.size() == 1 ? searchRequest.source().size() : 5;
+            SearchHit[] hits = new SearchHit[size];
+            for (int i = 0; i < size; ++i) {
+                String id = String.format(Locale.ROOT, "alert-%d-%05d", searchRequests.size(), i);
+                hits[i] = new SearchHit(i, id, null, null);
+                hits[i].sourceRef(new BytesArray(alertSource(id, "rule-1", List.of("finding-" + i), now)));
+                hits[i].sortValues(new Object[] { id }, new DocValueFormat[] { DocValueFormat.RAW });
+            }
+            SearchResponse searchResponse = mock(SearchResponse.class);
+            when(searchResponse.getHits()).thenReturn(new SearchHits(hits, new TotalHits(size, TotalHits.Relation.EQUAL_TO), 0.0f));
+            listener.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        CorrelationAlertService alertsService = new CorrelationAlertService(client, NamedXContentRegistry.EMPTY);
+
+        AtomicReference<CorrelationAlertsList> activeAlerts = new AtomicReference<>();
+        alertsService.getActiveAlerts("rule-1", now, ActionListener.wrap(activeAlerts::set, e -> fail()));
+
+        assertEquals(2, searchRequests.size());
+        int pageSize = searchRequests.get(0).source().size();
+        assertEquals(pageSize + 5, activeAlerts.get().getCorrelationAlertList().size());
+        assertNull(searchRequests.get(0).source().searchAfter());
+        assertArrayEquals(new Object[] { String.format(Locale.ROOT, "alert-1-%05d", pageSize - 1) }, searchRequests.get(1).source().searchAfter());
+    }
+
+    public void testAlertsOfOneTimeWindowShareTheirId() {
+        String alertId = CorrelationAlertService.getAlertId("rule-1", 1_000L, 60_000L);
+
+        assertEquals(alertId, CorrelationAlertService.getAlertId("rule-1", 59_000L, 60_000L));
+        assertNotEquals(alertId, CorrelationAlertService.getAlertId("rule-1", 61_000L, 60_000L));
+        assertNotEquals(alertId, CorrelationAlertService.getAlertId("rule-2", 1_000L, 60_000L));
+    }
+
+    public void testAlertRaisedMeanwhileIsUpdatedWithTheFindings() {
+        Client client = mock(Client.class);
+        long now = System.currentTimeMillis();
+        String alertId = CorrelationAlertService.getAlertId("rule-1", now, 60_000L);
+        List<IndexRequest> indexRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            indexRequests.add(invocation.getArgument(0));
+            ActionListener<?> listener = invocation.getArgument(1);
+            listener.onFailure(new VersionConflictEngineException(new ShardId(CorrelationIndices.CORRELATION_ALERT_INDEX, "uuid", 0),
+                    alertId, "document already exists"));
+            return null;
+        }).when(client).index(any(IndexRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            GetRequest getRequest = invocation.getArgument(0);
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            GetResponse getResponse = mock(GetResponse.class);
+            when(getResponse.isExists()).thenReturn(true);
+            when(getResponse.getId()).thenReturn(getRequest.id());
+            when(getResponse.getVersion()).thenReturn(1L);
+            when(getResponse.getSourceAsString()).thenReturn(alertSource(getRequest.id(), "rule-1", List.of("finding-1", "finding-2"), now));
+            listener.onResponse(getResponse);
+            return null;
+        }).when(client).get(any(GetRequest.class), any(ActionListener.class));
+        List<UpdateRequest> updateRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            updateRequests.add(invocation.getArgument(0));
+            ActionListener<UpdateResponse> listener = invocation.getArgument(1);
+            listener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any(ActionListener.class));
+        CorrelationAlertService alertsService = new CorrelationAlertService(client, NamedXContentRegistry.EMPTY);
+
+        CorrelationAlert correlationAlert = new CorrelationAlert(List.of("finding-2", "finding-3"), "rule-1", "mock-rule", alertId, 1L, 1,
+                null, "mock-trigger", Alert.State.ACTIVE, Instant.ofEpochMilli(now), Instant.ofEpochMilli(now + 60_000L), null, null,
+                "high", new ArrayList<>());
+        AtomicReference<Boolean> created = new AtomicReference<>();
+        alertsService.indexCorrelationAlert(correlationAlert, TimeValue.timeValueSeconds(30), ActionListener.wrap(created::set, e -> fail()));
+
+        assertFalse(created.get());
+        assertEquals(DocWriteRequest.OpType.CREATE, indexRequests.get(0).opType());
+        assertEquals(1, updateRequests.size());
+        assertEquals(alertId, updateRequests.get(0).id());
+        assertEquals(List.of("finding-1", "finding-2", "finding-3"), updateRequests.get(0).doc().sourceAsMap().get("correlated_finding_ids"));
+    }
+
+    public void testAcknowledgedAlertIsNotMergedInto() {
+        Client client = mock(Client.class);
+        long now = System.currentTimeMillis();
+        String alertId = CorrelationAlertService.getAlertId("rule-1", now, 60_000L);
+        List<IndexRequest> indexRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            IndexRequest indexRequest = invocation.getArgument(0);
+            indexRequests.add(indexRequest);
+            ActionListener<IndexResponse> listener = invocation.getArgument(1);
+            if (alertId.equals(indexRequest.id())) {
+                listener.onFailure(new VersionConflictEngineException(new ShardId(CorrelationIndices.CORRELATION_ALERT_INDEX, "uuid", 0),
+                        alertId, "document already exists"));
+            } else {
+                listener.onResponse(mock(IndexResponse.class));
+            }
+            return null;
+        }).when(client).index(any(IndexRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            GetRequest getRequest = invocation.getArgument(0);
+            ActionListener<GetResponse> listener = invocation.getArgument(1);
+            GetResponse getResponse = mock(GetResponse.class);
+            when(getResponse.isExists()).thenReturn(true);
+            when(getResponse.getId()).thenReturn(getRequest.id());
+            when(getResponse.getVersion()).thenReturn(2L);
+            // acknowledged since it was raised
+            when(getResponse.getSourceAsString()).thenReturn(alertSource(getRequest.id(), "rule-1", List.of("finding-1"), now, "ACKNOWLEDGED"));
+            listener.onResponse(getResponse);
+            return null;
+        }).when(client).get(any(GetRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            fail("an acknowledged alert must not be updated");
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchResponse searchResponse = mock(SearchResponse.class);
+            when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0.0f));
+            listener.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        CorrelationAlertService alertsService = new CorrelationAlertService(client, NamedXContentRegistry.EMPTY);
+        // the acknowledged alert is no longer in the active alert cache
+        AtomicReference<CorrelationAlertsList> activeAlerts = new AtomicReference<>();
+        alertsService.getActiveAlerts("rule-1", now, ActionListener.wrap(activeAlerts::set, e -> fail()));
+        assertTrue(activeAlerts.get().getCorrelationAlertList().isEmpty());
+
+        CorrelationAlert correlationAlert = new CorrelationAlert(List.of("finding-2", "finding-3"), "rule-1", "mock-rule", alertId, 1L, 1,
+                null, "mock-trigger", Alert.State.ACTIVE, Instant.ofEpochMilli(now), Instant.ofEpochMilli(now + 60_000L), null, null,
+                "high", new ArrayList<>());
+        AtomicReference<Boolean> created = new AtomicReference<>();
+        alertsService.indexCorrelationAlert(correlationAlert, TimeValue.timeValueSeconds(30), ActionListener.wrap(created::set, e -> fail()));
+
+        // the new correlation raises an alert of its own, which is notified
+        assertTrue(created.get());
+        assertEquals(2, indexRequests.size());
+        String nextAlertId = CorrelationAlertService.getNextAlertId(alertId);
+        assertEquals(nextAlertId, indexRequests.get(1).id());
+        assertEquals(DocWriteRequest.OpType.CREATE, indexRequests.get(1).opType());
+        assertEquals(List.of("finding-2", "finding-3"), indexRequests.get(1).sourceAsMap().get("correlated_finding_ids"));
+
+        // only the new alert is cached as active
+        alertsService.getActiveAlerts("rule-1", now, ActionListener.wrap(activeAlerts::set, e -> fail()));
+        assertEquals(1, activeAlerts.get().getCorrelationAlertList().size());
+        assertEquals(nextAlertId, activeAlerts.get().getCorrelationAlertList().get(0).getId());
+    }
+
+    private static String alertSource(String id, String ruleId, List<String> findingIds, long now) {
+        return alertSource(id, ruleId, findingIds, now, "ACTIVE");
+    }
+
+    private static String alertSource(String id, String ruleId, List<String> findingIds, long now, String state) {
+        return String.format(Locale.ROOT, "{\"id\":\"%s\",\"correlation_rule_id\":\"%s\",\"correlation_rule_name\":\"mock-rule\"," +
+                "\"correlated_finding_ids\":[\"%s\"],\"schema_version\":1,\"version\":1,\"state\":\"%s\"," +
+                "\"trigger_name\":\"mock-trigger\",\"severity\":\"high\",\"start_time\":\"%s\",\"end_time\":\"%s\"," +
+                "\"action_execution_results\":[]}", id, ruleId, String.join("\",\"", findingIds), state,
+                Instant.ofEpochMilli(now - 1000L), Instant.ofEpochMilli(now + 60_000L));
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.alerts;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.model.CorrelationAlert;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertsList;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
+import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.securityanalytics.model.CorrelationRuleTrigger;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CorrelationRuleSchedulerTests extends OpenSearchTestCase {
+
+    private static final TimeValue INDEX_TIMEOUT = TimeValue.timeValueSeconds(60);
+
+    private ThreadPool threadPool;
+
+    private Scheduler.Cancellable scheduledTick;
+
+    private CorrelationAlertService correlationAlertService;
+
+    private List<Collection<String>> activeAlertLookups;
+
+    private List<CorrelationAlert> indexedAlerts;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = mock(ThreadPool.class);
+        scheduledTick = mock(Scheduler.Cancellable.class);
+        when(threadPool.scheduleWithFixedDelay(any(), any(), any())).thenReturn(scheduledTick);
+
+        correlationAlertService = mock(CorrelationAlertService.class);
+        activeAlertLookups = new ArrayList<>();
+        doAnswer(invocation -> {
+            activeAlertLookups.add(new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+            ActionListener<CorrelationAlertsList> listener = invocation.getArgument(2);
+            listener.onResponse(new CorrelationAlertsList(List.of(), 0));
+            return null;
+        }).when(correlationAlertService).getActiveAlerts(any(Collection.class), anyLong(), any());
+        indexedAlerts = new ArrayList<>();
+        doAnswer(invocation -> {
+            indexedAlerts.add(invocation.getArgument(0));
+            ActionListener<Boolean> listener = invocation.getArgument(2);
+            listener.onResponse(true);
+            return null;
+        }).when(correlationAlertService).indexCorrelationAlert(any(), any(), any());
+    }
+
+    public void testFindingsOfATickAreEvaluatedInOneBatch() throws Exception {
+        CorrelationRuleScheduler scheduler = newScheduler();
+        CorrelationRule rule1 = rule("rule-1");
+        CorrelationRule rule2 = rule("rule-2");
+
+        scheduler.schedule(List.of(rule1, rule2), Map.of("windows", List.of("finding-1")), "finding-1", INDEX_TIMEOUT, null);
+        scheduler.schedule(List.of(rule1), Map.of("windows", List.of("finding-2")), "finding-2", INDEX_TIMEOUT, null);
+
+        // nothing is evaluated on the correlation path
+        assertTrue(indexedAlerts.isEmpty());
+        // one evaluation and one window expiry per rule
+        assertEquals(4, scheduler.getPendingTriggerCount());
+        assertEquals(2L, scheduler.getWindowedFindingCount("rule-1"));
+
+        // evaluations are due on the next tick of the wheel
+        assertBusy(() -> {
+            tick();
+            assertEquals(2, indexedAlerts.size());
+        });
+
+        // both rules share one lookup of their active alerts, each raises one alert over all its findings
+        assertEquals(List.of(List.of("rule-1", "rule-2")), activeAlertLookups);
+        assertEquals("rule-1", indexedAlerts.get(0).getCorrelationRuleId());
+        assertEquals(List.of("finding-1", "finding-2"), indexedAlerts.get(0).getCorrelatedFindingIds());
+        assertEquals("rule-2", indexedAlerts.get(1).getCorrelationRuleId());
+        assertEquals(List.of("finding-1"), indexedAlerts.get(1).getCorrelatedFindingIds());
+
+        // only the expiries of the rule windows are left
+        assertEquals(2, scheduler.getPendingTriggerCount());
+        tick();
+        assertEquals(1, activeAlertLookups.size());
+    }
+
+    public void testTickIsCancelledOnStop() {
+        CorrelationRuleScheduler scheduler = newScheduler();
+        scheduler.schedule(List.of(rule("rule-1")), Map.of("windows", List.of("finding-1")), "finding-1", INDEX_TIMEOUT, null);
+        scheduler.schedule(List.of(rule("rule-1")), Map.of("windows", List.of("finding-2")), "finding-2", INDEX_TIMEOUT, null);
+
+        // the timer is scheduled once
+        verify(threadPool, times(1)).scheduleWithFixedDelay(any(), eq(TimeValue.timeValueMillis(500)), eq(ThreadPool.Names.GENERIC));
+
+        scheduler.stop();
+
+        verify(scheduledTick).cancel();
+    }
+
+    private CorrelationRuleScheduler newScheduler() {
+        CorrelationRuleScheduler scheduler = new CorrelationRuleScheduler(mock(Client.class), correlationAlertService,
+                mock(NotificationService.class), threadPool);
+        scheduler.start();
+        return scheduler;
+    }
+
+    private void tick() {
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool).scheduleWithFixedDelay(tick.capture(), any(), any());
+        tick.getValue().run();
+    }
+
+    private static CorrelationRule rule(String id) {
+        return new CorrelationRule(id, 1L, id, List.of(new CorrelationQuery("windows", "event:1", "windows", null)), 60_000L,
+                new CorrelationRuleTrigger("trigger-" + id, "trigger", "1", List.of()));
+    }
+}
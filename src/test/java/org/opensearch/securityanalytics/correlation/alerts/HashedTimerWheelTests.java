@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.alerts;
+
+import org.opensearch.securityanalytics.correlation.alert.HashedTimerWheel;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+public class HashedTimerWheelTests extends OpenSearchTestCase {
+
+    public void testExpiresAtDeadline() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100L, 8, 1000L);
+        wheel.schedule(1000L, "now");
+        wheel.schedule(500L, "past");
+        wheel.schedule(1250L, "soon");
+
+        assertEquals(List.of("now", "past"), wheel.advance(1000L));
+        assertEquals(List.of(), wheel.advance(1299L));
+        assertEquals(List.of("soon"), wheel.advance(1300L));
+        assertEquals(0, wheel.size());
+    }
+
+    public void testDeadlinesBeyondOneTurn() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100L, 8, 0L);
+        // 20 ticks away on a wheel of 8 slots, shares its slot with a deadline 4 ticks away
+        wheel.schedule(2000L, "far");
+        wheel.schedule(400L, "near");
+
+        assertEquals(List.of("near"), wheel.advance(1999L));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advance(2000L));
+    }
+
+    public void testIdleWheelSkipsTicks() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100L, 8, 0L);
+        assertEquals(List.of(), wheel.advance(1_000_000L));
+        wheel.schedule(1_000_500L, "later");
+        assertEquals(List.of(), wheel.advance(1_000_499L));
+        assertEquals(List.of("later"), wheel.advance(1_000_500L));
+    }
+
+    public void testInvalidWheel() {
+        expectThrows(IllegalArgumentException.class, () -> new HashedTimerWheel<String>(0L, 8, 0L));
+        expectThrows(IllegalArgumentException.class, () -> new HashedTimerWheel<String>(100L, 6, 0L));
+    }
+}
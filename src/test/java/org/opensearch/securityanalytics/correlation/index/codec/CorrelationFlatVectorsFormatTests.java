@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.codec;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.KnnVectorValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.Directory;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
+import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVectorFieldMapper;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CorrelationFlatVectorsFormatTests extends OpenSearchTestCase {
+
+    private static final String FIELD = "corr_vector";
+
+    public void testFlatFieldIsWrittenWithFlatFormatAndReadBackThroughSpi() throws Exception {
+        MapperService mapperService = mock(MapperService.class);
+        when(mapperService.fieldType(FIELD)).thenReturn(new CorrelationVectorFieldMapper.CorrelationVectorFieldType(FIELD, Map.of(), 3,
+                CorrelationParamsContext.parse(Map.of(CorrelationParamsContext.PARAMETERS, Map.of("storage", "flat")))));
+        Codec codec = CorrelationCodecVersion.current().getCorrelationCodecSupplier().apply(Codec.getDefault(), mapperService);
+
+        List<float[]> vectors = new ArrayList<>();
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setCodec(codec))) {
+                for (int i = 0; i < 20; ++i) {
+                    float[] vector = new float[]{randomFloat(), randomFloat(), randomFloat()};
+                    vectors.add(vector);
+                    Document doc = new Document();
+                    doc.add(new KnnFloatVectorField(FIELD, vector, VectorSimilarityFunction.EUCLIDEAN));
+                    writer.addDocument(doc);
+                }
+                writer.commit();
+            }
+
+            // the reader opens the segment without the mapper service, it finds the vectors format by the name
+            // recorded on the field through SPI
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                LeafReader leafReader = reader.leaves().get(0).reader();
+                assertEquals(CorrelationFlatVectorsFormat.NAME,
+                        leafReader.getFieldInfos().fieldInfo(FIELD).getAttribute(PerFieldKnnVectorsFormat.PER_FIELD_FORMAT_KEY));
+                assertTrue(KnnVectorsFormat.forName(CorrelationFlatVectorsFormat.NAME) instanceof CorrelationFlatVectorsFormat);
+
+                FloatVectorValues values = leafReader.getFloatVectorValues(FIELD);
+                assertEquals(vectors.size(), values.size());
+                KnnVectorValues.DocIndexIterator iterator = values.iterator();
+                for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+                    assertArrayEquals(vectors.get(doc), values.vectorValue(iterator.index()), 0.0f);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.query;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
+import org.opensearch.securityanalytics.correlation.index.mapper.LuceneFieldMapper;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+public class ExactCorrelationVectorQueryTests extends OpenSearchTestCase {
+
+    private static final String FIELD = "corr_vector";
+
+    public void testMatchesBruteForceTopK() throws Exception {
+        List<float[]> vectors = new ArrayList<>();
+        try (Directory directory = newDirectory();
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            // time ordered segments, like correlation history indices
+            for (int segment = 0; segment < 5; ++segment) {
+                for (int i = 0; i < 50; ++i) {
+                    float[] vector = new float[]{segment * 100f + randomFloat() * 100f, randomFloat() * 10f, randomFloat() * 10f};
+                    vectors.add(vector);
+                    Document doc = new Document();
+                    doc.add(new KnnFloatVectorField(FIELD, vector, VectorSimilarityFunction.EUCLIDEAN));
+                    doc.add(new FloatPoint(LuceneFieldMapper.boundsFieldName(FIELD), vector));
+                    doc.add(new StringField("parity", vectors.size() % 2 == 0 ? "even" : "odd", Field.Store.NO));
+                    writer.addDocument(doc);
+                }
+                writer.commit();
+            }
+
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                float[] target = new float[]{randomFloat() * 500f, randomFloat() * 10f, randomFloat() * 10f};
+                int k = randomIntBetween(1, 20);
+
+                TopDocs topDocs = searcher.search(
+                        new ExactCorrelationVectorQuery(FIELD, LuceneFieldMapper.boundsFieldName(FIELD), target, k, null), k);
+                assertEquals(bruteForce(vectors, target, k, false), docsOf(topDocs));
+
+                TopDocs filtered = searcher.search(new ExactCorrelationVectorQuery(
+                        FIELD, LuceneFieldMapper.boundsFieldName(FIELD), target, k, new TermQuery(new Term("parity", "even"))), k);
+                assertEquals(bruteForce(vectors, target, k, true), docsOf(filtered));
+            }
+        }
+    }
+
+    public void testParseStorage() {
+        assertEquals(CorrelationVectorStorage.HNSW, CorrelationParamsContext.parse(Map.of()).getStorage());
+        assertEquals(CorrelationVectorStorage.FLAT, CorrelationParamsContext.parse(
+                Map.of(CorrelationParamsContext.PARAMETERS, Map.of("storage", "flat"))).getStorage());
+        assertEquals(CorrelationVectorStorage.QUANTIZED, CorrelationParamsContext.parse(
+                Map.of(CorrelationParamsContext.PARAMETERS, Map.of("storage", "quantized", "m", 16))).getStorage());
+        expectThrows(MapperParsingException.class, () -> CorrelationParamsContext.parse(
+                Map.of(CorrelationParamsContext.PARAMETERS, Map.of("storage", "ivf"))));
+    }
+
+    private static List<Integer> bruteForce(List<float[]> vectors, float[] target, int k, boolean evenOnly) {
+        List<Integer> docs = new ArrayList<>();
+        for (int doc = 0; doc < vectors.size(); ++doc) {
+            // parity is set on the 1-based count of indexed docs
+            if (evenOnly == false || (doc + 1) % 2 == 0) {
+                docs.add(doc);
+            }
+        }
+        docs.sort(Comparator.<Integer>comparingDouble(doc -> -VectorSimilarityFunction.EUCLIDEAN.compare(target, vectors.get(doc)))
+                .thenComparing(doc -> doc));
+        return docs.subList(0, Math.min(k, docs.size()));
+    }
+
+    private static List<Integer> docsOf(TopDocs topDocs) {
+        List<Integer> docs = new ArrayList<>();
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            docs.add(scoreDoc.doc);
+        }
+        return docs;
+    }
+}
@@ -111,6 +111,74 @@ public class FindingIT extends SecurityAnalyticsRestTestCase {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    public void testGetFindingsSummary_byDetectorId_success() throws IOException {
+        String index = createTestIndex(randomIndex(), windowsIndexMapping());
+
+        // Execute CreateMappingsAction to add alias mapping for index
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        // both req params and req body are supported
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"" + randomDetectorType() + "\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        Detector detector = randomDetectorWithTriggers(getRandomPrePackagedRules(), List.of(new DetectorTrigger(null, "test-trigger", "1", List.of(randomDetectorType()), List.of(), List.of(), List.of(), List.of(), List.of())));
+
+        Response createResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI, Collections.emptyMap(), toHttpEntity(detector));
+        Assert.assertEquals("Create detector failed", RestStatus.CREATED, restStatus(createResponse));
+
+        Map<String, Object> responseBody = asMap(createResponse);
+
+        String createdId = responseBody.get("_id").toString();
+
+        String request = "{\n" +
+                "   \"query\" : {\n" +
+                "     \"match\":{\n" +
+                "        \"_id\": \"" + createdId + "\"\n" +
+                "     }\n" +
+                "   }\n" +
+                "}";
+        List<SearchHit> hits = executeSearch(Detector.DETECTORS_INDEX, request);
+        SearchHit hit = hits.get(0);
+
+        String monitorId = ((List<String>) ((Map<String, Object>) hit.getSourceAsMap().get("detector")).get("monitor_id")).get(0);
+
+        long startTime = Instant.now().minusSeconds(3600L).toEpochMilli();
+        indexDoc(index, "1", randomDoc());
+
+        executeAlertingMonitor(monitorId, Collections.emptyMap());
+        long endTime = Instant.now().plusSeconds(3600L).toEpochMilli();
+
+        // Call GetFindingsSummary API over the time range of the finding
+        Map<String, String> params = new HashMap<>();
+        params.put("detector_id", createdId);
+        params.put("startTime", String.valueOf(startTime));
+        params.put("endTime", String.valueOf(endTime));
+        params.put("interval", "1h");
+        Response getFindingsSummaryResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary", params, null);
+        Map<String, Object> getFindingsSummaryBody = entityAsMap(getFindingsSummaryResponse);
+        Assert.assertEquals(1, getFindingsSummaryBody.get("total_findings"));
+        Assert.assertEquals(1, ((Map<String, Object>) getFindingsSummaryBody.get("detectors")).get(createdId));
+        List<Map<String, Object>> timeBuckets = (List<Map<String, Object>>) getFindingsSummaryBody.get("time_buckets");
+        Assert.assertEquals(1, timeBuckets.size());
+        Assert.assertEquals(1, timeBuckets.get(0).get("count"));
+
+        // an interval splitting the time range into too many buckets is rejected
+        params.put("interval", "1ms");
+        try {
+            makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary", params, null);
+            fail("summary with too many time buckets should be rejected");
+        } catch (ResponseException e) {
+            assertEquals(HttpStatus.SC_BAD_REQUEST, e.getResponse().getStatusLine().getStatusCode());
+        }
+    }
+
     public void testGetFindings_byDetectorType_oneDetector_success() throws IOException {
         String index = createTestIndex(randomIndex(), windowsIndexMapping());
 
@@ -6,10 +6,39 @@
 package org.opensearch.securityanalytics.findings;
 
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.SearchModule;
+import org.opensearch.search.aggregations.Aggregation;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
+import org.opensearch.search.aggregations.bucket.nested.Nested;
+import org.opensearch.search.aggregations.bucket.nested.ReverseNested;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
 
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.commons.alerting.model.CronSchedule;
@@ -34,6 +63,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -264,4 +294,108 @@ public class FindingServiceTests extends OpenSearchTestCase {
             }
         });
     }
+
+    public void testGetFindingsSummary_boundsTimeBuckets() throws IOException {
+        Client client = mock(Client.class);
+        FindingsService findingsService = new FindingsService(client);
+        Detector detector = new Detector(
+                "detector_id123",
+                0L,
+                "test-monitor",
+                true,
+                new CronSchedule("31 * * * *", ZoneId.of("Asia/Kolkata"), Instant.ofEpochSecond(1538164858L)),
+                Instant.now(),
+                Instant.now(),
+                "others_application",
+                null,
+                List.of(),
+                List.of(),
+                List.of("monitor_id1", "monitor_id2"),
+                DetectorMonitorConfig.getRuleIndex("others_application"),
+                null,
+                DetectorMonitorConfig.getAlertsIndex("others_application"),
+                null,
+                null,
+                DetectorMonitorConfig.getFindingsIndex("others_application"),
+                Collections.emptyMap(),
+                Collections.emptyList(),
+                false
+        );
+        Instant startTime = Instant.ofEpochMilli(1_700_000_000_000L);
+        Instant endTime = startTime.plusSeconds(7200L);
+        ZonedDateTime bucketStart = startTime.atZone(ZoneOffset.UTC);
+
+        AtomicReference<SearchRequest> searchRequest = new AtomicReference<>();
+        doAnswer(invocation -> {
+            searchRequest.set(invocation.getArgument(0));
+            ActionListener<SearchResponse> l = invocation.getArgument(1);
+            Terms byMonitor = terms("by_monitor", termsBucket("monitor_id1", 2L, null), termsBucket("monitor_id2", 1L, null));
+            Histogram.Bucket timeBucket = mock(Histogram.Bucket.class);
+            when(timeBucket.getKey()).thenReturn(bucketStart);
+            when(timeBucket.getDocCount()).thenReturn(3L);
+            Histogram byTime = mock(Histogram.class);
+            when(byTime.getName()).thenReturn("by_time");
+            doReturn(List.of(timeBucket)).when(byTime).getBuckets();
+            Terms byRule = terms("by_rule", termsBucket("rule-1", 4L, 3L));
+            Terms bySeverity = terms("by_severity", termsBucket("high", 4L, 3L));
+            Nested queries = mock(Nested.class);
+            when(queries.getName()).thenReturn("queries");
+            when(queries.getAggregations()).thenReturn(new Aggregations(List.of(byRule, bySeverity)));
+
+            SearchResponse searchResponse = mock(SearchResponse.class);
+            when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(3L, TotalHits.Relation.EQUAL_TO), 0.0f));
+            when(searchResponse.getAggregations()).thenReturn(new Aggregations(List.of(byMonitor, byTime, queries)));
+            l.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+
+        AtomicReference<GetFindingsSummaryResponse> response = new AtomicReference<>();
+        findingsService.getFindingsSummary(List.of(detector), "others_application", startTime, endTime, "1h",
+                ActionListener.wrap(response::set, e -> fail()));
+
+        // the aggregations parse back, with the time buckets bounded by the time range
+        NamedXContentRegistry registry = new NamedXContentRegistry(new SearchModule(Settings.EMPTY, List.of()).getNamedXContents());
+        SearchSourceBuilder source;
+        try (XContentParser parser = XContentType.JSON.xContent().createParser(registry, LoggingDeprecationHandler.INSTANCE,
+                searchRequest.get().source().toString())) {
+            source = SearchSourceBuilder.fromXContent(parser);
+        }
+        DateHistogramAggregationBuilder byTime = null;
+        for (AggregationBuilder aggregation : source.aggregations().getAggregatorFactories()) {
+            if (aggregation.getName().equals("by_time")) {
+                byTime = (DateHistogramAggregationBuilder) aggregation;
+            }
+        }
+        assertNotNull(byTime);
+        assertEquals(new DateHistogramInterval("1h"), byTime.getFixedInterval());
+        assertEquals(new LongBounds(startTime.toEpochMilli(), endTime.toEpochMilli()), byTime.hardBounds());
+        assertEquals(3, source.aggregations().getAggregatorFactories().size());
+
+        assertEquals(3L, response.get().getTotalFindings());
+        assertEquals(Map.of("detector_id123", 3L), response.get().getFindingsByDetector());
+        assertEquals(Map.of("rule-1", 3L), response.get().getFindingsByRule());
+        assertEquals(Map.of("high", 3L), response.get().getFindingsBySeverity());
+        assertEquals(Map.of(startTime.toEpochMilli(), 3L), response.get().getFindingsByTimeBucket());
+    }
+
+    private static Terms terms(String name, Terms.Bucket... buckets) {
+        Terms terms = mock(Terms.class);
+        when(terms.getName()).thenReturn(name);
+        doReturn(List.of(buckets)).when(terms).getBuckets();
+        return terms;
+    }
+
+    private static Terms.Bucket termsBucket(String key, long docCount, Long findingsCount) {
+        Terms.Bucket bucket = mock(Terms.Bucket.class);
+        when(bucket.getKeyAsString()).thenReturn(key);
+        when(bucket.getDocCount()).thenReturn(docCount);
+        if (findingsCount != null) {
+            // nested query buckets count the findings holding the query
+            ReverseNested findings = mock(ReverseNested.class);
+            when(findings.getName()).thenReturn("findings");
+            when(findings.getDocCount()).thenReturn(findingsCount);
+            when(bucket.getAggregations()).thenReturn(new Aggregations(List.<Aggregation>of(findings)));
+        }
+        return bucket;
+    }
 }
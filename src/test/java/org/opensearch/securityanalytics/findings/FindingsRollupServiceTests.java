@@ -0,0 +1,258 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.Client;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.CHAINED_FINDINGS_MONITOR_STRING;
+
+public class FindingsRollupServiceTests extends OpenSearchTestCase {
+
+    public void testRollupsOfDocLevelFinding() {
+        Detector detector = detector();
+        Instant timestamp = Instant.parse("2024-05-01T10:42:17Z");
+        Finding finding = finding("doc_level_monitor", timestamp, List.of(
+                new DocLevelQuery("rule1", "rule1", Collections.emptyList(), "fieldA:valA", List.of("high", "attack.t1001")),
+                new DocLevelQuery("rule2", "rule2", Collections.emptyList(), "fieldB:valB", List.of("high"))
+        ));
+
+        List<FindingsRollupService.Rollup> rollups = FindingsRollupService.rollupsOf(detector, finding);
+
+        assertEquals(4, rollups.size());
+        long hour = Instant.parse("2024-05-01T10:00:00Z").toEpochMilli();
+        for (FindingsRollupService.Rollup rollup : rollups) {
+            assertEquals(hour, rollup.getTimestamp());
+            assertEquals(1L, rollup.getCount());
+        }
+        assertEquals(FindingsRollupService.DETECTOR_DIMENSION, rollups.get(0).getDimension());
+        assertNull(rollups.get(0).getValue());
+        assertEquals(FindingsRollupService.RULE_DIMENSION, rollups.get(1).getDimension());
+        assertEquals("rule1", rollups.get(1).getValue());
+        assertEquals(FindingsRollupService.RULE_DIMENSION, rollups.get(2).getDimension());
+        assertEquals("rule2", rollups.get(2).getValue());
+        // a finding is counted once per severity however many of its rules have it
+        assertEquals(FindingsRollupService.SEVERITY_DIMENSION, rollups.get(3).getDimension());
+        assertEquals("high", rollups.get(3).getValue());
+    }
+
+    public void testRollupsOfBucketLevelFinding() {
+        Detector detector = detector();
+        Finding finding = finding("bucket_level_monitor", Instant.now(), List.of());
+
+        List<FindingsRollupService.Rollup> rollups = FindingsRollupService.rollupsOf(detector, finding);
+
+        assertEquals(2, rollups.size());
+        assertEquals(FindingsRollupService.RULE_DIMENSION, rollups.get(1).getDimension());
+        assertEquals("aggregation_rule", rollups.get(1).getValue());
+    }
+
+    public void testChainedFindingsAreNotCounted() {
+        Detector detector = detector();
+        Finding finding = finding("chained_findings_monitor", Instant.now(), List.of());
+
+        assertTrue(FindingsRollupService.rollupsOf(detector, finding).isEmpty());
+    }
+
+    public void testAddRollups() {
+        Detector detector = detector();
+        Instant timestamp = Instant.parse("2024-05-01T10:42:17Z");
+        FindingsRollupService.Rollup first = FindingsRollupService.rollupsOf(detector, finding("doc_level_monitor", timestamp, List.of())).get(0);
+        FindingsRollupService.Rollup second = FindingsRollupService.rollupsOf(detector, finding("doc_level_monitor", timestamp.plusSeconds(60), List.of())).get(0);
+        FindingsRollupService.Rollup nextHour = FindingsRollupService.rollupsOf(detector, finding("doc_level_monitor", timestamp.plusSeconds(3600), List.of())).get(0);
+
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), nextHour.getId());
+        assertEquals(2L, first.add(second).getCount());
+    }
+
+    public void testFailedBulkIsRetriedWithSameOpId() {
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        Client client = mockBulk(bulkRequests, null, new IOException("connection reset"));
+        FindingsRollupService service = newService(client);
+        service.record(detector(), finding("doc_level_monitor", Instant.now(), List.of()));
+
+        service.flush();
+        assertEquals(1, service.getPendingRollupCount());
+        // increments recorded after the failed flush get an operation id of their own
+        service.record(detector(), finding("doc_level_monitor", Instant.now().plusSeconds(3600), List.of()));
+        service.flush();
+
+        assertEquals(2, bulkRequests.size());
+        String opId = opIdOf(bulkRequests.get(0).requests().get(0));
+        assertEquals(opId, opIdOf(bulkRequests.get(1).requests().get(0)));
+        assertEquals(2, bulkRequests.get(1).requests().size());
+        assertNotEquals(opId, opIdOf(bulkRequests.get(1).requests().get(1)));
+    }
+
+    public void testRetriesAreDroppedAfterTheCap() {
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        Client client = mockBulk(bulkRequests, null, new IOException("connection reset"));
+        FindingsRollupService service = newService(client);
+        service.record(detector(), finding("doc_level_monitor", Instant.now(), List.of()));
+
+        for (int i = 0; i < FindingsRollupService.MAX_FLUSH_RETRIES; ++i) {
+            service.flush();
+            assertEquals(1, service.getPendingRollupCount());
+        }
+        service.flush();
+        assertEquals(0, service.getPendingRollupCount());
+        service.flush();
+
+        // the first write and its retries, nothing is written once the increment is dropped
+        assertEquals(FindingsRollupService.MAX_FLUSH_RETRIES + 1, bulkRequests.size());
+    }
+
+    public void testOnlyFailedItemsAreRetried() {
+        Detector detector = detector();
+        Finding finding = finding("doc_level_monitor", Instant.now(), List.of(
+                new DocLevelQuery("rule1", "rule1", Collections.emptyList(), "fieldA:valA", List.of("high"))
+        ));
+        List<FindingsRollupService.Rollup> rollups = FindingsRollupService.rollupsOf(detector, finding);
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        Client client = mockBulk(bulkRequests, Set.of(rollups.get(1).getId()), null);
+        FindingsRollupService service = newService(client);
+        service.record(detector, finding);
+
+        service.flush();
+        assertEquals(1, service.getPendingRollupCount());
+        service.flush();
+
+        assertEquals(2, bulkRequests.size());
+        assertEquals(3, bulkRequests.get(0).requests().size());
+        assertEquals(1, bulkRequests.get(1).requests().size());
+        UpdateRequest retry = (UpdateRequest) bulkRequests.get(1).requests().get(0);
+        assertEquals(rollups.get(1).getId(), retry.id());
+        assertEquals(0, service.getPendingRollupCount());
+    }
+
+    public void testScheduledFlushIsCancelledOnStop() {
+        Client client = mockBulk(new ArrayList<>(), null, null);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        Scheduler.Cancellable scheduledFlush = mock(Scheduler.Cancellable.class);
+        when(threadPool.scheduleWithFixedDelay(any(), any(), any())).thenReturn(scheduledFlush);
+        FindingsRollupService service = new FindingsRollupService(client, clusterService(), threadPool, Settings.EMPTY);
+        service.start();
+        service.record(detector(), finding("doc_level_monitor", Instant.now(), List.of()));
+
+        service.stop();
+
+        verify(scheduledFlush).cancel();
+        // the counts recorded before stopping are flushed
+        assertEquals(0, service.getPendingRollupCount());
+    }
+
+    private static String opIdOf(DocWriteRequest<?> request) {
+        return (String) ((UpdateRequest) request).script().getParams().get("op_id");
+    }
+
+    /**
+     * Bulks fail as a whole with the given exception, or else fail the updates of the given rollup docs.
+     */
+    private static Client mockBulk(List<BulkRequest> bulkRequests, Set<String> failedIds, Exception bulkFailure) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            BulkRequest bulkRequest = invocation.getArgument(0);
+            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            bulkRequests.add(bulkRequest);
+            if (bulkFailure != null) {
+                listener.onFailure(bulkFailure);
+                return null;
+            }
+            List<BulkItemResponse> items = new ArrayList<>();
+            for (DocWriteRequest<?> request : bulkRequest.requests()) {
+                BulkItemResponse item = failedIds != null && failedIds.contains(request.id()) ?
+                        new BulkItemResponse(items.size(), DocWriteRequest.OpType.UPDATE,
+                                new BulkItemResponse.Failure(request.index(), request.id(), new IOException("shard failure"))) :
+                        new BulkItemResponse(items.size(), DocWriteRequest.OpType.UPDATE,
+                                new UpdateResponse(new ShardId(request.index(), "uuid", 0), request.id(), 1L, 1L, 1L, DocWriteResponse.Result.UPDATED));
+                items.add(item);
+            }
+            listener.onResponse(new BulkResponse(items.toArray(new BulkItemResponse[0]), 1L));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any(ActionListener.class));
+        return client;
+    }
+
+    private static FindingsRollupService newService(Client client) {
+        FindingsRollupService service = new FindingsRollupService(client, clusterService(), mock(ThreadPool.class), Settings.EMPTY);
+        service.start();
+        return service;
+    }
+
+    private static ClusterService clusterService() {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, Set.of(
+                SecurityAnalyticsSettings.FINDINGS_ROLLUP_ENABLED,
+                SecurityAnalyticsSettings.FINDINGS_ROLLUP_RETENTION_PERIOD
+        )));
+        ClusterState clusterState = mock(ClusterState.class);
+        Metadata metadata = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterState.metadata()).thenReturn(metadata);
+        when(metadata.hasIndex(FindingsRollupService.FINDINGS_ROLLUP_INDEX)).thenReturn(true);
+        return clusterService;
+    }
+
+    private static Detector detector() {
+        Detector detector = randomDetector(List.of());
+        detector.setId("detector_id");
+        detector.setMonitorIds(List.of("doc_level_monitor", "bucket_level_monitor", "chained_findings_monitor"));
+        detector.setRuleIdMonitorIdMap(Map.of(
+                Detector.DOC_LEVEL_MONITOR, "doc_level_monitor",
+                "aggregation_rule", "bucket_level_monitor",
+                CHAINED_FINDINGS_MONITOR_STRING, "chained_findings_monitor"
+        ));
+        return detector;
+    }
+
+    private static Finding finding(String monitorId, Instant timestamp, List<DocLevelQuery> queries) {
+        return new Finding(
+                randomAlphaOfLength(10),
+                List.of("doc1"),
+                List.of("doc1"),
+                monitorId,
+                monitorId,
+                "test_index",
+                queries,
+                timestamp,
+                "1234"
+        );
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.mapper;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class FlattenedMappingsTests extends OpenSearchTestCase {
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        FlattenedMappings.clearCache();
+    }
+
+    public void testFlattenNestedMappings() {
+        FlattenedMappings flattenedMappings = FlattenedMappings.of(mappingMetadata());
+
+        assertEquals(Set.of("source.ip", "source.port", "src_ip", "message"), Set.copyOf(flattenedMappings.getAllFields()));
+        assertEquals(Set.of("source.ip", "source.port", "message"), Set.copyOf(flattenedMappings.getNonAliasFields()));
+        assertEquals(List.of(Pair.of("src_ip", "source.ip")), flattenedMappings.getAliasPathPairs());
+
+        assertTrue(flattenedMappings.containsNonAliasField("source.ip"));
+        assertFalse(flattenedMappings.containsNonAliasField("src_ip"));
+        assertTrue(flattenedMappings.containsField("src_ip"));
+        assertFalse(flattenedMappings.containsField("source"));
+        assertEquals("integer", flattenedMappings.getFieldType("source.port"));
+        assertNull(flattenedMappings.getFieldType("missing"));
+    }
+
+    public void testSameMappingsAreFlattenedOnce() {
+        FlattenedMappings first = FlattenedMappings.of(mappingMetadata());
+        FlattenedMappings second = FlattenedMappings.of(mappingMetadata());
+
+        assertSame(first, second);
+        assertEquals(1, FlattenedMappings.cachedMappingsCount());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("message", Map.of("type", "keyword"));
+        FlattenedMappings other = FlattenedMappings.of(
+                new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, Map.of(MapperService.SINGLE_MAPPING_NAME, Map.of("properties", properties))));
+
+        assertNotSame(first, other);
+        assertEquals(2, FlattenedMappings.cachedMappingsCount());
+    }
+
+    public void testMatchesMapperUtils() {
+        MappingMetadata mappingMetadata = mappingMetadata();
+        List<String> nonAliasFields = new MappingsTraverser(mappingMetadata).extractFlatNonAliasFields();
+
+        assertEquals(nonAliasFields, MapperUtils.getAllNonAliasFieldsFromIndex(mappingMetadata));
+        assertEquals(Map.of("source.port", Map.of("type", "integer")),
+                MapperUtils.getFieldMappingsFlat(mappingMetadata, List.of("source.port", "missing")));
+    }
+
+    private static MappingMetadata mappingMetadata() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("ip", Map.of("type", "ip"));
+        source.put("port", Map.of("type", "integer"));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("source", Map.of("properties", source));
+        properties.put("src_ip", Map.of("type", "alias", "path", "source.ip"));
+        properties.put("message", Map.of("type", "text"));
+        Map<String, Object> root = Map.of(MapperService.SINGLE_MAPPING_NAME, Map.of("properties", properties));
+        return new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, root);
+    }
+}
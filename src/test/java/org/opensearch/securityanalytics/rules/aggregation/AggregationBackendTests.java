@@ -8,6 +8,9 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import org.junit.Assert;
+import org.opensearch.script.Script;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
@@ -293,4 +296,58 @@ public class AggregationBackendTests extends OpenSearchTestCase {
         Assert.assertEquals("{\"result_agg\":{\"terms\":{\"field\":\"cloud.region\"},\"aggs\":{\"api_operation\":{\"value_count\":{\"field\":\"api.operation\"}}}}}", aggQuery);
         Assert.assertEquals("{\"buckets_path\":{\"api_operation\":\"api.operation\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params.api_operation > 1.0\",\"lang\":\"painless\"}}", bucketTriggerQuery);
     }
-}
\ No newline at end of file
+
+    public void testGroupByAggregationIsComposite() throws IOException, CompositeSigmaErrors, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend(windowsFieldMappings, true, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                        "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                        "            status: test\n" +
+                        "            level: critical\n" +
+                        "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                        "            author: Florian Roth\n" +
+                        "            date: 2017/05/15\n" +
+                        "            logsource:\n" +
+                        "                category: test_category\n" +
+                        "                product: test_product\n" +
+                        "            detection:\n" +
+                        "                timeframe: 5m\n" +
+                        "                sel:\n" +
+                        "                    fieldA: valueA\n" +
+                        "                condition: sel | count(*) by fieldB > 100", true));
+
+        OSQueryBackend.AggregationQueries aggQueries = (OSQueryBackend.AggregationQueries) queries.get(1);
+        CompositeAggregationBuilder aggBuilder = (CompositeAggregationBuilder) aggQueries.getAggBuilder();
+        Assert.assertEquals("result_agg", aggBuilder.getName());
+        Assert.assertEquals(OSQueryBackend.AGGREGATION_PAGE_SIZE, aggBuilder.size());
+        Assert.assertEquals("mappedB", aggBuilder.sources().get(0).field());
+
+        Script script = aggQueries.getCondition().getScript();
+        Assert.assertEquals("params._cnt > params._threshold", script.getIdOrCode());
+        Assert.assertEquals(100.0, script.getParams().get("_threshold"));
+    }
+
+    public void testCountAggregationWithoutGroupByIsPerIndex() throws IOException, CompositeSigmaErrors, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend(windowsFieldMappings, true, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                        "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                        "            status: test\n" +
+                        "            level: critical\n" +
+                        "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                        "            author: Florian Roth\n" +
+                        "            date: 2017/05/15\n" +
+                        "            logsource:\n" +
+                        "                category: test_category\n" +
+                        "                product: test_product\n" +
+                        "            detection:\n" +
+                        "                timeframe: 5m\n" +
+                        "                sel:\n" +
+                        "                    fieldA: valueA\n" +
+                        "                condition: sel | count(*) > 1", true));
+
+        OSQueryBackend.AggregationQueries aggQueries = (OSQueryBackend.AggregationQueries) queries.get(1);
+        TermsAggregationBuilder aggBuilder = (TermsAggregationBuilder) aggQueries.getAggBuilder();
+        Assert.assertEquals("_index", aggBuilder.field());
+    }
+}
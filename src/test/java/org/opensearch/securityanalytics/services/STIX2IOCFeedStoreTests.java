@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.services;
+
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.threatIntel.common.TIFRefreshScheduler;
+import org.opensearch.securityanalytics.threatIntel.model.SATIFSourceConfig;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class STIX2IOCFeedStoreTests extends OpenSearchTestCase {
+
+    public void testCompactIocIdIsDerivedOnlyForIocsWithoutId() {
+        STIX2IOCFeedStore feedStore = newFeedStore(SecurityAnalyticsSettings.IOC_INDEX_PROFILE_COMPACT);
+
+        String id = feedStore.getIocId(null, "ipv4-addr", "1.2.3.4");
+        assertNotNull(id);
+        assertEquals(id, feedStore.getIocId("", "ipv4-addr", "1.2.3.4"));
+        assertNotEquals(id, feedStore.getIocId(null, "domain-name", "1.2.3.4"));
+        // ids provided by the feed are kept
+        assertEquals("feed-ioc-id", feedStore.getIocId("feed-ioc-id", "ipv4-addr", "1.2.3.4"));
+    }
+
+    public void testDefaultProfileKeepsIocIds() {
+        STIX2IOCFeedStore feedStore = newFeedStore(SecurityAnalyticsSettings.IOC_INDEX_PROFILE_DEFAULT);
+
+        assertNull(feedStore.getIocId(null, "ipv4-addr", "1.2.3.4"));
+        assertEquals("feed-ioc-id", feedStore.getIocId("feed-ioc-id", "ipv4-addr", "1.2.3.4"));
+        assertNull(feedStore.iocIndexSettings().get("index.codec"));
+        assertTrue(feedStore.iocIndexSettings().getAsList("index.sort.field").isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testCompactIndexMappingAndSettings() {
+        STIX2IOCFeedStore feedStore = newFeedStore(SecurityAnalyticsSettings.IOC_INDEX_PROFILE_COMPACT);
+
+        Map<String, Object> mapping = XContentHelper.convertToMap(new BytesArray(feedStore.iocIndexMapping()), false, XContentType.JSON).v2();
+        assertEquals(false, mapping.get("dynamic"));
+        Map<String, Map<String, Object>> properties = (Map<String, Map<String, Object>>) mapping.get("properties");
+        // fields iocs are matched on, and fields searched by list iocs, stay indexed
+        for (String field : List.of(STIX2IOC.TYPE_FIELD, STIX2IOC.VALUE_FIELD, "feed_id", "name", "description")) {
+            assertNull(field, properties.get(field).get("index"));
+        }
+        assertEquals(false, properties.get("severity").get("index"));
+        assertNull(properties.get("severity").get("doc_values"));
+        assertEquals(false, properties.get("spec_version").get("index"));
+        assertEquals(false, properties.get("spec_version").get("doc_values"));
+
+        Settings indexSettings = feedStore.iocIndexSettings();
+        assertEquals("best_compression", indexSettings.get("index.codec"));
+        assertEquals(List.of(STIX2IOC.TYPE_FIELD, STIX2IOC.VALUE_FIELD), indexSettings.getAsList("index.sort.field"));
+        assertTrue(indexSettings.getAsBoolean("index.hidden", false));
+    }
+
+    private static STIX2IOCFeedStore newFeedStore(String profile) {
+        ClusterService clusterService = mock(ClusterService.class);
+        Settings settings = Settings.builder().put(SecurityAnalyticsSettings.IOC_INDEX_PROFILE.getKey(), profile).build();
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.BATCH_SIZE, SecurityAnalyticsSettings.IOC_INDEX_PROFILE)));
+        SATIFSourceConfig saTifSourceConfig = mock(SATIFSourceConfig.class);
+        when(saTifSourceConfig.getId()).thenReturn("source-config-id");
+        return new STIX2IOCFeedStore(mock(Client.class), clusterService, mock(TIFRefreshScheduler.class), new SecurityAnalyticsStats(),
+                saTifSourceConfig, null);
+    }
+}
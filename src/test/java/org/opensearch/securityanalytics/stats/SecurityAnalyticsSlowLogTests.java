@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import org.apache.logging.log4j.Level;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class SecurityAnalyticsSlowLogTests extends OpenSearchTestCase {
+
+    public void testDisabledSlowLogDoesNotTrace() {
+        SecurityAnalyticsSlowLog slowLog = new SecurityAnalyticsSlowLog();
+        SecurityAnalyticsSlowLog.Trace trace = slowLog.start("correlation", "monitor");
+
+        assertSame(SecurityAnalyticsSlowLog.Trace.NOOP, trace);
+        assertFalse(trace.isEnabled());
+        trace.stage("search_detector");
+        trace.searched(1, 10L);
+        trace.finish();
+    }
+
+    public void testLevelOfElapsedTime() {
+        SecurityAnalyticsSlowLog slowLog = new SecurityAnalyticsSlowLog();
+        slowLog.setThresholds(TimeValue.timeValueSeconds(10), TimeValue.timeValueSeconds(5), TimeValue.MINUS_ONE, TimeValue.timeValueMillis(100));
+
+        assertNull(slowLog.levelOf(TimeValue.timeValueMillis(50).nanos()));
+        assertEquals(Level.TRACE, slowLog.levelOf(TimeValue.timeValueSeconds(1).nanos()));
+        assertEquals(Level.INFO, slowLog.levelOf(TimeValue.timeValueSeconds(6).nanos()));
+        assertEquals(Level.WARN, slowLog.levelOf(TimeValue.timeValueSeconds(11).nanos()));
+    }
+
+    public void testTraceMessage() {
+        SecurityAnalyticsSlowLog slowLog = new SecurityAnalyticsSlowLog();
+        slowLog.setThresholds(TimeValue.MINUS_ONE, TimeValue.MINUS_ONE, TimeValue.MINUS_ONE, TimeValue.ZERO);
+        SecurityAnalyticsSlowLog.Trace trace = slowLog.start("ioc_scan", "monitor");
+
+        assertTrue(trace.isEnabled());
+        trace.stage("ioc_match");
+        trace.searched(2, 7L);
+        trace.searched(1, 3L);
+        trace.stage("parse_iocs");
+        trace.entity("monitor_1");
+        trace.finish();
+
+        String message = trace.message(TimeValue.timeValueMillis(1500).nanos());
+        assertTrue(message, message.startsWith("[ioc_scan][monitor_1] took[1.5s], took_millis[1500], stages[ioc_match:"));
+        assertTrue(message, message.contains("parse_iocs:"));
+        assertTrue(message, message.endsWith("searches[3], hits[10]"));
+    }
+}
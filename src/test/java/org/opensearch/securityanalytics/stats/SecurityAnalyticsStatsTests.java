@@ -0,0 +1,72 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class SecurityAnalyticsStatsTests extends OpenSearchTestCase {
+
+    public void testLatencyBuckets() {
+        assertEquals(0, StageStats.bucketOf(TimeUnit.MICROSECONDS.toNanos(500)));
+        assertEquals(0, StageStats.bucketOf(TimeUnit.MILLISECONDS.toNanos(1)));
+        assertEquals(1, StageStats.bucketOf(TimeUnit.MILLISECONDS.toNanos(2)));
+        assertEquals(6, StageStats.bucketOf(TimeUnit.MILLISECONDS.toNanos(1000)));
+        assertEquals(StageStats.LATENCY_BUCKETS_MILLIS.length, StageStats.bucketOf(TimeUnit.MINUTES.toNanos(1)));
+    }
+
+    public void testRecordAndMerge() {
+        SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+        stats.record(SecurityAnalyticsStats.Stage.IOC_SCAN, System.nanoTime(), 100L, false);
+        stats.record(SecurityAnalyticsStats.Stage.IOC_SCAN, System.nanoTime(), 50L, true);
+
+        Map<String, StageStats> stageStats = stats.getStageStats();
+        assertEquals(SecurityAnalyticsStats.Stage.values().length, stageStats.size());
+        StageStats iocScan = stageStats.get(SecurityAnalyticsStats.Stage.IOC_SCAN.getStatName());
+        assertEquals(2L, iocScan.getCount());
+        assertEquals(1L, iocScan.getFailures());
+        assertEquals(150L, iocScan.getItems());
+        assertEquals(0L, stageStats.get(SecurityAnalyticsStats.Stage.CORRELATION.getStatName()).getCount());
+
+        StageStats merged = iocScan.merge(iocScan);
+        assertEquals(4L, merged.getCount());
+        assertEquals(300L, merged.getItems());
+        assertEquals(iocScan.getMaxNanos(), merged.getMaxNanos());
+        long histogramCount = 0L;
+        for (long bucket : merged.getHistogram()) {
+            histogramCount += bucket;
+        }
+        assertEquals(4L, histogramCount);
+    }
+
+    public void testGauges() {
+        SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+        stats.registerGauge("queue", () -> 3L);
+        stats.registerGauge("broken", () -> {
+            throw new IllegalStateException("not started");
+        });
+        assertEquals(Map.of("queue", 3L), stats.getGauges());
+    }
+
+    public void testSerialization() throws IOException {
+        StageStats stageStats = new StageStats(3L, 1L, 30L, 12345L, 6789L, new long[]{1, 2, 0, 0, 0, 0, 0, 0, 0, 0});
+        BytesStreamOutput out = new BytesStreamOutput();
+        stageStats.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        StageStats read = new StageStats(sin);
+
+        assertEquals(stageStats.getCount(), read.getCount());
+        assertEquals(stageStats.getFailures(), read.getFailures());
+        assertEquals(stageStats.getItems(), read.getItems());
+        assertEquals(stageStats.getTotalNanos(), read.getTotalNanos());
+        assertEquals(stageStats.getMaxNanos(), read.getMaxNanos());
+        assertArrayEquals(stageStats.getHistogram(), read.getHistogram());
+    }
+}
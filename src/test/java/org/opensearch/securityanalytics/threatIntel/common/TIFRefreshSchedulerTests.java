@@ -0,0 +1,136 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.common;
+
+import org.mockito.ArgumentCaptor;
+import org.opensearch.jobscheduler.spi.LockModel;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.ThreatIntelTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TIFRefreshSchedulerTests extends ThreatIntelTestCase {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    public void testRefreshesWaitForConcurrentFeedSlot() {
+        TIFRefreshScheduler scheduler = newScheduler(Settings.EMPTY);
+        List<ActionListener<Void>> started = new ArrayList<>();
+        List<String> completed = new ArrayList<>();
+        for (String sourceConfigId : List.of("a", "b", "c")) {
+            scheduler.submitRefresh(sourceConfigId, new AtomicReference<>(randomLockModel()), started::add,
+                    ActionListener.wrap(r -> completed.add(sourceConfigId), e -> fail()));
+        }
+
+        // the lock of the queued refresh is renewed too
+        verify(threadPool, times(3)).scheduleWithFixedDelay(any(), any(), any());
+        assertEquals(2, started.size());
+        assertEquals(2, scheduler.getRunningRefreshCount());
+        assertEquals(1, scheduler.getQueuedRefreshCount());
+
+        started.get(1).onResponse(null);
+
+        assertEquals(List.of("b"), completed);
+        assertEquals(3, started.size());
+        assertEquals(2, scheduler.getRunningRefreshCount());
+        assertEquals(0, scheduler.getQueuedRefreshCount());
+    }
+
+    public void testBulksInterleaveAcrossSourcesWithinDocsPerSecond() {
+        TIFRefreshScheduler scheduler = newScheduler(Settings.builder()
+                .put(SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE.getKey(), 10)
+                .build());
+        List<String> dispatched = new ArrayList<>();
+        for (String bulk : List.of("a1", "a2", "a3", "b1", "b2")) {
+            scheduler.submitBulk(bulk.substring(0, 1), 10, 1L, release -> {
+                dispatched.add(bulk);
+                release.run();
+            });
+        }
+
+        assertEquals(List.of("a1"), dispatched);
+        assertEquals(4, scheduler.getQueuedBulkCount());
+        verify(threadPool).schedule(any(), eq(TimeValue.timeValueSeconds(1)), any());
+
+        for (int second = 0; second < 4; ++second) {
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            scheduler.dispatch();
+        }
+
+        assertEquals(List.of("a1", "a2", "b1", "a3", "b2"), dispatched);
+        assertEquals(0, scheduler.getQueuedBulkCount());
+    }
+
+    public void testBulksWaitForBytesInFlight() {
+        TIFRefreshScheduler scheduler = newScheduler(Settings.builder()
+                .put(SecurityAnalyticsSettings.TIF_INGEST_MAX_DOCS_PER_SECOND_PER_NODE.getKey(), 0)
+                .put(SecurityAnalyticsSettings.TIF_INGEST_MAX_BYTES_IN_FLIGHT_PER_NODE.getKey(), "100b")
+                .build());
+        List<Runnable> releases = new ArrayList<>();
+        // a bulk over the budget is dispatched when nothing else is in flight
+        scheduler.submitBulk("a", 1, 500L, releases::add);
+        scheduler.submitBulk("b", 1, 60L, releases::add);
+        scheduler.submitBulk("c", 1, 30L, releases::add);
+
+        assertEquals(1, releases.size());
+        assertEquals(500L, scheduler.getBytesInFlight());
+
+        releases.get(0).run();
+        // released twice, counted once
+        releases.get(0).run();
+
+        assertEquals(3, releases.size());
+        assertEquals(90L, scheduler.getBytesInFlight());
+        assertEquals(0, scheduler.getQueuedBulkCount());
+    }
+
+    public void testFailedRenewalKeepsTheLastLock() {
+        TIFRefreshScheduler scheduler = newScheduler(Settings.EMPTY);
+        LockModel lock = randomLockModel();
+        LockModel renewedLock = randomLockModel();
+        AtomicReference<LockModel> lockReference = new AtomicReference<>(lock);
+        scheduler.submitRefresh("a", lockReference, refreshListener -> {}, ActionListener.wrap(r -> {}, e -> fail()));
+        ArgumentCaptor<Runnable> renewal = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool).scheduleWithFixedDelay(renewal.capture(), any(), any());
+
+        when(tifLockService.renewLock(lock)).thenReturn(renewedLock);
+        renewal.getValue().run();
+        assertSame(renewedLock, lockReference.get());
+
+        when(tifLockService.renewLock(renewedLock)).thenReturn(null);
+        renewal.getValue().run();
+        assertSame(renewedLock, lockReference.get());
+    }
+
+    public void testNoRenewalWithoutLock() {
+        TIFRefreshScheduler scheduler = newScheduler(Settings.EMPTY);
+        scheduler.submitRefresh("a", new AtomicReference<>(), refreshListener -> {}, ActionListener.wrap(r -> {}, e -> fail()));
+        ArgumentCaptor<Runnable> renewal = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool).scheduleWithFixedDelay(renewal.capture(), any(), any());
+
+        renewal.getValue().run();
+
+        verify(tifLockService, never()).renewLock(any());
+    }
+
+    private TIFRefreshScheduler newScheduler(Settings settings) {
+        return new TIFRefreshScheduler(clusterService, threadPool, tifLockService, settings, nanos::get);
+    }
+}
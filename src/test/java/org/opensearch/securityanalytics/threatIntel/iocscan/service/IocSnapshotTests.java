@@ -0,0 +1,90 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.iocscan.service;
+
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class IocSnapshotTests extends OpenSearchTestCase {
+
+    public void testLookup() {
+        IocSnapshot snapshot = new IocSnapshot.Builder("ioc-index")
+                .add("id-3", "ipv4-addr", "10.0.0.3", "feed-1", "feed one")
+                .add("id-1", "ipv4-addr", "10.0.0.1", "feed-1", "feed one")
+                .add("id-2", "domain-name", "example.com", "feed-1", "feed one")
+                .add("id-4", "ipv4-addr", "10.0.0.1", "feed-2", "feed two")
+                .add("id-5", "domain-name", "10.0.0.1", "feed-2", "feed two")
+                .build();
+        assertEquals(5, snapshot.size());
+
+        List<STIX2IOC> matches = snapshot.lookup("ipv4-addr", "10.0.0.1");
+        assertEquals(Set.of("id-1", "id-4"), matches.stream().map(STIX2IOC::getId).collect(Collectors.toSet()));
+        for (STIX2IOC match : matches) {
+            assertEquals("ipv4-addr", match.getType());
+            assertEquals("10.0.0.1", match.getValue());
+        }
+        STIX2IOC match = snapshot.lookup("domain-name", "example.com").get(0);
+        assertEquals("id-2", match.getId());
+        assertEquals("feed-1", match.getFeedId());
+        assertEquals("feed one", match.getFeedName());
+
+        assertTrue(snapshot.lookup("ipv4-addr", "10.0.0.2").isEmpty());
+        assertTrue(snapshot.lookup("ipv4-addr", "10.0.0").isEmpty());
+        assertTrue(snapshot.lookup("ipv4-addr", "10.0.0.10").isEmpty());
+        assertTrue(snapshot.lookup("ipv4-addr", "example.com").isEmpty());
+    }
+
+    public void testLookupMatchesRandomValues() {
+        IocSnapshot.Builder builder = new IocSnapshot.Builder("ioc-index");
+        Set<String> values = new HashSet<>();
+        int numIocs = randomIntBetween(1, 500);
+        for (int i = 0; i < numIocs; ++i) {
+            String value = randomRealisticUnicodeOfLengthBetween(1, 20);
+            values.add(value);
+            builder.add("id-" + i, "domain-name", value, "feed", "feed");
+        }
+        IocSnapshot snapshot = builder.build();
+        for (String value : values) {
+            List<STIX2IOC> matches = snapshot.lookup("domain-name", value);
+            assertFalse(matches.isEmpty());
+            matches.forEach(match -> assertEquals(value, match.getValue()));
+        }
+        assertTrue(snapshot.lookup("domain-name", "not in the snapshot " + randomAlphaOfLength(30)).isEmpty());
+    }
+
+    public void testLookupCidr() {
+        IocSnapshot snapshot = new IocSnapshot.Builder("ioc-index")
+                .add("id-1", "ipv4-addr", "10.0.0.0/8", "feed-1", "feed one")
+                .add("id-2", "ipv4-addr", "10.1.0.0/16", "feed-1", "feed one")
+                .add("id-3", "ipv4-addr", "10.1.2.3", "feed-2", "feed two")
+                .add("id-4", "ipv4-addr", "192.168.0.0/24", "feed-2", "feed two")
+                .add("id-5", "domain-name", "10.0.0.0/8", "feed-2", "feed two")
+                .add("id-6", "ipv6-addr", "2001:db8::/32", "feed-2", "feed two")
+                .build();
+
+        List<STIX2IOC> matches = snapshot.lookup("ipv4-addr", "10.1.2.3");
+        assertEquals(Set.of("id-1", "id-2", "id-3"), matches.stream().map(STIX2IOC::getId).collect(Collectors.toSet()));
+        matches.forEach(match -> assertEquals("10.1.2.3", match.getValue()));
+
+        assertEquals(Set.of("id-1"), snapshot.lookup("ipv4-addr", "10.200.0.1").stream().map(STIX2IOC::getId).collect(Collectors.toSet()));
+        assertEquals("id-4", snapshot.lookup("ipv4-addr", "192.168.0.255").get(0).getId());
+        assertEquals("id-6", snapshot.lookup("ipv6-addr", "2001:db8::1").get(0).getId());
+        assertTrue(snapshot.lookup("ipv4-addr", "192.168.1.0").isEmpty());
+        assertTrue(snapshot.lookup("ipv4-addr", "11.0.0.0").isEmpty());
+        assertTrue(snapshot.lookup("domain-name", "10.1.2.3").isEmpty());
+    }
+
+    public void testEmptySnapshot() {
+        IocSnapshot snapshot = new IocSnapshot.Builder("ioc-index").build();
+        assertEquals(0, snapshot.size());
+        assertTrue(snapshot.lookup("ipv4-addr", "10.0.0.1").isEmpty());
+    }
+}
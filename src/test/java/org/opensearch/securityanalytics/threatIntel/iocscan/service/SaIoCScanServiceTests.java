@@ -0,0 +1,118 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.iocscan.service;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.model.STIX2IOC;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsSlowLog;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.Client;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SaIoCScanServiceTests extends OpenSearchTestCase {
+
+    private static final int RANGES_PER_ADDRESS = 6000;
+
+    public void testSearchIpRangeIocsSplitsAddressesUntilNoRangeIsDropped() {
+        Client client = mock(Client.class);
+        List<List<Object>> searchedAddresses = new ArrayList<>();
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            BoolQueryBuilder query = (BoolQueryBuilder) request.source().query();
+            TermsQueryBuilder ipRangeQuery = (TermsQueryBuilder) query.must().get(0);
+            assertEquals(STIX2IOC.IP_RANGE_FIELD, ipRangeQuery.fieldName());
+            searchedAddresses.add(ipRangeQuery.values());
+            listener.onResponse(rangesResponse(ipRangeQuery.values(), request.source().size()));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+
+        SaIoCScanService service = new SaIoCScanService(client, null, null, null, null, null, null, new SecurityAnalyticsStats(), null);
+        List<String> addresses = List.of("10.0.0.1", "10.0.0.2", "10.0.0.3");
+        AtomicReference<List<SearchHit>> hits = new AtomicReference<>();
+        service.searchIpRangeIocs(List.of("ioc-index"), "ipv4-addr", addresses,
+                slowLogTrace(), ActionListener.wrap(hits::set, e -> fail()));
+
+        // 18000 ranges match, more than one search returns
+        assertEquals(3 * RANGES_PER_ADDRESS, hits.get().size());
+        Set<String> ids = new HashSet<>();
+        hits.get().forEach(hit -> ids.add(hit.getId()));
+        assertEquals(3 * RANGES_PER_ADDRESS, ids.size());
+        assertEquals(List.of(List.of("10.0.0.1", "10.0.0.2", "10.0.0.3"), List.of("10.0.0.1"), List.of("10.0.0.2", "10.0.0.3"),
+                List.of("10.0.0.2"), List.of("10.0.0.3")), searchedAddresses);
+    }
+
+    public void testSearchIpRangeIocsWithinOneSearch() {
+        Client client = mock(Client.class);
+        List<List<Object>> searchedAddresses = new ArrayList<>();
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            TermsQueryBuilder ipRangeQuery = (TermsQueryBuilder) ((BoolQueryBuilder) request.source().query()).must().get(0);
+            searchedAddresses.add(ipRangeQuery.values());
+            listener.onResponse(rangesResponse(List.of(ipRangeQuery.values().get(0)), request.source().size()));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+
+        SaIoCScanService service = new SaIoCScanService(client, null, null, null, null, null, null, new SecurityAnalyticsStats(), null);
+        AtomicReference<List<SearchHit>> hits = new AtomicReference<>();
+        service.searchIpRangeIocs(List.of("ioc-index"), "ipv4-addr", List.of("10.0.0.1", "10.0.0.2"),
+                slowLogTrace(), ActionListener.wrap(hits::set, e -> fail()));
+
+        assertEquals(RANGES_PER_ADDRESS, hits.get().size());
+        assertEquals(1, searchedAddresses.size());
+    }
+
+    private static SecurityAnalyticsSlowLog.Trace slowLogTrace() {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, Set.of(
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_WARN,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_INFO,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_DEBUG,
+                SecurityAnalyticsSettings.SLOWLOG_THRESHOLD_TRACE)));
+        return new SecurityAnalyticsSlowLog(clusterService).start("ioc_scan", "monitor");
+    }
+
+    /**
+     * Every address is contained in its own ranges, the response holds at most size hits of the matching ranges.
+     */
+    private static SearchResponse rangesResponse(List<Object> addresses, int size) {
+        long matchingRanges = (long) addresses.size() * RANGES_PER_ADDRESS;
+        List<SearchHit> hits = new ArrayList<>();
+        for (Object address : addresses) {
+            for (int i = 0; i < RANGES_PER_ADDRESS && hits.size() < size; ++i) {
+                hits.add(new SearchHit(hits.size(), address + "_" + i, null, null));
+            }
+        }
+        TotalHits totalHits = matchingRanges > size ?
+                new TotalHits(size, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO) :
+                new TotalHits(matchingRanges, TotalHits.Relation.EQUAL_TO);
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(hits.toArray(new SearchHit[0]), totalHits, 0.0f));
+        return response;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.service;
+
+import org.opensearch.Version;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeResponse;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.admin.indices.stats.CommonStats;
+import org.opensearch.action.admin.indices.stats.IndexStats;
+import org.opensearch.action.admin.indices.stats.IndicesStatsRequest;
+import org.opensearch.action.admin.indices.stats.IndicesStatsResponse;
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.reindex.BulkByScrollResponse;
+import org.opensearch.index.reindex.ReindexAction;
+import org.opensearch.index.reindex.ReindexRequest;
+import org.opensearch.index.shard.DocsStats;
+import org.opensearch.securityanalytics.services.STIX2IOCFeedStore;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.AdminClient;
+import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.IndicesAdminClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IocIndexTieringServiceTests extends OpenSearchTestCase {
+
+    public void testSelectGenerationsToMergeOldestFirstWithinMaxDocs() {
+        Map<String, Long> creationDates = Map.of("gen-1", 1L, "gen-2", 2L, "gen-3", 3L, "gen-4", 4L, "gen-5", 5L);
+        Map<String, Long> docCounts = Map.of("gen-1", 40L, "gen-2", 500L, "gen-3", 30L, "gen-4", 20L, "gen-5", 20L);
+
+        // gen-2 is too large to merge, gen-5 would take the merged docs over the max
+        assertEquals(List.of("gen-1", "gen-3", "gen-4"), IocIndexTieringService.selectGenerationsToMerge(creationDates, docCounts, 100L));
+        assertEquals(List.of(), IocIndexTieringService.selectGenerationsToMerge(creationDates, docCounts, 10L));
+    }
+
+    public void testHistoricalIndicesAreTheTieredOnes() {
+        String indexPattern = STIX2IOCFeedStore.getAllIocIndexPatternById("feed");
+        Metadata metadata = Metadata.builder()
+                .put(indexMetadata(indexPattern.replace("*", "1"), true), false)
+                .put(indexMetadata(indexPattern.replace("*", "2"), false), false)
+                .put(indexMetadata(STIX2IOCFeedStore.getAllIocIndexPatternById("other").replace("*", "1"), true), false)
+                .build();
+        ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+
+        assertEquals(List.of(indexPattern.replace("*", "1")), IocIndexTieringService.getHistoricalIndices(clusterState, indexPattern));
+    }
+
+    public void testSmallGenerationsAreMergedBeforeTiering() {
+        String indexPattern = STIX2IOCFeedStore.getAllIocIndexPatternById("feed");
+        String gen1 = indexPattern.replace("*", "1");
+        String gen2 = indexPattern.replace("*", "2");
+        String gen3 = indexPattern.replace("*", "3");
+        String gen4 = indexPattern.replace("*", "4");
+        Metadata metadata = Metadata.builder()
+                .put(indexMetadata(gen1, true).creationDate(1L), false)
+                .put(indexMetadata(gen2, false).creationDate(2L), false)
+                .put(indexMetadata(gen3, false).creationDate(3L), false)
+                .put(indexMetadata(gen4, false).creationDate(4L), false)
+                .build();
+        ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+        Map<String, Long> docCounts = Map.of(gen1, 10L, gen2, 20L, gen3, 30L, gen4, 200000L);
+
+        Client client = mock(Client.class);
+        IndicesAdminClient indicesAdminClient = mockIndicesAdminClient(client);
+        List<String> steps = new ArrayList<>();
+        doAnswer(invocation -> {
+            IndicesStatsRequest request = invocation.getArgument(0);
+            IndicesStatsResponse response = mock(IndicesStatsResponse.class);
+            for (String index : request.indices()) {
+                CommonStats primaries = mock(CommonStats.class);
+                when(primaries.getDocs()).thenReturn(new DocsStats(docCounts.get(index), 0L, 0L));
+                IndexStats indexStats = mock(IndexStats.class);
+                when(indexStats.getPrimaries()).thenReturn(primaries);
+                when(response.getIndex(index)).thenReturn(indexStats);
+            }
+            steps.add("stats");
+            invocation.<ActionListener<IndicesStatsResponse>>getArgument(1).onResponse(response);
+            return null;
+        }).when(indicesAdminClient).stats(any(IndicesStatsRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            UpdateSettingsRequest request = invocation.getArgument(0);
+            boolean block = IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.get(request.settings());
+            steps.add((block ? "block " : "unblock ") + sorted(request.indices()));
+            invocation.<ActionListener<AcknowledgedResponse>>getArgument(1).onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesAdminClient).updateSettings(any(UpdateSettingsRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ReindexRequest request = invocation.getArgument(1);
+            // generations are reindexed oldest first, so newer iocs overwrite older ones
+            assertEquals(DocWriteRequest.OpType.INDEX, request.getDestination().opType());
+            steps.add("reindex " + sorted(request.getSearchRequest().indices()) + " into " + request.getDestination().index());
+            BulkByScrollResponse response = mock(BulkByScrollResponse.class);
+            when(response.getBulkFailures()).thenReturn(List.of());
+            when(response.getSearchFailures()).thenReturn(List.of());
+            invocation.<ActionListener<BulkByScrollResponse>>getArgument(2).onResponse(response);
+            return null;
+        }).when(client).execute(eq(ReindexAction.INSTANCE), any(ReindexRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            steps.add("delete " + sorted(invocation.<DeleteIndexRequest>getArgument(0).indices()));
+            invocation.<ActionListener<AcknowledgedResponse>>getArgument(1).onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesAdminClient).delete(any(DeleteIndexRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ForceMergeRequest request = invocation.getArgument(0);
+            assertEquals(1, request.maxNumSegments());
+            steps.add("force merge " + sorted(request.indices()));
+            invocation.<ActionListener<ForceMergeResponse>>getArgument(1).onResponse(mock(ForceMergeResponse.class));
+            return null;
+        }).when(indicesAdminClient).forceMerge(any(ForceMergeRequest.class), any(ActionListener.class));
+
+        AtomicBoolean tiered = new AtomicBoolean();
+        new IocIndexTieringService(client, clusterService(100000L)).tierSupersededIndices("feed", clusterState, Set.of(gen1, gen2, gen3, gen4),
+                ActionListener.wrap(r -> {
+                    // the listener is notified only once every step is done
+                    assertEquals(7, steps.size());
+                    tiered.set(true);
+                }, e -> fail()));
+
+        assertTrue(tiered.get());
+        assertEquals(List.of(
+                "stats",
+                "unblock " + List.of(gen1),
+                "reindex " + List.of(gen2) + " into " + gen1,
+                "reindex " + List.of(gen3) + " into " + gen1,
+                "delete " + List.of(gen2, gen3),
+                "block " + List.of(gen1, gen4),
+                "force merge " + List.of(gen1, gen4)
+        ), steps);
+    }
+
+    public void testMergedGenerationAgesOutWithItsOldestGeneration() {
+        String indexPattern = STIX2IOCFeedStore.getAllIocIndexPatternById("feed");
+        String gen1 = indexPattern.replace("*", "1");
+        String gen4 = indexPattern.replace("*", "4");
+        String active = indexPattern.replace("*", "5");
+        // gen1 holds the iocs of gen1 to gen3 once merged, and keeps the creation date of gen1
+        Map<String, Long> creationDates = Map.of(gen1, 1L, indexPattern.replace("*", "2"), 2L, indexPattern.replace("*", "3"), 3L, gen4, 4L);
+        Map<String, Long> docCounts = Map.of(gen1, 10L, indexPattern.replace("*", "2"), 20L, indexPattern.replace("*", "3"), 30L, gen4, 200000L);
+        assertEquals(gen1, IocIndexTieringService.selectGenerationsToMerge(creationDates, docCounts, 100000L).get(0));
+
+        Metadata metadata = Metadata.builder()
+                .put(indexMetadata(gen1, true).creationDate(1L), false)
+                .put(indexMetadata(gen4, true).creationDate(4L), false)
+                .put(indexMetadata(active, false).creationDate(5L), false)
+                .build();
+        ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+
+        // the retention period has passed for gen1 only
+        assertEquals(List.of(gen1), SATIFSourceConfigManagementService.getIocIndicesToDeleteByAge(clusterState, Set.of(active), 2L, 4L));
+        // the active index is never deleted
+        assertEquals(Set.of(gen1, gen4), Set.copyOf(SATIFSourceConfigManagementService.getIocIndicesToDeleteByAge(clusterState, Set.of(active), 0L, 10L)));
+    }
+
+    public void testFailedMergeStillTiersTheIndices() {
+        String indexPattern = STIX2IOCFeedStore.getAllIocIndexPatternById("feed");
+        String gen1 = indexPattern.replace("*", "1");
+        String gen2 = indexPattern.replace("*", "2");
+        Metadata metadata = Metadata.builder()
+                .put(indexMetadata(gen1, false).creationDate(1L), false)
+                .put(indexMetadata(gen2, false).creationDate(2L), false)
+                .build();
+        ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+
+        Client client = mock(Client.class);
+        IndicesAdminClient indicesAdminClient = mockIndicesAdminClient(client);
+        List<String> steps = new ArrayList<>();
+        doAnswer(invocation -> {
+            IndicesStatsRequest request = invocation.getArgument(0);
+            IndicesStatsResponse response = mock(IndicesStatsResponse.class);
+            for (String index : request.indices()) {
+                CommonStats primaries = mock(CommonStats.class);
+                when(primaries.getDocs()).thenReturn(new DocsStats(10L, 0L, 0L));
+                IndexStats indexStats = mock(IndexStats.class);
+                when(indexStats.getPrimaries()).thenReturn(primaries);
+                when(response.getIndex(index)).thenReturn(indexStats);
+            }
+            invocation.<ActionListener<IndicesStatsResponse>>getArgument(1).onResponse(response);
+            return null;
+        }).when(indicesAdminClient).stats(any(IndicesStatsRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            UpdateSettingsRequest request = invocation.getArgument(0);
+            if (IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.get(request.settings()) == false) {
+                // the target was deleted meanwhile
+                invocation.<ActionListener<AcknowledgedResponse>>getArgument(1).onFailure(new IllegalStateException("no such index"));
+                return null;
+            }
+            steps.add("block " + sorted(request.indices()));
+            invocation.<ActionListener<AcknowledgedResponse>>getArgument(1).onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesAdminClient).updateSettings(any(UpdateSettingsRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            steps.add("force merge " + sorted(invocation.<ForceMergeRequest>getArgument(0).indices()));
+            invocation.<ActionListener<ForceMergeResponse>>getArgument(1).onResponse(mock(ForceMergeResponse.class));
+            return null;
+        }).when(indicesAdminClient).forceMerge(any(ForceMergeRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            fail("the reindex must not run once the target cannot be unblocked");
+            return null;
+        }).when(client).execute(eq(ReindexAction.INSTANCE), any(ReindexRequest.class), any(ActionListener.class));
+
+        AtomicBoolean tiered = new AtomicBoolean();
+        new IocIndexTieringService(client, clusterService(100000L)).tierSupersededIndices("feed", clusterState, Set.of(gen1, gen2),
+                ActionListener.wrap(r -> tiered.set(true), e -> fail()));
+
+        assertTrue(tiered.get());
+        assertEquals(List.of("block " + List.of(gen1, gen2), "force merge " + List.of(gen1, gen2)), steps);
+    }
+
+    private static IndicesAdminClient mockIndicesAdminClient(Client client) {
+        AdminClient adminClient = mock(AdminClient.class);
+        IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        return indicesAdminClient;
+    }
+
+    private static ClusterService clusterService(long mergeMaxDocs) {
+        ClusterService clusterService = mock(ClusterService.class);
+        Settings settings = Settings.builder().put(SecurityAnalyticsSettings.IOC_TIER_MERGE_MAX_DOCS.getKey(), mergeMaxDocs).build();
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(SecurityAnalyticsSettings.IOC_TIER_MERGE_MAX_DOCS)));
+        return clusterService;
+    }
+
+    private static List<String> sorted(String[] indices) {
+        String[] sortedIndices = indices.clone();
+        Arrays.sort(sortedIndices);
+        return Arrays.asList(sortedIndices);
+    }
+
+    private static IndexMetadata.Builder indexMetadata(String index, boolean tiered) {
+        return IndexMetadata.builder(index)
+                .settings(Settings.builder()
+                        .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                        .put(IndexMetadata.SETTING_BLOCKS_WRITE, tiered))
+                .numberOfShards(1)
+                .numberOfReplicas(0);
+    }
+}
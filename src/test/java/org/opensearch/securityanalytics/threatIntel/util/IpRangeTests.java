@@ -0,0 +1,65 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.Set;
+
+public class IpRangeTests extends OpenSearchTestCase {
+
+    public void testParseAddress() {
+        IpRange range = IpRange.parse("10.1.2.3");
+        assertNotNull(range);
+        assertFalse(range.isCidr());
+        assertTrue(range.contains(IpRange.encode("10.1.2.3")));
+        assertFalse(range.contains(IpRange.encode("10.1.2.4")));
+    }
+
+    public void testParseCidr() {
+        IpRange range = IpRange.parse("10.1.0.0/16");
+        assertNotNull(range);
+        assertTrue(range.isCidr());
+        assertTrue(range.contains(IpRange.encode("10.1.0.0")));
+        assertTrue(range.contains(IpRange.encode("10.1.255.255")));
+        assertFalse(range.contains(IpRange.encode("10.0.255.255")));
+        assertFalse(range.contains(IpRange.encode("10.2.0.0")));
+        assertFalse(range.contains(IpRange.encode("::1")));
+
+        // host bits are ignored
+        assertTrue(IpRange.parse("10.1.2.3/16").contains(IpRange.encode("10.1.200.1")));
+
+        IpRange ipv6Range = IpRange.parse("2001:db8::/32");
+        assertNotNull(ipv6Range);
+        assertTrue(ipv6Range.contains(IpRange.encode("2001:db8:ffff::1")));
+        assertFalse(ipv6Range.contains(IpRange.encode("2001:db9::1")));
+    }
+
+    public void testParseInvalid() {
+        assertNull(IpRange.parse(null));
+        assertNull(IpRange.parse("example.com"));
+        assertNull(IpRange.parse("10.1.2"));
+        assertNull(IpRange.parse("10.1.0.0/33"));
+        assertNull(IpRange.parse("10.1.0.0/"));
+        assertFalse(IpRange.isCidr("10.1.2.3"));
+        assertTrue(IpRange.isCidr("10.0.0.0/8"));
+    }
+
+    public void testIsIpType() {
+        assertTrue(IpRange.isIpType("ipv4-addr"));
+        assertTrue(IpRange.isIpType("ipv6-addr"));
+        assertFalse(IpRange.isIpType("domain-name"));
+    }
+
+    public void testAddressSet() {
+        IpAddressSet addresses = new IpAddressSet(Set.of("10.1.2.3", "10.1.0.0", "10.2.0.0", "9.255.255.255", "example.com", "2001:db8::1"));
+        assertEquals(5, addresses.size());
+        assertEquals(Set.of("10.1.0.0", "10.1.2.3"), Set.copyOf(addresses.containedIn(IpRange.parse("10.1.0.0/16"))));
+        assertEquals(List.of("10.2.0.0"), addresses.containedIn(IpRange.parse("10.2.0.0")));
+        assertEquals(List.of("2001:db8::1"), addresses.containedIn(IpRange.parse("2001:db8::/64")));
+        assertTrue(addresses.containedIn(IpRange.parse("192.168.0.0/16")).isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel.util;
+
+import org.opensearch.commons.alerting.model.Alert;
+import org.opensearch.commons.alerting.model.DataSources;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.commons.alerting.model.Trigger;
+import org.opensearch.securityanalytics.model.threatintel.IocFinding;
+import org.opensearch.securityanalytics.model.threatintel.ThreatIntelAlert;
+import org.opensearch.securityanalytics.threatIntel.sacommons.monitor.ThreatIntelTriggerDto;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.opensearch.securityanalytics.threatIntel.iocscan.service.ThreatIntelMonitorRunner.THREAT_INTEL_MONITOR_TYPE;
+
+public class ThreatIntelMonitorUtilsTests extends OpenSearchTestCase {
+
+    public void testGetAlertId() {
+        String alertId = ThreatIntelMonitorUtils.getAlertId("monitor", "trigger", "ipv4-addr", "10.0.0.1");
+        assertEquals(alertId, ThreatIntelMonitorUtils.getAlertId("monitor", "trigger", "ipv4-addr", "10.0.0.1"));
+        assertNotEquals(alertId, ThreatIntelMonitorUtils.getAlertId("monitor", "trigger", "ipv4-addr", "10.0.0.2"));
+        assertNotEquals(alertId, ThreatIntelMonitorUtils.getAlertId("monitor", "trigger", "domain-name", "10.0.0.1"));
+        assertNotEquals(alertId, ThreatIntelMonitorUtils.getAlertId("monitor", "trigger-2", "ipv4-addr", "10.0.0.1"));
+        assertNotEquals(alertId, ThreatIntelMonitorUtils.getAlertId("monitor-2", "trigger", "ipv4-addr", "10.0.0.1"));
+        // parts are delimited by their length, not a separator
+        assertNotEquals(
+                ThreatIntelMonitorUtils.getAlertId("a", "b:c", "t", "v"),
+                ThreatIntelMonitorUtils.getAlertId("a:b", "c", "t", "v"));
+    }
+
+    public void testPrepareAlerts() throws IOException {
+        Monitor monitor = monitor();
+        Trigger trigger = trigger();
+        ThreatIntelAlert activeAlert = alert(monitor, trigger, "10.0.0.1", Alert.State.ACTIVE, "finding-0");
+        ThreatIntelAlert completedAlert = alert(monitor, trigger, "10.0.0.2", Alert.State.COMPLETED, "finding-0");
+        ArrayList<IocFinding> findings = new ArrayList<>(List.of(
+                finding("finding-1", monitor, "10.0.0.1"),
+                finding("finding-2", monitor, "10.0.0.2"),
+                finding("finding-3", monitor, "10.0.0.3"),
+                finding("finding-4", monitor, "10.0.0.1")
+        ));
+
+        List<String> alertIds = ThreatIntelMonitorUtils.getAlertIds(monitor, trigger, findings);
+        assertEquals(3, alertIds.size());
+        assertTrue(alertIds.contains(activeAlert.getId()));
+        assertTrue(alertIds.contains(completedAlert.getId()));
+
+        Map<String, ThreatIntelAlert> updatedAlerts = ThreatIntelMonitorUtils.prepareAlertsToUpdate(
+                monitor, trigger, findings, List.of(activeAlert, completedAlert));
+        assertEquals(1, updatedAlerts.size());
+        assertEquals(List.of("finding-0", "finding-1", "finding-4"), updatedAlerts.get(activeAlert.getId()).getFindingIds());
+
+        List<ThreatIntelAlert> newAlerts = ThreatIntelMonitorUtils.prepareNewAlerts(monitor, trigger, findings, updatedAlerts);
+        assertEquals(2, newAlerts.size());
+        for (ThreatIntelAlert newAlert : newAlerts) {
+            assertEquals(Alert.State.ACTIVE, newAlert.getState());
+            assertEquals(
+                    ThreatIntelMonitorUtils.getAlertId(monitor.getId(), trigger.getId(), newAlert.getIocType(), newAlert.getIocValue()),
+                    newAlert.getId());
+        }
+
+        List<ThreatIntelAlert> movedAlerts = ThreatIntelMonitorUtils.prepareCompletedAlertsToMove(
+                List.of(activeAlert, completedAlert), newAlerts);
+        assertEquals(1, movedAlerts.size());
+        assertNotEquals(completedAlert.getId(), movedAlerts.get(0).getId());
+        assertEquals(Alert.State.COMPLETED, movedAlerts.get(0).getState());
+        assertEquals("10.0.0.2", movedAlerts.get(0).getIocValue());
+    }
+
+    private static Monitor monitor() {
+        return new Monitor(
+                "monitor-id",
+                Monitor.NO_VERSION,
+                "monitor",
+                true,
+                new IntervalSchedule(1, ChronoUnit.MINUTES, null),
+                Instant.now(),
+                Instant.now(),
+                THREAT_INTEL_MONITOR_TYPE,
+                null,
+                4,
+                emptyList(),
+                emptyList(),
+                emptyMap(),
+                new DataSources(),
+                false,
+                null,
+                "security_analytics",
+                null,
+                null
+        );
+    }
+
+    private static Trigger trigger() throws IOException {
+        return ThreatIntelMonitorUtils.buildRemoteMonitorTrigger(
+                new ThreatIntelTriggerDto(emptyList(), emptyList(), emptyList(), "trigger", "trigger-id", "1"));
+    }
+
+    private static IocFinding finding(String id, Monitor monitor, String iocValue) {
+        return new IocFinding(id, List.of("doc:index"), emptyList(), monitor.getId(), monitor.getName(), iocValue, "ipv4-addr",
+                Instant.now(), "execution");
+    }
+
+    private static ThreatIntelAlert alert(Monitor monitor, Trigger trigger, String iocValue, Alert.State state, String findingId) {
+        Instant now = Instant.now();
+        return new ThreatIntelAlert(
+                ThreatIntelMonitorUtils.getAlertId(monitor.getId(), trigger.getId(), "ipv4-addr", iocValue),
+                ThreatIntelAlert.NO_VERSION,
+                ThreatIntelAlert.NO_SCHEMA_VERSION,
+                null,
+                trigger.getId(),
+                trigger.getName(),
+                monitor.getId(),
+                monitor.getName(),
+                state,
+                now,
+                state == Alert.State.COMPLETED ? now : null,
+                now,
+                null,
+                null,
+                trigger.getSeverity(),
+                iocValue,
+                "ipv4-addr",
+                emptyList(),
+                List.of(findingId)
+        );
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.alerting.action.IndexMonitorRequest;
+import org.opensearch.commons.alerting.action.IndexMonitorResponse;
+import org.opensearch.commons.alerting.model.DataSources;
+import org.opensearch.commons.alerting.model.DocLevelMonitorInput;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.action.IndexDetectorAction;
+import org.opensearch.securityanalytics.action.IndexDetectorRequest;
+import org.opensearch.securityanalytics.action.IndexDetectorResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+import static org.opensearch.securityanalytics.TestHelpers.xContentRegistry;
+
+public class DetectorRulePropagatorTests extends OpenSearchTestCase {
+
+    private static final String ALERTING_CONFIG_INDEX = ".opendistro-alerting-config";
+
+    public void testUpdatePatchesDocLevelMonitorsInPlace() throws IOException {
+        FakeCluster cluster = new FakeCluster(true);
+        for (int i = 0; i < 3; ++i) {
+            cluster.addDetector("detector" + i, List.of("rule1", "rule2"), List.of("rule1", "rule2"), List.of());
+        }
+
+        AtomicReference<DetectorRulePropagator.Result> result = new AtomicReference<>();
+        cluster.propagator(8).propagateUpdate(rule("rule1", "fieldA", false), ActionListener.wrap(result::set, e -> fail()));
+
+        assertNotNull(result.get());
+        assertFalse(result.get().hasFailures());
+        assertEquals(3, result.get().getUpdatedDetectorIds().size());
+        assertEquals(0, cluster.detectorUpdates.size());
+        assertEquals(3, cluster.monitorUpdates.size());
+        for (IndexMonitorRequest request : cluster.monitorUpdates) {
+            List<DocLevelQuery> queries = ((DocLevelMonitorInput) request.getMonitor().getInputs().get(0)).getQueries();
+            assertEquals(List.of("rule1", "rule2"), queries.stream().map(DocLevelQuery::getId).collect(Collectors.toList()));
+            assertEquals("fieldA: new", queries.get(0).getQuery());
+            assertEquals("fieldB: old", queries.get(1).getQuery());
+            assertEquals(3L, request.getSeqNo());
+        }
+        // detectors are left as is, the rule is only referenced by id
+        assertTrue(cluster.detectorWrites.isEmpty());
+        assertEquals(1, cluster.clearedScrolls.get());
+    }
+
+    public void testUpdateFallsBackToFullDetectorUpdate() throws IOException {
+        FakeCluster cluster = new FakeCluster(true);
+        // queries optimized for other fields than the updated rule uses
+        cluster.addDetector("detector0", List.of("rule1"), List.of("rule1"), List.of("fieldB"));
+        // monitor not found
+        cluster.addDetector("detector1", List.of("rule1"), null, List.of());
+        cluster.addDetector("detector2", List.of("rule1"), List.of("rule1"), List.of());
+
+        AtomicReference<DetectorRulePropagator.Result> result = new AtomicReference<>();
+        cluster.propagator(8).propagateUpdate(rule("rule1", "fieldA", false), ActionListener.wrap(result::set, e -> fail()));
+
+        assertNotNull(result.get());
+        assertEquals(3, result.get().getUpdatedDetectorIds().size());
+        assertEquals(List.of("detector0", "detector1"), cluster.detectorUpdates.stream().map(IndexDetectorRequest::getDetectorId).collect(Collectors.toList()));
+        assertEquals(1, cluster.monitorUpdates.size());
+
+        // aggregation rules run in bucket level monitors, which are rebuilt by the full update
+        cluster.detectorUpdates.clear();
+        cluster.monitorUpdates.clear();
+        cluster.propagator(8).propagateUpdate(rule("rule1", "fieldA", true), ActionListener.wrap(result::set, e -> fail()));
+        assertEquals(3, cluster.detectorUpdates.size());
+        assertTrue(cluster.monitorUpdates.isEmpty());
+    }
+
+    public void testUpdateAlreadyAppliedIsNotWrittenAgain() throws IOException {
+        FakeCluster cluster = new FakeCluster(true);
+        cluster.monitorQuery = "fieldA: new";
+        cluster.addDetector("detector0", List.of("rule1"), List.of("rule1"), List.of());
+
+        AtomicReference<DetectorRulePropagator.Result> result = new AtomicReference<>();
+        cluster.propagator(8).propagateUpdate(rule("rule1", "fieldA", false), ActionListener.wrap(result::set, e -> fail()));
+
+        assertEquals(List.of("detector0"), result.get().getUpdatedDetectorIds());
+        assertTrue(cluster.monitorUpdates.isEmpty());
+        assertTrue(cluster.detectorUpdates.isEmpty());
+    }
+
+    public void testConcurrencyIsCappedAndFailuresSummarized() throws IOException {
+        FakeCluster cluster = new FakeCluster(false);
+        for (int i = 0; i < 5; ++i) {
+            cluster.addDetector("detector" + i, List.of("rule1"), List.of("rule1"), List.of());
+        }
+
+        AtomicReference<DetectorRulePropagator.Result> result = new AtomicReference<>();
+        cluster.propagator(2).propagateUpdate(rule("rule1", "fieldA", false), ActionListener.wrap(result::set, e -> fail()));
+
+        for (int i = 0; i < 5; ++i) {
+            assertNull(result.get());
+            assertEquals(Math.min(2, 5 - i), cluster.inFlight.size());
+            ActionListener<Object> listener = cluster.inFlight.poll();
+            if (i == 2) {
+                listener.onFailure(new RuntimeException("monitor update failed"));
+            } else {
+                listener.onResponse(mock(IndexMonitorResponse.class));
+            }
+        }
+
+        assertNotNull(result.get());
+        assertEquals(4, result.get().getUpdatedDetectorIds().size());
+        assertEquals(1, result.get().getFailures().size());
+        assertTrue(result.get().toException("Rule with id rule1 was updated").getMessage().contains("1 of 5 detectors"));
+    }
+
+    public void testDetectorsArePagedThrough() throws IOException {
+        FakeCluster cluster = new FakeCluster(true);
+        int detectorCount = DetectorRulePropagator.PAGE_SIZE * 2 + 1;
+        for (int i = 0; i < detectorCount; ++i) {
+            cluster.addDetector("detector" + i, List.of("rule1"), List.of("rule1"), List.of());
+        }
+
+        AtomicReference<DetectorRulePropagator.Result> result = new AtomicReference<>();
+        cluster.propagator(8).propagateUpdate(rule("rule1", "fieldA", false), ActionListener.wrap(result::set, e -> fail()));
+
+        assertEquals(detectorCount, result.get().getUpdatedDetectorIds().size());
+        assertEquals(detectorCount, cluster.monitorUpdates.size());
+        // one page for the first search, two more through the scroll and a last empty one
+        assertEquals(3, cluster.scrolls.get());
+        // monitors are looked up once per page
+        assertEquals(3, cluster.monitorSearches.get());
+        assertEquals(1, cluster.clearedScrolls.get());
+    }
+
+    public void testDeletionRemovesRuleFromMonitorAndDetector() throws IOException {
+        FakeCluster cluster = new FakeCluster(true);
+        cluster.addDetector("detector0", List.of("rule1", "rule2"), List.of("rule1", "rule2"), List.of());
+        // last rule of the detector, its monitor is dropped by the full update
+        cluster.addDetector("detector1", List.of("rule1"), List.of("rule1"), List.of());
+
+        AtomicReference<DetectorRulePropagator.Result> result = new AtomicReference<>();
+        cluster.propagator(8).propagateDeletion("rule1", ActionListener.wrap(result::set, e -> fail()));
+
+        assertEquals(2, result.get().getUpdatedDetectorIds().size());
+        assertEquals(1, cluster.monitorUpdates.size());
+        List<DocLevelQuery> queries = ((DocLevelMonitorInput) cluster.monitorUpdates.get(0).getMonitor().getInputs().get(0)).getQueries();
+        assertEquals(List.of("rule2"), queries.stream().map(DocLevelQuery::getId).collect(Collectors.toList()));
+
+        assertEquals(1, cluster.detectorWrites.size());
+        IndexRequest detectorWrite = cluster.detectorWrites.get(0);
+        assertEquals("detector0", detectorWrite.id());
+        assertEquals(3L, detectorWrite.ifSeqNo());
+        assertFalse(detectorWrite.source().utf8ToString().contains("rule1"));
+
+        assertEquals(1, cluster.detectorUpdates.size());
+        IndexDetectorRequest detectorUpdate = cluster.detectorUpdates.get(0);
+        assertEquals("detector1", detectorUpdate.getDetectorId());
+        assertTrue(detectorUpdate.getDetector().getInputs().get(0).getCustomRules().isEmpty());
+    }
+
+    private static Rule rule(String id, String field, boolean aggregation) {
+        return new Rule(id, 1L, "title", "windows", "windows", "description", List.of(), List.of(new Value("attack.t1000")),
+                "high", List.of(), "author", "stable", Instant.now(), List.of(new Value(field + ": new")),
+                List.of(new Value(field)), "rule", aggregation ? List.of(new Value("count() > 1")) : List.of());
+    }
+
+    /**
+     * Detectors and monitors served by a mocked node client, which records the updates made to them.
+     */
+    private static class FakeCluster {
+        private final NodeClient client = mock(NodeClient.class);
+        private final List<SearchHit> detectorDocs = new ArrayList<>();
+        private final Map<String, SearchHit> monitorDocs = new HashMap<>();
+        private final List<IndexMonitorRequest> monitorUpdates = new ArrayList<>();
+        private final List<IndexDetectorRequest> detectorUpdates = new ArrayList<>();
+        private final List<IndexRequest> detectorWrites = new ArrayList<>();
+        private final Queue<ActionListener<Object>> inFlight = new LinkedList<>();
+        private final AtomicInteger scrolls = new AtomicInteger();
+        private final AtomicInteger monitorSearches = new AtomicInteger();
+        private final AtomicInteger clearedScrolls = new AtomicInteger();
+        private String monitorQuery = "fieldA: old";
+        private int nextPage;
+
+        @SuppressWarnings("unchecked")
+        FakeCluster(boolean respondToMonitorUpdates) {
+            doAnswer(invocation -> {
+                SearchRequest request = invocation.getArgument(0);
+                ActionListener<SearchResponse> listener = invocation.getArgument(1);
+                if (Detector.DETECTORS_INDEX.equals(request.indices()[0])) {
+                    nextPage = 0;
+                    listener.onResponse(nextDetectorsPage());
+                } else if (ALERTING_CONFIG_INDEX.equals(request.indices()[0])) {
+                    monitorSearches.incrementAndGet();
+                    String ids = request.source().query().toString();
+                    listener.onResponse(response(monitorDocs.entrySet().stream()
+                            .filter(it -> ids.contains("\"" + it.getKey() + "\""))
+                            .map(Map.Entry::getValue)
+                            .collect(Collectors.toList())));
+                }
+                return null;
+            }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                scrolls.incrementAndGet();
+                ActionListener<SearchResponse> listener = invocation.getArgument(1);
+                listener.onResponse(nextDetectorsPage());
+                return null;
+            }).when(client).searchScroll(any(SearchScrollRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                clearedScrolls.incrementAndGet();
+                return null;
+            }).when(client).clearScroll(any(ClearScrollRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                detectorWrites.add(invocation.getArgument(0));
+                ActionListener<IndexResponse> listener = invocation.getArgument(1);
+                listener.onResponse(mock(IndexResponse.class));
+                return null;
+            }).when(client).index(any(IndexRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                ActionType<?> action = invocation.getArgument(0);
+                ActionListener<Object> listener = invocation.getArgument(2);
+                if (action == IndexDetectorAction.INSTANCE) {
+                    detectorUpdates.add(invocation.getArgument(1));
+                    listener.onResponse(new IndexDetectorResponse("id", 1L, RestStatus.OK, null));
+                } else {
+                    monitorUpdates.add(invocation.getArgument(1));
+                    if (respondToMonitorUpdates) {
+                        listener.onResponse(mock(IndexMonitorResponse.class));
+                    } else {
+                        inFlight.add(listener);
+                    }
+                }
+                return null;
+            }).when(client).execute(any(ActionType.class), any(), any(ActionListener.class));
+        }
+
+        DetectorRulePropagator propagator(int maxConcurrency) {
+            return new DetectorRulePropagator(client, xContentRegistry(), new NamedWriteableRegistry(List.of()),
+                    WriteRequest.RefreshPolicy.IMMEDIATE, maxConcurrency);
+        }
+
+        /**
+         * Adds a detector using the given rules, and its doc level monitor holding queries of the given rules unless null.
+         */
+        void addDetector(String id, List<String> ruleIds, List<String> monitorRuleIds, List<String> queryFieldNames) throws IOException {
+            String monitorId = "monitor-" + id;
+            Detector detector = randomDetector(ruleIds);
+            detector.setId(id);
+            detector.setRuleIdMonitorIdMap(Map.of(Detector.DOC_LEVEL_MONITOR, monitorId));
+            detectorDocs.add(hit(id, BytesReference.bytes(detector.toXContentWithUser(XContentFactory.jsonBuilder(),
+                    new ToXContent.MapParams(Map.of("with_type", "true"))))));
+            if (monitorRuleIds != null) {
+                monitorDocs.put(monitorId, hit(monitorId, monitorSource(monitorId, monitorRuleIds, queryFieldNames)));
+            }
+        }
+
+        private BytesReference monitorSource(String id, List<String> ruleIds, List<String> queryFieldNames) throws IOException {
+            List<DocLevelQuery> queries = ruleIds.stream()
+                    .map(it -> new DocLevelQuery(it, "title", List.of(), "rule1".equals(it) ? monitorQuery : "fieldB: old",
+                            List.of("high", "windows", "attack.t1000"), queryFieldNames))
+                    .collect(Collectors.toList());
+            Monitor monitor = new Monitor(id, 1L, "detector", true, new IntervalSchedule(1, ChronoUnit.MINUTES, null),
+                    Instant.now(), Instant.now(), Monitor.MonitorType.DOC_LEVEL_MONITOR.getValue(), null, 1,
+                    List.of(new DocLevelMonitorInput("detector", List.of("windows"), queries, true)), List.of(), Map.of(),
+                    new DataSources(), true, null, TransportIndexDetectorAction.PLUGIN_OWNER_FIELD, null, null);
+            return BytesReference.bytes(monitor.toXContent(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true"))));
+        }
+
+        private SearchResponse nextDetectorsPage() {
+            int from = Math.min(nextPage * DetectorRulePropagator.PAGE_SIZE, detectorDocs.size());
+            int to = Math.min(from + DetectorRulePropagator.PAGE_SIZE, detectorDocs.size());
+            ++nextPage;
+            SearchResponse response = response(detectorDocs.subList(from, to));
+            when(response.getScrollId()).thenReturn("scroll");
+            return response;
+        }
+
+        private static SearchHit hit(String id, BytesReference source) {
+            SearchHit hit = new SearchHit(0, id, null, null);
+            hit.sourceRef(source);
+            hit.version(1L);
+            hit.setSeqNo(3L);
+            hit.setPrimaryTerm(1L);
+            return hit;
+        }
+
+        private static SearchResponse response(List<SearchHit> hits) {
+            SearchResponse response = mock(SearchResponse.class);
+            when(response.getHits()).thenReturn(new SearchHits(hits.toArray(new SearchHit[0]),
+                    new TotalHits(hits.size(), TotalHits.Relation.EQUAL_TO), 0.0f));
+            return response;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.Version;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.correlation.index.CorrelationVectorStorage;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CorrelationIndicesTests extends OpenSearchTestCase {
+
+    public void testScoreTimestampIsSearchedInTheMetadataIndex() {
+        SearchRequest searchRequest = CorrelationIndices.scoreTimestampSearchRequest();
+
+        assertArrayEquals(new String[] { CorrelationIndices.CORRELATION_METADATA_INDEX }, searchRequest.indices());
+        assertEquals(Preference.PRIMARY_FIRST.type(), searchRequest.preference());
+        assertEquals(1, searchRequest.source().size());
+    }
+
+    public void testScoreTimestampIsReadFromTheResponse() {
+        SearchHit hit = new SearchHit(0, "score-doc", null, null);
+        hit.sourceRef(new BytesArray("{\"scoreTimestamp\":1000,\"root\":false}"));
+
+        assertEquals(1000L, CorrelationIndices.scoreTimestamp(searchResponse(hit)));
+    }
+
+    public void testMissingScoreTimestampDocFails() {
+        expectThrows(ResourceNotFoundException.class, () -> CorrelationIndices.scoreTimestamp(searchResponse()));
+    }
+
+    public void testHnswStorageKeepsTheBundledMapping() throws IOException {
+        assertEquals(CorrelationIndices.correlationMappings(), CorrelationIndices.correlationMappings(CorrelationVectorStorage.HNSW));
+        assertEquals(CorrelationVectorStorage.HNSW, correlationVectorStorage(CorrelationIndices.correlationMappings()));
+    }
+
+    public void testVectorStorageIsSetInTheMappingAndReadBack() throws IOException {
+        for (CorrelationVectorStorage storage : CorrelationVectorStorage.values()) {
+            assertEquals(storage, correlationVectorStorage(CorrelationIndices.correlationMappings(storage)));
+        }
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getHits()).thenReturn(new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 0.0f));
+        return searchResponse;
+    }
+
+    private static CorrelationVectorStorage correlationVectorStorage(String mappings) throws IOException {
+        IndexMetadata index = IndexMetadata.builder(".opensearch-sap-correlation-history-1")
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(mappings)
+                .build();
+        return CorrelationIndices.correlationVectorStorage(index);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MonitorServiceTests extends OpenSearchTestCase {
+
+    public void testSameMonitorIgnoresVolatileFields() {
+        Map<String, Object> stored = monitor("query_1");
+        stored.put("last_update_time", 1L);
+        stored.put("enabled_time", 1L);
+        stored.put("user", Map.of("name", "admin"));
+
+        Map<String, Object> updated = monitor("query_1");
+        updated.put("last_update_time", 2L);
+
+        assertTrue(MonitorService.isSameMonitor(stored, updated));
+    }
+
+    public void testChangedQueryIsDetected() {
+        assertFalse(MonitorService.isSameMonitor(monitor("query_1"), monitor("query_2")));
+    }
+
+    public void testMissingFieldIsDetected() {
+        Map<String, Object> updated = monitor("query_1");
+        updated.remove("triggers");
+        assertFalse(MonitorService.isSameMonitor(monitor("query_1"), updated));
+    }
+
+    private static Map<String, Object> monitor(String query) {
+        Map<String, Object> monitor = new HashMap<>();
+        monitor.put("type", "monitor");
+        monitor.put("name", "detector");
+        monitor.put("monitor_type", "doc_level_monitor");
+        monitor.put("enabled", false);
+        monitor.put("schedule", Map.of("period", Map.of("interval", 1, "unit", "MINUTES")));
+        monitor.put("inputs", List.of(Map.of("doc_level_input", Map.of("queries", List.of(Map.of("id", "rule", "query", query))))));
+        monitor.put("triggers", List.of(Map.of("document_level_trigger", Map.of("id", "trigger"))));
+        return monitor;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.Set;
+
+public class RuleValidatorTests extends OpenSearchTestCase {
+
+    public void testMissingFieldsKeepRuleFieldOrder() {
+        Set<String> indexFields = Set.of("source.ip", "destination.ip", "event.action");
+
+        assertEquals(List.of(), RuleValidator.getMissingFields(List.of("source.ip", "event.action"), indexFields));
+        assertEquals(List.of("user.name", "process.name"),
+                RuleValidator.getMissingFields(List.of("user.name", "source.ip", "process.name", "user.name"), indexFields));
+    }
+}
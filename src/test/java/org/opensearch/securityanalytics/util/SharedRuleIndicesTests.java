@@ -0,0 +1,173 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.transport.client.AdminClient;
+import org.opensearch.transport.client.Client;
+import org.opensearch.transport.client.IndicesAdminClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class SharedRuleIndicesTests extends OpenSearchTestCase {
+
+    private static final String SHARED_RULE_INDEX =
+            DetectorMonitorConfig.getRuleIndexShared("windows", List.of("logs"), List.of("rule-1", "rule-2"), false);
+
+    private Client client;
+
+    private List<DeleteIndexRequest> deleteRequests;
+
+    private List<String> steps;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        client = mock(Client.class);
+        AdminClient adminClient = mock(AdminClient.class);
+        IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        deleteRequests = new ArrayList<>();
+        steps = new ArrayList<>();
+        doAnswer(invocation -> {
+            steps.add("refresh " + List.of(invocation.<RefreshRequest>getArgument(0).indices()));
+            invocation.<ActionListener<RefreshResponse>>getArgument(1).onResponse(mock(RefreshResponse.class));
+            return null;
+        }).when(indicesAdminClient).refresh(any(RefreshRequest.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            steps.add("delete");
+            deleteRequests.add(invocation.getArgument(0));
+            ActionListener<AcknowledgedResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesAdminClient).delete(any(DeleteIndexRequest.class), any(ActionListener.class));
+    }
+
+    public void testUnreferencedSharedIndexIsDeleted() {
+        List<SearchRequest> searchRequests = mockDetectors(detectorHit("detector-2", DetectorMonitorConfig.getRuleIndex("windows")));
+
+        AtomicReference<Boolean> deleted = new AtomicReference<>();
+        new SharedRuleIndices(client).deleteIfUnreferenced("detector-1", "windows", SHARED_RULE_INDEX,
+                ActionListener.wrap(deleted::set, e -> fail()));
+
+        assertTrue(deleted.get());
+        // detectors are checked again once refreshed, and monitors are checked too
+        assertEquals(List.of("search " + Detector.DETECTORS_INDEX, "refresh " + List.of(Detector.DETECTORS_INDEX, ".opendistro-alerting-config"),
+                "search " + Detector.DETECTORS_INDEX, "search .opendistro-alerting-config", "delete"), steps);
+        // the detector releasing the index is not counted as a reference
+        assertTrue(searchRequests.get(0).source().query().toString().contains("detector-1"));
+        assertTrue(searchRequests.get(2).source().query().toString().contains(SHARED_RULE_INDEX + "_chained_findings"));
+        assertEquals(1, deleteRequests.size());
+        assertArrayEquals(new String[] { SHARED_RULE_INDEX + "*" }, deleteRequests.get(0).indices());
+    }
+
+    public void testReferencedSharedIndexIsKept() {
+        mockDetectors(detectorHit("detector-2", DetectorMonitorConfig.getRuleIndex("windows")), detectorHit("detector-3", SHARED_RULE_INDEX));
+
+        AtomicReference<Boolean> deleted = new AtomicReference<>();
+        new SharedRuleIndices(client).deleteIfUnreferenced("detector-1", "windows", SHARED_RULE_INDEX,
+                ActionListener.wrap(deleted::set, e -> fail()));
+
+        assertFalse(deleted.get());
+        assertTrue(deleteRequests.isEmpty());
+    }
+
+    public void testIndexReferencedByDetectorWrittenMeanwhileIsKept() {
+        // the detector doc is searchable only once the detectors index is refreshed
+        mockDetectors(List.of(detectorHit("detector-2", DetectorMonitorConfig.getRuleIndex("windows"))),
+                List.of(detectorHit("detector-3", SHARED_RULE_INDEX)), 0);
+
+        AtomicReference<Boolean> deleted = new AtomicReference<>();
+        new SharedRuleIndices(client).deleteIfUnreferenced("detector-1", "windows", SHARED_RULE_INDEX,
+                ActionListener.wrap(deleted::set, e -> fail()));
+
+        assertFalse(deleted.get());
+        assertTrue(deleteRequests.isEmpty());
+    }
+
+    public void testIndexReferencedByMonitorOfDetectorBeingCreatedIsKept() {
+        // monitors of a detector being created are written before the detector doc
+        mockDetectors(List.of(), List.of(), 1);
+
+        AtomicReference<Boolean> deleted = new AtomicReference<>();
+        new SharedRuleIndices(client).deleteIfUnreferenced("detector-1", "windows", SHARED_RULE_INDEX,
+                ActionListener.wrap(deleted::set, e -> fail()));
+
+        assertFalse(deleted.get());
+        assertTrue(deleteRequests.isEmpty());
+    }
+
+    public void testIndexNotSharedIsKept() {
+        Client client = mock(Client.class);
+        AtomicReference<Boolean> deleted = new AtomicReference<>();
+        new SharedRuleIndices(client).deleteIfUnreferenced("detector-1", "windows", DetectorMonitorConfig.getRuleIndexOptimized("windows"),
+                ActionListener.wrap(deleted::set, e -> fail()));
+
+        assertFalse(deleted.get());
+        verifyNoInteractions(client);
+    }
+
+    private List<SearchRequest> mockDetectors(SearchHit... hits) {
+        return mockDetectors(List.of(hits), List.of(hits), 0);
+    }
+
+    /**
+     * Serves the given detectors before and after the detectors index is refreshed, and the given number of monitors
+     * referencing the query index.
+     */
+    private List<SearchRequest> mockDetectors(List<SearchHit> hitsBeforeRefresh, List<SearchHit> hitsAfterRefresh, int monitors) {
+        List<SearchRequest> searchRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            SearchRequest searchRequest = invocation.getArgument(0);
+            searchRequests.add(searchRequest);
+            steps.add("search " + searchRequest.indices()[0]);
+            List<SearchHit> hits;
+            if (Detector.DETECTORS_INDEX.equals(searchRequest.indices()[0])) {
+                hits = steps.stream().anyMatch(it -> it.startsWith("refresh")) ? hitsAfterRefresh : hitsBeforeRefresh;
+            } else {
+                hits = new ArrayList<>();
+                for (int i = 0; i < monitors; ++i) {
+                    hits.add(new SearchHit(i, "monitor-" + i, null, null));
+                }
+            }
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchResponse searchResponse = mock(SearchResponse.class);
+            when(searchResponse.getHits()).thenReturn(new SearchHits(hits.toArray(new SearchHit[0]),
+                    new TotalHits(hits.size(), TotalHits.Relation.EQUAL_TO), 0.0f));
+            listener.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        return searchRequests;
+    }
+
+    private static SearchHit detectorHit(String detectorId, String ruleIndex) {
+        SearchHit hit = new SearchHit(0, detectorId, null, null);
+        hit.sourceRef(new BytesArray(String.format(Locale.ROOT, "{\"detector\":{\"rule_topic_index\":\"%s\"}}", ruleIndex)));
+        return hit;
+    }
+}